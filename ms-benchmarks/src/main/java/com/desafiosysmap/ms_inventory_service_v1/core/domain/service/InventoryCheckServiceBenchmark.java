@@ -0,0 +1,97 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.service;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.ReservationLineDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockReservationDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.ProcessedOrderPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockReservationPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka.KafkaProducer;
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-item work of an inventory check — validation, merging into sorted reservation lines and
+ * building the response — with the database and the broker replaced by stubs that answer at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class InventoryCheckServiceBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int itemCount;
+
+    private InventoryCheckService inventoryCheckService;
+    private OrderEventDTO orderEvent;
+
+    @Setup
+    public void setUp() {
+        StockReservationPortOut stockReservationPortOut = new StockReservationPortOut() {
+            @Override
+            public StockReservationDTO reserve(List<ReservationLineDTO> lines) {
+                List<ReservationLineDTO> reserved = new ArrayList<>(lines.size());
+                for (ReservationLineDTO line : lines) {
+                    reserved.add(new ReservationLineDTO(line.getProductId(), line.getRequestedQuantity(),
+                            line.getRequestedQuantity(), true));
+                }
+                return new StockReservationDTO(true, reserved);
+            }
+
+            @Override
+            public void setQuantity(UUID productId, int quantity) {
+            }
+
+            @Override
+            public void removeProduct(UUID productId) {
+            }
+        };
+
+        ProcessedOrderPortOut processedOrderPortOut = new ProcessedOrderPortOut() {
+            @Override
+            public Optional<InventoryResponseDTO> findProcessed(UUID orderId) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void markProcessed(InventoryResponseDTO response) {
+            }
+
+            @Override
+            public int purgeExpired() {
+                return 0;
+            }
+        };
+
+        KafkaProducer kafkaProducer = new KafkaProducer(null, null) {
+            @Override
+            public CompletableFuture<Void> sendInventoryValidation(InventoryResponseDTO response) {
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+
+        inventoryCheckService = new InventoryCheckService(stockReservationPortOut, kafkaProducer, processedOrderPortOut);
+
+        List<OrderItemDTO> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItemDTO(UUID.randomUUID(), i + 1));
+        }
+        orderEvent = new OrderEventDTO(UUID.randomUUID(), 1L, items, OrderStatus.PENDING, null, null);
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> checkInventory() {
+        return inventoryCheckService.checkInventory(orderEvent);
+    }
+}
@@ -0,0 +1,100 @@
+package com.sysmapproject.benchmarks;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Both legs of the order/inventory exchange through the serializers the services configure: the
+ * order event written by the order service and read by the inventory service, and the validation
+ * written by the inventory service and read back by the order service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class KafkaJsonBenchmark {
+
+    private static final String ORDER_TOPIC = "tpc-order-events";
+    private static final String INVENTORY_TOPIC = "tpc-inventory-validated";
+
+    @Param({"1", "10", "100"})
+    public int itemCount;
+
+    private JsonSerializer<OrderEventDTO> orderEventSerializer;
+    private JsonDeserializer<OrderEventDTO> orderEventDeserializer;
+    private JsonSerializer<InventoryResponseDTO> inventoryResponseSerializer;
+    private JsonDeserializer<InventoryResponseDTO> inventoryResponseDeserializer;
+
+    private OrderEventDTO orderEvent;
+    private byte[] orderEventBytes;
+    private InventoryResponseDTO inventoryResponse;
+    private byte[] inventoryResponseBytes;
+
+    @Setup
+    public void setUp() {
+        orderEventSerializer = new JsonSerializer<>();
+        orderEventSerializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+
+        orderEventDeserializer = new JsonDeserializer<>(
+                OrderEventDTO.class, false);
+
+        inventoryResponseSerializer = new JsonSerializer<>();
+
+        inventoryResponseDeserializer = new JsonDeserializer<>(InventoryResponseDTO.class);
+        inventoryResponseDeserializer.addTrustedPackages("*");
+
+        List<OrderItemDTO> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(OrderItemDTO.builder().productId(UUID.randomUUID()).quantity(i + 1).build());
+        }
+        orderEvent = OrderEventDTO.builder()
+                .orderId(UUID.randomUUID())
+                .customerId(1L)
+                .status(OrderStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .items(items)
+                .build();
+        orderEventBytes = orderEventSerializer.serialize(ORDER_TOPIC, orderEvent);
+
+        inventoryResponse = new InventoryResponseDTO(
+                orderEvent.getOrderId(),
+                OrderStatus.CONFIRMED,
+                "Order confirmed. Stock updated successfully.");
+        inventoryResponseBytes = inventoryResponseSerializer.serialize(INVENTORY_TOPIC, inventoryResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderEvent() {
+        return orderEventSerializer.serialize(ORDER_TOPIC, orderEvent);
+    }
+
+    @Benchmark
+    public Object deserializeOrderEvent() {
+        return orderEventDeserializer.deserialize(ORDER_TOPIC, orderEventBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeInventoryResponse() {
+        return inventoryResponseSerializer.serialize(INVENTORY_TOPIC, inventoryResponse);
+    }
+
+    @Benchmark
+    public InventoryResponseDTO deserializeInventoryResponse() {
+        return inventoryResponseDeserializer.deserialize(INVENTORY_TOPIC, inventoryResponseBytes);
+    }
+}
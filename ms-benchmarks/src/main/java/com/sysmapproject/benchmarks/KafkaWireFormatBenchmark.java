@@ -0,0 +1,118 @@
+package com.sysmapproject.benchmarks;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.contracts.codec.BinaryContractCodec;
+import com.sysmapproject.contracts.codec.BinaryContractSerializer;
+import com.sysmapproject.contracts.codec.ContractDeserializer;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Both legs of the order/inventory exchange in each wire format, through the serializers and
+ * deserializers the services configure for it, header negotiation included. Time is per message;
+ * the size of each message is printed before the first iteration of every run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class KafkaWireFormatBenchmark {
+
+    private static final String ORDER_TOPIC = "tpc-order-events";
+    private static final String INVENTORY_TOPIC = "tpc-inventory-validated";
+
+    @Param({"json", "binary"})
+    public String format;
+
+    @Param({"1", "10", "100"})
+    public int itemCount;
+
+    private Serializer<Object> orderEventSerializer;
+    private ContractDeserializer<OrderEventDTO> orderEventDeserializer;
+    private Serializer<Object> inventoryResponseSerializer;
+    private ContractDeserializer<InventoryResponseDTO> inventoryResponseDeserializer;
+
+    private OrderEventDTO orderEvent;
+    private byte[] orderEventBytes;
+    private Headers orderEventHeaders;
+    private InventoryResponseDTO inventoryResponse;
+    private byte[] inventoryResponseBytes;
+    private Headers inventoryResponseHeaders;
+
+    @Setup
+    public void setUp() {
+        boolean binary = "binary".equals(format);
+
+        orderEventSerializer = binary ? new BinaryContractSerializer() : new JsonSerializer<>();
+        orderEventSerializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+        orderEventDeserializer = new ContractDeserializer<>(BinaryContractCodec::decodeOrderEvent,
+                new JsonDeserializer<>(OrderEventDTO.class, false));
+
+        inventoryResponseSerializer = binary ? new BinaryContractSerializer() : new JsonSerializer<>();
+        inventoryResponseSerializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+        JsonDeserializer<InventoryResponseDTO> inventoryResponseJson = new JsonDeserializer<>(InventoryResponseDTO.class);
+        inventoryResponseJson.addTrustedPackages("*");
+        inventoryResponseDeserializer = new ContractDeserializer<>(BinaryContractCodec::decodeInventoryResponse, inventoryResponseJson);
+
+        List<OrderItemDTO> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(OrderItemDTO.builder().productId(UUID.randomUUID()).quantity(i + 1).build());
+        }
+        orderEvent = OrderEventDTO.builder()
+                .orderId(UUID.randomUUID())
+                .customerId(1L)
+                .status(OrderStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .items(items)
+                .build();
+        orderEventHeaders = new RecordHeaders();
+        orderEventBytes = orderEventSerializer.serialize(ORDER_TOPIC, orderEventHeaders, orderEvent);
+
+        inventoryResponse = new InventoryResponseDTO(
+                orderEvent.getOrderId(),
+                OrderStatus.CONFIRMED,
+                "Order confirmed. Stock updated successfully.");
+        inventoryResponseHeaders = new RecordHeaders();
+        inventoryResponseBytes = inventoryResponseSerializer.serialize(INVENTORY_TOPIC, inventoryResponseHeaders, inventoryResponse);
+
+        System.out.printf("%n%s, %d items: order event %d bytes/message, inventory response %d bytes/message%n",
+                format, itemCount, orderEventBytes.length, inventoryResponseBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderEvent() {
+        return orderEventSerializer.serialize(ORDER_TOPIC, new RecordHeaders(), orderEvent);
+    }
+
+    @Benchmark
+    public Object deserializeOrderEvent() {
+        return orderEventDeserializer.deserialize(ORDER_TOPIC, orderEventHeaders, orderEventBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeInventoryResponse() {
+        return inventoryResponseSerializer.serialize(INVENTORY_TOPIC, new RecordHeaders(), inventoryResponse);
+    }
+
+    @Benchmark
+    public InventoryResponseDTO deserializeInventoryResponse() {
+        return inventoryResponseDeserializer.deserialize(INVENTORY_TOPIC, inventoryResponseHeaders, inventoryResponseBytes);
+    }
+}
@@ -0,0 +1,315 @@
+package com.sysmapproject.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
+import com.sysmapproject.ms_order_service_v1.core.port.in.OrderPortIn;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the order and the inventory service in one JVM, against an embedded Kafka broker and an
+ * embedded Postgres, and drives the whole loop: {@code POST /api/v1/orders}, the outbox relay,
+ * {@code tpc-order-events}, the inventory check, {@code tpc-inventory-validated} and the status
+ * update. Each client creates an order, waits until it leaves PENDING and creates the next one.
+ * <p>
+ * Reports orders per second and two latency histograms: the create request alone, and from the
+ * create request until the order is confirmed or cancelled.
+ *
+ * <pre>
+ * mvn -f ms-benchmarks/pom.xml package
+ * java -Dbenchmark.clients=64 -Dbenchmark.sku-skew=1.0 -cp ms-benchmarks/target/benchmarks.jar \
+ *     com.sysmapproject.benchmarks.OrderFlowLoadHarness
+ * </pre>
+ * <p>
+ * {@code -Dbenchmark.virtual-threads=true} starts both services with {@code spring.threads.virtual.enabled},
+ * which needs a Java 21 runtime. Running the harness once per mode with the same clients compares
+ * platform and virtual threads over the same loop.
+ */
+public class OrderFlowLoadHarness {
+
+    private static final String ORDER_TOPIC = "tpc-order-events";
+    private static final String INVENTORY_TOPIC = "tpc-inventory-validated";
+
+    private final int clients = Integer.getInteger("benchmark.clients", 32);
+    private final int warmupSeconds = Integer.getInteger("benchmark.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("benchmark.duration-seconds", 30);
+    private final int awaitTimeoutSeconds = Integer.getInteger("benchmark.await-timeout-seconds", 30);
+    private final int partitions = Integer.getInteger("benchmark.partitions", 1);
+    private final int skuCount = Integer.getInteger("benchmark.skus", 1000);
+    private final double skuSkew = Double.parseDouble(System.getProperty("benchmark.sku-skew", "0.0"));
+    private final int initialStock = Integer.getInteger("benchmark.initial-stock", 1_000_000);
+    private final int maxQuantity = Integer.getInteger("benchmark.max-quantity", 3);
+    private final String orderMixSpec = System.getProperty("benchmark.order-mix", "1:60,3:30,10:10");
+    private final OrderMix orderMix = OrderMix.parse(orderMixSpec);
+    private final String reportDirectory = System.getProperty("benchmark.report-dir");
+    private final boolean virtualThreads = Boolean.getBoolean("benchmark.virtual-threads");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // microseconds with three significant digits; nothing outlives the await timeout by much
+    private final Histogram createLatency = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(awaitTimeoutSeconds * 2L), 3);
+    private final Histogram completionLatency = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(awaitTimeoutSeconds * 2L), 3);
+    private final AtomicLong confirmed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        new OrderFlowLoadHarness().run();
+        // Kafka and Tomcat leave non-daemon threads behind once their contexts are closed
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+
+        Path walDirectory = Files.createTempDirectory("inventory-wal");
+        EmbeddedKafkaBroker kafka = new EmbeddedKafkaKraftBroker(1, partitions, ORDER_TOPIC, INVENTORY_TOPIC)
+                .brokerProperties(Map.of(
+                        "transaction.state.log.replication.factor", "1",
+                        "transaction.state.log.min.isr", "1"));
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            kafka.afterPropertiesSet();
+            createDatabases(postgres, "orders_db", "inventory_db");
+
+            try (ConfigurableApplicationContext inventory = startInventoryService(postgres, kafka, walDirectory);
+                 ConfigurableApplicationContext order = startOrderService(postgres, kafka)) {
+
+                SkuSampler skus = new SkuSampler(seedProducts(inventory.getBean(JdbcTemplate.class)), skuSkew);
+                drive(order, skus);
+                report(skus);
+                reportStages(order.getBean(MeterRegistry.class));
+            }
+        } finally {
+            kafka.destroy();
+        }
+    }
+
+    private ConfigurableApplicationContext startInventoryService(EmbeddedPostgres postgres, EmbeddedKafkaBroker kafka,
+                                                                 Path walDirectory) {
+        return new SpringApplicationBuilder(com.desafiosysmap.ms_inventory_service_v1.Application.class)
+                .run("--spring.config.location=classpath:inventory/application.yml",
+                        "--spring.sql.init.schema-locations=classpath:inventory/schema.sql",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "inventory_db"),
+                        "--spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString(),
+                        "--spring.jpa.show-sql=false",
+                        "--inventory.ledger.wal-directory=" + walDirectory,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.port=0");
+    }
+
+    private ConfigurableApplicationContext startOrderService(EmbeddedPostgres postgres, EmbeddedKafkaBroker kafka) {
+        return new SpringApplicationBuilder(com.sysmapproject.ms_order_service_v1.Application.class)
+                .run("--spring.config.location=classpath:order/application.yml",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "orders_db") + "&reWriteBatchedInserts=true",
+                        "--spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString(),
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.port=0");
+    }
+
+    private void createDatabases(EmbeddedPostgres postgres, String... databases) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String database : databases) {
+                statement.execute("CREATE DATABASE " + database);
+            }
+        }
+    }
+
+    private List<UUID> seedProducts(JdbcTemplate jdbcTemplate) {
+        List<UUID> skus = new ArrayList<>(skuCount);
+        List<Object[]> rows = new ArrayList<>(skuCount);
+        for (int i = 0; i < skuCount; i++) {
+            UUID id = UUID.randomUUID();
+            skus.add(id);
+            rows.add(new Object[]{id, "load-sku-" + i, "load harness SKU", initialStock});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, quantity) VALUES (?, ?, ?, 1.00, ?)", rows);
+        return skus;
+    }
+
+    private void drive(ConfigurableApplicationContext order, SkuSampler skus) throws InterruptedException {
+
+        URI ordersUri = URI.create("http://localhost:" + order.getEnvironment().getProperty("local.server.port") + "/api/v1/orders");
+        OrderPortIn orderPortIn = order.getBean(OrderPortIn.class);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        CountDownLatch finished = new CountDownLatch(clients);
+
+        for (int i = 0; i < clients; i++) {
+            createOrder(client, ordersUri, orderPortIn, skus, measureFrom, measureUntil, finished);
+        }
+        finished.await();
+    }
+
+    private void createOrder(HttpClient client, URI ordersUri, OrderPortIn orderPortIn, SkuSampler skus,
+                             long measureFrom, long measureUntil, CountDownLatch finished) {
+        long started = System.nanoTime();
+        if (started >= measureUntil) {
+            finished.countDown();
+            return;
+        }
+        boolean measured = started >= measureFrom;
+        Runnable next = () -> createOrder(client, ordersUri, orderPortIn, skus, measureFrom, measureUntil, finished);
+
+        HttpRequest request = HttpRequest.newBuilder(ordersUri)
+                .timeout(Duration.ofSeconds(awaitTimeoutSeconds))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(orderBody(skus)))
+                .build();
+
+        // any failure along the way ends in the same callback, so a client never drops out of the loop
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenCompose(response -> {
+                    if (response.statusCode() >= 400) {
+                        throw new IllegalStateException("Create request answered " + response.statusCode());
+                    }
+                    if (measured) {
+                        createLatency.recordValue(micros(started));
+                    }
+                    return orderPortIn.awaitOrderCompletion(orderId(response))
+                            .orTimeout(awaitTimeoutSeconds, TimeUnit.SECONDS);
+                })
+                .whenComplete((completed, e) -> {
+                    try {
+                        if (measured) {
+                            recordCompletion(started, completed, e instanceof CompletionException ? e.getCause() : e);
+                        }
+                    } finally {
+                        next.run();
+                    }
+                });
+    }
+
+    private UUID orderId(HttpResponse<String> response) {
+        try {
+            return UUID.fromString(objectMapper.readTree(response.body()).get("id").asText());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void recordCompletion(long started, Order completed, Throwable e) {
+        if (e instanceof TimeoutException) {
+            timeouts.incrementAndGet();
+        } else if (e != null) {
+            errors.incrementAndGet();
+        } else {
+            completionLatency.recordValue(micros(started));
+            if (completed.getStatus() == OrderStatus.CONFIRMED) {
+                confirmed.incrementAndGet();
+            } else {
+                cancelled.incrementAndGet();
+            }
+        }
+    }
+
+    private String orderBody(SkuSampler skus) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("customerId", ThreadLocalRandom.current().nextLong(1, 10_000));
+        ArrayNode items = body.putArray("items");
+        int itemCount = orderMix.nextItemCount();
+        for (int i = 0; i < itemCount; i++) {
+            items.addObject()
+                    .put("productId", skus.next().toString())
+                    .put("quantity", ThreadLocalRandom.current().nextInt(1, maxQuantity + 1));
+        }
+        return body.toString();
+    }
+
+    private void report(SkuSampler skus) throws IOException {
+        long completed = confirmed.get() + cancelled.get();
+
+        System.out.println();
+        System.out.printf("%s threads, clients %d, partitions %d, %d SKUs with skew %.2f (hottest SKU gets %.1f%% of the items), order mix %s%n",
+                virtualThreads ? "virtual" : "platform", clients, partitions, skuCount, skuSkew, skus.hottestShare() * 100, orderMixSpec);
+        System.out.printf("%10s %10s %10s %10s %10s %10s %12s %12s%n",
+                "orders/s", "confirmed", "cancelled", "timeouts", "errors", "p50 ms", "p99 ms", "p99.9 ms");
+        System.out.printf("%10.0f %10d %10d %10d %10d %10.1f %12.1f %12.1f%n",
+                completed / (double) durationSeconds, confirmed.get(), cancelled.get(), timeouts.get(), errors.get(),
+                millis(completionLatency, 50), millis(completionLatency, 99), millis(completionLatency, 99.9));
+
+        printHistogram("create request", createLatency, System.out);
+        printHistogram("create to confirmed or cancelled", completionLatency, System.out);
+
+        if (reportDirectory != null) {
+            Path directory = Files.createDirectories(Path.of(reportDirectory));
+            writeHistogram(directory.resolve("create.hgrm"), createLatency);
+            writeHistogram(directory.resolve("create-to-completion.hgrm"), completionLatency);
+            System.out.println("Histograms written to " + directory.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Where the time went, from the order service's lifecycle timers. These include the warm-up.
+     */
+    private void reportStages(MeterRegistry meterRegistry) {
+        System.out.println();
+        System.out.printf("%-20s %10s %10s %10s%n", "stage", "count", "mean ms", "max ms");
+        for (Timer timer : meterRegistry.find("order.lifecycle.stage").timers()) {
+            System.out.printf("%-20s %10d %10.1f %10.1f%n", timer.getId().getTag("stage"), timer.count(),
+                    timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void printHistogram(String title, Histogram histogram, PrintStream out) {
+        out.println();
+        out.println("Latency, " + title + " (ms):");
+        histogram.outputPercentileDistribution(out, 5, 1000.0);
+    }
+
+    private void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(new FileOutputStream(file.toFile()))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static long micros(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedNanos);
+    }
+}
@@ -0,0 +1,56 @@
+package com.sysmapproject.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice of how many items an order carries, written as {@code items:weight} pairs:
+ * {@code 1:60,3:30,10:10} sends single-item orders 60% of the time and ten-item orders 10% of the time.
+ */
+final class OrderMix {
+
+    private final int[] itemCounts;
+    private final int[] cumulativeWeights;
+
+    private OrderMix(int[] itemCounts, int[] cumulativeWeights) {
+        this.itemCounts = itemCounts;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    static OrderMix parse(String mix) {
+        List<int[]> entries = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Order mix entries must look like items:weight, got: " + entry);
+            }
+            int items = Integer.parseInt(parts[0].trim());
+            int weight = Integer.parseInt(parts[1].trim());
+            if (items <= 0 || weight <= 0) {
+                throw new IllegalArgumentException("Items and weight must be positive numbers, got: " + entry);
+            }
+            entries.add(new int[]{items, weight});
+        }
+
+        int[] itemCounts = new int[entries.size()];
+        int[] cumulativeWeights = new int[entries.size()];
+        int total = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            total += entries.get(i)[1];
+            itemCounts[i] = entries.get(i)[0];
+            cumulativeWeights[i] = total;
+        }
+        return new OrderMix(itemCounts, cumulativeWeights);
+    }
+
+    int nextItemCount() {
+        int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return itemCounts[i];
+            }
+        }
+        return itemCounts[itemCounts.length - 1];
+    }
+}
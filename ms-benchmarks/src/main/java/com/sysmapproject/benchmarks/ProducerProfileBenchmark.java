@@ -0,0 +1,211 @@
+package com.sysmapproject.benchmarks;
+
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.contracts.ProducerProfile;
+import com.sysmapproject.contracts.codec.BinaryContractSerializer;
+import com.sysmapproject.contracts.codec.WireFormat;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes order events as fast as the producer takes them, once per {@link ProducerProfile}, to an
+ * embedded Kafka broker, each profile to a topic of its own. Several threads share one producer, as
+ * the services' threads share their template, and at most {@code benchmark.max-in-flight} sends are
+ * outstanding at a time.
+ * <p>
+ * Reports acknowledged records per second and the send latency, from {@code send()} until the
+ * acknowledgement, time blocked on a full buffer included.
+ *
+ * <pre>
+ * mvn -f ms-benchmarks/pom.xml package
+ * java -Dbenchmark.profiles=low-latency,high-throughput -Dbenchmark.wire-format=binary \
+ *     -cp ms-benchmarks/target/benchmarks.jar com.sysmapproject.benchmarks.ProducerProfileBenchmark
+ * </pre>
+ */
+public class ProducerProfileBenchmark {
+
+    private final int threads = Integer.getInteger("benchmark.threads", 4);
+    private final int maxInFlight = Integer.getInteger("benchmark.max-in-flight", 1_000);
+    private final int warmupSeconds = Integer.getInteger("benchmark.warmup-seconds", 5);
+    private final int durationSeconds = Integer.getInteger("benchmark.duration-seconds", 15);
+    private final int partitions = Integer.getInteger("benchmark.partitions", 1);
+    private final int itemCount = Integer.getInteger("benchmark.items", 3);
+    private final WireFormat wireFormat = WireFormat.valueOf(System.getProperty("benchmark.wire-format", "json").toUpperCase());
+    private final List<ProducerProfile> profiles = profiles(System.getProperty("benchmark.profiles"));
+
+    public static void main(String[] args) throws Exception {
+        new ProducerProfileBenchmark().run();
+        // the embedded broker leaves non-daemon threads behind once it is destroyed
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+
+        String[] topics = profiles.stream().map(ProducerProfileBenchmark::topic).toArray(String[]::new);
+        EmbeddedKafkaBroker kafka = new EmbeddedKafkaKraftBroker(1, partitions, topics);
+        try {
+            kafka.afterPropertiesSet();
+
+            List<Result> results = new ArrayList<>();
+            for (ProducerProfile profile : profiles) {
+                results.add(measure(profile, kafka.getBrokersAsString()));
+            }
+            report(results);
+        } finally {
+            kafka.destroy();
+        }
+    }
+
+    private Result measure(ProducerProfile profile, String bootstrapServers) throws InterruptedException {
+
+        Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        AtomicLong acknowledged = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        String topic = topic(profile);
+
+        try (KafkaProducer<String, Object> producer = new KafkaProducer<>(producerProps(profile, bootstrapServers),
+                new StringSerializer(), valueSerializer())) {
+
+            long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+            List<Thread> senders = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                Thread sender = new Thread(() -> {
+                    while (System.nanoTime() < measureUntil) {
+                        inFlight.acquireUninterruptibly();
+                        long started = System.nanoTime();
+                        boolean measured = started >= measureFrom;
+                        OrderEventDTO event = orderEvent();
+
+                        producer.send(new ProducerRecord<>(topic, event.getOrderId().toString(), event), (metadata, e) -> {
+                            inFlight.release();
+                            if (!measured) {
+                                return;
+                            }
+                            if (e != null) {
+                                errors.incrementAndGet();
+                                return;
+                            }
+                            // acknowledgements after the window still count toward its latency, not its rate
+                            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+                            if (System.nanoTime() < measureUntil) {
+                                acknowledged.incrementAndGet();
+                            }
+                        });
+                    }
+                }, "profile-sender-" + i);
+                sender.start();
+                senders.add(sender);
+            }
+            for (Thread sender : senders) {
+                sender.join();
+            }
+            producer.flush();
+
+            return new Result(profile, acknowledged.get() / (double) durationSeconds, errors.get(), latency,
+                    metric(producer, "compression-rate-avg"), metric(producer, "batch-size-avg"));
+        }
+    }
+
+    private Map<String, Object> producerProps(ProducerProfile profile, String bootstrapServers) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        profile.applyTo(props);
+        return props;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Serializer<Object> valueSerializer() {
+        Serializer<Object> serializer = wireFormat == WireFormat.BINARY
+                ? new BinaryContractSerializer()
+                : (Serializer<Object>) (Serializer<?>) new JsonSerializer<>();
+        serializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+        return serializer;
+    }
+
+    // fresh IDs in every record, so compression is not flattered by repeated payloads
+    private OrderEventDTO orderEvent() {
+        List<OrderItemDTO> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItemDTO(UUID.randomUUID(), i + 1));
+        }
+        return OrderEventDTO.builder()
+                .orderId(UUID.randomUUID())
+                .customerId(1L)
+                .status(OrderStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .items(items)
+                .build();
+    }
+
+    private void report(List<Result> results) {
+        System.out.println();
+        System.out.printf("%s order events with %d items, %d threads, %d partitions, at most %d sends in flight%n",
+                wireFormat, itemCount, threads, partitions, maxInFlight);
+        System.out.printf("%-16s %12s %10s %10s %10s %10s %12s %12s%n",
+                "profile", "records/s", "p50 ms", "p99 ms", "p99.9 ms", "errors", "batch bytes", "compression");
+        for (Result result : results) {
+            System.out.printf("%-16s %12.0f %10.2f %10.2f %10.2f %10d %12.0f %12.2f%n",
+                    result.profile(), result.recordsPerSecond(),
+                    millis(result.latency(), 50), millis(result.latency(), 99), millis(result.latency(), 99.9),
+                    result.errors(), result.batchSize(), result.compressionRate());
+        }
+    }
+
+    private static double metric(KafkaProducer<String, Object> producer, String name) {
+        for (Map.Entry<MetricName, ? extends Metric> metric : producer.metrics().entrySet()) {
+            if (metric.getKey().group().equals("producer-metrics") && metric.getKey().name().equals(name)) {
+                return ((Number) metric.getValue().metricValue()).doubleValue();
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static List<ProducerProfile> profiles(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return List.of(ProducerProfile.values());
+        }
+        return Arrays.stream(spec.split(","))
+                .map(name -> ProducerProfile.valueOf(name.trim().toUpperCase().replace('-', '_')))
+                .toList();
+    }
+
+    private static String topic(ProducerProfile profile) {
+        return "profile-" + profile.name().toLowerCase().replace('_', '-');
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private record Result(ProducerProfile profile, double recordsPerSecond, long errors, Histogram latency,
+                          double compressionRate, double batchSize) {
+    }
+}
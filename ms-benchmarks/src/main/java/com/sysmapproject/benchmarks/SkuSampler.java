@@ -0,0 +1,52 @@
+package com.sysmapproject.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks SKUs following a Zipf distribution: the k-th SKU is chosen with a probability proportional
+ * to {@code 1 / k^skew}. A skew of 0 spreads orders evenly; around 1 a few SKUs take most of them,
+ * which is what drives row contention in the inventory service.
+ */
+final class SkuSampler {
+
+    private final List<UUID> skus;
+    private final double[] cumulative;
+
+    SkuSampler(List<UUID> skus, double skew) {
+        if (skus.isEmpty()) {
+            throw new IllegalArgumentException("At least one SKU is required");
+        }
+        if (skew < 0) {
+            throw new IllegalArgumentException("SKU skew cannot be negative");
+        }
+        this.skus = skus;
+        this.cumulative = new double[skus.size()];
+
+        double total = 0;
+        for (int k = 0; k < skus.size(); k++) {
+            total += 1.0 / Math.pow(k + 1, skew);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < cumulative.length; k++) {
+            cumulative[k] /= total;
+        }
+    }
+
+    UUID next() {
+        int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return skus.get(Math.min(index, skus.size() - 1));
+    }
+
+    /**
+     * Share of the draws that land on the most popular SKU.
+     */
+    double hottestShare() {
+        return cumulative[0];
+    }
+}
@@ -0,0 +1,124 @@
+package com.sysmapproject.benchmarks;
+
+import com.sysmapproject.ms_order_service_v1.shared.util.IdGenerator;
+import com.sysmapproject.ms_order_service_v1.shared.util.RandomUuidGenerator;
+import com.sysmapproject.ms_order_service_v1.shared.util.UuidV7Generator;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Inserts the same number of order-shaped rows keyed by random and by UUIDv7 identifiers and reports
+ * insert throughput (overall and for the last tenth of the rows, once the index no longer fits in
+ * shared buffers) and the resulting primary key index size.
+ * <p>
+ * Runs against an embedded Postgres unless {@code benchmark.jdbc-url} points at a scratch database;
+ * the embedded one keeps its default shared buffers, so the index outgrows them well before 10M rows.
+ *
+ * <pre>
+ * mvn -f ms-benchmarks/pom.xml package
+ * java -Dbenchmark.rows=10000000 -cp ms-benchmarks/target/benchmarks.jar \
+ *     com.sysmapproject.benchmarks.UuidInsertHarness
+ * </pre>
+ */
+public class UuidInsertHarness {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final int rows = Integer.getInteger("benchmark.rows", 10_000_000);
+    private final String jdbcUrl = System.getProperty("benchmark.jdbc-url");
+    private final String username = System.getProperty("benchmark.username", "postgres");
+    private final String password = System.getProperty("benchmark.password", "postgres");
+
+    public static void main(String[] args) throws Exception {
+        new UuidInsertHarness().run();
+    }
+
+    void run() throws Exception {
+        Map<String, IdGenerator> generators = new LinkedHashMap<>();
+        generators.put("random", new RandomUuidGenerator());
+        generators.put("uuid_v7", new UuidV7Generator());
+
+        if (jdbcUrl != null) {
+            compare(generators, jdbcUrl);
+            return;
+        }
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            compare(generators, postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        }
+    }
+
+    private void compare(Map<String, IdGenerator> generators, String url) throws SQLException {
+        System.out.printf("%-8s %12s %14s %18s %14s%n", "keys", "rows", "rows/s", "rows/s last 10%", "pkey size");
+        for (Map.Entry<String, IdGenerator> entry : generators.entrySet()) {
+            insertRows(url, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void insertRows(String url, String name, IdGenerator generator) throws SQLException {
+        String table = "uuid_benchmark_" + name;
+
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+                statement.execute("CREATE TABLE " + table
+                        + " (id uuid PRIMARY KEY, customer_id bigint NOT NULL, created_at timestamp NOT NULL)");
+            }
+
+            connection.setAutoCommit(false);
+            int lastTenthStart = rows - rows / 10;
+            long started = System.nanoTime();
+            long lastTenthStarted = started;
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO " + table + " (id, customer_id, created_at) VALUES (?, ?, ?)")) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (int i = 0; i < rows; i++) {
+                    if (i == lastTenthStart) {
+                        lastTenthStarted = System.nanoTime();
+                    }
+                    insert.setObject(1, generator.next());
+                    insert.setLong(2, i % 10_000);
+                    insert.setTimestamp(3, now);
+                    insert.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0 || i == rows - 1) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            long finished = System.nanoTime();
+
+            String indexSize;
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(
+                         "SELECT pg_size_pretty(pg_relation_size('" + table + "_pkey'))")) {
+                resultSet.next();
+                indexSize = resultSet.getString(1);
+            }
+
+            System.out.printf("%-8s %12d %14.0f %18.0f %14s%n", name, rows,
+                    rows / seconds(started, finished),
+                    (rows - lastTenthStart) / seconds(lastTenthStarted, finished),
+                    indexSize);
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE " + table);
+            }
+        }
+    }
+
+    private static double seconds(long from, long to) {
+        return (to - from) / 1_000_000_000.0;
+    }
+}
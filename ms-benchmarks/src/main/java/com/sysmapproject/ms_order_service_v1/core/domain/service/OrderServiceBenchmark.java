@@ -0,0 +1,54 @@
+package com.sysmapproject.ms_order_service_v1.core.domain.service;
+
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class OrderServiceBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int itemCount;
+
+    private OrderService orderService;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        // validation touches none of the collaborators
+        orderService = new OrderService(null, null, null, null, null, null, null, null);
+
+        order = Order.builder()
+                .id(UUID.randomUUID())
+                .customerId(1L)
+                .status(OrderStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .items(new ArrayList<>())
+                .build();
+        for (int i = 0; i < itemCount; i++) {
+            order.getItems().add(OrderItem.builder()
+                    .productId(UUID.randomUUID())
+                    .quantity(i + 1)
+                    .order(order)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Order validateOrder() {
+        orderService.validateOrder(order);
+        return order;
+    }
+}
@@ -0,0 +1,110 @@
+package com.sysmapproject.commons.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed set of worker lanes, each a single thread draining a bounded queue. Tasks submitted with
+ * equal keys always land in the same lane, so they run one after another in submission order, while
+ * tasks with other keys run on the other lanes in parallel. {@link #submit} blocks while the lane is
+ * full, holding back the consumer thread instead of buffering records without bound.
+ */
+@Slf4j
+public class KeyedLanes implements AutoCloseable {
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private static final Runnable STOP = () -> {
+    };
+
+    private final List<BlockingQueue<Runnable>> queues;
+    private final List<Thread> workers;
+    private volatile boolean closed;
+
+    public KeyedLanes(String name, int lanes, int capacity) {
+
+        if (lanes < 1 || capacity < 1) {
+            throw new IllegalStateException("Worker lanes need at least one lane and a capacity of one, not "
+                    + lanes + " lanes of " + capacity);
+        }
+
+        queues = new ArrayList<>(lanes);
+        workers = new ArrayList<>(lanes);
+        for (int i = 0; i < lanes; i++) {
+            BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(capacity);
+            Thread worker = new Thread(() -> drain(queue), name + i);
+            worker.setDaemon(true);
+            worker.start();
+            queues.add(queue);
+            workers.add(worker);
+        }
+    }
+
+    public void submit(Object key, Runnable task) {
+
+        if (closed) {
+            throw new IllegalStateException("Worker lanes are closed");
+        }
+        try {
+            queues.get(laneOf(key)).put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Error while waiting for a worker lane: " + e.getMessage(), e);
+        }
+    }
+
+    int laneOf(Object key) {
+        return key == null ? 0 : Math.floorMod(key.hashCode(), queues.size());
+    }
+
+    /**
+     * Lets every lane finish the tasks already queued, and interrupts those still running once the
+     * timeout has passed.
+     */
+    @Override
+    public void close() {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            for (BlockingQueue<Runnable> queue : queues) {
+                queue.put(STOP);
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(CLOSE_TIMEOUT_SECONDS);
+            for (Thread worker : workers) {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void drain(BlockingQueue<Runnable> queue) {
+
+        while (true) {
+            Runnable task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == STOP) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // a failing task must not take the lane, and every key hashed to it, down with it
+                log.error("Worker lane task failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
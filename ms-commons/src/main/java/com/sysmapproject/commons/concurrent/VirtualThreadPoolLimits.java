@@ -0,0 +1,50 @@
+package com.sysmapproject.commons.concurrent;
+
+import org.springframework.core.env.PropertyResolver;
+
+/**
+ * With {@code spring.threads.virtual.enabled} requests, scheduled jobs and Kafka listeners run on
+ * virtual threads, so nothing bounds how many of them reach for a JDBC connection at once. The pool
+ * then becomes the only limit and has to be sized for the database, about twice its cores, not for
+ * the callers; a caller that cannot get a connection should fail fast instead of parking for the
+ * 30s default. {@link #validate} fails when the pool is configured outside those limits, which each
+ * service sets under its own {@code <prefix>.threads.virtual} properties.
+ */
+public class VirtualThreadPoolLimits {
+
+    private final String prefix;
+
+    public VirtualThreadPoolLimits(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public void validate(PropertyResolver properties) {
+        validate(properties, Runtime.version().feature());
+    }
+
+    void validate(PropertyResolver properties, int javaVersion) {
+
+        if (!properties.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            return;
+        }
+        if (javaVersion < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21 or later, running on Java " + javaVersion);
+        }
+
+        int maxPoolSize = properties.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        long connectionTimeoutMs = properties.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L);
+        String maxPoolSizeProperty = prefix + ".threads.virtual.max-pool-size";
+        String maxConnectionTimeoutProperty = prefix + ".threads.virtual.max-connection-timeout-ms";
+        int virtualMaxPoolSize = properties.getProperty(maxPoolSizeProperty, Integer.class, 32);
+        long virtualMaxConnectionTimeoutMs = properties.getProperty(maxConnectionTimeoutProperty, Long.class, 5000L);
+
+        if (maxPoolSize > virtualMaxPoolSize) {
+            throw new IllegalStateException("spring.datasource.hikari.maximum-pool-size is " + maxPoolSize
+                    + ", above the " + virtualMaxPoolSize + " allowed with virtual threads (" + maxPoolSizeProperty + ")");
+        }
+        if (connectionTimeoutMs > virtualMaxConnectionTimeoutMs) {
+            throw new IllegalStateException("spring.datasource.hikari.connection-timeout is " + connectionTimeoutMs
+                    + "ms, above the " + virtualMaxConnectionTimeoutMs + "ms allowed with virtual threads (" + maxConnectionTimeoutProperty + ")");
+        }
+    }
+}
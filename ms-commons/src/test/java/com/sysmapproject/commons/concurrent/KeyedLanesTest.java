@@ -0,0 +1,142 @@
+package com.sysmapproject.commons.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyedLanesTest {
+
+    private KeyedLanes lanes;
+
+    @AfterEach
+    void tearDown() {
+        if (lanes != null) {
+            lanes.close();
+        }
+    }
+
+    @Test
+    void submit_SameKey_ShouldRunInSubmissionOrder() {
+        lanes = new KeyedLanes("test-lane-", 4, 16);
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < 1_000; i++) {
+            int sequence = i;
+            String key = "key-" + (i % 10);
+            lanes.submit(key, () -> seen.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(sequence));
+        }
+        lanes.close();
+
+        assertEquals(10, seen.size());
+        seen.values().forEach(sequences -> {
+            assertEquals(100, sequences.size());
+            for (int i = 1; i < sequences.size(); i++) {
+                assertTrue(sequences.get(i - 1) < sequences.get(i));
+            }
+        });
+    }
+
+    @Test
+    void submit_DifferentLanes_ShouldRunInParallel() throws InterruptedException {
+        lanes = new KeyedLanes("test-lane-", 2, 4);
+        Object first = key(0);
+        Object second = key(1);
+        CountDownLatch bothRunning = new CountDownLatch(2);
+
+        lanes.submit(first, () -> awaitOther(bothRunning));
+        lanes.submit(second, () -> awaitOther(bothRunning));
+
+        assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_FullLane_ShouldBlockUntilItDrains() throws InterruptedException {
+        lanes = new KeyedLanes("test-lane-", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        AtomicInteger submitted = new AtomicInteger();
+
+        lanes.submit("key", () -> {
+            running.countDown();
+            await(release);
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        lanes.submit("key", () -> { });
+
+        Thread producer = new Thread(() -> {
+            lanes.submit("key", () -> { });
+            submitted.incrementAndGet();
+        });
+        producer.start();
+        producer.join(200);
+        assertEquals(0, submitted.get());
+
+        release.countDown();
+        producer.join(5_000);
+        assertEquals(1, submitted.get());
+    }
+
+    @Test
+    void submit_FailingTask_ShouldKeepLaneRunning() throws InterruptedException {
+        lanes = new KeyedLanes("test-lane-", 1, 4);
+        CountDownLatch ran = new CountDownLatch(1);
+
+        lanes.submit("key", () -> {
+            throw new RuntimeException("Task failure");
+        });
+        lanes.submit("key", ran::countDown);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_AfterClose_ShouldThrow() {
+        lanes = new KeyedLanes("test-lane-", 1, 1);
+        lanes.close();
+
+        assertThrows(IllegalStateException.class, () -> lanes.submit("key", () -> { }));
+    }
+
+    @Test
+    void constructor_NoLanes_ShouldThrow() {
+        assertThrows(IllegalStateException.class, () -> new KeyedLanes("test-lane-", 0, 1));
+    }
+
+    @Test
+    void laneOf_NullKey_ShouldUseFirstLane() {
+        lanes = new KeyedLanes("test-lane-", 4, 1);
+
+        assertEquals(0, lanes.laneOf(null));
+    }
+
+    private Object key(int lane) {
+        for (int i = 0; ; i++) {
+            if (lanes.laneOf(i) == lane) {
+                return i;
+            }
+        }
+    }
+
+    private static void awaitOther(CountDownLatch bothRunning) {
+        bothRunning.countDown();
+        await(bothRunning);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
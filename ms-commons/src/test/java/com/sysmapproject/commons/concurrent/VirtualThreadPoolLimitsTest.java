@@ -0,0 +1,77 @@
+package com.sysmapproject.commons.concurrent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPoolLimitsTest {
+
+    private VirtualThreadPoolLimits limits;
+    private MockEnvironment environment;
+
+    @BeforeEach
+    void setUp() {
+        limits = new VirtualThreadPoolLimits("order");
+        environment = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true")
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "10")
+                .withProperty("spring.datasource.hikari.connection-timeout", "5000")
+                .withProperty("order.threads.virtual.max-pool-size", "32")
+                .withProperty("order.threads.virtual.max-connection-timeout-ms", "5000");
+    }
+
+    @Test
+    void validate_PlatformThreads_ShouldAcceptAnyPool() {
+        environment.setProperty("spring.threads.virtual.enabled", "false");
+        environment.setProperty("spring.datasource.hikari.maximum-pool-size", "200");
+        environment.setProperty("spring.datasource.hikari.connection-timeout", "30000");
+
+        assertDoesNotThrow(() -> limits.validate(environment, 17));
+    }
+
+    @Test
+    void validate_VirtualThreadsWithinLimits_ShouldPass() {
+        assertDoesNotThrow(() -> limits.validate(environment, 21));
+    }
+
+    @Test
+    void validate_VirtualThreadsBeforeJava21_ShouldFail() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> limits.validate(environment, 17));
+
+        assertEquals("Virtual threads need Java 21 or later, running on Java 17", exception.getMessage());
+    }
+
+    @Test
+    void validate_VirtualThreadsWithOversizedPool_ShouldFail() {
+        environment.setProperty("spring.datasource.hikari.maximum-pool-size", "100");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> limits.validate(environment, 21));
+
+        assertEquals("spring.datasource.hikari.maximum-pool-size is 100, above the 32 allowed with virtual threads"
+                + " (order.threads.virtual.max-pool-size)", exception.getMessage());
+    }
+
+    @Test
+    void validate_VirtualThreadsWithLongConnectionTimeout_ShouldFail() {
+        environment.setProperty("spring.datasource.hikari.connection-timeout", "30000");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> limits.validate(environment, 21));
+
+        assertTrue(exception.getMessage().startsWith("spring.datasource.hikari.connection-timeout is 30000ms"));
+    }
+
+    @Test
+    void validate_DefaultLimits_ShouldUseServicePrefix() {
+        MockEnvironment defaults = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true")
+                .withProperty("spring.datasource.hikari.connection-timeout", "5000")
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "40");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new VirtualThreadPoolLimits("inventory").validate(defaults, 21));
+
+        assertTrue(exception.getMessage().endsWith("(inventory.threads.virtual.max-pool-size)"));
+    }
+}
@@ -0,0 +1,25 @@
+package com.sysmapproject.contracts;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.UUID;
+
+/**
+ * The inventory service's verdict on an order: {@link OrderStatus#CONFIRMED} once its stock is
+ * reserved, {@link OrderStatus#CANCELLED} otherwise.
+ */
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
+@AllArgsConstructor
+public class InventoryResponseDTO {
+
+    UUID orderId;
+
+    OrderStatus status;
+
+    String message;
+}
@@ -0,0 +1,43 @@
+package com.sysmapproject.contracts;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kafka headers that follow an order through both services, each holding epoch milliseconds as a
+ * decimal string. The order service sets the order ones on the order event; the inventory service
+ * copies them onto the validation and adds its own. Intervals between a timestamp of one service and
+ * one of the other are only as accurate as the clock sync between their hosts.
+ */
+public final class LifecycleHeaders {
+
+    public static final String ORDER_CREATED_AT = "order-created-at";
+    public static final String ORDER_PUBLISHED_AT = "order-published-at";
+    public static final String INVENTORY_RECEIVED_AT = "inventory-received-at";
+    public static final String INVENTORY_PUBLISHED_AT = "inventory-published-at";
+
+    private LifecycleHeaders() {
+    }
+
+    public static void write(Headers headers, String name, long epochMillis) {
+        headers.remove(name);
+        headers.add(name, Long.toString(epochMillis).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the timestamp, or -1 when the header is missing or unreadable.
+     */
+    public static long read(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        if (header == null || header.value() == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(new String(header.value(), StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -1,35 +1,38 @@
-package com.sysmapproject.ms_order_service_v1.core.domain.dto;
+package com.sysmapproject.contracts;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
-@Builder
-@Data
-@NoArgsConstructor
+/**
+ * An order as published by the order service for the inventory service to validate.
+ */
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
 @AllArgsConstructor
 public class OrderEventDTO {
 
     @NotNull(message = "Order id cannot be null")
     @Valid
-    private UUID orderId;
+    UUID orderId;
 
-    private Long customerId;
+    Long customerId;
 
     @NotNull(message = "Order items cannot be null")
     @Valid
-    private List<OrderItemDTO> items;
+    List<OrderItemDTO> items;
 
-    private String status;
+    OrderStatus status;
 
-    private LocalDateTime createdAt;
+    LocalDateTime createdAt;
 
-    private LocalDateTime updatedAt;
+    LocalDateTime updatedAt;
 }
@@ -0,0 +1,25 @@
+package com.sysmapproject.contracts;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+/**
+ * Several order events published as one Kafka record, so small orders do not each pay for their own
+ * record. The inventory service still answers every order on its own.
+ */
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
+@AllArgsConstructor
+public class OrderEventEnvelopeDTO {
+
+    @NotNull(message = "Order events cannot be null")
+    @Valid
+    List<OrderEventDTO> orderEvents;
+}
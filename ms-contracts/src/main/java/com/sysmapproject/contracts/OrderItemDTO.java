@@ -1,22 +1,22 @@
-package com.sysmapproject.ms_order_service_v1.core.domain.dto;
+package com.sysmapproject.contracts;
 
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.util.UUID;
 
-@Builder
-@Data
-@NoArgsConstructor
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
 @AllArgsConstructor
 public class OrderItemDTO {
 
     @NotNull(message = "Product ID cannot be null")
-    private UUID productId;
+    UUID productId;
 
     @NotNull(message = "Quantity cannot be null")
-    private Integer quantity;
+    Integer quantity;
 }
@@ -1,4 +1,4 @@
-package com.sysmapproject.ms_order_service_v1.shared.enums;
+package com.sysmapproject.contracts;
 
 public enum OrderStatus {
 
@@ -0,0 +1,71 @@
+package com.sysmapproject.contracts;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Map;
+
+/**
+ * Named sets of Kafka producer settings, so batching, linger, compression, acks and idempotence are
+ * chosen together instead of one by one:
+ * <ul>
+ *     <li>{@link #DEFAULT}: the Kafka client defaults, untouched</li>
+ *     <li>{@link #LOW_LATENCY}: every record leaves at once and is acknowledged by the leader alone;
+ *     a leader failing before its followers caught up can lose it</li>
+ *     <li>{@link #HIGH_THROUGHPUT}: records wait up to 20 ms to fill large zstd batches, acknowledged by
+ *     the leader alone</li>
+ *     <li>{@link #DURABLE}: acknowledged by every in-sync replica and written exactly once per partition
+ *     despite retries, with short linger and lz4 batches</li>
+ * </ul>
+ * Only the idempotent profiles can be used by a transactional producer.
+ */
+public enum ProducerProfile {
+
+    DEFAULT(Map.of(), true),
+
+    LOW_LATENCY(Map.of(
+            ProducerConfig.ACKS_CONFIG, "1",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false,
+            ProducerConfig.LINGER_MS_CONFIG, 0,
+            ProducerConfig.BATCH_SIZE_CONFIG, 16_384,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4"), false),
+
+    HIGH_THROUGHPUT(Map.of(
+            ProducerConfig.ACKS_CONFIG, "1",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false,
+            ProducerConfig.LINGER_MS_CONFIG, 20,
+            ProducerConfig.BATCH_SIZE_CONFIG, 262_144,
+            ProducerConfig.BUFFER_MEMORY_CONFIG, 67_108_864L,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "zstd"), false),
+
+    // idempotence keeps per-partition order with up to five requests in flight
+    DURABLE(Map.of(
+            ProducerConfig.ACKS_CONFIG, "all",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+            ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5,
+            ProducerConfig.LINGER_MS_CONFIG, 5,
+            ProducerConfig.BATCH_SIZE_CONFIG, 65_536,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4"), true);
+
+    private final Map<String, Object> settings;
+    private final boolean idempotent;
+
+    ProducerProfile(Map<String, Object> settings, boolean idempotent) {
+        this.settings = settings;
+        this.idempotent = idempotent;
+    }
+
+    /**
+     * Adds the profile's settings to the producer properties, replacing any already there.
+     */
+    public void applyTo(Map<String, Object> props) {
+        props.putAll(settings);
+    }
+
+    public Map<String, Object> settings() {
+        return settings;
+    }
+
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+}
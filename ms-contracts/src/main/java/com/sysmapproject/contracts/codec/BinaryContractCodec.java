@@ -0,0 +1,416 @@
+package com.sysmapproject.contracts.codec;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary form of the Kafka contracts. Every message starts with the format version and the
+ * message type; each contract in it then starts with a byte of presence flags for its nullable fields:
+ * <ul>
+ *     <li>UUIDs as their two longs, big-endian</li>
+ *     <li>timestamps as epoch microseconds, the local date-time read as UTC</li>
+ *     <li>other numbers as zigzag varints</li>
+ *     <li>order statuses as their index in {@link #STATUSES}</li>
+ *     <li>strings as a varint byte length followed by UTF-8</li>
+ * </ul>
+ * A new field or status means a new version; readers reject versions they do not know. Messages are
+ * measured before they are written, so encoding allocates nothing but the returned array.
+ */
+public final class BinaryContractCodec {
+
+    static final byte VERSION = 1;
+    static final byte ORDER_EVENT = 1;
+    static final byte INVENTORY_RESPONSE = 2;
+    static final byte ORDER_EVENT_ENVELOPE = 3;
+
+    // the wire codes of the statuses, kept apart from the enum so reordering it cannot change them
+    private static final OrderStatus[] STATUSES = {OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.CANCELLED};
+
+    private static final int ORDER_ID = 1;
+    private static final int CUSTOMER_ID = 1 << 1;
+    private static final int STATUS = 1 << 2;
+    private static final int CREATED_AT = 1 << 3;
+    private static final int UPDATED_AT = 1 << 4;
+    private static final int ITEMS = 1 << 5;
+    private static final int MESSAGE = 1 << 3;
+
+    private static final int PRODUCT_ID = 1;
+    private static final int QUANTITY = 1 << 1;
+
+    private static final int PREFIX_BYTES = 2;
+    private static final int UUID_BYTES = 16;
+
+    private BinaryContractCodec() {
+    }
+
+    public static byte[] encodeOrderEvent(OrderEventDTO event) {
+
+        byte[] out = new byte[PREFIX_BYTES + orderEventSize(event)];
+        putOrderEvent(out, putPrefix(out, ORDER_EVENT), event);
+        return out;
+    }
+
+    public static OrderEventDTO decodeOrderEvent(byte[] data) {
+        return readOrderEvent(new Reader(data, ORDER_EVENT));
+    }
+
+    /**
+     * The envelope holds the number of order events followed by each of them as it would be written
+     * on its own, without the version and type.
+     */
+    public static byte[] encodeOrderEventEnvelope(OrderEventEnvelopeDTO envelope) {
+
+        List<OrderEventDTO> events = envelope.getOrderEvents();
+        int size = PREFIX_BYTES + varLongSize(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            size += orderEventSize(events.get(i));
+        }
+
+        byte[] out = new byte[size];
+        int position = putVarLong(out, putPrefix(out, ORDER_EVENT_ENVELOPE), events.size());
+        for (int i = 0; i < events.size(); i++) {
+            position = putOrderEvent(out, position, events.get(i));
+        }
+        return out;
+    }
+
+    public static OrderEventEnvelopeDTO decodeOrderEventEnvelope(byte[] data) {
+
+        Reader in = new Reader(data, ORDER_EVENT_ENVELOPE);
+        int size = in.readLength();
+        List<OrderEventDTO> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            events.add(readOrderEvent(in));
+        }
+        return new OrderEventEnvelopeDTO(Collections.unmodifiableList(events));
+    }
+
+    /**
+     * Bytes the order event takes on its own, as {@link #encodeOrderEvent} would write it.
+     */
+    public static int encodedSize(OrderEventDTO event) {
+        return PREFIX_BYTES + orderEventSize(event);
+    }
+
+    public static byte[] encodeInventoryResponse(InventoryResponseDTO response) {
+
+        UUID orderId = response.getOrderId();
+        OrderStatus status = response.getStatus();
+        String message = response.getMessage();
+        int messageBytes = message == null ? 0 : utf8Length(message);
+
+        int size = PREFIX_BYTES + 1;
+        size += orderId == null ? 0 : UUID_BYTES;
+        size += status == null ? 0 : varLongSize(statusCode(status));
+        size += message == null ? 0 : varLongSize(messageBytes) + messageBytes;
+
+        byte[] out = new byte[size];
+        int position = putPrefix(out, INVENTORY_RESPONSE);
+        out[position++] = (byte) (flag(orderId, ORDER_ID) | flag(status, STATUS) | flag(message, MESSAGE));
+
+        if (orderId != null) {
+            position = putUuid(out, position, orderId);
+        }
+        if (status != null) {
+            position = putVarLong(out, position, statusCode(status));
+        }
+        if (message != null) {
+            position = putVarLong(out, position, messageBytes);
+            putUtf8(out, position, message);
+        }
+        return out;
+    }
+
+    public static InventoryResponseDTO decodeInventoryResponse(byte[] data) {
+
+        Reader in = new Reader(data, INVENTORY_RESPONSE);
+        int flags = in.readByte();
+
+        UUID orderId = (flags & ORDER_ID) != 0 ? in.readUuid() : null;
+        OrderStatus status = (flags & STATUS) != 0 ? status(in.readVarLong()) : null;
+        String message = (flags & MESSAGE) != 0 ? in.readString() : null;
+        return new InventoryResponseDTO(orderId, status, message);
+    }
+
+    private static int orderEventSize(OrderEventDTO event) {
+
+        int size = 1;
+        size += event.getOrderId() == null ? 0 : UUID_BYTES;
+        size += event.getCustomerId() == null ? 0 : varLongSize(event.getCustomerId());
+        size += event.getStatus() == null ? 0 : varLongSize(statusCode(event.getStatus()));
+        size += event.getCreatedAt() == null ? 0 : varLongSize(epochMicros(event.getCreatedAt()));
+        size += event.getUpdatedAt() == null ? 0 : varLongSize(epochMicros(event.getUpdatedAt()));
+        List<OrderItemDTO> items = event.getItems();
+        if (items != null) {
+            size += varLongSize(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                OrderItemDTO item = items.get(i);
+                size += 1 + (item.getProductId() == null ? 0 : UUID_BYTES)
+                        + (item.getQuantity() == null ? 0 : varLongSize(item.getQuantity()));
+            }
+        }
+        return size;
+    }
+
+    private static int putOrderEvent(byte[] out, int position, OrderEventDTO event) {
+
+        UUID orderId = event.getOrderId();
+        Long customerId = event.getCustomerId();
+        OrderStatus status = event.getStatus();
+        List<OrderItemDTO> items = event.getItems();
+
+        out[position++] = (byte) (flag(orderId, ORDER_ID) | flag(customerId, CUSTOMER_ID) | flag(status, STATUS)
+                | flag(event.getCreatedAt(), CREATED_AT) | flag(event.getUpdatedAt(), UPDATED_AT) | flag(items, ITEMS));
+
+        if (orderId != null) {
+            position = putUuid(out, position, orderId);
+        }
+        if (customerId != null) {
+            position = putVarLong(out, position, customerId);
+        }
+        if (status != null) {
+            position = putVarLong(out, position, statusCode(status));
+        }
+        if (event.getCreatedAt() != null) {
+            position = putVarLong(out, position, epochMicros(event.getCreatedAt()));
+        }
+        if (event.getUpdatedAt() != null) {
+            position = putVarLong(out, position, epochMicros(event.getUpdatedAt()));
+        }
+        if (items != null) {
+            position = putVarLong(out, position, items.size());
+            for (int i = 0; i < items.size(); i++) {
+                OrderItemDTO item = items.get(i);
+                out[position++] = (byte) (flag(item.getProductId(), PRODUCT_ID) | flag(item.getQuantity(), QUANTITY));
+                if (item.getProductId() != null) {
+                    position = putUuid(out, position, item.getProductId());
+                }
+                if (item.getQuantity() != null) {
+                    position = putVarLong(out, position, item.getQuantity());
+                }
+            }
+        }
+        return position;
+    }
+
+    private static OrderEventDTO readOrderEvent(Reader in) {
+
+        int flags = in.readByte();
+
+        UUID orderId = (flags & ORDER_ID) != 0 ? in.readUuid() : null;
+        Long customerId = (flags & CUSTOMER_ID) != 0 ? in.readVarLong() : null;
+        OrderStatus status = (flags & STATUS) != 0 ? status(in.readVarLong()) : null;
+        LocalDateTime createdAt = (flags & CREATED_AT) != 0 ? localDateTime(in.readVarLong()) : null;
+        LocalDateTime updatedAt = (flags & UPDATED_AT) != 0 ? localDateTime(in.readVarLong()) : null;
+
+        List<OrderItemDTO> items = null;
+        if ((flags & ITEMS) != 0) {
+            int size = in.readLength();
+            List<OrderItemDTO> decoded = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int itemFlags = in.readByte();
+                UUID productId = (itemFlags & PRODUCT_ID) != 0 ? in.readUuid() : null;
+                Integer quantity = (itemFlags & QUANTITY) != 0 ? in.readVarInt() : null;
+                decoded.add(new OrderItemDTO(productId, quantity));
+            }
+            items = Collections.unmodifiableList(decoded);
+        }
+        return new OrderEventDTO(orderId, customerId, items, status, createdAt, updatedAt);
+    }
+
+    private static int flag(Object value, int flag) {
+        return value == null ? 0 : flag;
+    }
+
+    private static int statusCode(OrderStatus status) {
+        for (int i = 0; i < STATUSES.length; i++) {
+            if (STATUSES[i] == status) {
+                return i;
+            }
+        }
+        throw new SerializationException("Error while encoding order status: no wire code for " + status);
+    }
+
+    private static OrderStatus status(long code) {
+        if (code < 0 || code >= STATUSES.length) {
+            throw new SerializationException("Error while decoding order status: unknown code " + code);
+        }
+        return STATUSES[(int) code];
+    }
+
+    private static long epochMicros(LocalDateTime dateTime) {
+        return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), 1_000_000L), dateTime.getNano() / 1_000);
+    }
+
+    private static LocalDateTime localDateTime(long epochMicros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L),
+                (int) Math.floorMod(epochMicros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static int putPrefix(byte[] out, byte type) {
+        out[0] = VERSION;
+        out[1] = type;
+        return PREFIX_BYTES;
+    }
+
+    private static int putUuid(byte[] out, int position, UUID uuid) {
+        return putLong(out, putLong(out, position, uuid.getMostSignificantBits()), uuid.getLeastSignificantBits());
+    }
+
+    private static int putLong(byte[] out, int position, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out[position++] = (byte) (value >>> shift);
+        }
+        return position;
+    }
+
+    private static int varLongSize(long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        return (63 - Long.numberOfLeadingZeros(zigzag | 1)) / 7 + 1;
+    }
+
+    private static int putVarLong(byte[] out, int position, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        out[position++] = (byte) zigzag;
+        return position;
+    }
+
+    // a lone surrogate is written as '?', as String.getBytes does
+    private static int utf8Length(String value) {
+        int bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static int putUtf8(byte[] out, int position, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out[position++] = (byte) c;
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | (c >> 6));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out[position++] = '?';
+            } else {
+                out[position++] = (byte) (0xE0 | (c >> 12));
+                out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data, byte type) {
+            this.data = data;
+            int version = readByte();
+            if (version != VERSION) {
+                throw new SerializationException("Error while decoding contract: unsupported version " + version);
+            }
+            int actualType = readByte();
+            if (actualType != type) {
+                throw new SerializationException("Error while decoding contract: expected message type " + type
+                        + " but got " + actualType);
+            }
+        }
+
+        int readByte() {
+            require(1);
+            return data[position++] & 0xFF;
+        }
+
+        UUID readUuid() {
+            return new UUID(readLong(), readLong());
+        }
+
+        long readLong() {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new SerializationException("Error while decoding contract: malformed varint");
+        }
+
+        int readVarInt() {
+            long value = readVarLong();
+            if (value != (int) value) {
+                throw new SerializationException("Error while decoding contract: " + value + " overflows an int");
+            }
+            return (int) value;
+        }
+
+        // a length is checked against the bytes left, so a corrupt one cannot allocate a huge array
+        int readLength() {
+            long length = readVarLong();
+            if (length < 0 || length > data.length - position) {
+                throw new SerializationException("Error while decoding contract: invalid length " + length);
+            }
+            return (int) length;
+        }
+
+        String readString() {
+            int length = readLength();
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void require(int bytes) {
+            if (position + bytes > data.length) {
+                throw new SerializationException("Error while decoding contract: message truncated at byte " + position);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.sysmapproject.contracts.codec;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+/**
+ * Writes the Kafka contracts with {@link BinaryContractCodec} and marks the record as
+ * {@link WireFormat#BINARY}. Anything else, such as a record the dead letter recoverer republishes,
+ * is written as JSON, configured by the same properties as a {@link JsonSerializer}.
+ */
+public class BinaryContractSerializer implements Serializer<Object> {
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    // without headers the format could not be told, so only JSON is written
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+
+        // a republished record keeps the headers it was consumed with
+        headers.remove(WireFormat.HEADER);
+        if (data instanceof OrderEventDTO orderEvent) {
+            WireFormat.BINARY.writeTo(headers);
+            return BinaryContractCodec.encodeOrderEvent(orderEvent);
+        }
+        if (data instanceof OrderEventEnvelopeDTO envelope) {
+            WireFormat.BINARY.writeTo(headers);
+            return BinaryContractCodec.encodeOrderEventEnvelope(envelope);
+        }
+        if (data instanceof InventoryResponseDTO inventoryResponse) {
+            WireFormat.BINARY.writeTo(headers);
+            return BinaryContractCodec.encodeInventoryResponse(inventoryResponse);
+        }
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.sysmapproject.contracts.codec;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads a Kafka contract in the {@link WireFormat} its record announces: binary payloads with the
+ * given {@link BinaryContractCodec} method, everything else with the JSON deserializer.
+ */
+public class ContractDeserializer<T> implements Deserializer<T> {
+
+    private final Function<byte[], T> binaryDecoder;
+    private final Deserializer<T> jsonDeserializer;
+
+    public ContractDeserializer(Function<byte[], T> binaryDecoder, Deserializer<T> jsonDeserializer) {
+        this.binaryDecoder = binaryDecoder;
+        this.jsonDeserializer = jsonDeserializer;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        if (WireFormat.of(headers) == WireFormat.BINARY) {
+            return data == null ? null : binaryDecoder.apply(data);
+        }
+        return jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
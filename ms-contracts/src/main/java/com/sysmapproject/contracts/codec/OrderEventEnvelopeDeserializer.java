@@ -0,0 +1,69 @@
+package com.sysmapproject.contracts.codec;
+
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the order topic as envelopes. A record {@link #mark marked} as an envelope is read whole; any
+ * other record holds a single order event and is read as an envelope of one, so a consumer can switch
+ * to envelopes before its producers do.
+ */
+public class OrderEventEnvelopeDeserializer implements Deserializer<OrderEventEnvelopeDTO> {
+
+    public static final String HEADER = "order-event-envelope";
+
+    private static final byte[] HEADER_VALUE = "true".getBytes(StandardCharsets.UTF_8);
+
+    private final Deserializer<OrderEventDTO> orderEventDeserializer;
+    private final Deserializer<OrderEventEnvelopeDTO> envelopeDeserializer;
+
+    public OrderEventEnvelopeDeserializer(Deserializer<OrderEventDTO> orderEventDeserializer,
+                                          Deserializer<OrderEventEnvelopeDTO> envelopeDeserializer) {
+        this.orderEventDeserializer = orderEventDeserializer;
+        this.envelopeDeserializer = envelopeDeserializer;
+    }
+
+    public static void mark(Headers headers) {
+        headers.remove(HEADER);
+        headers.add(HEADER, HEADER_VALUE);
+    }
+
+    public static boolean isMarked(Headers headers) {
+        return headers != null && headers.lastHeader(HEADER) != null;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        orderEventDeserializer.configure(configs, isKey);
+        envelopeDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public OrderEventEnvelopeDTO deserialize(String topic, byte[] data) {
+        return wrap(orderEventDeserializer.deserialize(topic, data));
+    }
+
+    @Override
+    public OrderEventEnvelopeDTO deserialize(String topic, Headers headers, byte[] data) {
+        if (isMarked(headers)) {
+            return envelopeDeserializer.deserialize(topic, headers, data);
+        }
+        return wrap(orderEventDeserializer.deserialize(topic, headers, data));
+    }
+
+    @Override
+    public void close() {
+        orderEventDeserializer.close();
+        envelopeDeserializer.close();
+    }
+
+    private static OrderEventEnvelopeDTO wrap(OrderEventDTO orderEvent) {
+        return orderEvent == null ? null : new OrderEventEnvelopeDTO(List.of(orderEvent));
+    }
+}
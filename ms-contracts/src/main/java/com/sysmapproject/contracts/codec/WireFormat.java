@@ -0,0 +1,41 @@
+package com.sysmapproject.contracts.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Format of a Kafka contract payload, told to the consumer by the {@link #HEADER} header. A record
+ * without the header is JSON, so producers can move to {@link #BINARY} once every consumer reads both.
+ */
+public enum WireFormat {
+
+    JSON,
+    BINARY;
+
+    public static final String HEADER = "contract-format";
+
+    private final byte[] headerValue = name().toLowerCase().getBytes(StandardCharsets.UTF_8);
+
+    public static WireFormat of(Headers headers) {
+        Header header = headers == null ? null : headers.lastHeader(HEADER);
+        if (header == null) {
+            return JSON;
+        }
+        for (WireFormat format : values()) {
+            if (Arrays.equals(format.headerValue, header.value())) {
+                return format;
+            }
+        }
+        throw new SerializationException("Error while reading contract format: unknown format "
+                + (header.value() == null ? null : new String(header.value(), StandardCharsets.UTF_8)));
+    }
+
+    public void writeTo(Headers headers) {
+        headers.remove(HEADER);
+        headers.add(HEADER, headerValue);
+    }
+}
@@ -1,6 +1,5 @@
-package com.sysmapproject.ms_order_service_v1.kafka.contracts;
+package com.sysmapproject.contracts;
 
-import com.sysmapproject.ms_order_service_v1.shared.enums.OrderStatus;
 import org.junit.jupiter.api.Test;
 
 import java.util.UUID;
@@ -42,22 +41,24 @@ class InventoryResponseDTOTest {
     }
 
     @Test
-    void shouldAllowModifyingFieldsUsingSetters() {
-        InventoryResponseDTO responseDTO = new InventoryResponseDTO();
-
+    void shouldCopyWithChangedFieldsUsingToBuilder() {
         UUID orderId = UUID.randomUUID();
-        responseDTO.setOrderId(orderId);
-        responseDTO.setStatus(OrderStatus.CANCELLED);
-        responseDTO.setMessage("Order rejected due to insufficient stock");
+        InventoryResponseDTO responseDTO = new InventoryResponseDTO(orderId, OrderStatus.PENDING, "Inventory validated");
 
-        assertEquals(orderId, responseDTO.getOrderId());
-        assertEquals(OrderStatus.CANCELLED, responseDTO.getStatus());
-        assertEquals("Order rejected due to insufficient stock", responseDTO.getMessage());
+        InventoryResponseDTO changed = responseDTO.toBuilder()
+                .status(OrderStatus.CANCELLED)
+                .message("Order rejected due to insufficient stock")
+                .build();
+
+        assertEquals(orderId, changed.getOrderId());
+        assertEquals(OrderStatus.CANCELLED, changed.getStatus());
+        assertEquals("Order rejected due to insufficient stock", changed.getMessage());
+        assertEquals(OrderStatus.PENDING, responseDTO.getStatus());
     }
 
     @Test
     void shouldHandleNullValuesCorrectly() {
-        InventoryResponseDTO responseDTO = new InventoryResponseDTO();
+        InventoryResponseDTO responseDTO = InventoryResponseDTO.builder().build();
 
         assertNull(responseDTO.getOrderId());
         assertNull(responseDTO.getStatus());
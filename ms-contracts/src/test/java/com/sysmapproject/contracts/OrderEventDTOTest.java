@@ -1,4 +1,4 @@
-package com.sysmapproject.ms_order_service_v1.core.domain.dto;
+package com.sysmapproject.contracts;
 
 import jakarta.validation.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,7 +30,7 @@ class OrderEventDTOTest {
                 .orderId(UUID.randomUUID())
                 .customerId(12345L)
                 .items(List.of(orderItem))
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
@@ -50,7 +50,7 @@ class OrderEventDTOTest {
                 .orderId(null)
                 .customerId(12345L)
                 .items(List.of(orderItem))
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
@@ -67,7 +67,7 @@ class OrderEventDTOTest {
                 .orderId(UUID.randomUUID())
                 .customerId(12345L)
                 .items(null)
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
@@ -84,7 +84,7 @@ class OrderEventDTOTest {
                 .orderId(UUID.randomUUID())
                 .customerId(12345L)
                 .items(Collections.emptyList())
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
@@ -104,7 +104,7 @@ class OrderEventDTOTest {
                 .orderId(UUID.randomUUID())
                 .customerId(null)
                 .items(List.of(orderItem))
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
@@ -144,7 +144,7 @@ class OrderEventDTOTest {
                 .orderId(UUID.randomUUID())
                 .customerId(12345L)
                 .items(List.of(orderItem))
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .createdAt(null)
                 .updatedAt(null)
                 .build();
@@ -155,7 +155,7 @@ class OrderEventDTOTest {
 
     @Test
     void allFieldsNull_ShouldFailValidation() {
-        OrderEventDTO orderEventDTO = new OrderEventDTO();
+        OrderEventDTO orderEventDTO = OrderEventDTO.builder().build();
 
         Set<ConstraintViolation<OrderEventDTO>> violations = validator.validate(orderEventDTO);
         assertFalse(violations.isEmpty(), "Deve falhar na validação");
@@ -0,0 +1,58 @@
+package com.sysmapproject.contracts;
+
+import jakarta.validation.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderEventEnvelopeDTOTest {
+
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+    }
+
+    @Test
+    void validEnvelope_ShouldPassValidation() {
+        OrderEventEnvelopeDTO envelope = OrderEventEnvelopeDTO.builder()
+                .orderEvents(List.of(orderEvent(), orderEvent()))
+                .build();
+
+        Set<ConstraintViolation<OrderEventEnvelopeDTO>> violations = validator.validate(envelope);
+        assertTrue(violations.isEmpty());
+    }
+
+    @Test
+    void nullOrderEvents_ShouldFailValidation() {
+        OrderEventEnvelopeDTO envelope = new OrderEventEnvelopeDTO(null);
+
+        Set<ConstraintViolation<OrderEventEnvelopeDTO>> violations = validator.validate(envelope);
+        assertTrue(violations.stream().anyMatch(v -> v.getPropertyPath().toString().equals("orderEvents")
+                && v.getMessage().equals("Order events cannot be null")));
+    }
+
+    @Test
+    void invalidOrderEvent_ShouldFailValidationOfTheEnvelope() {
+        OrderEventEnvelopeDTO envelope = new OrderEventEnvelopeDTO(List.of(orderEvent().toBuilder().orderId(null).build()));
+
+        Set<ConstraintViolation<OrderEventEnvelopeDTO>> violations = validator.validate(envelope);
+        assertFalse(violations.isEmpty());
+    }
+
+    private OrderEventDTO orderEvent() {
+        return OrderEventDTO.builder()
+                .orderId(UUID.randomUUID())
+                .customerId(1L)
+                .status(OrderStatus.PENDING)
+                .items(List.of(new OrderItemDTO(UUID.randomUUID(), 1)))
+                .build();
+    }
+}
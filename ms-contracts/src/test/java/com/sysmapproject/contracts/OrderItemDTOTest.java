@@ -1,4 +1,4 @@
-package com.sysmapproject.ms_order_service_v1.core.domain.dto;
+package com.sysmapproject.contracts;
 
 import jakarta.validation.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -58,7 +58,7 @@ class OrderItemDTOTest {
 
     @Test
     void nullFields_ShouldFailValidation() {
-        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        OrderItemDTO orderItemDTO = OrderItemDTO.builder().build();
 
         Set<ConstraintViolation<OrderItemDTO>> violations = validator.validate(orderItemDTO);
         assertEquals(2, violations.size(), "Deve haver 2 violações");
@@ -0,0 +1,67 @@
+package com.sysmapproject.contracts;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProducerProfileTest {
+
+    @Test
+    void default_ShouldLeavePropertiesAlone() {
+        Map<String, Object> props = new HashMap<>(Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092"));
+
+        ProducerProfile.DEFAULT.applyTo(props);
+
+        assertEquals(Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092"), props);
+    }
+
+    @Test
+    void highThroughput_ShouldLingerForLargeCompressedBatches() {
+        Map<String, Object> props = new HashMap<>();
+
+        ProducerProfile.HIGH_THROUGHPUT.applyTo(props);
+
+        assertEquals(20, props.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(262_144, props.get(ProducerConfig.BATCH_SIZE_CONFIG));
+        assertEquals("zstd", props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    }
+
+    @Test
+    void durable_ShouldWaitForEveryReplicaAndBeIdempotent() {
+        Map<String, Object> props = new HashMap<>(Map.of(ProducerConfig.ACKS_CONFIG, "1"));
+
+        ProducerProfile.DURABLE.applyTo(props);
+
+        assertEquals("all", props.get(ProducerConfig.ACKS_CONFIG));
+        assertEquals(true, props.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertTrue(ProducerProfile.DURABLE.isIdempotent());
+    }
+
+    @Test
+    void lowLatency_ShouldSendAtOnceWithoutIdempotence() {
+        assertEquals(0, ProducerProfile.LOW_LATENCY.settings().get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals("1", ProducerProfile.LOW_LATENCY.settings().get(ProducerConfig.ACKS_CONFIG));
+        assertFalse(ProducerProfile.LOW_LATENCY.isIdempotent());
+    }
+
+    // the client rejects idempotence with acks other than all, so every profile must be consistent
+    @Test
+    void everyProfile_ShouldBeAcceptedByTheProducerConfig() {
+        for (ProducerProfile profile : ProducerProfile.values()) {
+            Map<String, Object> props = new HashMap<>(Map.of(
+                    ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092",
+                    ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                    ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class));
+            profile.applyTo(props);
+
+            ProducerConfig config = new ProducerConfig(props);
+
+            assertEquals(profile.isIdempotent(), config.getBoolean(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG), profile.name());
+        }
+    }
+}
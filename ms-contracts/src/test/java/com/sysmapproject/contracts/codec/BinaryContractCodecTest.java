@@ -0,0 +1,276 @@
+package com.sysmapproject.contracts.codec;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryContractCodecTest {
+
+    @Test
+    void orderEvent_ShouldRoundTrip() {
+        OrderEventDTO event = orderEvent();
+
+        OrderEventDTO decoded = BinaryContractCodec.decodeOrderEvent(BinaryContractCodec.encodeOrderEvent(event));
+
+        assertEquals(event, decoded);
+    }
+
+    @Test
+    void orderEvent_WithNullFields_ShouldRoundTripNulls() {
+        OrderEventDTO event = OrderEventDTO.builder()
+                .orderId(UUID.randomUUID())
+                .items(List.of(OrderItemDTO.builder().productId(UUID.randomUUID()).build()))
+                .build();
+
+        OrderEventDTO decoded = BinaryContractCodec.decodeOrderEvent(BinaryContractCodec.encodeOrderEvent(event));
+
+        assertEquals(event, decoded);
+        assertNull(decoded.getCustomerId());
+        assertNull(decoded.getStatus());
+        assertNull(decoded.getCreatedAt());
+        assertNull(decoded.getItems().get(0).getQuantity());
+    }
+
+    @Test
+    void orderEvent_ShouldKeepNegativeQuantitiesAndTimestampsBeforeEpoch() {
+        OrderEventDTO event = orderEvent().toBuilder()
+                .items(List.of(new OrderItemDTO(UUID.randomUUID(), -3)))
+                .createdAt(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000))
+                .build();
+
+        OrderEventDTO decoded = BinaryContractCodec.decodeOrderEvent(BinaryContractCodec.encodeOrderEvent(event));
+
+        assertEquals(-3, decoded.getItems().get(0).getQuantity());
+        assertEquals(event.getCreatedAt(), decoded.getCreatedAt());
+    }
+
+    @Test
+    void orderEvent_ShouldTruncateTimestampsToMicroseconds() {
+        OrderEventDTO event = orderEvent().toBuilder()
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_789))
+                .build();
+
+        OrderEventDTO decoded = BinaryContractCodec.decodeOrderEvent(BinaryContractCodec.encodeOrderEvent(event));
+
+        assertEquals(LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_000), decoded.getCreatedAt());
+    }
+
+    @Test
+    void orderEvent_ShouldStartWithVersionTypeAndOrderIdLongs() {
+        OrderEventDTO event = orderEvent();
+
+        ByteBuffer bytes = ByteBuffer.wrap(BinaryContractCodec.encodeOrderEvent(event));
+
+        assertEquals(BinaryContractCodec.VERSION, bytes.get());
+        assertEquals(BinaryContractCodec.ORDER_EVENT, bytes.get());
+        bytes.get();
+        assertEquals(event.getOrderId().getMostSignificantBits(), bytes.getLong());
+        assertEquals(event.getOrderId().getLeastSignificantBits(), bytes.getLong());
+    }
+
+    @Test
+    void decodeOrderEvent_VersionOneBytes_ShouldReadEveryField() {
+        // orderId, customerId 42, PENDING, createdAt 8192 and updatedAt 1 microseconds after the epoch,
+        // one item of quantity 3
+        UUID orderId = UUID.fromString("0190f4c2-7d1a-7b3e-9a41-5f2c8e6d1b07");
+        UUID productId = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae7");
+        byte[] bytes = concat(new byte[]{1, 1, 0b111111}, longs(orderId), new byte[]{84, 0},
+                new byte[]{(byte) 0x80, (byte) 0x80, 0x01}, new byte[]{0x02}, new byte[]{2, 0b11}, longs(productId), new byte[]{6});
+
+        OrderEventDTO decoded = BinaryContractCodec.decodeOrderEvent(bytes);
+
+        assertEquals(orderId, decoded.getOrderId());
+        assertEquals(42L, decoded.getCustomerId());
+        assertEquals(OrderStatus.PENDING, decoded.getStatus());
+        assertEquals(LocalDateTime.of(1970, 1, 1, 0, 0, 0, 8_192_000), decoded.getCreatedAt());
+        assertEquals(LocalDateTime.of(1970, 1, 1, 0, 0, 0, 1_000), decoded.getUpdatedAt());
+        assertEquals(List.of(new OrderItemDTO(productId, 3)), decoded.getItems());
+        assertArrayEquals(bytes, BinaryContractCodec.encodeOrderEvent(decoded));
+    }
+
+    @Test
+    void decodeOrderEvent_ShouldReturnUnmodifiableItems() {
+        OrderEventDTO decoded = BinaryContractCodec.decodeOrderEvent(BinaryContractCodec.encodeOrderEvent(orderEvent()));
+
+        assertThrows(UnsupportedOperationException.class, () -> decoded.getItems().add(new OrderItemDTO(UUID.randomUUID(), 1)));
+    }
+
+    @Test
+    void orderEvent_ShouldBeFarSmallerThanJson() {
+        OrderEventDTO event = orderEvent();
+        JsonSerializer<OrderEventDTO> json = new JsonSerializer<>();
+        json.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+
+        byte[] binary = BinaryContractCodec.encodeOrderEvent(event);
+
+        assertTrue(binary.length * 3 < json.serialize("topic", event).length);
+    }
+
+    @Test
+    void encodedSize_ShouldMatchEncodedLength() {
+        OrderEventDTO event = orderEvent();
+
+        assertEquals(BinaryContractCodec.encodeOrderEvent(event).length, BinaryContractCodec.encodedSize(event));
+        assertEquals(3, BinaryContractCodec.encodedSize(OrderEventDTO.builder().build()));
+    }
+
+    @Test
+    void orderEventEnvelope_ShouldRoundTripEveryEventInOrder() {
+        OrderEventEnvelopeDTO envelope = new OrderEventEnvelopeDTO(List.of(
+                orderEvent(),
+                OrderEventDTO.builder().orderId(UUID.randomUUID()).build(),
+                orderEvent()));
+
+        OrderEventEnvelopeDTO decoded = BinaryContractCodec.decodeOrderEventEnvelope(BinaryContractCodec.encodeOrderEventEnvelope(envelope));
+
+        assertEquals(envelope, decoded);
+    }
+
+    @Test
+    void orderEventEnvelope_ShouldHoldEachEventAsWrittenOnItsOwn() {
+        OrderEventDTO first = orderEvent();
+        OrderEventDTO second = orderEvent();
+        byte[] firstBytes = BinaryContractCodec.encodeOrderEvent(first);
+        byte[] secondBytes = BinaryContractCodec.encodeOrderEvent(second);
+
+        byte[] bytes = BinaryContractCodec.encodeOrderEventEnvelope(new OrderEventEnvelopeDTO(List.of(first, second)));
+
+        assertArrayEquals(concat(new byte[]{1, 3, 4}, Arrays.copyOfRange(firstBytes, 2, firstBytes.length),
+                Arrays.copyOfRange(secondBytes, 2, secondBytes.length)), bytes);
+    }
+
+    @Test
+    void orderEventEnvelope_Empty_ShouldRoundTrip() {
+        OrderEventEnvelopeDTO decoded = BinaryContractCodec.decodeOrderEventEnvelope(
+                BinaryContractCodec.encodeOrderEventEnvelope(new OrderEventEnvelopeDTO(List.of())));
+
+        assertTrue(decoded.getOrderEvents().isEmpty());
+    }
+
+    @Test
+    void decodeOrderEventEnvelope_TruncatedOrSingleEvent_ShouldThrow() {
+        byte[] bytes = BinaryContractCodec.encodeOrderEventEnvelope(new OrderEventEnvelopeDTO(List.of(orderEvent(), orderEvent())));
+
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThrows(SerializationException.class, () -> BinaryContractCodec.decodeOrderEventEnvelope(truncated));
+        }
+        assertThrows(SerializationException.class,
+                () -> BinaryContractCodec.decodeOrderEventEnvelope(BinaryContractCodec.encodeOrderEvent(orderEvent())));
+    }
+
+    @Test
+    void inventoryResponse_ShouldRoundTrip() {
+        InventoryResponseDTO response = new InventoryResponseDTO(UUID.randomUUID(), OrderStatus.CANCELLED,
+                "Estoque insuficiente para o produto ção");
+
+        InventoryResponseDTO decoded = BinaryContractCodec.decodeInventoryResponse(BinaryContractCodec.encodeInventoryResponse(response));
+
+        assertEquals(response, decoded);
+    }
+
+    @Test
+    void inventoryResponse_WithNullFields_ShouldRoundTripNulls() {
+        InventoryResponseDTO response = InventoryResponseDTO.builder().build();
+
+        InventoryResponseDTO decoded = BinaryContractCodec.decodeInventoryResponse(BinaryContractCodec.encodeInventoryResponse(response));
+
+        assertEquals(response, decoded);
+    }
+
+    @Test
+    void inventoryResponse_ShouldWriteMessageAsStringGetBytesDoes() {
+        String message = "aç€😀 lone \uD83D end";
+        InventoryResponseDTO response = new InventoryResponseDTO(null, null, message);
+
+        byte[] bytes = BinaryContractCodec.encodeInventoryResponse(response);
+
+        byte[] expected = message.getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, Arrays.copyOfRange(bytes, bytes.length - expected.length, bytes.length));
+        assertEquals(new String(expected, StandardCharsets.UTF_8), BinaryContractCodec.decodeInventoryResponse(bytes).getMessage());
+    }
+
+    @Test
+    void decode_UnknownVersion_ShouldThrow() {
+        byte[] bytes = BinaryContractCodec.encodeOrderEvent(orderEvent());
+        bytes[0] = 2;
+
+        SerializationException exception = assertThrows(SerializationException.class,
+                () -> BinaryContractCodec.decodeOrderEvent(bytes));
+        assertTrue(exception.getMessage().contains("unsupported version 2"));
+    }
+
+    @Test
+    void decode_OtherMessageType_ShouldThrow() {
+        byte[] bytes = BinaryContractCodec.encodeOrderEvent(orderEvent());
+
+        assertThrows(SerializationException.class, () -> BinaryContractCodec.decodeInventoryResponse(bytes));
+    }
+
+    @Test
+    void decode_TruncatedMessage_ShouldThrow() {
+        byte[] bytes = BinaryContractCodec.encodeOrderEvent(orderEvent());
+
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThrows(SerializationException.class, () -> BinaryContractCodec.decodeOrderEvent(truncated));
+        }
+    }
+
+    @Test
+    void decode_CorruptMessageLength_ShouldThrowInsteadOfAllocating() {
+        InventoryResponseDTO response = new InventoryResponseDTO(UUID.randomUUID(), OrderStatus.CONFIRMED, "ok");
+        byte[] bytes = BinaryContractCodec.encodeInventoryResponse(response);
+        bytes[bytes.length - 3] = 0x7E;
+
+        assertThrows(SerializationException.class, () -> BinaryContractCodec.decodeInventoryResponse(bytes));
+    }
+
+    @Test
+    void decode_UnknownStatusCode_ShouldThrow() {
+        byte[] bytes = BinaryContractCodec.encodeInventoryResponse(new InventoryResponseDTO(null, OrderStatus.CONFIRMED, null));
+        bytes[bytes.length - 1] = 6;
+
+        assertThrows(SerializationException.class, () -> BinaryContractCodec.decodeInventoryResponse(bytes));
+    }
+
+    private OrderEventDTO orderEvent() {
+        return OrderEventDTO.builder()
+                .orderId(UUID.randomUUID())
+                .customerId(42L)
+                .status(OrderStatus.PENDING)
+                .createdAt(LocalDateTime.of(2024, 5, 10, 14, 30, 15, 123_456_000))
+                .updatedAt(LocalDateTime.of(2024, 5, 10, 14, 30, 16))
+                .items(List.of(
+                        new OrderItemDTO(UUID.randomUUID(), 2),
+                        new OrderItemDTO(UUID.randomUUID(), 300)))
+                .build();
+    }
+
+    private static byte[] longs(UUID uuid) {
+        return ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteBuffer buffer = ByteBuffer.allocate(Arrays.stream(parts).mapToInt(part -> part.length).sum());
+        for (byte[] part : parts) {
+            buffer.put(part);
+        }
+        return buffer.array();
+    }
+}
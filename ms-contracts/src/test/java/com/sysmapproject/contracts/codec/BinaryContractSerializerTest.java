@@ -0,0 +1,84 @@
+package com.sysmapproject.contracts.codec;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryContractSerializerTest {
+
+    private BinaryContractSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new BinaryContractSerializer();
+        serializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+    }
+
+    @Test
+    void serialize_OrderEvent_ShouldWriteBinaryAndMarkRecord() {
+        OrderEventDTO event = OrderEventDTO.builder().orderId(UUID.randomUUID()).customerId(1L).items(List.of()).build();
+        Headers headers = new RecordHeaders();
+
+        byte[] bytes = serializer.serialize("topic", headers, event);
+
+        assertEquals(WireFormat.BINARY, WireFormat.of(headers));
+        assertEquals(event, BinaryContractCodec.decodeOrderEvent(bytes));
+    }
+
+    @Test
+    void serialize_OrderEventEnvelope_ShouldWriteBinaryAndMarkRecord() {
+        OrderEventEnvelopeDTO envelope = new OrderEventEnvelopeDTO(List.of(
+                OrderEventDTO.builder().orderId(UUID.randomUUID()).build(),
+                OrderEventDTO.builder().orderId(UUID.randomUUID()).build()));
+        Headers headers = new RecordHeaders();
+
+        byte[] bytes = serializer.serialize("topic", headers, envelope);
+
+        assertEquals(WireFormat.BINARY, WireFormat.of(headers));
+        assertEquals(envelope, BinaryContractCodec.decodeOrderEventEnvelope(bytes));
+    }
+
+    @Test
+    void serialize_InventoryResponse_ShouldWriteBinaryAndMarkRecord() {
+        InventoryResponseDTO response = new InventoryResponseDTO(UUID.randomUUID(), OrderStatus.CONFIRMED, "ok");
+        Headers headers = new RecordHeaders();
+
+        byte[] bytes = serializer.serialize("topic", headers, response);
+
+        assertEquals(WireFormat.BINARY, WireFormat.of(headers));
+        assertEquals(response, BinaryContractCodec.decodeInventoryResponse(bytes));
+    }
+
+    @Test
+    void serialize_OtherValue_ShouldWriteJsonAndDropStaleFormatHeader() {
+        Headers headers = new RecordHeaders();
+        WireFormat.BINARY.writeTo(headers);
+
+        byte[] bytes = serializer.serialize("topic", headers, Map.of("key", "value"));
+
+        assertEquals(WireFormat.JSON, WireFormat.of(headers));
+        assertEquals("{\"key\":\"value\"}", new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void serialize_WithoutHeaders_ShouldWriteJson() {
+        OrderEventDTO event = OrderEventDTO.builder().orderId(UUID.randomUUID()).build();
+
+        byte[] bytes = serializer.serialize("topic", event);
+
+        assertTrue(new String(bytes, StandardCharsets.UTF_8).contains(event.getOrderId().toString()));
+    }
+}
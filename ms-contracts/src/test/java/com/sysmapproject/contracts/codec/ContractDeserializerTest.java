@@ -0,0 +1,89 @@
+package com.sysmapproject.contracts.codec;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContractDeserializerTest {
+
+    private ContractDeserializer<InventoryResponseDTO> deserializer;
+    private InventoryResponseDTO response;
+
+    @BeforeEach
+    void setUp() {
+        JsonDeserializer<InventoryResponseDTO> jsonDeserializer = new JsonDeserializer<>(InventoryResponseDTO.class, false);
+        deserializer = new ContractDeserializer<>(BinaryContractCodec::decodeInventoryResponse, jsonDeserializer);
+        response = new InventoryResponseDTO(UUID.randomUUID(), OrderStatus.CONFIRMED, "Order confirmed.");
+    }
+
+    @Test
+    void deserialize_BinaryRecord_ShouldUseCodec() {
+        Headers headers = new RecordHeaders();
+        WireFormat.BINARY.writeTo(headers);
+
+        InventoryResponseDTO result = deserializer.deserialize("topic", headers, BinaryContractCodec.encodeInventoryResponse(response));
+
+        assertEquals(response, result);
+    }
+
+    @Test
+    void deserialize_RecordWithoutFormatHeader_ShouldReadJson() {
+        JsonSerializer<InventoryResponseDTO> jsonSerializer = new JsonSerializer<>();
+        jsonSerializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+
+        InventoryResponseDTO result = deserializer.deserialize("topic", new RecordHeaders(), jsonSerializer.serialize("topic", response));
+
+        assertEquals(response, result);
+    }
+
+    @Test
+    void deserialize_JsonFromServicesBeforeSharedContracts_ShouldBuildImmutableMessage() {
+        ContractDeserializer<OrderEventDTO> orderEvents = new ContractDeserializer<>(BinaryContractCodec::decodeOrderEvent,
+                new JsonDeserializer<>(OrderEventDTO.class, false));
+        String json = "{\"orderId\":\"0190f4c2-7d1a-7b3e-9a41-5f2c8e6d1b07\",\"customerId\":7,"
+                + "\"items\":[{\"productId\":\"7c9e6679-7425-40de-944b-e07fc1f90ae7\",\"quantity\":4}],"
+                + "\"status\":\"PENDING\",\"createdAt\":\"2024-05-10T14:30:15.123456\",\"updatedAt\":null}";
+
+        OrderEventDTO event = orderEvents.deserialize("topic", new RecordHeaders(), json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(OrderEventDTO.builder()
+                .orderId(UUID.fromString("0190f4c2-7d1a-7b3e-9a41-5f2c8e6d1b07"))
+                .customerId(7L)
+                .items(List.of(new OrderItemDTO(UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae7"), 4)))
+                .status(OrderStatus.PENDING)
+                .createdAt(LocalDateTime.of(2024, 5, 10, 14, 30, 15, 123_456_000))
+                .build(), event);
+    }
+
+    @Test
+    void deserialize_BinaryTombstone_ShouldReturnNull() {
+        Headers headers = new RecordHeaders();
+        WireFormat.BINARY.writeTo(headers);
+
+        assertNull(deserializer.deserialize("topic", headers, (byte[]) null));
+    }
+
+    @Test
+    void deserialize_UnknownFormat_ShouldThrow() {
+        Headers headers = new RecordHeaders();
+        headers.add(WireFormat.HEADER, "avro".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("topic", headers, new byte[]{1}));
+    }
+}
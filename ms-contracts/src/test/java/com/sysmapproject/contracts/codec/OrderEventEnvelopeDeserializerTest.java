@@ -0,0 +1,91 @@
+package com.sysmapproject.contracts.codec;
+
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderEventEnvelopeDeserializerTest {
+
+    private OrderEventEnvelopeDeserializer deserializer;
+    private JsonSerializer<Object> jsonSerializer;
+
+    @BeforeEach
+    void setUp() {
+        deserializer = new OrderEventEnvelopeDeserializer(
+                new ContractDeserializer<>(BinaryContractCodec::decodeOrderEvent, new JsonDeserializer<>(OrderEventDTO.class, false)),
+                new ContractDeserializer<>(BinaryContractCodec::decodeOrderEventEnvelope, new JsonDeserializer<>(OrderEventEnvelopeDTO.class, false)));
+        jsonSerializer = new JsonSerializer<>();
+        jsonSerializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+    }
+
+    @Test
+    void deserialize_MarkedBinaryRecord_ShouldReadEnvelope() {
+        OrderEventEnvelopeDTO envelope = new OrderEventEnvelopeDTO(List.of(orderEvent(), orderEvent()));
+        Headers headers = new RecordHeaders();
+        WireFormat.BINARY.writeTo(headers);
+        OrderEventEnvelopeDeserializer.mark(headers);
+
+        OrderEventEnvelopeDTO result = deserializer.deserialize("topic", headers, BinaryContractCodec.encodeOrderEventEnvelope(envelope));
+
+        assertEquals(envelope, result);
+    }
+
+    @Test
+    void deserialize_MarkedJsonRecord_ShouldReadEnvelope() {
+        OrderEventEnvelopeDTO envelope = new OrderEventEnvelopeDTO(List.of(orderEvent(), orderEvent()));
+        Headers headers = new RecordHeaders();
+        OrderEventEnvelopeDeserializer.mark(headers);
+
+        OrderEventEnvelopeDTO result = deserializer.deserialize("topic", headers, jsonSerializer.serialize("topic", envelope));
+
+        assertEquals(envelope, result);
+    }
+
+    @Test
+    void deserialize_SingleEventRecord_ShouldReadEnvelopeOfOne() {
+        OrderEventDTO event = orderEvent();
+        Headers binary = new RecordHeaders();
+        WireFormat.BINARY.writeTo(binary);
+
+        OrderEventEnvelopeDTO fromBinary = deserializer.deserialize("topic", binary, BinaryContractCodec.encodeOrderEvent(event));
+        OrderEventEnvelopeDTO fromJson = deserializer.deserialize("topic", new RecordHeaders(), jsonSerializer.serialize("topic", event));
+
+        assertEquals(List.of(event), fromBinary.getOrderEvents());
+        assertEquals(List.of(event), fromJson.getOrderEvents());
+    }
+
+    @Test
+    void deserialize_Tombstone_ShouldReturnNull() {
+        Headers headers = new RecordHeaders();
+        WireFormat.BINARY.writeTo(headers);
+
+        assertNull(deserializer.deserialize("topic", headers, (byte[]) null));
+    }
+
+    @Test
+    void mark_ShouldBeIdempotent() {
+        Headers headers = new RecordHeaders();
+
+        OrderEventEnvelopeDeserializer.mark(headers);
+        OrderEventEnvelopeDeserializer.mark(headers);
+
+        assertTrue(OrderEventEnvelopeDeserializer.isMarked(headers));
+        assertEquals(1, headers.toArray().length);
+        assertFalse(OrderEventEnvelopeDeserializer.isMarked(new RecordHeaders()));
+    }
+
+    private OrderEventDTO orderEvent() {
+        return OrderEventDTO.builder().orderId(UUID.randomUUID()).customerId(1L).items(List.of()).build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.desafiosysmap.ms_inventory_service_v1.api.rest.controller;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockLedgerConsistencyDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.in.StockLedgerPortIn;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/ledger")
+@ConditionalOnProperty(name = "inventory.reservation.mode", havingValue = "ledger")
+@Tag(name = "Stock Ledger", description = "Endpoints for inspecting the in-memory stock ledger")
+public class StockLedgerController {
+
+    private final StockLedgerPortIn stockLedgerService;
+
+    @GetMapping("/consistency")
+    @Operation(summary = "Check ledger consistency", description = "Compare the in-memory stock ledger with the products table")
+    public ResponseEntity<StockLedgerConsistencyDTO> checkConsistency() {
+
+        log.info("Received request to check stock ledger consistency");
+
+        try {
+            return ResponseEntity.ok(stockLedgerService.checkConsistency());
+        } catch (Exception e) {
+            log.error("Failed to check stock ledger consistency: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationLineDTO {
+
+    private UUID productId;
+
+    private Integer requestedQuantity;
+
+    private Integer availableQuantity;
+
+    private boolean reserved;
+}
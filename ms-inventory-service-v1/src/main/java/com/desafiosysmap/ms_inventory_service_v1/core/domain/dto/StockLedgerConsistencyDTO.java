@@ -0,0 +1,19 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockLedgerConsistencyDTO {
+
+    private boolean consistent;
+    private int checkedProducts;
+    private List<StockLedgerDriftDTO> drifts;
+}
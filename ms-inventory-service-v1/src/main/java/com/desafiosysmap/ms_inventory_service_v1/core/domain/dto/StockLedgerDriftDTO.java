@@ -1,20 +1,20 @@
 package com.desafiosysmap.ms_inventory_service_v1.core.domain.dto;
 
-import com.desafiosysmap.ms_inventory_service_v1.shared.enums.OrderStatus;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.UUID;
 
 @Data
+@Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class InventoryResponseDTO {
+public class StockLedgerDriftDTO {
 
-    public UUID orderId;
-
-    public OrderStatus status;
-
-    public String message;
+    private UUID productId;
+    private Long ledgerQuantity;
+    private Long pendingQuantity;
+    private Long databaseQuantity;
 }
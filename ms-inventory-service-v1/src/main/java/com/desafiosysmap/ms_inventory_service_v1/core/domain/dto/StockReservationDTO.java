@@ -0,0 +1,17 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockReservationDTO {
+
+    private boolean reserved;
+
+    private List<ReservationLineDTO> lines;
+}
@@ -0,0 +1,31 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.entity;
+
+import com.sysmapproject.contracts.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "processed_orders")
+public class ProcessedOrder {
+
+    @Id
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private UUID orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "message")
+    private String message;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+}
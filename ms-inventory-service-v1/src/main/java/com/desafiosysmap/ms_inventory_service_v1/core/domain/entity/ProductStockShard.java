@@ -0,0 +1,27 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@IdClass(ProductStockShardId.class)
+@Table(name = "product_stock_shards")
+public class ProductStockShard {
+
+    @Id
+    @Column(name = "product_id", nullable = false, updatable = false)
+    private UUID productId;
+
+    @Id
+    @Column(name = "shard_no", nullable = false, updatable = false)
+    private Integer shardNo;
+
+    @Column(nullable = false)
+    private Integer quantity;
+}
@@ -0,0 +1,18 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockShardId implements Serializable {
+
+    private UUID productId;
+
+    private Integer shardNo;
+}
@@ -0,0 +1,20 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "stock_ledger_checkpoints")
+public class StockLedgerCheckpoint {
+
+    @Id
+    @Column(name = "id", nullable = false, updatable = false)
+    private Integer id;
+
+    @Column(name = "sequence", nullable = false)
+    private Long sequence;
+}
@@ -1,95 +1,148 @@
 package com.desafiosysmap.ms_inventory_service_v1.core.domain.service;
 
-import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.InventoryResponseDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.ReservationLineDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockReservationDTO;
 import com.desafiosysmap.ms_inventory_service_v1.core.port.in.InventoryCheckUseCase;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.ProcessedOrderPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockReservationPortOut;
 import com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka.KafkaProducer;
-import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.InventoryRepository;
-import com.desafiosysmap.ms_inventory_service_v1.kafka.contracts.OrderEventDTO;
-import com.desafiosysmap.ms_inventory_service_v1.shared.enums.OrderStatus;
+import com.desafiosysmap.ms_inventory_service_v1.shared.util.UuidOrdering;
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.contracts.OrderStatus;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class InventoryCheckService implements InventoryCheckUseCase {
 
-    private final InventoryRepository inventoryRepository;
+    private final StockReservationPortOut stockReservationPortOut;
     private final KafkaProducer kafkaProducer;
+    private final ProcessedOrderPortOut processedOrderPortOut;
 
     @Override
     @Transactional
-    public void checkInventory(OrderEventDTO orderEvent) {
-        log.info("Checking inventory for Order ID: {}", orderEvent.getOrderId());
+    public CompletableFuture<Void> checkInventory(OrderEventDTO orderEvent) {
+
+        InventoryResponseDTO response = evaluate(orderEvent);
+        if (response == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> published = kafkaProducer.sendInventoryValidation(response);
+        log.info("Sent inventory validation for Order ID: {}", response.getOrderId());
+        return published;
+    }
 
-        UUID orderId;
-        try {
-            orderId = UUID.fromString(orderEvent.getOrderId().toString());
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid UUID format for Order ID: {}", orderEvent.getOrderId(), e);
+    @Override
+    @Transactional
+    public void checkInventoryBatch(List<OrderEventDTO> orderEvents) {
+
+        List<InventoryResponseDTO> responses = new ArrayList<>(orderEvents.size());
+        for (OrderEventDTO orderEvent : orderEvents) {
+            InventoryResponseDTO response = evaluate(orderEvent);
+            if (response != null) {
+                responses.add(response);
+            }
+        }
+
+        if (responses.isEmpty()) {
             return;
         }
 
+        kafkaProducer.sendInventoryValidations(responses);
+        log.info("Sent {} inventory validations for a batch of {} order events", responses.size(), orderEvents.size());
+    }
+
+    private InventoryResponseDTO evaluate(OrderEventDTO orderEvent) {
+        log.info("Checking inventory for Order ID: {}", orderEvent.getOrderId());
+
+        UUID orderId = orderEvent.getOrderId();
+
+        Optional<InventoryResponseDTO> processed = processedOrderPortOut.findProcessed(orderId);
+        if (processed.isPresent()) {
+            log.info("Order ID {} was already processed, publishing its recorded result again", orderId);
+            return processed.get();
+        }
+
         boolean hasNullProductId = orderEvent.getItems().stream()
                 .anyMatch(item -> item.getProductId() == null);
 
         if (hasNullProductId) {
             log.error("Order ID {} contains items with null productId", orderId);
-            return;
+            return null;
         }
 
-        boolean allAvailable = orderEvent.getItems().stream().allMatch(item -> {
-            try {
-                UUID productId = UUID.fromString(item.getProductId());
-                log.info("Checking stock for product ID: {}", productId);
-
-                return inventoryRepository.findById(productId)
-                        .map(product -> product.getQuantity() >= item.getQuantity())
-                        .orElse(false);
-            } catch (IllegalArgumentException e) {
-                log.error("Invalid UUID format for Product ID: {}", item.getProductId(), e);
-                return false;
-            }
-        });
+        List<ReservationLineDTO> lines = toReservationLines(orderEvent.getItems());
 
         OrderStatus status;
         String message;
 
-        if (allAvailable) {
-            boolean updateSuccessful = orderEvent.getItems().stream().allMatch(item -> {
-                try {
-                    UUID productId = UUID.fromString(item.getProductId());
-                    int updatedRows = inventoryRepository.updateInventory(productId, item.getQuantity());
-                    return updatedRows > 0;
-                } catch (IllegalArgumentException e) {
-                    log.error("Invalid UUID format during stock update for Product ID: {}", item.getProductId(), e);
-                    return false;
-                }
-            });
-
-            if (updateSuccessful) {
-                status = OrderStatus.CONFIRMED;
-                message = "Order confirmed. Stock updated successfully.";
-                log.info("Inventory updated for Order ID: {}", orderId);
-            } else {
-                status = OrderStatus.CANCELLED;
-                message = "Order cancelled due to stock update failure.";
-                log.warn("Stock update failed for Order ID: {}", orderId);
-            }
+        if (lines != null && reserve(orderId, lines)) {
+            status = OrderStatus.CONFIRMED;
+            message = "Order confirmed. Stock updated successfully.";
+            log.info("Inventory updated for Order ID: {}", orderId);
         } else {
             status = OrderStatus.CANCELLED;
             message = "Order cancelled due to insufficient stock.";
             log.warn("Insufficient stock for Order ID: {}", orderId);
         }
 
-        log.info("Searching Order with ID: {}", orderId);
-
         InventoryResponseDTO response = new InventoryResponseDTO(orderId, status, message);
-        kafkaProducer.sendInventoryValidation(response);
-        log.info("Sent inventory validation for Order ID: {}", orderId);
+        processedOrderPortOut.markProcessed(response);
+        return response;
+    }
+
+    private boolean reserve(UUID orderId, List<ReservationLineDTO> lines) {
+
+        if (lines.isEmpty()) {
+            return true;
+        }
+
+        StockReservationDTO reservation = stockReservationPortOut.reserve(lines);
+
+        reservation.getLines().stream()
+                .filter(line -> !line.isReserved())
+                .forEach(line -> log.info("Order ID: {} - product ID: {} requested {} with {} available",
+                        orderId, line.getProductId(), line.getRequestedQuantity(), line.getAvailableQuantity()));
+
+        return reservation.isReserved();
+    }
+
+    private List<ReservationLineDTO> toReservationLines(List<OrderItemDTO> items) {
+
+        Map<UUID, Integer> quantitiesByProduct = new TreeMap<>(UuidOrdering.POSTGRES);
+        for (OrderItemDTO item : items) {
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                log.error("Invalid quantity {} for Product ID: {}", item.getQuantity(), item.getProductId());
+                return null;
+            }
+            try {
+                quantitiesByProduct.merge(item.getProductId(), item.getQuantity(), Math::addExact);
+            } catch (ArithmeticException e) {
+                log.error("Requested quantity overflows for Product ID: {}", item.getProductId());
+                return null;
+            }
+        }
+
+        List<ReservationLineDTO> lines = new ArrayList<>(quantitiesByProduct.size());
+        quantitiesByProduct.forEach((productId, quantity) -> lines.add(ReservationLineDTO.builder()
+                .productId(productId)
+                .requestedQuantity(quantity)
+                .build()));
+        return lines;
     }
 }
@@ -0,0 +1,28 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.service;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.ProcessedOrderPortOut;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProcessedOrderPurgeService {
+
+    private final ProcessedOrderPortOut processedOrderPortOut;
+
+    @Scheduled(fixedDelayString = "${inventory.dedup.purge-interval-ms:60000}")
+    public void purgeExpired() {
+
+        try {
+            int purged = processedOrderPortOut.purgeExpired();
+            if (purged > 0) {
+                log.info("Purged {} expired processed orders", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error while purging processed orders", e);
+        }
+    }
+}
@@ -3,12 +3,17 @@ package com.desafiosysmap.ms_inventory_service_v1.core.domain.service;
 import com.desafiosysmap.ms_inventory_service_v1.core.domain.entity.Product;
 import com.desafiosysmap.ms_inventory_service_v1.core.port.in.ProductPortIn;
 import com.desafiosysmap.ms_inventory_service_v1.core.port.out.ProductPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockReservationPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockShardPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.shared.util.IdGenerator;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -17,14 +22,18 @@ import java.util.UUID;
 public class ProductService implements ProductPortIn {
 
     private final ProductPortOut productPortOut;
+    private final StockShardPortOut stockShardPortOut;
+    private final StockReservationPortOut stockReservationPortOut;
+    private final IdGenerator idGenerator;
 
     @Override
     public Product crateProduct(Product product) {
 
         try {
             validateProduct(product);
-            product.setId(UUID.randomUUID());
+            product.setId(idGenerator.next());
             Product savedProduct = productPortOut.save(product);
+            stockReservationPortOut.setQuantity(savedProduct.getId(), product.getQuantity());
             log.info("Product created with ID: {}", savedProduct.getId());
             return savedProduct;
         } catch (Exception e) {
@@ -37,7 +46,10 @@ public class ProductService implements ProductPortIn {
     public List<Product> listProducts() {
 
         try {
-            return productPortOut.findAll();
+            Map<UUID, Integer> shardedQuantities = stockShardPortOut.findShardedQuantities();
+            return productPortOut.findAll().stream()
+                    .map(product -> withShardedQuantity(product, shardedQuantities.get(product.getId())))
+                    .toList();
         } catch (Exception e) {
             log.error("Error retrieving products: {}", e.getMessage());
             throw new RuntimeException("Error retrieving all products: " + e.getMessage(), e);
@@ -51,15 +63,21 @@ public class ProductService implements ProductPortIn {
             if (id == null) {
                 throw new IllegalArgumentException("Product ID cannot be null");
             }
-            return productPortOut.findById(id)
+            Product product = productPortOut.findById(id)
                     .orElseThrow(() -> new RuntimeException("Product not found"));
+            return withShardedQuantity(product, stockShardPortOut.findShardedQuantity(id).orElse(null));
         } catch (Exception e) {
             log.error("Error retrieving product with ID: {}", e.getMessage());
             throw new RuntimeException("Error retrieving product with ID: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * The product row and its shards change in one transaction; the stock ledger takes the quantity
+     * over once that transaction committed.
+     */
     @Override
+    @Transactional
     public Product updateProduct(Product product) {
         try {
             validateProduct(product);
@@ -77,6 +95,8 @@ public class ProductService implements ProductPortIn {
             existingProduct.setQuantity(product.getQuantity());
 
             Product updatedProduct = productPortOut.save(existingProduct);
+            stockShardPortOut.resetShards(updatedProduct.getId());
+            stockReservationPortOut.setQuantity(updatedProduct.getId(), product.getQuantity());
             log.info("Product updated with ID: {}", updatedProduct.getId());
 
             return updatedProduct;
@@ -101,6 +121,7 @@ public class ProductService implements ProductPortIn {
 
             if (productPortOut.findById(id).isPresent()) {
                 productPortOut.deleteById(id);
+                stockReservationPortOut.removeProduct(id);
                 log.info("Product deleted successfully: {}", id);
             } else {
                 log.warn("Product with ID: {} not found", id);
@@ -113,6 +134,24 @@ public class ProductService implements ProductPortIn {
     }
 
 
+    /**
+     * Hot SKUs keep most of their stock in shards, so the reported quantity adds them to the product row.
+     */
+    private Product withShardedQuantity(Product product, Integer shardedQuantity) {
+
+        if (shardedQuantity == null) {
+            return product;
+        }
+
+        return Product.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .quantity(product.getQuantity() + shardedQuantity)
+                .build();
+    }
+
     private void validateProduct(Product product) {
 
         if (product == null) {
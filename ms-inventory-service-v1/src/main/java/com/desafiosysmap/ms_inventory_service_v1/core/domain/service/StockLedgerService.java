@@ -0,0 +1,36 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.service;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockLedgerConsistencyDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.in.StockLedgerPortIn;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockLedgerPortOut;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.reservation.mode", havingValue = "ledger")
+public class StockLedgerService implements StockLedgerPortIn {
+
+    private final StockLedgerPortOut stockLedgerPortOut;
+
+    @Override
+    public StockLedgerConsistencyDTO checkConsistency() {
+
+        try {
+            StockLedgerConsistencyDTO consistency = stockLedgerPortOut.checkConsistency();
+            if (consistency.isConsistent()) {
+                log.info("Stock ledger consistent with the database for {} products", consistency.getCheckedProducts());
+            } else {
+                consistency.getDrifts().forEach(drift -> log.warn("Stock ledger drift for Product ID: {} - ledger {}, pending {}, database {}",
+                        drift.getProductId(), drift.getLedgerQuantity(), drift.getPendingQuantity(), drift.getDatabaseQuantity()));
+            }
+            return consistency;
+        } catch (Exception e) {
+            log.error("Error while checking stock ledger consistency: {}", e.getMessage());
+            throw new RuntimeException("Error while checking stock ledger consistency: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.service;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockShardPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.StockShardingConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.sharding.enabled", havingValue = "true")
+public class StockShardRebalanceService {
+
+    private final StockShardPortOut stockShardPortOut;
+    private final StockShardingConfig stockShardingConfig;
+
+    @PostConstruct
+    public void materializeShards() {
+        log.info("Sharding stock of {} hot SKUs over {} shards", stockShardingConfig.hotSkus.size(), stockShardingConfig.shards);
+        rebalanceShards();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.sharding.rebalance-interval-ms:5000}")
+    public void rebalanceShards() {
+
+        for (UUID productId : stockShardingConfig.hotSkus) {
+            try {
+                stockShardPortOut.rebalanceShards(productId);
+            } catch (Exception e) {
+                log.error("Error while rebalancing stock shards for Product ID: {}", productId, e);
+            }
+        }
+    }
+}
@@ -1,8 +1,19 @@
 package com.desafiosysmap.ms_inventory_service_v1.core.port.in;
 
-import com.desafiosysmap.ms_inventory_service_v1.kafka.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface InventoryCheckUseCase {
 
-    void checkInventory(OrderEventDTO orderEvent);
+    /**
+     * Reserves stock for one order event; the returned future completes once the result was published.
+     */
+    CompletableFuture<Void> checkInventory(OrderEventDTO orderEvent);
+
+    /**
+     * Reserves stock for a whole poll of order events in one transaction and publishes all results together.
+     */
+    void checkInventoryBatch(List<OrderEventDTO> orderEvents);
 }
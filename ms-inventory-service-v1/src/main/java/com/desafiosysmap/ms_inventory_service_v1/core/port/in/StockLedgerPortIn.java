@@ -0,0 +1,8 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.port.in;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockLedgerConsistencyDTO;
+
+public interface StockLedgerPortIn {
+
+    StockLedgerConsistencyDTO checkConsistency();
+}
@@ -0,0 +1,21 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.port.out;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProcessedOrderPortOut {
+
+    Optional<InventoryResponseDTO> findProcessed(UUID orderId);
+
+    /**
+     * Records the outcome in the caller's transaction and fails if the order was already recorded.
+     */
+    void markProcessed(InventoryResponseDTO response);
+
+    /**
+     * Forgets outcomes older than the retention and returns how many were deleted.
+     */
+    int purgeExpired();
+}
@@ -0,0 +1,12 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.port.out;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockLedgerConsistencyDTO;
+
+public interface StockLedgerPortOut {
+
+    /**
+     * Compares, for every product, the in-memory stock plus the decrements not yet flushed with the
+     * quantity stored in the database.
+     */
+    StockLedgerConsistencyDTO checkConsistency();
+}
@@ -0,0 +1,28 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.port.out;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.ReservationLineDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockReservationDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface StockReservationPortOut {
+
+    /**
+     * Validates and decrements every line of an order as a single unit: either all lines are
+     * reserved or none is. The returned lines keep the order of the requested ones. Callers pass
+     * one line per product, sorted with {@link com.desafiosysmap.ms_inventory_service_v1.shared.util.UuidOrdering#POSTGRES}.
+     */
+    StockReservationDTO reserve(List<ReservationLineDTO> lines);
+
+    /**
+     * Makes a quantity written through the product API, after the product row was saved, the stock
+     * the next reservation sees.
+     */
+    void setQuantity(UUID productId, int quantity);
+
+    /**
+     * Forgets a product the product API has already deleted, so it can no longer be reserved.
+     */
+    void removeProduct(UUID productId);
+}
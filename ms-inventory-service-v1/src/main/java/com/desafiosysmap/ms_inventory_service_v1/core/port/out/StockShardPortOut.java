@@ -0,0 +1,25 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.port.out;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface StockShardPortOut {
+
+    /**
+     * Stock currently held in the shards of a hot SKU, empty when the product is not sharded.
+     */
+    Optional<Integer> findShardedQuantity(UUID productId);
+
+    Map<UUID, Integer> findShardedQuantities();
+
+    /**
+     * Discards the shard stock of a hot SKU and spreads the quantity stored on its product row again.
+     */
+    void resetShards(UUID productId);
+
+    /**
+     * Moves stock added to the product row into the shards and evens out shards that drifted apart.
+     */
+    void rebalanceShards(UUID productId);
+}
@@ -0,0 +1,29 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.service.InventoryCheckService;
+import com.sysmapproject.contracts.OrderEventDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("${inventory.kafka.batch.enabled:false} and !${inventory.kafka.envelope.enabled:false}")
+public class KafkaBatchConsumer {
+
+    private final InventoryCheckService inventoryCheckService;
+
+    @KafkaListener(
+            topics = "${spring.kafka.topics.consumer-topic}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "orderEventKafkaListenerContainerFactory")
+    public void consumeOrderEvents(List<OrderEventDTO> orderEvents) {
+        log.info("Received batch of {} order events", orderEvents.size());
+        inventoryCheckService.checkInventoryBatch(orderEvents);
+    }
+}
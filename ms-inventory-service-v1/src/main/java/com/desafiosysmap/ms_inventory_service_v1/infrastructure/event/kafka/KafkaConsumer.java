@@ -1,26 +1,81 @@
 package com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka;
 
 import com.desafiosysmap.ms_inventory_service_v1.core.domain.service.InventoryCheckService;
-import com.desafiosysmap.ms_inventory_service_v1.kafka.contracts.OrderEventDTO;
-import lombok.RequiredArgsConstructor;
+import com.sysmapproject.contracts.OrderEventDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.adapter.ConsumerRecordMetadata;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class KafkaConsumer {
+@ConditionalOnExpression("!${inventory.kafka.batch.enabled:false} and !${inventory.kafka.envelope.enabled:false} and !${inventory.kafka.parallel.enabled:false}")
+public class KafkaConsumer implements DisposableBean {
 
     private final InventoryCheckService inventoryCheckService;
+    private final RetryScheduler retryScheduler;
+
+    public KafkaConsumer(InventoryCheckService inventoryCheckService,
+                         @Value("${inventory.kafka.producer.retry-backoff-ms:1000}") long retryBackoffMs) {
+        this.inventoryCheckService = inventoryCheckService;
+        this.retryScheduler = new RetryScheduler("inventory-check-retry", retryBackoffMs);
+    }
 
+    /**
+     * With async publishing the container hands over an {@link Acknowledgment}: the record is only
+     * acknowledged once its validation reached the broker. A failed send checks the order again after
+     * a backoff, see {@link RetryScheduler}; it is then answered from the processed-order index, and
+     * its offset is not committed until that validation is published.
+     */
     @KafkaListener(
             topics = "${spring.kafka.topics.consumer-topic}",
             groupId = "${spring.kafka.consumer.group-id}",
             containerFactory = "orderEventKafkaListenerContainerFactory")
-    public void consumeOrderEvent(OrderEventDTO orderEvent) {
+    public void consumeOrderEvent(OrderEventDTO orderEvent, ConsumerRecordMetadata metadata,
+                                  @Header(name = KafkaHeaders.ACKNOWLEDGMENT, required = false) Acknowledgment acknowledgment) {
         log.info("Received order event for Order ID: {}", orderEvent.getOrderId());
-        inventoryCheckService.checkInventory(orderEvent);
+        CompletableFuture<Void> published = inventoryCheckService.checkInventory(orderEvent);
+
+        if (acknowledgment == null) {
+            return;
+        }
+        acknowledgeOnceSent(orderEvent, metadata, acknowledgment, published);
+    }
+
+    @Override
+    public void destroy() {
+        retryScheduler.close();
     }
 
+    private void check(OrderEventDTO orderEvent, ConsumerRecordMetadata metadata, Acknowledgment acknowledgment) {
+
+        CompletableFuture<Void> published;
+        try {
+            published = inventoryCheckService.checkInventory(orderEvent);
+        } catch (RuntimeException e) {
+            published = CompletableFuture.failedFuture(e);
+        }
+        acknowledgeOnceSent(orderEvent, metadata, acknowledgment, published);
+    }
+
+    private void acknowledgeOnceSent(OrderEventDTO orderEvent, ConsumerRecordMetadata metadata, Acknowledgment acknowledgment,
+                                     CompletableFuture<Void> published) {
+        published.whenComplete((result, error) -> {
+            if (error == null) {
+                acknowledgment.acknowledge();
+                return;
+            }
+            log.error("Inventory validation for Order ID: {} was not published, retrying offset {} of {}-{}: {}",
+                    orderEvent.getOrderId(), metadata.offset(), metadata.topic(), metadata.partition(), error.getMessage());
+            retryScheduler.retryLater(() -> check(orderEvent, metadata, acknowledgment));
+        });
+    }
 }
@@ -0,0 +1,31 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.service.InventoryCheckService;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the orders of an envelope together, as the batch consumer does for a poll. Every order is
+ * still answered with its own validation, keyed by its order ID.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.kafka.envelope.enabled", havingValue = "true")
+public class KafkaEnvelopeConsumer {
+
+    private final InventoryCheckService inventoryCheckService;
+
+    @KafkaListener(
+            topics = "${spring.kafka.topics.consumer-topic}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "orderEnvelopeKafkaListenerContainerFactory")
+    public void consumeOrderEnvelope(OrderEventEnvelopeDTO envelope) {
+        log.info("Received envelope of {} order events", envelope.getOrderEvents().size());
+        inventoryCheckService.checkInventoryBatch(envelope.getOrderEvents());
+    }
+}
@@ -0,0 +1,118 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.service.InventoryCheckService;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.commons.concurrent.KeyedLanes;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Fans the records of each partition out to {@link KeyedLanes} keyed by the order's set of products,
+ * so orders for the same products are checked in the order they were published while the others are
+ * checked in parallel. Orders sharing only some of their products may still be checked concurrently;
+ * the reservation itself keeps stock consistent between them.
+ * <p>
+ * The container acknowledges records asynchronously and only commits up to the lowest one still in a
+ * lane. A lane waits for each validation to be published before it moves on, and retries a record
+ * that failed in place after a backoff, so no later order for the same products overtakes it; an
+ * order already processed is then answered from the processed-order index.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${inventory.kafka.parallel.enabled:false} and !${inventory.kafka.batch.enabled:false} and !${inventory.kafka.envelope.enabled:false}")
+public class KafkaParallelConsumer implements DisposableBean {
+
+    private final InventoryCheckService inventoryCheckService;
+    private final OrderLifecycleRelay orderLifecycleRelay;
+    private final KeyedLanes lanes;
+    private final long retryBackoffMs;
+    private volatile boolean closing;
+
+    public KafkaParallelConsumer(InventoryCheckService inventoryCheckService,
+                                 OrderLifecycleRelay orderLifecycleRelay,
+                                 @Value("${inventory.kafka.parallel.lanes:8}") int lanes,
+                                 @Value("${inventory.kafka.parallel.lane-capacity:256}") int laneCapacity,
+                                 @Value("${inventory.kafka.producer.retry-backoff-ms:1000}") long retryBackoffMs) {
+        this.inventoryCheckService = inventoryCheckService;
+        this.orderLifecycleRelay = orderLifecycleRelay;
+        if (retryBackoffMs < 0) {
+            throw new IllegalStateException("Retry backoff cannot be negative: " + retryBackoffMs);
+        }
+        this.lanes = new KeyedLanes("inventory-lane-", lanes, laneCapacity);
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    @KafkaListener(
+            topics = "${spring.kafka.topics.consumer-topic}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "orderEventKafkaListenerContainerFactory")
+    public void consumeOrderEvent(ConsumerRecord<String, OrderEventDTO> record, Acknowledgment acknowledgment) {
+        log.info("Received order event for Order ID: {}", record.value().getOrderId());
+        lanes.submit(laneKey(record.value()), () -> check(record, acknowledgment));
+    }
+
+    @Override
+    public void destroy() {
+        closing = true;
+        lanes.close();
+    }
+
+    private void check(ConsumerRecord<String, OrderEventDTO> record, Acknowledgment acknowledgment) {
+
+        while (!closing) {
+            try {
+                checkOnce(record).get();
+                acknowledgment.acknowledge();
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                log.error("Inventory check for Order ID: {} failed, retrying offset {} of {}-{}: {}",
+                        record.value().getOrderId(), record.offset(), record.topic(), record.partition(), cause.getMessage());
+            }
+            try {
+                Thread.sleep(retryBackoffMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.warn("Retry of Order ID: {} dropped while shutting down, the record is delivered again after the restart",
+                record.value().getOrderId());
+    }
+
+    private CompletableFuture<Void> checkOnce(ConsumerRecord<String, OrderEventDTO> record) {
+        try {
+            return inventoryCheckService.checkInventory(record.value());
+        } finally {
+            // the validation, if any, went through the relay while the check ran
+            orderLifecycleRelay.afterRecord(record, null);
+        }
+    }
+
+    static Object laneKey(OrderEventDTO orderEvent) {
+
+        if (orderEvent.getItems() == null || orderEvent.getItems().isEmpty()) {
+            return orderEvent.getOrderId();
+        }
+        return orderEvent.getItems().stream()
+                .map(OrderItemDTO::getProductId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+}
@@ -1,39 +1,163 @@
 package com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka;
 
-import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.InventoryResponseDTO;
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class KafkaProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger pendingSends = new AtomicInteger();
 
     @Value("${spring.kafka.topics.producer-topic}")
     private String topicName;
 
-    public void sendInventoryValidation(InventoryResponseDTO response) {
+    @Value("${inventory.kafka.producer.async:false}")
+    private boolean async;
+
+    @Value("${inventory.kafka.producer.max-in-flight:1000}")
+    private int maxInFlight;
+
+    private Semaphore inFlightPermits;
+
+    private Timer sendSucceeded;
+    private Timer sendFailed;
+
+    @PostConstruct
+    void init() {
+        inFlightPermits = new Semaphore(maxInFlight);
+        Gauge.builder("inventory.kafka.producer.pending", pendingSends, AtomicInteger::get)
+                .description("Inventory validations handed to the producer and not yet acknowledged by the broker")
+                .register(meterRegistry);
+        sendSucceeded = sendTimer("success");
+        sendFailed = sendTimer("failure");
+    }
+
+    /**
+     * Publishes the response keyed by its order ID. In async mode this returns as soon as the record
+     * is handed to the producer, blocking only while max-in-flight sends are outstanding; the returned
+     * future completes once the broker acknowledged it.
+     */
+    public CompletableFuture<Void> sendInventoryValidation(InventoryResponseDTO response) {
 
         if (response == null) {
             log.error("InventoryResponseDTO cannot be null");
             throw new IllegalArgumentException("InventoryResponseDTO cannot be null");
         }
 
+        if (async) {
+            return sendAsync(response);
+        }
+
         try {
             log.info("Sending inventory validation result for Order ID: {}, status: {} to topic: {}", response.getOrderId(), response.getStatus(), topicName);
 
-            kafkaTemplate.send(topicName, response).get();
+            CompletableFuture<Void> sent = send(response);
+            sent.get();
 
             log.info("Inventory validation for Order ID: {} sent successfully to Kafka topic {}", response.getOrderId(), topicName);
+            return sent;
         } catch (Exception e) {
             log.error("Failed to send inventory validation response to Kafka: {}", e.getMessage());
 
             throw new RuntimeException("Failed to send Kafka message: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Hands every response to the producer before waiting, so they leave in as few requests as the
+     * producer batching allows, and fails if any of them could not be sent.
+     */
+    public void sendInventoryValidations(List<InventoryResponseDTO> responses) {
+
+        if (responses == null || responses.stream().anyMatch(Objects::isNull)) {
+            log.error("InventoryResponseDTO cannot be null");
+            throw new IllegalArgumentException("InventoryResponseDTO cannot be null");
+        }
+
+        try {
+            log.info("Sending {} inventory validation results to topic: {}", responses.size(), topicName);
+
+            CompletableFuture<?>[] sends = responses.stream()
+                    .map(this::send)
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(sends).get();
+
+            log.info("{} inventory validations sent successfully to Kafka topic {}", responses.size(), topicName);
+        } catch (Exception e) {
+            log.error("Failed to send inventory validation responses to Kafka: {}", e.getMessage());
+
+            throw new RuntimeException("Failed to send Kafka messages: " + e.getMessage(), e);
+        }
+    }
+
+    private CompletableFuture<Void> sendAsync(InventoryResponseDTO response) {
+
+        try {
+            inFlightPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to send Kafka message", e);
+        }
+
+        try {
+            log.debug("Sending inventory validation result for Order ID: {}, status: {} to topic: {}", response.getOrderId(), response.getStatus(), topicName);
+
+            return send(response).whenComplete((result, error) -> {
+                inFlightPermits.release();
+                if (error != null) {
+                    log.error("Failed to send inventory validation for Order ID: {} to Kafka: {}", response.getOrderId(), error.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            inFlightPermits.release();
+            log.error("Failed to send inventory validation response to Kafka: {}", e.getMessage());
+
+            throw new RuntimeException("Failed to send Kafka message: " + e.getMessage(), e);
+        }
+    }
+
+    private CompletableFuture<Void> send(InventoryResponseDTO response) {
+
+        String key = response.getOrderId() == null ? null : response.getOrderId().toString();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        pendingSends.incrementAndGet();
+
+        try {
+            return kafkaTemplate.send(topicName, key, response)
+                    .whenComplete((result, error) -> {
+                        pendingSends.decrementAndGet();
+                        sample.stop(error == null ? sendSucceeded : sendFailed);
+                    })
+                    .thenAccept(result -> { });
+        } catch (RuntimeException e) {
+            pendingSends.decrementAndGet();
+            sample.stop(sendFailed);
+            throw e;
+        }
+    }
+
+    private Timer sendTimer(String outcome) {
+        return Timer.builder("inventory.kafka.producer.send")
+                .description("Time from handing an inventory validation to the producer until the broker acknowledged it")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,169 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.LifecycleHeaders;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerInterceptor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Carries the {@link LifecycleHeaders} of an order event over to its validation, so the order service
+ * can time every stage of the order. The event's timestamps and the time it was received are kept by
+ * order ID while the listener handles it, and stamped on the validation together with the time it was
+ * handed to the producer. The orders of an envelope all take the envelope's headers.
+ */
+@Component
+public class OrderLifecycleRelay implements RecordInterceptor<String, OrderEventDTO>, BatchInterceptor<String, OrderEventDTO>,
+        ProducerInterceptor<String, Object> {
+
+    private final Map<UUID, Received> receivedByOrder = new ConcurrentHashMap<>();
+
+    @Override
+    public ConsumerRecord<String, OrderEventDTO> intercept(ConsumerRecord<String, OrderEventDTO> record,
+                                                           Consumer<String, OrderEventDTO> consumer) {
+        received(record);
+        return record;
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<String, OrderEventDTO> record, Consumer<String, OrderEventDTO> consumer) {
+        handled(record);
+    }
+
+    @Override
+    public ConsumerRecords<String, OrderEventDTO> intercept(ConsumerRecords<String, OrderEventDTO> records,
+                                                            Consumer<String, OrderEventDTO> consumer) {
+        records.forEach(this::received);
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<String, OrderEventDTO> records, Consumer<String, OrderEventDTO> consumer) {
+        records.forEach(this::handled);
+    }
+
+    @Override
+    public void failure(ConsumerRecords<String, OrderEventDTO> records, Exception exception, Consumer<String, OrderEventDTO> consumer) {
+        records.forEach(this::handled);
+    }
+
+    /**
+     * The same relay for a listener that receives order events in envelopes.
+     */
+    public RecordInterceptor<String, OrderEventEnvelopeDTO> forEnvelopes() {
+        return new RecordInterceptor<>() {
+
+            @Override
+            public ConsumerRecord<String, OrderEventEnvelopeDTO> intercept(ConsumerRecord<String, OrderEventEnvelopeDTO> record,
+                                                                           Consumer<String, OrderEventEnvelopeDTO> consumer) {
+                orderEvents(record).forEach(orderEvent -> received(record.headers(), orderEvent));
+                return record;
+            }
+
+            @Override
+            public void afterRecord(ConsumerRecord<String, OrderEventEnvelopeDTO> record, Consumer<String, OrderEventEnvelopeDTO> consumer) {
+                orderEvents(record).forEach(OrderLifecycleRelay.this::handled);
+            }
+        };
+    }
+
+    /**
+     * The same relay for a listener that hands records over to worker lanes. The listener returns
+     * before the order is checked, so the lane calls {@link #afterRecord} itself once it is done.
+     */
+    public RecordInterceptor<String, OrderEventDTO> forLanes() {
+        return new RecordInterceptor<>() {
+
+            @Override
+            public ConsumerRecord<String, OrderEventDTO> intercept(ConsumerRecord<String, OrderEventDTO> record,
+                                                                   Consumer<String, OrderEventDTO> consumer) {
+                received(record);
+                return record;
+            }
+        };
+    }
+
+    @Override
+    public ProducerRecord<String, Object> onSend(ProducerRecord<String, Object> record) {
+
+        if (record.value() instanceof InventoryResponseDTO response) {
+            Received received = response.getOrderId() == null ? null : receivedByOrder.get(response.getOrderId());
+            Headers headers = record.headers();
+            if (received != null) {
+                writeIfPresent(headers, LifecycleHeaders.ORDER_CREATED_AT, received.orderCreatedAt());
+                writeIfPresent(headers, LifecycleHeaders.ORDER_PUBLISHED_AT, received.orderPublishedAt());
+                LifecycleHeaders.write(headers, LifecycleHeaders.INVENTORY_RECEIVED_AT, received.receivedAt());
+            }
+            LifecycleHeaders.write(headers, LifecycleHeaders.INVENTORY_PUBLISHED_AT, System.currentTimeMillis());
+        }
+        return record;
+    }
+
+    @Override
+    public void onAcknowledgement(RecordMetadata metadata, Exception exception) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+
+    private void received(ConsumerRecord<String, OrderEventDTO> record) {
+        received(record.headers(), record.value());
+    }
+
+    private void received(Headers headers, OrderEventDTO orderEvent) {
+
+        if (orderEvent == null || orderEvent.getOrderId() == null) {
+            return;
+        }
+        receivedByOrder.put(orderEvent.getOrderId(), new Received(
+                LifecycleHeaders.read(headers, LifecycleHeaders.ORDER_CREATED_AT),
+                LifecycleHeaders.read(headers, LifecycleHeaders.ORDER_PUBLISHED_AT),
+                System.currentTimeMillis()));
+    }
+
+    private void handled(ConsumerRecord<String, OrderEventDTO> record) {
+        handled(record.value());
+    }
+
+    private void handled(OrderEventDTO orderEvent) {
+        if (orderEvent != null && orderEvent.getOrderId() != null) {
+            receivedByOrder.remove(orderEvent.getOrderId());
+        }
+    }
+
+    private static List<OrderEventDTO> orderEvents(ConsumerRecord<String, OrderEventEnvelopeDTO> record) {
+        return record.value() == null || record.value().getOrderEvents() == null ? List.of() : record.value().getOrderEvents();
+    }
+
+    private static void writeIfPresent(Headers headers, String name, long epochMillis) {
+        if (epochMillis >= 0) {
+            LifecycleHeaders.write(headers, name, epochMillis);
+        }
+    }
+
+    int tracked() {
+        return receivedByOrder.size();
+    }
+
+    private record Received(long orderCreatedAt, long orderPublishedAt, long receivedAt) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs an attempt again after a fixed backoff, on a single daemon thread. With asynchronous
+ * acknowledgements the container pauses the consumer until every record of the last poll has been
+ * acknowledged, and refuses {@code nack()}, so a record whose validation was not published cannot be
+ * sought back to and has to be retried in place instead; the consumer stays paused meanwhile, which
+ * holds back the records behind it. Attempts due after {@link #close} are dropped, leaving their
+ * records uncommitted to be delivered again on the next start.
+ */
+@Slf4j
+class RetryScheduler implements AutoCloseable {
+
+    private final ScheduledExecutorService scheduler;
+    private final long backoffMs;
+
+    RetryScheduler(String name, long backoffMs) {
+        if (backoffMs < 0) {
+            throw new IllegalStateException("Retry backoff cannot be negative: " + backoffMs);
+        }
+        this.backoffMs = backoffMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void retryLater(Runnable attempt) {
+        if (scheduler.isShutdown()) {
+            log.warn("Retry dropped while shutting down, the record is delivered again after the restart");
+            return;
+        }
+        scheduler.schedule(() -> {
+            try {
+                attempt.run();
+            } catch (RuntimeException e) {
+                log.error("Retry failed: {}", e.getMessage());
+            }
+        }, backoffMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
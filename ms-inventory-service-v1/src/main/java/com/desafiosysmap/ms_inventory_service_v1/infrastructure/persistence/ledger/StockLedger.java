@@ -0,0 +1,207 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.ledger;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.ReservationLineDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockReservationDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * In-process stock counters keyed by product ID. Products are spread over a fixed number of lock
+ * stripes; a reservation locks the stripes of its products in stripe order, so concurrent orders
+ * never deadlock and orders over unrelated products never wait on each other.
+ */
+public class StockLedger {
+
+    private final ReentrantLock[] locks;
+    private final List<Map<UUID, Counter>> counters;
+    private final Function<UUID, OptionalLong> loader;
+
+    /**
+     * @param loader looks up the stock of a product the ledger has not seen yet, called under its stripe lock
+     */
+    public StockLedger(int stripes, Function<UUID, OptionalLong> loader) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Ledger stripes must be greater than zero");
+        }
+        this.locks = new ReentrantLock[stripes];
+        this.counters = new ArrayList<>(stripes);
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+            counters.add(new HashMap<>());
+        }
+        this.loader = loader;
+    }
+
+    public void put(UUID productId, long quantity) {
+        int stripe = stripeOf(productId);
+        locks[stripe].lock();
+        try {
+            counters.get(stripe).computeIfAbsent(productId, id -> new Counter()).quantity = quantity;
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    public void remove(UUID productId) {
+        int stripe = stripeOf(productId);
+        locks[stripe].lock();
+        try {
+            counters.get(stripe).remove(productId);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    public OptionalLong get(UUID productId) {
+        int stripe = stripeOf(productId);
+        locks[stripe].lock();
+        try {
+            Counter counter = counter(stripe, productId);
+            return counter == null ? OptionalLong.empty() : OptionalLong.of(counter.quantity);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    /**
+     * Runs the action while holding the stripe of the product, so no reservation touches it meanwhile.
+     */
+    public <T> T withProductLocked(UUID productId, Function<OptionalLong, T> action) {
+        int stripe = stripeOf(productId);
+        locks[stripe].lock();
+        try {
+            Counter counter = counters.get(stripe).get(productId);
+            return action.apply(counter == null ? OptionalLong.empty() : OptionalLong.of(counter.quantity));
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    public List<UUID> productIds() {
+        List<UUID> productIds = new ArrayList<>();
+        for (int stripe = 0; stripe < locks.length; stripe++) {
+            locks[stripe].lock();
+            try {
+                productIds.addAll(counters.get(stripe).keySet());
+            } finally {
+                locks[stripe].unlock();
+            }
+        }
+        return productIds;
+    }
+
+    /**
+     * Decrements every line when all products are known and have enough stock, and none otherwise.
+     * The journal is handed the reserved lines before any lock is released; when it fails the
+     * decrements are undone and the failure is rethrown.
+     */
+    public StockReservationDTO reserve(List<ReservationLineDTO> lines, Consumer<List<ReservationLineDTO>> journal) {
+
+        Map<UUID, Long> demand = new LinkedHashMap<>();
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (ReservationLineDTO line : lines) {
+            demand.merge(line.getProductId(), (long) line.getRequestedQuantity(), Long::sum);
+            stripes.add(stripeOf(line.getProductId()));
+        }
+
+        stripes.forEach(stripe -> locks[stripe].lock());
+        try {
+            Map<UUID, Long> available = new HashMap<>();
+            boolean reservable = true;
+            for (Map.Entry<UUID, Long> entry : demand.entrySet()) {
+                Counter counter = counter(stripeOf(entry.getKey()), entry.getKey());
+                if (counter == null || counter.quantity < entry.getValue()) {
+                    reservable = false;
+                }
+                if (counter != null) {
+                    available.put(entry.getKey(), counter.quantity);
+                }
+            }
+
+            if (reservable) {
+                demand.forEach((productId, quantity) -> counter(stripeOf(productId), productId).quantity -= quantity);
+                try {
+                    journal.accept(lines);
+                } catch (RuntimeException e) {
+                    demand.forEach((productId, quantity) -> counter(stripeOf(productId), productId).quantity += quantity);
+                    throw e;
+                }
+            }
+
+            boolean reserved = reservable;
+            List<ReservationLineDTO> outcomes = lines.stream()
+                    .map(line -> {
+                        Long quantity = available.get(line.getProductId());
+                        return ReservationLineDTO.builder()
+                                .productId(line.getProductId())
+                                .requestedQuantity(line.getRequestedQuantity())
+                                .availableQuantity(quantity == null ? null : (int) Math.min(quantity, Integer.MAX_VALUE))
+                                .reserved(reserved)
+                                .build();
+                    })
+                    .toList();
+            return new StockReservationDTO(reserved, outcomes);
+        } finally {
+            stripes.descendingSet().forEach(stripe -> locks[stripe].unlock());
+        }
+    }
+
+    /**
+     * Gives back the stock of lines reserved earlier. The journal is handed the lines before any lock
+     * is released; when it fails nothing is given back and the failure is rethrown.
+     */
+    public void release(List<ReservationLineDTO> lines, Consumer<List<ReservationLineDTO>> journal) {
+
+        Map<UUID, Long> supply = new LinkedHashMap<>();
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (ReservationLineDTO line : lines) {
+            supply.merge(line.getProductId(), (long) line.getRequestedQuantity(), Long::sum);
+            stripes.add(stripeOf(line.getProductId()));
+        }
+
+        stripes.forEach(stripe -> locks[stripe].lock());
+        try {
+            journal.accept(lines);
+            supply.forEach((productId, quantity) -> {
+                Counter counter = counter(stripeOf(productId), productId);
+                if (counter != null) {
+                    counter.quantity += quantity;
+                }
+            });
+        } finally {
+            stripes.descendingSet().forEach(stripe -> locks[stripe].unlock());
+        }
+    }
+
+    private Counter counter(int stripe, UUID productId) {
+        Map<UUID, Counter> stripeCounters = counters.get(stripe);
+        Counter counter = stripeCounters.get(productId);
+        if (counter == null) {
+            OptionalLong quantity = loader.apply(productId);
+            if (quantity.isPresent()) {
+                counter = new Counter();
+                counter.quantity = quantity.getAsLong();
+                stripeCounters.put(productId, counter);
+            }
+        }
+        return counter;
+    }
+
+    private int stripeOf(UUID productId) {
+        return Math.floorMod(productId.hashCode(), locks.length);
+    }
+
+    private static final class Counter {
+        private long quantity;
+    }
+}
@@ -0,0 +1,383 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.ledger;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.ReservationLineDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockLedgerConsistencyDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockLedgerDriftDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockReservationDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.entity.Product;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.entity.StockLedgerCheckpoint;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockLedgerPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockReservationPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.InventoryRepository;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.StockLedgerCheckpointRepository;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.StockLedgerConfig;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.KafkaConfig;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.StockShardingConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Reserves stock against the in-memory {@link StockLedger}. Every reservation is appended to the
+ * write-ahead log before it is acknowledged, and the decrements are written to the products table
+ * in group commits together with the last sequence they cover. On startup the log records past that
+ * checkpoint are applied to the database first and the ledger is then loaded from it.
+ * <p>
+ * A reservation made inside a transaction is given back when that transaction rolls back, so the
+ * redelivered order finds the stock the failed attempt took.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.reservation.mode", havingValue = "ledger")
+public class StockLedgerIntegrator implements StockReservationPortOut, StockLedgerPortOut {
+
+    private static final int CHECKPOINT_ID = 1;
+
+    private final InventoryRepository inventoryRepository;
+    private final StockLedgerCheckpointRepository stockLedgerCheckpointRepository;
+    private final StockLedgerConfig stockLedgerConfig;
+    private final StockShardingConfig stockShardingConfig;
+    private final KafkaConfig kafkaConfig;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private Map<UUID, Long> pendingDeltas = new HashMap<>();
+    private long lastSequence;
+
+    private TransactionTemplate transactionTemplate;
+    private StockWriteAheadLog writeAheadLog;
+    private StockLedger ledger;
+
+    @PostConstruct
+    public void rebuild() {
+
+        if (stockShardingConfig.enabled) {
+            throw new IllegalStateException("Stock sharding cannot be enabled together with the ledger reservation mode");
+        }
+        if (kafkaConfig.transactionsEnabled) {
+            // ledger reservations are not part of the database transaction that records processed orders
+            throw new IllegalStateException("Kafka transactions cannot be enabled together with the ledger reservation mode");
+        }
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // a quantity is taken over after the caller's transaction committed, whose resources are still bound
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        writeAheadLog = new StockWriteAheadLog(Path.of(stockLedgerConfig.walDirectory), stockLedgerConfig.walSegmentSizeMb * 1024 * 1024);
+
+        long checkpoint = stockLedgerCheckpointRepository.findById(CHECKPOINT_ID)
+                .map(StockLedgerCheckpoint::getSequence)
+                .orElse(0L);
+        Map<UUID, Long> replayed = new HashMap<>();
+        lastSequence = writeAheadLog.replay(checkpoint, (sequence, lines) -> lines.forEach(line ->
+                replayed.merge(line.getProductId(), (long) line.getRequestedQuantity(), Long::sum)));
+
+        writeDeltas(replayed, lastSequence);
+        writeAheadLog.clear();
+
+        ledger = new StockLedger(stockLedgerConfig.stripes, this::loadQuantity);
+        List<Product> products = inventoryRepository.findAll();
+        products.forEach(product -> ledger.put(product.getId(), product.getQuantity()));
+
+        log.info("Stock ledger rebuilt with {} products, replayed {} products from the write-ahead log up to sequence {}",
+                products.size(), replayed.size(), lastSequence);
+    }
+
+    @Override
+    public StockReservationDTO reserve(List<ReservationLineDTO> lines) {
+
+        try {
+            if (lines == null || lines.isEmpty()) {
+                throw new IllegalArgumentException("Reservation lines cannot be null or empty");
+            }
+            StockReservationDTO reservation = ledger.reserve(lines, this::journal);
+            if (reservation.isReserved() && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new ReleaseOnRollback(lines));
+            }
+            return reservation;
+        } catch (Exception e) {
+            throw new RuntimeException("Error while reserving stock: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Takes over a quantity written through the product API. The decrements still pending for the
+     * product are subtracted by the next group commit, so the row is written with them added back;
+     * ledger plus pending then matches the database at every point, and a replay after a crash
+     * subtracts exactly those decrements again. No group commit or reservation runs meanwhile.
+     * <p>
+     * Inside a transaction the quantity is only taken over once it committed, so a product update that
+     * rolls back leaves the ledger as it was.
+     */
+    @Override
+    public void setQuantity(UUID productId, int quantity) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new SetQuantityAfterCommit(productId, quantity));
+            return;
+        }
+        applyQuantity(productId, quantity);
+    }
+
+    private void applyQuantity(UUID productId, int quantity) {
+
+        flushLock.lock();
+        try {
+            ledger.withProductLocked(productId, current -> {
+                long stored = quantity + pendingQuantity(productId);
+                transactionTemplate.executeWithoutResult(status ->
+                        inventoryRepository.setQuantity(productId, Math.toIntExact(stored)));
+                ledger.put(productId, quantity);
+                return null;
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Error while setting ledger stock: " + e.getMessage(), e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the counter of a deleted product. The decrements still pending for it would be written to
+     * a row that no longer exists, so they are cancelled by a journaled record with the opposite
+     * quantity, and neither the group commit nor a replay touches the product again. The row is gone,
+     * so a later reservation cannot load the counter back.
+     */
+    @Override
+    public void removeProduct(UUID productId) {
+
+        flushLock.lock();
+        try {
+            ledger.withProductLocked(productId, current -> {
+                long pending = pendingQuantity(productId);
+                if (pending != 0) {
+                    journal(List.of(ReservationLineDTO.builder()
+                            .productId(productId)
+                            .requestedQuantity(Math.toIntExact(-pending))
+                            .build()));
+                }
+                ledger.remove(productId);
+                return null;
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Error while removing ledger stock: " + e.getMessage(), e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Group commit: everything reserved since the previous run goes to the database in one statement,
+     * and the full log segments it covers are dropped afterwards. The current segment is only forced
+     * to disk and keeps taking appends until it is full.
+     */
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval-ms:200}")
+    public void flush() {
+
+        flushLock.lock();
+        try {
+            Map<UUID, Long> deltas;
+            long sequence;
+
+            appendLock.lock();
+            try {
+                if (pendingDeltas.isEmpty()) {
+                    return;
+                }
+                deltas = pendingDeltas;
+                sequence = lastSequence;
+                pendingDeltas = new HashMap<>();
+                writeAheadLog.force();
+            } finally {
+                appendLock.unlock();
+            }
+
+            try {
+                writeDeltas(deltas, sequence);
+            } catch (Exception e) {
+                log.error("Error while flushing stock ledger up to sequence {}: {}", sequence, e.getMessage());
+                appendLock.lock();
+                try {
+                    deltas.forEach((productId, quantity) -> pendingDeltas.merge(productId, quantity, Long::sum));
+                } finally {
+                    appendLock.unlock();
+                }
+                return;
+            }
+
+            appendLock.lock();
+            try {
+                writeAheadLog.truncate(sequence);
+            } finally {
+                appendLock.unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (writeAheadLog == null) {
+            return;
+        }
+        flush();
+        appendLock.lock();
+        try {
+            writeAheadLog.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public StockLedgerConsistencyDTO checkConsistency() {
+
+        flushLock.lock();
+        try {
+            Map<UUID, Long> databaseQuantities = inventoryRepository.findAll().stream()
+                    .collect(Collectors.toMap(Product::getId, product -> product.getQuantity().longValue()));
+
+            Set<UUID> productIds = new LinkedHashSet<>(databaseQuantities.keySet());
+            productIds.addAll(ledger.productIds());
+
+            List<StockLedgerDriftDTO> drifts = new ArrayList<>();
+            for (UUID productId : productIds) {
+                ledger.withProductLocked(productId, ledgerQuantity -> {
+                    long pending = pendingQuantity(productId);
+                    Long databaseQuantity = databaseQuantities.get(productId);
+                    boolean notLoadedYet = ledgerQuantity.isEmpty() && pending == 0;
+                    boolean matches = ledgerQuantity.isPresent() && databaseQuantity != null
+                            && ledgerQuantity.getAsLong() + pending == databaseQuantity;
+                    if (!notLoadedYet && !matches) {
+                        drifts.add(StockLedgerDriftDTO.builder()
+                                .productId(productId)
+                                .ledgerQuantity(ledgerQuantity.isPresent() ? ledgerQuantity.getAsLong() : null)
+                                .pendingQuantity(pending)
+                                .databaseQuantity(databaseQuantity)
+                                .build());
+                    }
+                    return null;
+                });
+            }
+
+            return new StockLedgerConsistencyDTO(drifts.isEmpty(), productIds.size(), drifts);
+        } catch (Exception e) {
+            throw new RuntimeException("Error while checking stock ledger consistency: " + e.getMessage(), e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void journal(List<ReservationLineDTO> lines) {
+        appendLock.lock();
+        try {
+            long sequence = lastSequence + 1;
+            writeAheadLog.append(sequence, lines);
+            lastSequence = sequence;
+            lines.forEach(line -> pendingDeltas.merge(line.getProductId(), (long) line.getRequestedQuantity(), Long::sum));
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Journals the release as a record with negated quantities, so the group commit and a replay add
+     * the stock back to the row.
+     */
+    void release(List<ReservationLineDTO> lines) {
+        ledger.release(lines, released -> journal(released.stream()
+                .map(line -> ReservationLineDTO.builder()
+                        .productId(line.getProductId())
+                        .requestedQuantity(-line.getRequestedQuantity())
+                        .build())
+                .toList()));
+    }
+
+    private long pendingQuantity(UUID productId) {
+        appendLock.lock();
+        try {
+            return pendingDeltas.getOrDefault(productId, 0L);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void writeDeltas(Map<UUID, Long> deltas, long sequence) {
+        UUID[] productIds = deltas.keySet().toArray(UUID[]::new);
+        Long[] quantities = deltas.values().toArray(Long[]::new);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (productIds.length > 0) {
+                inventoryRepository.applyStockDeltas(productIds, quantities);
+            }
+            stockLedgerCheckpointRepository.saveCheckpoint(CHECKPOINT_ID, sequence);
+        });
+    }
+
+    private OptionalLong loadQuantity(UUID productId) {
+        return inventoryRepository.findById(productId)
+                .map(product -> OptionalLong.of(product.getQuantity()))
+                .orElse(OptionalLong.empty());
+    }
+
+    private final class SetQuantityAfterCommit implements TransactionSynchronization {
+
+        private final UUID productId;
+        private final int quantity;
+
+        private SetQuantityAfterCommit(UUID productId, int quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+
+        @Override
+        public void afterCommit() {
+            applyQuantity(productId, quantity);
+        }
+    }
+
+    private final class ReleaseOnRollback implements TransactionSynchronization {
+
+        private final List<ReservationLineDTO> lines;
+
+        private ReleaseOnRollback(List<ReservationLineDTO> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            // with an unknown outcome the order may well be recorded, and giving the stock back could oversell
+            if (status != STATUS_ROLLED_BACK) {
+                return;
+            }
+            try {
+                release(lines);
+                log.info("Released {} reserved stock lines after the transaction rolled back", lines.size());
+            } catch (Exception e) {
+                log.error("Error while releasing reserved stock after a rollback: {}", e.getMessage());
+            }
+        }
+    }
+}
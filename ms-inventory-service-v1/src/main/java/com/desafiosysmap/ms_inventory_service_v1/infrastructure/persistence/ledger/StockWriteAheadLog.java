@@ -0,0 +1,209 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.ledger;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.ReservationLineDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of reserved order lines, written to memory-mapped segment files. Each record is
+ * {@code length, crc32, sequence, line count, (msb, lsb, quantity)*}; a zero length or a bad checksum
+ * marks the end of a segment. Segments are named after the first sequence they hold and are deleted
+ * once a checkpoint covers all of their records. Not thread-safe, callers serialize access.
+ */
+public class StockWriteAheadLog implements AutoCloseable {
+
+    private static final String SUFFIX = ".wal";
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int LINE_BYTES = Long.BYTES * 2 + Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Deque<Segment> closedSegments = new ArrayDeque<>();
+    private Segment current;
+
+    public StockWriteAheadLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Hands every record with a sequence above {@code afterSequence} to the consumer, oldest first,
+     * and returns the highest sequence found in the log.
+     */
+    public long replay(long afterSequence, BiConsumer<Long, List<ReservationLineDTO>> consumer) {
+
+        long lastSequence = afterSequence;
+        for (Path path : segmentPaths()) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                Long sequence;
+                while ((sequence = readSequence(buffer)) != null) {
+                    List<ReservationLineDTO> lines = readLines(buffer);
+                    if (sequence > afterSequence) {
+                        consumer.accept(sequence, lines);
+                    }
+                    lastSequence = Math.max(lastSequence, sequence);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error while replaying write-ahead log segment " + path, e);
+            }
+        }
+        return lastSequence;
+    }
+
+    public void append(long sequence, List<ReservationLineDTO> lines) {
+
+        int recordSize = HEADER_BYTES + Long.BYTES + Integer.BYTES + lines.size() * LINE_BYTES;
+        if (recordSize + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("Write-ahead log record does not fit in a segment: " + recordSize + " bytes");
+        }
+        if (current == null || current.buffer.remaining() < recordSize + Integer.BYTES) {
+            rotate(sequence);
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(recordSize - HEADER_BYTES);
+        payload.putLong(sequence).putInt(lines.size());
+        for (ReservationLineDTO line : lines) {
+            payload.putLong(line.getProductId().getMostSignificantBits())
+                    .putLong(line.getProductId().getLeastSignificantBits())
+                    .putInt(line.getRequestedQuantity());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+
+        MappedByteBuffer buffer = current.buffer;
+        buffer.putInt(payload.capacity()).putInt((int) crc.getValue()).put(payload.array());
+        buffer.putInt(buffer.position(), 0);
+        current.lastSequence = sequence;
+    }
+
+    /**
+     * Flushes and closes the current segment, so the next append starts a new one.
+     */
+    public void seal() {
+        if (current != null) {
+            current.buffer.force();
+            closedSegments.add(current);
+            current = null;
+        }
+    }
+
+    public void force() {
+        if (current != null) {
+            current.buffer.force();
+        }
+    }
+
+    /**
+     * Deletes the sealed segments whose records are all covered by the checkpoint.
+     */
+    public void truncate(long checkpointSequence) {
+        while (!closedSegments.isEmpty() && closedSegments.peekFirst().lastSequence <= checkpointSequence) {
+            delete(closedSegments.pollFirst().path);
+        }
+    }
+
+    /**
+     * Deletes every segment on disk, used once a replay has been checkpointed.
+     */
+    public void clear() {
+        seal();
+        closedSegments.clear();
+        segmentPaths().forEach(this::delete);
+    }
+
+    @Override
+    public void close() {
+        seal();
+    }
+
+    private void rotate(long firstSequence) {
+        seal();
+        Path path = directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                current = new Segment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while creating write-ahead log segment " + path, e);
+        }
+    }
+
+    private Long readSequence(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining()) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(buffer.position(), payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+        return buffer.getLong();
+    }
+
+    private List<ReservationLineDTO> readLines(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        List<ReservationLineDTO> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(ReservationLineDTO.builder()
+                    .productId(new UUID(buffer.getLong(), buffer.getLong()))
+                    .requestedQuantity(buffer.getInt())
+                    .build());
+        }
+        return lines;
+    }
+
+    private List<Path> segmentPaths() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while listing write-ahead log segments in " + directory, e);
+        }
+    }
+
+    private void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while deleting write-ahead log segment " + path, e);
+        }
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private long lastSequence;
+
+        private Segment(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+}
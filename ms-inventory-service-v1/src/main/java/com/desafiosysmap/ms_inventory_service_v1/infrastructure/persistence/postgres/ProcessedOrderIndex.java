@@ -0,0 +1,66 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded in-memory view of {@code processed_orders}: the least recently used orders are evicted
+ * once the capacity is reached, and entries older than the retention are treated as gone, as they
+ * are about to be purged from the table too. Thread-safe.
+ */
+public class ProcessedOrderIndex {
+
+    private final Duration retention;
+    private final Clock clock;
+    private final Map<UUID, Entry> entries;
+
+    public ProcessedOrderIndex(int capacity, Duration retention, Clock clock) {
+        this.retention = retention;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(Math.min(capacity, 1 << 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized Optional<InventoryResponseDTO> get(UUID orderId) {
+
+        Entry entry = entries.get(orderId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.processedAt().isBefore(clock.instant().minus(retention))) {
+            entries.remove(orderId);
+            return Optional.empty();
+        }
+        return Optional.of(new InventoryResponseDTO(orderId, entry.status(), entry.message()));
+    }
+
+    public synchronized void put(InventoryResponseDTO response, Instant processedAt) {
+        entries.put(response.getOrderId(), new Entry(response.getStatus(), response.getMessage(), processedAt));
+    }
+
+    public synchronized int purgeExpired() {
+        Instant cutoff = clock.instant().minus(retention);
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.processedAt().isBefore(cutoff));
+        return before - entries.size();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(OrderStatus status, String message, Instant processedAt) {
+    }
+}
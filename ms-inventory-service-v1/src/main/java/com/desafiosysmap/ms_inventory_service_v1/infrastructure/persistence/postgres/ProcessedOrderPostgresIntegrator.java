@@ -0,0 +1,130 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.ProcessedOrderPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.ProcessedOrderRepository;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.KafkaConfig;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.ProcessedOrderConfig;
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class ProcessedOrderPostgresIntegrator implements ProcessedOrderPortOut {
+
+    private final ProcessedOrderRepository processedOrderRepository;
+    private final ProcessedOrderConfig processedOrderConfig;
+    private final KafkaConfig kafkaConfig;
+
+    private ProcessedOrderIndex index;
+
+    @PostConstruct
+    void init() {
+        index = new ProcessedOrderIndex(processedOrderConfig.cacheSize,
+                Duration.ofHours(processedOrderConfig.retentionHours), Clock.systemUTC());
+    }
+
+    @Override
+    public Optional<InventoryResponseDTO> findProcessed(UUID orderId) {
+
+        try {
+            if (orderId == null) {
+                throw new IllegalArgumentException("Order ID cannot be null");
+            }
+            if (!isEnabled()) {
+                return Optional.empty();
+            }
+
+            Optional<InventoryResponseDTO> cached = index.get(orderId);
+            if (cached.isPresent()) {
+                return cached;
+            }
+
+            Optional<InventoryResponseDTO> recorded = processedOrderRepository.findById(orderId)
+                    .map(processedOrder -> new InventoryResponseDTO(processedOrder.getOrderId(),
+                            processedOrder.getStatus(), processedOrder.getMessage()));
+            recorded.ifPresent(this::remember);
+            return recorded;
+        } catch (Exception e) {
+            throw new RuntimeException("Error while finding processed order: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void markProcessed(InventoryResponseDTO response) {
+
+        try {
+            if (response == null || response.getOrderId() == null || response.getStatus() == null) {
+                throw new IllegalArgumentException("Processed order must have an order ID and a status");
+            }
+            if (!isEnabled()) {
+                return;
+            }
+            int inserted = processedOrderRepository.insertProcessedOrder(response.getOrderId(),
+                    response.getStatus().name(), response.getMessage());
+            if (inserted == 0) {
+                throw new IllegalStateException("Order " + response.getOrderId() + " was already processed");
+            }
+            remember(response);
+        } catch (Exception e) {
+            throw new RuntimeException("Error while marking order as processed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int purgeExpired() {
+
+        try {
+            if (!isEnabled()) {
+                return 0;
+            }
+
+            index.purgeExpired();
+
+            int purged = 0;
+            int deleted;
+            do {
+                deleted = processedOrderRepository.deleteProcessedBefore(processedOrderConfig.retentionHours,
+                        processedOrderConfig.purgeBatchSize);
+                purged += deleted;
+            } while (deleted == processedOrderConfig.purgeBatchSize);
+            return purged;
+        } catch (Exception e) {
+            throw new RuntimeException("Error while purging processed orders: " + e.getMessage(), e);
+        }
+    }
+
+    private boolean isEnabled() {
+        // exactly-once delivery depends on the processed orders, whatever the dedup setting says
+        return processedOrderConfig.enabled || kafkaConfig.transactionsEnabled;
+    }
+
+    /**
+     * Only committed outcomes make it into the index; one cached from a transaction that later rolls
+     * back would answer for a reservation that never happened.
+     */
+    private void remember(InventoryResponseDTO response) {
+        InventoryResponseDTO copy = new InventoryResponseDTO(response.getOrderId(), response.getStatus(), response.getMessage());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index.put(copy, Clock.systemUTC().instant());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.put(copy, Clock.systemUTC().instant());
+            }
+        });
+    }
+}
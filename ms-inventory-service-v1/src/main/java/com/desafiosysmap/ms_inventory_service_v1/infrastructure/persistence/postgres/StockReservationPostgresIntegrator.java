@@ -0,0 +1,145 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.ReservationLineDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockReservationDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockReservationPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.InventoryRepository;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.ProductStockShardRepository;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.ShardReservationRow;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.StockReservationRow;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.StockShardingConfig;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.reservation.mode", havingValue = "postgres", matchIfMissing = true)
+public class StockReservationPostgresIntegrator implements StockReservationPortOut {
+
+    private final InventoryRepository inventoryRepository;
+    private final ProductStockShardRepository productStockShardRepository;
+    private final StockShardingConfig stockShardingConfig;
+
+    @Override
+    @Transactional
+    public StockReservationDTO reserve(List<ReservationLineDTO> lines) {
+
+        try {
+            if (lines == null || lines.isEmpty()) {
+                throw new IllegalArgumentException("Reservation lines cannot be null or empty");
+            }
+
+            if (lines.stream().noneMatch(line -> stockShardingConfig.isSharded(line.getProductId()))) {
+                return reserveProducts(lines);
+            }
+            return reserveWithShards(lines);
+        } catch (Exception e) {
+            throw new RuntimeException("Error while reserving stock: " + e.getMessage(), e);
+        }
+    }
+
+    private StockReservationDTO reserveProducts(List<ReservationLineDTO> lines) {
+
+        UUID[] productIds = new UUID[lines.size()];
+        Integer[] quantities = new Integer[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            productIds[i] = lines.get(i).getProductId();
+            quantities[i] = lines.get(i).getRequestedQuantity();
+        }
+
+        List<ReservationLineDTO> outcomes = inventoryRepository.reserveStock(productIds, quantities).stream()
+                .map(this::toReservationLine)
+                .toList();
+
+        boolean reserved = outcomes.size() == lines.size()
+                && outcomes.stream().allMatch(ReservationLineDTO::isReserved);
+
+        return new StockReservationDTO(reserved, outcomes);
+    }
+
+    /**
+     * Hot SKUs go first, each one taken from a single free shard or, failing that, drained across all
+     * of its shards; the remaining products then go through the set-based statement. When anything
+     * falls short, the shard stock already taken is given back to shards this transaction still holds,
+     * so the order stays all-or-nothing without waiting on any other lock.
+     */
+    private StockReservationDTO reserveWithShards(List<ReservationLineDTO> lines) {
+
+        Map<UUID, ReservationLineDTO> outcomes = new HashMap<>();
+        List<ShardReservationRow> taken = new ArrayList<>();
+        boolean reserved = true;
+
+        for (ReservationLineDTO line : lines) {
+            if (!stockShardingConfig.isSharded(line.getProductId())) {
+                continue;
+            }
+
+            ShardReservationRow row = productStockShardRepository.takeFromAnyShard(line.getProductId(), line.getRequestedQuantity());
+            if (!Boolean.TRUE.equals(row.getReserved())) {
+                row = productStockShardRepository.drainShards(line.getProductId(), line.getRequestedQuantity());
+            }
+            outcomes.put(line.getProductId(), toReservationLine(row));
+
+            if (!Boolean.TRUE.equals(row.getReserved())) {
+                reserved = false;
+                break;
+            }
+            taken.add(row);
+        }
+
+        List<ReservationLineDTO> productLines = lines.stream()
+                .filter(line -> !stockShardingConfig.isSharded(line.getProductId()))
+                .toList();
+
+        if (reserved && !productLines.isEmpty()) {
+            StockReservationDTO productReservation = reserveProducts(productLines);
+            productReservation.getLines().forEach(outcome -> outcomes.put(outcome.getProductId(), outcome));
+            reserved = productReservation.isReserved();
+        }
+
+        if (!reserved) {
+            taken.forEach(row -> productStockShardRepository.restoreShard(row.getProductId(), row.getShardNo(), row.getRequestedQuantity()));
+        }
+
+        boolean allReserved = reserved;
+        List<ReservationLineDTO> ordered = lines.stream()
+                .map(line -> {
+                    ReservationLineDTO outcome = outcomes.getOrDefault(line.getProductId(), ReservationLineDTO.builder()
+                            .productId(line.getProductId())
+                            .requestedQuantity(line.getRequestedQuantity())
+                            .build());
+                    outcome.setReserved(allReserved);
+                    return outcome;
+                })
+                .toList();
+
+        return new StockReservationDTO(reserved, ordered);
+    }
+
+    @Override
+    public void setQuantity(UUID productId, int quantity) {
+        // reservations read the product row itself, which the product API has already saved
+    }
+
+    @Override
+    public void removeProduct(UUID productId) {
+        // reservations read the product row itself, which the product API has already deleted
+    }
+
+    private ReservationLineDTO toReservationLine(StockReservationRow row) {
+        return ReservationLineDTO.builder()
+                .productId(row.getProductId())
+                .requestedQuantity(row.getRequestedQuantity())
+                .availableQuantity(row.getAvailableQuantity())
+                .reserved(Boolean.TRUE.equals(row.getReserved()))
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockShardPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.ProductStockShardRepository;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.ShardedQuantityRow;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.StockShardingConfig;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class StockShardPostgresIntegrator implements StockShardPortOut {
+
+    private final ProductStockShardRepository productStockShardRepository;
+    private final StockShardingConfig stockShardingConfig;
+
+    @Override
+    public Optional<Integer> findShardedQuantity(UUID productId) {
+
+        try {
+            if (productId == null) {
+                throw new IllegalArgumentException("Product ID cannot be null");
+            }
+            if (!stockShardingConfig.isSharded(productId)) {
+                return Optional.empty();
+            }
+            return Optional.of(Math.toIntExact(productStockShardRepository.sumQuantityByProductId(productId)));
+        } catch (Exception e) {
+            throw new RuntimeException("Error while finding sharded quantity: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<UUID, Integer> findShardedQuantities() {
+
+        try {
+            if (!stockShardingConfig.enabled) {
+                return Map.of();
+            }
+            return productStockShardRepository.sumQuantityGroupedByProduct().stream()
+                    .filter(row -> stockShardingConfig.isSharded(row.getProductId()))
+                    .collect(Collectors.toMap(ShardedQuantityRow::getProductId, row -> Math.toIntExact(row.getQuantity())));
+        } catch (Exception e) {
+            throw new RuntimeException("Error while finding sharded quantities: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void resetShards(UUID productId) {
+
+        try {
+            if (!stockShardingConfig.isSharded(productId)) {
+                return;
+            }
+            productStockShardRepository.clearShards(productId);
+            productStockShardRepository.moveProductStockToShards(productId, stockShardingConfig.shards);
+        } catch (Exception e) {
+            throw new RuntimeException("Error while resetting stock shards: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void rebalanceShards(UUID productId) {
+
+        try {
+            if (!stockShardingConfig.isSharded(productId)) {
+                return;
+            }
+            productStockShardRepository.moveProductStockToShards(productId, stockShardingConfig.shards);
+            productStockShardRepository.rebalanceShards(productId);
+        } catch (Exception e) {
+            throw new RuntimeException("Error while rebalancing stock shards: " + e.getMessage(), e);
+        }
+    }
+}
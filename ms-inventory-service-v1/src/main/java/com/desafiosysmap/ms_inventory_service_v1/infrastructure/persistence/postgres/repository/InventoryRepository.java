@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,4 +21,73 @@ public interface InventoryRepository extends JpaRepository<Product, UUID> {
     @Transactional
     @Query("UPDATE Product p SET p.quantity = p.quantity - :quantity WHERE p.id = :productId AND p.quantity >= :quantity")
     int updateInventory(@Param("productId") UUID productId, @Param("quantity") Integer quantity);
+
+    /**
+     * Locks, validates and decrements every line of an order in one round trip. The decrement is
+     * only applied when all products exist and have enough stock, so the order is reserved as a whole.
+     * One row is returned per requested line, in request order, with the stock seen before the decrement.
+     * Product rows are locked in id order, so concurrent orders over overlapping products cannot deadlock.
+     */
+    @Transactional
+    @Query(value = """
+            WITH requested AS (
+                SELECT line.product_id, line.quantity, line.line_no
+                FROM unnest(CAST(:productIds AS uuid[]), CAST(:quantities AS int[]))
+                     WITH ORDINALITY AS line(product_id, quantity, line_no)
+            ),
+            demand AS (
+                SELECT product_id, SUM(quantity) AS quantity
+                FROM requested
+                GROUP BY product_id
+            ),
+            stock AS (
+                SELECT p.id, p.quantity
+                FROM products p
+                JOIN demand d ON d.product_id = p.id
+                ORDER BY p.id
+                FOR UPDATE OF p
+            ),
+            verdict AS (
+                SELECT COUNT(s.id) = COUNT(*) AND COALESCE(BOOL_AND(s.quantity >= d.quantity), TRUE) AS reservable
+                FROM demand d
+                LEFT JOIN stock s ON s.id = d.product_id
+            ),
+            applied AS (
+                UPDATE products p
+                SET quantity = p.quantity - d.quantity
+                FROM demand d, verdict v
+                WHERE p.id = d.product_id AND v.reservable
+            )
+            SELECT r.product_id AS "productId",
+                   r.quantity AS "requestedQuantity",
+                   s.quantity AS "availableQuantity",
+                   (s.id IS NOT NULL AND v.reservable) AS "reserved"
+            FROM requested r
+            CROSS JOIN verdict v
+            LEFT JOIN stock s ON s.id = r.product_id
+            ORDER BY r.line_no
+            """, nativeQuery = true)
+    List<StockReservationRow> reserveStock(@Param("productIds") UUID[] productIds, @Param("quantities") Integer[] quantities);
+
+    /**
+     * Applies stock decrements that were already validated elsewhere, one row per product.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE products p
+            SET quantity = p.quantity - d.quantity
+            FROM (
+                SELECT delta.product_id, SUM(delta.quantity) AS quantity
+                FROM unnest(CAST(:productIds AS uuid[]), CAST(:quantities AS bigint[])) AS delta(product_id, quantity)
+                GROUP BY delta.product_id
+            ) d
+            WHERE p.id = d.product_id
+            """, nativeQuery = true)
+    int applyStockDeltas(@Param("productIds") UUID[] productIds, @Param("quantities") Long[] quantities);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Product p SET p.quantity = :quantity WHERE p.id = :productId")
+    int setQuantity(@Param("productId") UUID productId, @Param("quantity") Integer quantity);
 }
@@ -0,0 +1,44 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.entity.ProcessedOrder;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ProcessedOrderRepository extends JpaRepository<ProcessedOrder, UUID> {
+
+    /**
+     * Records the outcome of an order unless it is already there. A concurrent delivery of the same
+     * order waits on the primary key until the first transaction ends and then inserts nothing.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO processed_orders (order_id, status, message, processed_at)
+            VALUES (:orderId, :status, :message, now())
+            ON CONFLICT (order_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertProcessedOrder(@Param("orderId") UUID orderId, @Param("status") String status, @Param("message") String message);
+
+    /**
+     * Deletes up to {@code limit} outcomes older than the retention, so a purge never holds a long lock.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM processed_orders
+            WHERE order_id IN (
+                SELECT order_id
+                FROM processed_orders
+                WHERE processed_at < now() - make_interval(hours => CAST(:retentionHours AS int))
+                LIMIT :limit
+            )
+            """, nativeQuery = true)
+    int deleteProcessedBefore(@Param("retentionHours") Long retentionHours, @Param("limit") Integer limit);
+}
@@ -0,0 +1,155 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.entity.ProductStockShard;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.entity.ProductStockShardId;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProductStockShardRepository extends JpaRepository<ProductStockShard, ProductStockShardId> {
+
+    @Query("SELECT COALESCE(SUM(s.quantity), 0) FROM ProductStockShard s WHERE s.productId = :productId")
+    Long sumQuantityByProductId(@Param("productId") UUID productId);
+
+    @Query("SELECT s.productId AS productId, SUM(s.quantity) AS quantity FROM ProductStockShard s GROUP BY s.productId")
+    List<ShardedQuantityRow> sumQuantityGroupedByProduct();
+
+    /**
+     * Decrements the fullest shard that can serve the whole quantity on its own. Shards locked by
+     * other transactions are skipped instead of waited on, so concurrent orders spread over the shards.
+     */
+    @Transactional
+    @Query(value = """
+            WITH candidate AS (
+                SELECT shard_no
+                FROM product_stock_shards
+                WHERE product_id = :productId AND quantity >= :quantity
+                ORDER BY quantity DESC
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+            ),
+            taken AS (
+                UPDATE product_stock_shards s
+                SET quantity = s.quantity - :quantity
+                FROM candidate c
+                WHERE s.product_id = :productId AND s.shard_no = c.shard_no
+                RETURNING s.shard_no
+            )
+            SELECT CAST(:productId AS uuid) AS "productId",
+                   :quantity AS "requestedQuantity",
+                   (SELECT CAST(SUM(quantity) AS int) FROM product_stock_shards WHERE product_id = :productId) AS "availableQuantity",
+                   EXISTS (SELECT 1 FROM taken) AS "reserved",
+                   (SELECT shard_no FROM taken) AS "shardNo"
+            """, nativeQuery = true)
+    ShardReservationRow takeFromAnyShard(@Param("productId") UUID productId, @Param("quantity") Integer quantity);
+
+    /**
+     * Slow path for when no single shard holds enough stock: locks every shard of the product in
+     * shard order and drains them one after the other, only if their sum covers the quantity.
+     */
+    @Transactional
+    @Query(value = """
+            WITH locked AS (
+                SELECT shard_no, quantity
+                FROM product_stock_shards
+                WHERE product_id = :productId
+                ORDER BY shard_no
+                FOR UPDATE
+            ),
+            total AS (
+                SELECT COALESCE(SUM(quantity), 0) AS quantity, MIN(shard_no) AS first_shard FROM locked
+            ),
+            plan AS (
+                SELECT shard_no, quantity, SUM(quantity) OVER (ORDER BY shard_no) - quantity AS taken_before
+                FROM locked
+            ),
+            drained AS (
+                UPDATE product_stock_shards s
+                SET quantity = s.quantity - LEAST(p.quantity, :quantity - p.taken_before)
+                FROM plan p, total t
+                WHERE s.product_id = :productId AND s.shard_no = p.shard_no
+                  AND t.quantity >= :quantity AND p.taken_before < :quantity
+            )
+            SELECT CAST(:productId AS uuid) AS "productId",
+                   :quantity AS "requestedQuantity",
+                   CAST(t.quantity AS int) AS "availableQuantity",
+                   t.quantity >= :quantity AS "reserved",
+                   t.first_shard AS "shardNo"
+            FROM total t
+            """, nativeQuery = true)
+    ShardReservationRow drainShards(@Param("productId") UUID productId, @Param("quantity") Integer quantity);
+
+    /**
+     * Gives back stock taken earlier in the same transaction, to a shard that transaction already holds.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProductStockShard s SET s.quantity = s.quantity + :quantity WHERE s.productId = :productId AND s.shardNo = :shardNo")
+    int restoreShard(@Param("productId") UUID productId, @Param("shardNo") Integer shardNo, @Param("quantity") Integer quantity);
+
+    /**
+     * Moves whatever stock sits on the product row into its shards, creating missing shards on the way.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH pending AS (
+                SELECT id, quantity
+                FROM products
+                WHERE id = :productId
+                  AND (quantity > 0 OR NOT EXISTS (SELECT 1 FROM product_stock_shards WHERE product_id = :productId))
+                FOR UPDATE
+            ),
+            moved AS (
+                UPDATE products p
+                SET quantity = 0
+                FROM pending
+                WHERE p.id = pending.id
+                RETURNING pending.quantity
+            )
+            INSERT INTO product_stock_shards (product_id, shard_no, quantity)
+            SELECT :productId, g, m.quantity / :shards + CASE WHEN g < m.quantity % :shards THEN 1 ELSE 0 END
+            FROM moved m
+            CROSS JOIN generate_series(0, :shards - 1) AS g
+            ON CONFLICT (product_id, shard_no) DO UPDATE SET quantity = product_stock_shards.quantity + EXCLUDED.quantity
+            """, nativeQuery = true)
+    int moveProductStockToShards(@Param("productId") UUID productId, @Param("shards") Integer shards);
+
+    /**
+     * Spreads the stock of a product evenly over its shards when they drifted apart.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH locked AS (
+                SELECT shard_no, quantity
+                FROM product_stock_shards
+                WHERE product_id = :productId
+                ORDER BY shard_no
+                FOR UPDATE
+            ),
+            ranked AS (
+                SELECT shard_no, ROW_NUMBER() OVER (ORDER BY shard_no) - 1 AS position FROM locked
+            ),
+            total AS (
+                SELECT SUM(quantity) AS quantity, COUNT(*) AS shards, MAX(quantity) - MIN(quantity) AS spread FROM locked
+            )
+            UPDATE product_stock_shards s
+            SET quantity = t.quantity / t.shards + CASE WHEN r.position < t.quantity % t.shards THEN 1 ELSE 0 END
+            FROM ranked r, total t
+            WHERE s.product_id = :productId AND s.shard_no = r.shard_no AND t.spread > 1
+            """, nativeQuery = true)
+    int rebalanceShards(@Param("productId") UUID productId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProductStockShard s SET s.quantity = 0 WHERE s.productId = :productId")
+    int clearShards(@Param("productId") UUID productId);
+}
@@ -0,0 +1,6 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository;
+
+public interface ShardReservationRow extends StockReservationRow {
+
+    Integer getShardNo();
+}
@@ -0,0 +1,10 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository;
+
+import java.util.UUID;
+
+public interface ShardedQuantityRow {
+
+    UUID getProductId();
+
+    Long getQuantity();
+}
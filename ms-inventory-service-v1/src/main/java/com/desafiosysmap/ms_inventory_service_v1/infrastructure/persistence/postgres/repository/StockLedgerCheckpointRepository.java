@@ -0,0 +1,22 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.entity.StockLedgerCheckpoint;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockLedgerCheckpointRepository extends JpaRepository<StockLedgerCheckpoint, Integer> {
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO stock_ledger_checkpoints (id, sequence)
+            VALUES (:id, :sequence)
+            ON CONFLICT (id) DO UPDATE SET sequence = EXCLUDED.sequence
+            """, nativeQuery = true)
+    int saveCheckpoint(@Param("id") Integer id, @Param("sequence") Long sequence);
+}
@@ -0,0 +1,14 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository;
+
+import java.util.UUID;
+
+public interface StockReservationRow {
+
+    UUID getProductId();
+
+    Integer getRequestedQuantity();
+
+    Integer getAvailableQuantity();
+
+    Boolean getReserved();
+}
@@ -0,0 +1,24 @@
+package com.desafiosysmap.ms_inventory_service_v1.shared.config;
+
+import com.desafiosysmap.ms_inventory_service_v1.shared.util.IdGenerator;
+import com.desafiosysmap.ms_inventory_service_v1.shared.util.RandomUuidGenerator;
+import com.desafiosysmap.ms_inventory_service_v1.shared.util.UuidV7Generator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    @Value("${inventory.id.generator:uuid-v7}")
+    public String generator;
+
+    @Bean
+    public IdGenerator idGenerator() {
+        return switch (generator) {
+            case "uuid-v7" -> new UuidV7Generator();
+            case "random" -> new RandomUuidGenerator();
+            default -> throw new IllegalStateException("Unknown inventory.id.generator: " + generator);
+        };
+    }
+}
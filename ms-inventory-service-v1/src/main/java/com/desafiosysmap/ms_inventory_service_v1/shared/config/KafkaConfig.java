@@ -1,17 +1,35 @@
 package com.desafiosysmap.ms_inventory_service_v1.shared.config;
 
-import com.desafiosysmap.ms_inventory_service_v1.kafka.contracts.OrderEventDTO;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka.OrderLifecycleRelay;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import com.sysmapproject.contracts.ProducerProfile;
+import com.sysmapproject.contracts.codec.BinaryContractCodec;
+import com.sysmapproject.contracts.codec.BinaryContractSerializer;
+import com.sysmapproject.contracts.codec.ContractDeserializer;
+import com.sysmapproject.contracts.codec.OrderEventEnvelopeDeserializer;
+import com.sysmapproject.contracts.codec.WireFormat;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -31,18 +49,156 @@ public class KafkaConfig {
     @Value("${spring.kafka.topics.producer-topic}")
     public String topicProducerName;
 
+    @Value("${inventory.kafka.batch.enabled:false}")
+    public boolean batchEnabled;
+
+    @Value("${inventory.kafka.batch.max-size:500}")
+    public int batchMaxSize;
+
+    @Value("${inventory.kafka.batch.max-wait-ms:50}")
+    public int batchMaxWaitMs;
+
+    @Value("${inventory.kafka.batch.min-bytes:16384}")
+    public int batchMinBytes;
+
+    @Value("${inventory.kafka.producer.async:false}")
+    public boolean producerAsync;
+
+    @Value("${inventory.kafka.transactions.enabled:false}")
+    public boolean transactionsEnabled;
+
+    @Value("${inventory.kafka.transactions.id-prefix:inventory-tx-}")
+    public String transactionIdPrefix;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    public boolean virtualThreads;
+
+    @Value("${inventory.kafka.wire-format:json}")
+    public WireFormat wireFormat;
+
+    @Value("${inventory.kafka.producer.profile:default}")
+    public ProducerProfile producerProfile;
+
+    @Value("${inventory.kafka.partitions:1}")
+    public int partitions;
+
+    @Value("${inventory.kafka.concurrency:1}")
+    public int concurrency;
+
+    @Value("${inventory.kafka.parallel.enabled:false}")
+    public boolean parallelEnabled;
+
     @Bean
     public NewTopic orderTopic() {
-        return new NewTopic(topicConsumerName, 1, (short) 1);
+        return new NewTopic(topicConsumerName, partitions, (short) 1);
     }
 
     @Bean
     public NewTopic inventoryValidatedTopic() {
-        return new NewTopic(topicProducerName, 1, (short) 1);
+        return new NewTopic(topicProducerName, partitions, (short) 1);
     }
 
     @Bean
     public ConsumerFactory<String, OrderEventDTO> orderConsumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(orderConsumerProps(), new StringDeserializer(), orderEventDeserializer());
+    }
+
+    /**
+     * Reads every record of the order topic as an envelope, a record holding a single order event
+     * included, so the order service can switch to envelopes after this consumer.
+     */
+    @Bean
+    public ConsumerFactory<String, OrderEventEnvelopeDTO> orderEnvelopeConsumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(orderConsumerProps(), new StringDeserializer(),
+                new OrderEventEnvelopeDeserializer(orderEventDeserializer(), new ContractDeserializer<>(
+                        BinaryContractCodec::decodeOrderEventEnvelope, new JsonDeserializer<>(OrderEventEnvelopeDTO.class, false))));
+    }
+
+    @Bean
+    public ProducerFactory<String, Object> producerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        // consumers read both formats, so binary is only switched on once every one of them is upgraded
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                wireFormat == WireFormat.BINARY ? BinaryContractSerializer.class : JsonSerializer.class);
+        producerProfile.applyTo(props);
+
+        DefaultKafkaProducerFactory<String, Object> factory = new DefaultKafkaProducerFactory<>(props);
+        if (transactionsEnabled) {
+            if (!producerProfile.isIdempotent()) {
+                throw new IllegalStateException("inventory.kafka.transactions.enabled needs an idempotent producer profile, not "
+                        + producerProfile);
+            }
+            factory.setTransactionIdPrefix(transactionIdPrefix);
+        }
+        return factory;
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> kafkaTemplate(OrderLifecycleRelay orderLifecycleRelay) {
+        KafkaTemplate<String, Object> template = new KafkaTemplate<>(producerFactory());
+        // copies the order's lifecycle headers onto its validation
+        template.setProducerInterceptor(orderLifecycleRelay);
+        return template;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "inventory.kafka.transactions.enabled", havingValue = "true")
+    public KafkaTransactionManager<String, Object> kafkaTransactionManager() {
+        return new KafkaTransactionManager<>(producerFactory());
+    }
+
+    @Bean(name = "orderEventKafkaListenerContainerFactory")
+    public ConcurrentKafkaListenerContainerFactory<String, OrderEventDTO> orderKafkaListenerContainerFactory(OrderLifecycleRelay orderLifecycleRelay) {
+        boolean lanes = parallelEnabled && !batchEnabled;
+        if (lanes && transactionsEnabled) {
+            // the transaction is bound to the listener thread, which has moved on before the lanes publish
+            throw new IllegalStateException("inventory.kafka.parallel.enabled cannot be combined with inventory.kafka.transactions.enabled");
+        }
+
+        ConcurrentKafkaListenerContainerFactory<String, OrderEventDTO> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(orderConsumerFactory());
+        factory.setBatchListener(batchEnabled);
+        factory.setConcurrency(concurrency);
+        factory.setRecordInterceptor(lanes ? orderLifecycleRelay.forLanes() : orderLifecycleRelay);
+        factory.setBatchInterceptor(orderLifecycleRelay);
+
+        useVirtualThreads(factory);
+
+        if (transactionsEnabled) {
+            // the container begins a Kafka transaction per delivery and commits the consumed offsets in it,
+            // together with every validation published by the listener
+            factory.getContainerProperties().setKafkaAwareTransactionManager(kafkaTransactionManager());
+        } else if (lanes || (producerAsync && !batchEnabled)) {
+            // records are acknowledged once their validation reached the broker, possibly out of order,
+            // and the container only commits up to the first record still waiting for its lane or send
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            factory.getContainerProperties().setAsyncAcks(true);
+        }
+        return factory;
+    }
+
+    /**
+     * Envelopes are handed to the listener one at a time; each already holds a batch of orders, which
+     * the listener checks together.
+     */
+    @Bean(name = "orderEnvelopeKafkaListenerContainerFactory")
+    public ConcurrentKafkaListenerContainerFactory<String, OrderEventEnvelopeDTO> orderEnvelopeKafkaListenerContainerFactory(OrderLifecycleRelay orderLifecycleRelay) {
+        ConcurrentKafkaListenerContainerFactory<String, OrderEventEnvelopeDTO> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(orderEnvelopeConsumerFactory());
+        factory.setBatchListener(false);
+        factory.setConcurrency(concurrency);
+        factory.setRecordInterceptor(orderLifecycleRelay.forEnvelopes());
+        useVirtualThreads(factory);
+
+        if (transactionsEnabled) {
+            factory.getContainerProperties().setKafkaAwareTransactionManager(kafkaTransactionManager());
+        }
+        return factory;
+    }
+
+    private Map<String, Object> orderConsumerProps() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
@@ -50,18 +206,34 @@ public class KafkaConfig {
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
         props.put(JsonDeserializer.TRUSTED_PACKAGES,
+                        "com.sysmapproject.contracts, " +
                         "com.sysmapproject.ms_order_service_v1.core.domain.entity, " +
                         "com.sysmapproject.ms_order_service_v1.kafka.contracts, " +
                         "com.desafiosysmap.ms_inventory_service_v1.kafka.contracts");
 
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
-                new JsonDeserializer<>(OrderEventDTO.class, false));
+        if (batchEnabled) {
+            // the broker holds each fetch until min-bytes are available or max-wait has passed
+            props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxSize);
+            props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, batchMaxWaitMs);
+            props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, batchMinBytes);
+        }
+
+        if (transactionsEnabled) {
+            props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        }
+        return props;
     }
 
-    @Bean(name = "orderEventKafkaListenerContainerFactory")
-    public ConcurrentKafkaListenerContainerFactory<String, OrderEventDTO> orderKafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, OrderEventDTO> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(orderConsumerFactory());
-        return factory;    }
+    private static ContractDeserializer<OrderEventDTO> orderEventDeserializer() {
+        return new ContractDeserializer<>(BinaryContractCodec::decodeOrderEvent, new JsonDeserializer<>(OrderEventDTO.class, false));
+    }
 
+    private void useVirtualThreads(ConcurrentKafkaListenerContainerFactory<?, ?> factory) {
+        if (virtualThreads) {
+            // each consumer blocks in poll() and in the listener, which costs a virtual thread next to nothing
+            SimpleAsyncTaskExecutor listenerExecutor = new SimpleAsyncTaskExecutor("inventory-kafka-");
+            listenerExecutor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(listenerExecutor);
+        }
+    }
 }
@@ -0,0 +1,20 @@
+package com.desafiosysmap.ms_inventory_service_v1.shared.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ProcessedOrderConfig {
+
+    @Value("${inventory.dedup.enabled:true}")
+    public boolean enabled;
+
+    @Value("${inventory.dedup.cache-size:100000}")
+    public int cacheSize;
+
+    @Value("${inventory.dedup.retention-hours:168}")
+    public long retentionHours;
+
+    @Value("${inventory.dedup.purge-batch-size:10000}")
+    public int purgeBatchSize;
+}
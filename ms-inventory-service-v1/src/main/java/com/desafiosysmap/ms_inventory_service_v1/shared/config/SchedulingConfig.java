@@ -0,0 +1,9 @@
+package com.desafiosysmap.ms_inventory_service_v1.shared.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
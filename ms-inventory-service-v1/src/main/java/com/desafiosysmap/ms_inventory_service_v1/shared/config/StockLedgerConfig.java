@@ -0,0 +1,17 @@
+package com.desafiosysmap.ms_inventory_service_v1.shared.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StockLedgerConfig {
+
+    @Value("${inventory.ledger.wal-directory:./data/inventory-wal}")
+    public String walDirectory;
+
+    @Value("${inventory.ledger.wal-segment-size-mb:64}")
+    public int walSegmentSizeMb;
+
+    @Value("${inventory.ledger.stripes:64}")
+    public int stripes;
+}
@@ -0,0 +1,24 @@
+package com.desafiosysmap.ms_inventory_service_v1.shared.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Configuration
+public class StockShardingConfig {
+
+    @Value("${inventory.sharding.enabled:false}")
+    public boolean enabled;
+
+    @Value("${inventory.sharding.shards:8}")
+    public int shards;
+
+    @Value("${inventory.sharding.hot-skus:}")
+    public Set<UUID> hotSkus = Set.of();
+
+    public boolean isSharded(UUID productId) {
+        return enabled && hotSkus.contains(productId);
+    }
+}
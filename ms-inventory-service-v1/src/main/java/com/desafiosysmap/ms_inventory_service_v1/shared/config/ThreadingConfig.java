@@ -0,0 +1,18 @@
+package com.desafiosysmap.ms_inventory_service_v1.shared.config;
+
+import com.sysmapproject.commons.concurrent.VirtualThreadPoolLimits;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Refuses to start with virtual threads when the JDBC pool is configured outside the limits set by
+ * {@code inventory.threads.virtual.max-pool-size} and {@code inventory.threads.virtual.max-connection-timeout-ms};
+ * see {@link VirtualThreadPoolLimits}.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    public ThreadingConfig(Environment environment) {
+        new VirtualThreadPoolLimits("inventory").validate(environment);
+    }
+}
@@ -1,8 +0,0 @@
-package com.desafiosysmap.ms_inventory_service_v1.shared.enums;
-
-public enum OrderStatus {
-
-    PENDING,
-    CONFIRMED,
-    CANCELLED
-}
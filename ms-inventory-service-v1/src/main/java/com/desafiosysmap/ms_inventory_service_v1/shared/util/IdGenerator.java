@@ -0,0 +1,8 @@
+package com.desafiosysmap.ms_inventory_service_v1.shared.util;
+
+import java.util.UUID;
+
+public interface IdGenerator {
+
+    UUID next();
+}
@@ -0,0 +1,11 @@
+package com.desafiosysmap.ms_inventory_service_v1.shared.util;
+
+import java.util.UUID;
+
+public class RandomUuidGenerator implements IdGenerator {
+
+    @Override
+    public UUID next() {
+        return UUID.randomUUID();
+    }
+}
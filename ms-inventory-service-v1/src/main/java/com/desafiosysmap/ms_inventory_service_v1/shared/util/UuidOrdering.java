@@ -0,0 +1,21 @@
+package com.desafiosysmap.ms_inventory_service_v1.shared.util;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+public final class UuidOrdering {
+
+    /**
+     * Orders UUIDs the way Postgres sorts the {@code uuid} type (unsigned, byte by byte), which differs
+     * from {@link UUID#compareTo(UUID)} as soon as the most significant bit of either half is set.
+     */
+    public static final Comparator<UUID> POSTGRES = (left, right) -> {
+        int comparison = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return comparison != 0
+                ? comparison
+                : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    };
+
+    private UuidOrdering() {
+    }
+}
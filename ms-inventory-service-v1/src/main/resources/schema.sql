@@ -0,0 +1,28 @@
+CREATE TABLE IF NOT EXISTS products (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255) NOT NULL,
+    price NUMERIC(10, 2) NOT NULL,
+    quantity INTEGER NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS product_stock_shards (
+    product_id UUID NOT NULL REFERENCES products (id) ON DELETE CASCADE,
+    shard_no INTEGER NOT NULL,
+    quantity INTEGER NOT NULL CHECK (quantity >= 0),
+    PRIMARY KEY (product_id, shard_no)
+);
+
+CREATE TABLE IF NOT EXISTS stock_ledger_checkpoints (
+    id INTEGER PRIMARY KEY,
+    sequence BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS processed_orders (
+    order_id UUID PRIMARY KEY,
+    status VARCHAR(32) NOT NULL,
+    message VARCHAR(255),
+    processed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS processed_orders_processed_at_idx ON processed_orders (processed_at);
@@ -0,0 +1,49 @@
+package com.desafiosysmap.ms_inventory_service_v1.api.rest.controller;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockLedgerConsistencyDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.in.StockLedgerPortIn;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StockLedgerControllerTest {
+
+    @InjectMocks
+    private StockLedgerController stockLedgerController;
+
+    @Mock
+    private StockLedgerPortIn stockLedgerService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void checkConsistency_ShouldReturnReport() {
+        StockLedgerConsistencyDTO consistency = new StockLedgerConsistencyDTO(true, 3, List.of());
+        when(stockLedgerService.checkConsistency()).thenReturn(consistency);
+
+        ResponseEntity<StockLedgerConsistencyDTO> response = stockLedgerController.checkConsistency();
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(consistency, response.getBody());
+    }
+
+    @Test
+    void checkConsistency_Failure_ShouldReturnInternalServerError() {
+        when(stockLedgerService.checkConsistency()).thenThrow(new RuntimeException("Database error"));
+
+        ResponseEntity<StockLedgerConsistencyDTO> response = stockLedgerController.checkConsistency();
+
+        assertEquals(500, response.getStatusCode().value());
+    }
+}
@@ -1,6 +1,6 @@
 package com.desafiosysmap.ms_inventory_service_v1.core.domain.entity;
 
-import com.desafiosysmap.ms_inventory_service_v1.shared.enums.OrderStatus;
+import com.sysmapproject.contracts.OrderStatus;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
@@ -1,12 +1,14 @@
 package com.desafiosysmap.ms_inventory_service_v1.core.domain.service;
 
-import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.InventoryResponseDTO;
-import com.desafiosysmap.ms_inventory_service_v1.core.domain.entity.Product;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.ReservationLineDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockReservationDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.ProcessedOrderPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockReservationPortOut;
 import com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka.KafkaProducer;
-import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.InventoryRepository;
-import com.desafiosysmap.ms_inventory_service_v1.kafka.contracts.OrderEventDTO;
-import com.desafiosysmap.ms_inventory_service_v1.kafka.contracts.OrderItemDTO;
-import com.desafiosysmap.ms_inventory_service_v1.shared.enums.OrderStatus;
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.contracts.OrderStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +16,7 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,11 +25,14 @@ import static org.mockito.Mockito.*;
 class InventoryCheckServiceTest {
 
     @Mock
-    private InventoryRepository inventoryRepository;
+    private StockReservationPortOut stockReservationPortOut;
 
     @Mock
     private KafkaProducer kafkaProducer;
 
+    @Mock
+    private ProcessedOrderPortOut processedOrderPortOut;
+
     @InjectMocks
     private InventoryCheckService inventoryCheckService;
 
@@ -41,14 +47,12 @@ class InventoryCheckServiceTest {
 
     @Test
     void checkInventory_SuccessfulStockUpdate_ShouldConfirmOrder() {
-        OrderItemDTO item = new OrderItemDTO(validProductId.toString(), 5);
+        OrderItemDTO item = new OrderItemDTO(validProductId, 5);
         List<OrderItemDTO> items = Collections.singletonList(item);
-        OrderEventDTO orderEvent = new OrderEventDTO(validOrderId, 1L, OrderStatus.PENDING, items);
+        OrderEventDTO orderEvent = orderEvent(validOrderId, 1L, items);
 
-        when(inventoryRepository.findById(validProductId)).thenReturn(Optional.of(
-                Product.builder().id(validProductId).quantity(10).build()
-        ));
-        when(inventoryRepository.updateInventory(validProductId, 5)).thenReturn(1);
+        when(stockReservationPortOut.reserve(anyList())).thenReturn(new StockReservationDTO(true,
+                List.of(new ReservationLineDTO(validProductId, 5, 10, true))));
 
         inventoryCheckService.checkInventory(orderEvent);
 
@@ -62,13 +66,12 @@ class InventoryCheckServiceTest {
 
     @Test
     void checkInventory_InsufficientStock_ShouldCancelOrder() {
-        OrderItemDTO item = new OrderItemDTO(validProductId.toString(), 15);
+        OrderItemDTO item = new OrderItemDTO(validProductId, 15);
         List<OrderItemDTO> items = Collections.singletonList(item);
-        OrderEventDTO orderEvent = new OrderEventDTO(validOrderId, 1L, OrderStatus.PENDING, items);
+        OrderEventDTO orderEvent = orderEvent(validOrderId, 1L, items);
 
-        when(inventoryRepository.findById(validProductId)).thenReturn(Optional.of(
-                Product.builder().id(validProductId).quantity(10).build()
-        ));
+        when(stockReservationPortOut.reserve(anyList())).thenReturn(new StockReservationDTO(false,
+                List.of(new ReservationLineDTO(validProductId, 15, 10, false))));
 
         inventoryCheckService.checkInventory(orderEvent);
 
@@ -81,29 +84,77 @@ class InventoryCheckServiceTest {
     }
 
     @Test
-    void checkInventory_StockUpdateFailure_ShouldCancelOrder() {
-        OrderItemDTO item = new OrderItemDTO(validProductId.toString(), 5);
-        List<OrderItemDTO> items = Collections.singletonList(item);
-        OrderEventDTO orderEvent = new OrderEventDTO(validOrderId, 1L, OrderStatus.PENDING, items);
+    void checkInventory_MultipleLines_ShouldReserveAllLinesInOneCall() {
+        validProductId = UUID.fromString("10000000-0000-0000-0000-000000000000");
+        UUID otherProductId = UUID.fromString("20000000-0000-0000-0000-000000000000");
+        List<OrderItemDTO> items = List.of(
+                new OrderItemDTO(validProductId, 5),
+                new OrderItemDTO(otherProductId, 2));
+        OrderEventDTO orderEvent = orderEvent(validOrderId, 1L, items);
+
+        when(stockReservationPortOut.reserve(anyList())).thenReturn(new StockReservationDTO(true, List.of(
+                new ReservationLineDTO(validProductId, 5, 10, true),
+                new ReservationLineDTO(otherProductId, 2, 3, true))));
+
+        inventoryCheckService.checkInventory(orderEvent);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReservationLineDTO>> linesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(stockReservationPortOut, times(1)).reserve(linesCaptor.capture());
+
+        List<ReservationLineDTO> lines = linesCaptor.getValue();
+        assertEquals(2, lines.size());
+        assertEquals(validProductId, lines.get(0).getProductId());
+        assertEquals(5, lines.get(0).getRequestedQuantity());
+        assertEquals(otherProductId, lines.get(1).getProductId());
+        assertEquals(2, lines.get(1).getRequestedQuantity());
+    }
+
+    @Test
+    void checkInventory_DuplicateAndUnsortedLines_ShouldCoalesceAndSortBeforeReserving() {
+        UUID lowProductId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID highProductId = UUID.fromString("f0000000-0000-0000-0000-000000000001");
+        List<OrderItemDTO> items = List.of(
+                new OrderItemDTO(highProductId, 1),
+                new OrderItemDTO(lowProductId, 2),
+                new OrderItemDTO(highProductId, 4));
+        OrderEventDTO orderEvent = orderEvent(validOrderId, 1L, items);
+
+        when(stockReservationPortOut.reserve(anyList())).thenReturn(new StockReservationDTO(true, List.of(
+                new ReservationLineDTO(lowProductId, 2, 10, true),
+                new ReservationLineDTO(highProductId, 5, 10, true))));
+
+        inventoryCheckService.checkInventory(orderEvent);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReservationLineDTO>> linesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(stockReservationPortOut).reserve(linesCaptor.capture());
+
+        List<ReservationLineDTO> lines = linesCaptor.getValue();
+        assertEquals(2, lines.size());
+        assertEquals(lowProductId, lines.get(0).getProductId());
+        assertEquals(2, lines.get(0).getRequestedQuantity());
+        assertEquals(highProductId, lines.get(1).getProductId());
+        assertEquals(5, lines.get(1).getRequestedQuantity());
+    }
 
-        when(inventoryRepository.findById(validProductId)).thenReturn(Optional.of(
-                Product.builder().id(validProductId).quantity(10).build()
-        ));
-        when(inventoryRepository.updateInventory(validProductId, 5)).thenReturn(0); // Simula falha
+    @Test
+    void checkInventory_NonPositiveQuantity_ShouldCancelWithoutReserving() {
+        OrderItemDTO item = new OrderItemDTO(validProductId, -3);
+        OrderEventDTO orderEvent = orderEvent(validOrderId, 1L, List.of(item));
 
         inventoryCheckService.checkInventory(orderEvent);
 
         ArgumentCaptor<InventoryResponseDTO> responseCaptor = ArgumentCaptor.forClass(InventoryResponseDTO.class);
         verify(kafkaProducer).sendInventoryValidation(responseCaptor.capture());
+        verify(stockReservationPortOut, never()).reserve(anyList());
 
-        InventoryResponseDTO response = responseCaptor.getValue();
-        assertEquals(OrderStatus.CANCELLED, response.getStatus());
-        assertEquals("Order cancelled due to stock update failure.", response.getMessage());
+        assertEquals(OrderStatus.CANCELLED, responseCaptor.getValue().getStatus());
     }
 
     @Test
     void checkInventory_EmptyItems_ShouldCancelOrder() {
-        OrderEventDTO orderEvent = new OrderEventDTO(validOrderId, 1L, OrderStatus.PENDING, Collections.emptyList());
+        OrderEventDTO orderEvent = orderEvent(validOrderId, 1L, Collections.emptyList());
 
         inventoryCheckService.checkInventory(orderEvent);
 
@@ -114,4 +165,91 @@ class InventoryCheckServiceTest {
         assertEquals(OrderStatus.CONFIRMED, response.getStatus());
         assertEquals("Order confirmed. Stock updated successfully.", response.getMessage());
     }
+
+    @Test
+    void checkInventory_ShouldReturnThePublishCompletion() {
+        OrderEventDTO orderEvent = orderEvent(validOrderId, 1L, Collections.emptyList());
+        CompletableFuture<Void> published = new CompletableFuture<>();
+        when(kafkaProducer.sendInventoryValidation(any(InventoryResponseDTO.class))).thenReturn(published);
+
+        assertSame(published, inventoryCheckService.checkInventory(orderEvent));
+    }
+
+    @Test
+    void checkInventory_NewOrder_ShouldRecordOutcomeWithTheReservation() {
+        OrderEventDTO orderEvent = orderEvent(validOrderId, 1L,
+                List.of(new OrderItemDTO(validProductId, 5)));
+        when(stockReservationPortOut.reserve(anyList())).thenReturn(new StockReservationDTO(true,
+                List.of(new ReservationLineDTO(validProductId, 5, 10, true))));
+
+        inventoryCheckService.checkInventory(orderEvent);
+
+        InOrder inOrder = inOrder(stockReservationPortOut, processedOrderPortOut, kafkaProducer);
+        inOrder.verify(stockReservationPortOut).reserve(anyList());
+        inOrder.verify(processedOrderPortOut).markProcessed(new InventoryResponseDTO(validOrderId, OrderStatus.CONFIRMED,
+                "Order confirmed. Stock updated successfully."));
+        inOrder.verify(kafkaProducer).sendInventoryValidation(any(InventoryResponseDTO.class));
+    }
+
+    @Test
+    void checkInventory_RedeliveredOrder_ShouldRepublishRecordedOutcomeWithoutReserving() {
+        OrderEventDTO orderEvent = orderEvent(validOrderId, 1L,
+                List.of(new OrderItemDTO(validProductId, 5)));
+        InventoryResponseDTO recorded = new InventoryResponseDTO(validOrderId, OrderStatus.CANCELLED,
+                "Order cancelled due to insufficient stock.");
+        when(processedOrderPortOut.findProcessed(validOrderId)).thenReturn(Optional.of(recorded));
+
+        inventoryCheckService.checkInventory(orderEvent);
+
+        verify(kafkaProducer).sendInventoryValidation(recorded);
+        verify(stockReservationPortOut, never()).reserve(anyList());
+        verify(processedOrderPortOut, never()).markProcessed(any());
+    }
+
+    @Test
+    void checkInventoryBatch_ShouldReserveEveryOrderAndPublishAllResultsTogether() {
+        UUID otherOrderId = UUID.randomUUID();
+        OrderEventDTO confirmedEvent = orderEvent(validOrderId, 1L,
+                List.of(new OrderItemDTO(validProductId, 5)));
+        OrderEventDTO cancelledEvent = orderEvent(otherOrderId, 2L,
+                List.of(new OrderItemDTO(validProductId, 50)));
+
+        when(stockReservationPortOut.reserve(anyList()))
+                .thenReturn(new StockReservationDTO(true, List.of(new ReservationLineDTO(validProductId, 5, 60, true))))
+                .thenReturn(new StockReservationDTO(false, List.of(new ReservationLineDTO(validProductId, 50, 55, false))));
+
+        inventoryCheckService.checkInventoryBatch(List.of(confirmedEvent, cancelledEvent));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<InventoryResponseDTO>> responsesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(kafkaProducer, times(1)).sendInventoryValidations(responsesCaptor.capture());
+        verify(kafkaProducer, never()).sendInventoryValidation(any());
+
+        List<InventoryResponseDTO> responses = responsesCaptor.getValue();
+        assertEquals(2, responses.size());
+        assertEquals(validOrderId, responses.get(0).getOrderId());
+        assertEquals(OrderStatus.CONFIRMED, responses.get(0).getStatus());
+        assertEquals(otherOrderId, responses.get(1).getOrderId());
+        assertEquals(OrderStatus.CANCELLED, responses.get(1).getStatus());
+    }
+
+    @Test
+    void checkInventoryBatch_OnlyInvalidEvents_ShouldPublishNothing() {
+        OrderEventDTO invalidEvent = orderEvent(validOrderId, 1L,
+                List.of(new OrderItemDTO(null, 5)));
+
+        inventoryCheckService.checkInventoryBatch(List.of(invalidEvent));
+
+        verify(stockReservationPortOut, never()).reserve(anyList());
+        verifyNoInteractions(kafkaProducer);
+    }
+
+    private OrderEventDTO orderEvent(UUID orderId, Long customerId, List<OrderItemDTO> items) {
+        return OrderEventDTO.builder()
+                .orderId(orderId)
+                .customerId(customerId)
+                .status(OrderStatus.PENDING)
+                .items(items)
+                .build();
+    }
 }
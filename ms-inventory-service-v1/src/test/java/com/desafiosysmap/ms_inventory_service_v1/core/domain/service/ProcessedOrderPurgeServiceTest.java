@@ -0,0 +1,36 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.service;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.ProcessedOrderPortOut;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessedOrderPurgeServiceTest {
+
+    @Mock
+    private ProcessedOrderPortOut processedOrderPortOut;
+
+    @InjectMocks
+    private ProcessedOrderPurgeService processedOrderPurgeService;
+
+    @Test
+    void purgeExpired_ShouldPurgeThroughThePort() {
+        when(processedOrderPortOut.purgeExpired()).thenReturn(3);
+
+        processedOrderPurgeService.purgeExpired();
+
+        verify(processedOrderPortOut, times(1)).purgeExpired();
+    }
+
+    @Test
+    void purgeExpired_PortFails_ShouldNotPropagate() {
+        when(processedOrderPortOut.purgeExpired()).thenThrow(new RuntimeException("Database error"));
+
+        assertDoesNotThrow(() -> processedOrderPurgeService.purgeExpired());
+    }
+}
@@ -2,6 +2,10 @@ package com.desafiosysmap.ms_inventory_service_v1.core.domain.service;
 
 import com.desafiosysmap.ms_inventory_service_v1.core.domain.entity.Product;
 import com.desafiosysmap.ms_inventory_service_v1.core.port.out.ProductPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockReservationPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockShardPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.shared.util.IdGenerator;
+import com.desafiosysmap.ms_inventory_service_v1.shared.util.UuidV7Generator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +24,15 @@ class ProductServiceTest {
     @Mock
     private ProductPortOut productPortOut;
 
+    @Mock
+    private StockShardPortOut stockShardPortOut;
+
+    @Mock
+    private StockReservationPortOut stockReservationPortOut;
+
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
+
     @InjectMocks
     private ProductService productService;
 
@@ -45,6 +58,17 @@ class ProductServiceTest {
         assertNotNull(savedProduct);
         assertEquals(validProduct.getId(), savedProduct.getId());
         verify(productPortOut, times(1)).save(any(Product.class));
+        verify(stockReservationPortOut, times(1)).setQuantity(validProduct.getId(), 10);
+    }
+
+    @Test
+    void crateProduct_ShouldAssignTimeOrderedId() {
+        when(productPortOut.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Product savedProduct = productService.crateProduct(validProduct);
+
+        assertEquals(7, savedProduct.getId().version());
+        verify(idGenerator, times(1)).next();
     }
 
     @Test
@@ -93,6 +117,29 @@ class ProductServiceTest {
         verify(productPortOut, times(1)).findById(validProduct.getId());
     }
 
+    @Test
+    void getProductById_HotSku_ShouldReportAggregateQuantity() {
+        when(productPortOut.findById(validProduct.getId())).thenReturn(Optional.of(validProduct));
+        when(stockShardPortOut.findShardedQuantity(validProduct.getId())).thenReturn(Optional.of(90));
+
+        Product result = productService.getProductById(validProduct.getId());
+
+        assertEquals(100, result.getQuantity());
+        assertEquals(10, validProduct.getQuantity());
+    }
+
+    @Test
+    void listProducts_HotSku_ShouldReportAggregateQuantity() {
+        Product otherProduct = Product.builder().id(UUID.randomUUID()).name("Product B").quantity(3).build();
+        when(productPortOut.findAll()).thenReturn(List.of(validProduct, otherProduct));
+        when(stockShardPortOut.findShardedQuantities()).thenReturn(Map.of(validProduct.getId(), 90));
+
+        List<Product> result = productService.listProducts();
+
+        assertEquals(100, result.get(0).getQuantity());
+        assertEquals(3, result.get(1).getQuantity());
+    }
+
     @Test
     void getProductById_NullId_ShouldThrowException() {
         Exception exception = assertThrows(RuntimeException.class, () -> productService.getProductById(null));
@@ -120,6 +167,8 @@ class ProductServiceTest {
 
         assertEquals("Updated Product", updatedProduct.getName());
         verify(productPortOut, times(1)).save(any(Product.class));
+        verify(stockShardPortOut, times(1)).resetShards(validProduct.getId());
+        verify(stockReservationPortOut, times(1)).setQuantity(validProduct.getId(), 10);
     }
 
     @Test
@@ -137,6 +186,7 @@ class ProductServiceTest {
         Exception exception = assertThrows(RuntimeException.class, () -> productService.updateProduct(validProduct));
         assertEquals("Product not found for update", exception.getMessage());
         verify(productPortOut, never()).save(any());
+        verifyNoInteractions(stockReservationPortOut);
     }
 
     @Test
@@ -146,6 +196,7 @@ class ProductServiceTest {
         productService.deleteProduct(validProduct.getId());
 
         verify(productPortOut, times(1)).deleteById(validProduct.getId());
+        verify(stockReservationPortOut).removeProduct(validProduct.getId());
     }
 
     @Test
@@ -163,5 +214,6 @@ class ProductServiceTest {
         Exception exception = assertThrows(RuntimeException.class, () -> productService.deleteProduct(randomId));
         assertEquals("Error deleting product with ID: Product not found", exception.getMessage());
         verify(productPortOut, never()).deleteById(any());
+        verify(stockReservationPortOut, never()).removeProduct(any());
     }
 }
@@ -0,0 +1,42 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.service;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockLedgerConsistencyDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockLedgerDriftDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockLedgerPortOut;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerServiceTest {
+
+    @Mock
+    private StockLedgerPortOut stockLedgerPortOut;
+
+    @InjectMocks
+    private StockLedgerService stockLedgerService;
+
+    @Test
+    void checkConsistency_ShouldReturnPortResult() {
+        StockLedgerDriftDTO drift = new StockLedgerDriftDTO(UUID.randomUUID(), 6L, 4L, 50L);
+        StockLedgerConsistencyDTO consistency = new StockLedgerConsistencyDTO(false, 1, List.of(drift));
+        when(stockLedgerPortOut.checkConsistency()).thenReturn(consistency);
+
+        assertSame(consistency, stockLedgerService.checkConsistency());
+    }
+
+    @Test
+    void checkConsistency_PortFailure_ShouldWrapException() {
+        when(stockLedgerPortOut.checkConsistency()).thenThrow(new RuntimeException("Database error"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> stockLedgerService.checkConsistency());
+
+        assertEquals("Error while checking stock ledger consistency: Database error", exception.getMessage());
+    }
+}
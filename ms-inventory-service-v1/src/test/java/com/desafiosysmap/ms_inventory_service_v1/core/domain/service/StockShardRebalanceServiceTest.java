@@ -0,0 +1,54 @@
+package com.desafiosysmap.ms_inventory_service_v1.core.domain.service;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.StockShardPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.StockShardingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockShardRebalanceServiceTest {
+
+    @Mock
+    private StockShardPortOut stockShardPortOut;
+
+    @Spy
+    private StockShardingConfig stockShardingConfig = new StockShardingConfig();
+
+    @InjectMocks
+    private StockShardRebalanceService stockShardRebalanceService;
+
+    private UUID firstHotProductId;
+    private UUID secondHotProductId;
+
+    @BeforeEach
+    void setUp() {
+        firstHotProductId = UUID.randomUUID();
+        secondHotProductId = UUID.randomUUID();
+        stockShardingConfig.enabled = true;
+        stockShardingConfig.hotSkus = new LinkedHashSet<>(List.of(firstHotProductId, secondHotProductId));
+    }
+
+    @Test
+    void rebalanceShards_ShouldRebalanceEveryHotSku() {
+        stockShardRebalanceService.rebalanceShards();
+
+        verify(stockShardPortOut).rebalanceShards(firstHotProductId);
+        verify(stockShardPortOut).rebalanceShards(secondHotProductId);
+    }
+
+    @Test
+    void rebalanceShards_OneSkuFails_ShouldKeepRebalancingTheOthers() {
+        doThrow(new RuntimeException("Database error")).when(stockShardPortOut).rebalanceShards(firstHotProductId);
+
+        stockShardRebalanceService.rebalanceShards();
+
+        verify(stockShardPortOut).rebalanceShards(secondHotProductId);
+    }
+}
@@ -0,0 +1,47 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.service.InventoryCheckService;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaBatchConsumerTest {
+
+    @Mock
+    private InventoryCheckService inventoryCheckService;
+
+    @InjectMocks
+    private KafkaBatchConsumer kafkaBatchConsumer;
+
+    @Test
+    void consumeOrderEvents_ShouldHandWholeBatchToServiceOnce() {
+        List<OrderEventDTO> orderEvents = List.of(
+                new OrderEventDTO(UUID.randomUUID(), 1L, null, OrderStatus.PENDING, null, null),
+                new OrderEventDTO(UUID.randomUUID(), 2L, null, OrderStatus.PENDING, null, null));
+
+        kafkaBatchConsumer.consumeOrderEvents(orderEvents);
+
+        verify(inventoryCheckService, times(1)).checkInventoryBatch(orderEvents);
+        verify(inventoryCheckService, never()).checkInventory(any(OrderEventDTO.class));
+    }
+
+    @Test
+    void consumeOrderEvents_ServiceThrowsException_ShouldPropagateForRedelivery() {
+        List<OrderEventDTO> orderEvents = List.of(new OrderEventDTO(UUID.randomUUID(), 1L, null, OrderStatus.PENDING, null, null));
+        doThrow(new RuntimeException("Service failure")).when(inventoryCheckService).checkInventoryBatch(anyList());
+
+        Exception exception = assertThrows(RuntimeException.class, () -> kafkaBatchConsumer.consumeOrderEvents(orderEvents));
+
+        assertEquals("Service failure", exception.getMessage());
+    }
+}
@@ -0,0 +1,129 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.service.InventoryCheckService;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.KafkaConfig;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs {@link KafkaConsumer} in a real listener container, with manual async acknowledgements, against
+ * an embedded broker: the record of a validation that failed to publish has to be checked again, and
+ * the container has to go on committing it and the records after it instead of staying paused.
+ */
+@SpringJUnitConfig
+@EmbeddedKafka(partitions = 1, topics = {KafkaConsumerRedeliveryTest.ORDER_TOPIC, KafkaConsumerRedeliveryTest.VALIDATION_TOPIC})
+@TestPropertySource(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.group-id=" + KafkaConsumerRedeliveryTest.GROUP_ID,
+        "spring.kafka.topics.consumer-topic=" + KafkaConsumerRedeliveryTest.ORDER_TOPIC,
+        "spring.kafka.topics.producer-topic=" + KafkaConsumerRedeliveryTest.VALIDATION_TOPIC,
+        "inventory.kafka.producer.async=true",
+        "inventory.kafka.producer.retry-backoff-ms=100",
+        "inventory.kafka.wire-format=JSON",
+        "inventory.kafka.producer.profile=DEFAULT"
+})
+class KafkaConsumerRedeliveryTest {
+
+    static final String ORDER_TOPIC = "tpc-order-events-redelivery";
+    static final String VALIDATION_TOPIC = "tpc-inventory-validated-redelivery";
+    static final String GROUP_ID = "inventory-redelivery-test";
+
+    private static final long TIMEOUT_MS = 30_000;
+
+    @Configuration
+    @EnableKafka
+    @Import({KafkaConfig.class, OrderLifecycleRelay.class, KafkaConsumer.class})
+    static class Listener {
+    }
+
+    @MockitoBean
+    private InventoryCheckService inventoryCheckService;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry registry;
+
+    @Test
+    void consumeOrderEvent_SendFails_ShouldCheckRecordAgainAndKeepCommitting() throws Exception {
+        UUID failing = UUID.randomUUID();
+        List<UUID> checked = new CopyOnWriteArrayList<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        when(inventoryCheckService.checkInventory(any())).thenAnswer(invocation -> {
+            UUID orderId = invocation.<OrderEventDTO>getArgument(0).getOrderId();
+            checked.add(orderId);
+            if (orderId.equals(failing) && failed.compareAndSet(false, true)) {
+                return CompletableFuture.failedFuture(new RuntimeException("Broker unavailable"));
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+
+        // the consumer starts from the latest offset, so nothing is sent before it owns the partition
+        registry.getListenerContainers().forEach(container -> ContainerTestUtils.waitForAssignment(container, 1));
+
+        UUID first = UUID.randomUUID();
+        UUID after = UUID.randomUUID();
+        send(first);
+        send(failing);
+        send(after);
+
+        awaitCommitted(3);
+        assertEquals(2, checked.stream().filter(failing::equals).count());
+        assertTrue(checked.indexOf(after) >= 0);
+        assertTrue(checked.lastIndexOf(failing) > checked.indexOf(failing));
+
+        UUID later = UUID.randomUUID();
+        send(later);
+
+        awaitCommitted(4);
+        assertTrue(checked.contains(later));
+    }
+
+    private void send(UUID orderId) throws Exception {
+        kafkaTemplate.send(ORDER_TOPIC, orderId.toString(),
+                new OrderEventDTO(orderId, 1L, List.of(), OrderStatus.PENDING, null, null)).get();
+    }
+
+    private void awaitCommitted(long offset) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        long committed = -1;
+        while (System.currentTimeMillis() < deadline) {
+            OffsetAndMetadata current = KafkaTestUtils.getCurrentOffset(embeddedKafka.getBrokersAsString(), GROUP_ID, ORDER_TOPIC, 0);
+            committed = current == null ? -1 : current.offset();
+            if (committed >= offset) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("Committed offset stayed at " + committed + ", expected " + offset);
+    }
+}
@@ -1,14 +1,22 @@
 package com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka;
 
 import com.desafiosysmap.ms_inventory_service_v1.core.domain.service.InventoryCheckService;
-import com.desafiosysmap.ms_inventory_service_v1.kafka.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.adapter.ConsumerRecordMetadata;
+import org.springframework.kafka.support.Acknowledgment;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,35 +27,46 @@ class KafkaConsumerTest {
     @Mock
     private InventoryCheckService inventoryCheckService;
 
-    @InjectMocks
     private KafkaConsumer kafkaConsumer;
 
+    private static final String TOPIC = "tpc-order-events";
+
     private OrderEventDTO validOrderEvent;
+    private ConsumerRecordMetadata metadata;
 
     @BeforeEach
     void setUp() {
+        kafkaConsumer = new KafkaConsumer(inventoryCheckService, 10);
+        metadata = new ConsumerRecordMetadata(
+                new RecordMetadata(new TopicPartition(TOPIC, 0), 42L, 0, 0L, 0, 0),
+                TimestampType.CREATE_TIME);
         validOrderEvent = new OrderEventDTO(
                 UUID.randomUUID(),
                 1L,
                 null,
-                "PENDING",
+                OrderStatus.PENDING,
                 null,
                 null
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        kafkaConsumer.destroy();
+    }
+
     @Test
     void consumeOrderEvent_ValidEvent_ShouldInvokeService() {
-        kafkaConsumer.consumeOrderEvent(validOrderEvent);
+        kafkaConsumer.consumeOrderEvent(validOrderEvent, metadata, null);
 
         verify(inventoryCheckService, times(1)).checkInventory(validOrderEvent);
     }
 
     @Test
     void consumeOrderEvent_EventWithNullId_ShouldInvokeServiceButHandleGracefully() {
-        validOrderEvent.setOrderId(null);
+        validOrderEvent = validOrderEvent.toBuilder().orderId(null).build();
 
-        kafkaConsumer.consumeOrderEvent(validOrderEvent);
+        kafkaConsumer.consumeOrderEvent(validOrderEvent, metadata, null);
 
         verify(inventoryCheckService, times(1)).checkInventory(validOrderEvent);
     }
@@ -63,7 +82,7 @@ class KafkaConsumerTest {
                 null
         );
 
-        kafkaConsumer.consumeOrderEvent(invalidEvent);
+        kafkaConsumer.consumeOrderEvent(invalidEvent, metadata, null);
 
         verify(inventoryCheckService, times(1)).checkInventory(invalidEvent);
     }
@@ -73,10 +92,42 @@ class KafkaConsumerTest {
         doThrow(new RuntimeException("Service failure")).when(inventoryCheckService).checkInventory(any());
 
         Exception exception = assertThrows(RuntimeException.class, () -> {
-            kafkaConsumer.consumeOrderEvent(validOrderEvent);
+            kafkaConsumer.consumeOrderEvent(validOrderEvent, metadata, null);
         });
 
         assertEquals("Service failure", exception.getMessage());
         verify(inventoryCheckService, times(1)).checkInventory(validOrderEvent);
     }
+
+    @Test
+    void consumeOrderEvent_Acknowledgment_ShouldAcknowledgeOnlyOncePublished() {
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        CompletableFuture<Void> published = new CompletableFuture<>();
+        when(inventoryCheckService.checkInventory(validOrderEvent)).thenReturn(published);
+
+        kafkaConsumer.consumeOrderEvent(validOrderEvent, metadata, acknowledgment);
+
+        verify(acknowledgment, never()).acknowledge();
+
+        published.complete(null);
+
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void consumeOrderEvent_PublishFails_ShouldCheckAgainBeforeAcknowledging() {
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        CompletableFuture<Void> published = new CompletableFuture<>();
+        when(inventoryCheckService.checkInventory(validOrderEvent))
+                .thenReturn(published)
+                .thenThrow(new RuntimeException("Database failure"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        kafkaConsumer.consumeOrderEvent(validOrderEvent, metadata, acknowledgment);
+        published.completeExceptionally(new RuntimeException("Kafka execution error"));
+
+        verify(acknowledgment, never()).acknowledge();
+        verify(inventoryCheckService, timeout(5_000).times(3)).checkInventory(validOrderEvent);
+        verify(acknowledgment, timeout(5_000)).acknowledge();
+    }
 }
@@ -0,0 +1,179 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.service.InventoryCheckService;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaParallelConsumerTest {
+
+    private static final String TOPIC = "tpc-order-events";
+
+    @Mock
+    private InventoryCheckService inventoryCheckService;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private final OrderLifecycleRelay orderLifecycleRelay = new OrderLifecycleRelay();
+
+    private KafkaParallelConsumer kafkaParallelConsumer;
+
+    @BeforeEach
+    void setUp() {
+        kafkaParallelConsumer = new KafkaParallelConsumer(inventoryCheckService, orderLifecycleRelay, 4, 16, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        kafkaParallelConsumer.destroy();
+    }
+
+    @Test
+    void consumeOrderEvent_ShouldAcknowledgeOnceCheckedAndPublished() {
+        ConsumerRecord<String, OrderEventDTO> record = record(orderEvent(UUID.randomUUID()), 42L);
+        when(inventoryCheckService.checkInventory(record.value())).thenReturn(CompletableFuture.completedFuture(null));
+
+        kafkaParallelConsumer.consumeOrderEvent(record, acknowledgment);
+
+        verify(acknowledgment, timeout(5_000)).acknowledge();
+        verify(inventoryCheckService).checkInventory(record.value());
+    }
+
+    @Test
+    void consumeOrderEvent_ShouldForgetLifecycleHeadersOnceChecked() {
+        ConsumerRecord<String, OrderEventDTO> record = record(orderEvent(UUID.randomUUID()), 42L);
+        when(inventoryCheckService.checkInventory(record.value())).thenReturn(CompletableFuture.completedFuture(null));
+        orderLifecycleRelay.forLanes().intercept(record, null);
+
+        kafkaParallelConsumer.consumeOrderEvent(record, acknowledgment);
+
+        verify(acknowledgment, timeout(5_000)).acknowledge();
+        assertEquals(0, orderLifecycleRelay.tracked());
+    }
+
+    @Test
+    void consumeOrderEvent_CheckFails_ShouldRetryOnItsLaneBeforeAcknowledging() {
+        ConsumerRecord<String, OrderEventDTO> record = record(orderEvent(UUID.randomUUID()), 42L);
+        when(inventoryCheckService.checkInventory(record.value()))
+                .thenThrow(new RuntimeException("Database failure"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        kafkaParallelConsumer.consumeOrderEvent(record, acknowledgment);
+
+        verify(inventoryCheckService, timeout(5_000).times(2)).checkInventory(record.value());
+        verify(acknowledgment, timeout(5_000)).acknowledge();
+    }
+
+    @Test
+    void consumeOrderEvent_PublishKeepsFailing_ShouldNeverAcknowledge() {
+        ConsumerRecord<String, OrderEventDTO> record = record(orderEvent(UUID.randomUUID()), 7L);
+        when(inventoryCheckService.checkInventory(record.value()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka execution error")));
+
+        kafkaParallelConsumer.consumeOrderEvent(record, acknowledgment);
+
+        verify(inventoryCheckService, timeout(5_000).atLeast(3)).checkInventory(record.value());
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void consumeOrderEvent_SameProducts_ShouldBeCheckedInOrder() {
+        UUID productId = UUID.randomUUID();
+        OrderEventDTO first = orderEvent(UUID.randomUUID(), productId);
+        OrderEventDTO second = orderEvent(UUID.randomUUID(), productId);
+        CompletableFuture<Void> firstPublished = new CompletableFuture<>();
+        when(inventoryCheckService.checkInventory(first)).thenAnswer(invocation -> {
+            // holds the lane until the second order has been submitted behind it
+            firstPublished.get();
+            return firstPublished;
+        });
+        when(inventoryCheckService.checkInventory(second)).thenReturn(CompletableFuture.completedFuture(null));
+
+        kafkaParallelConsumer.consumeOrderEvent(record(first, 1L), acknowledgment);
+        kafkaParallelConsumer.consumeOrderEvent(record(second, 2L), acknowledgment);
+
+        verify(inventoryCheckService, timeout(5_000)).checkInventory(first);
+        verify(inventoryCheckService, after(200).never()).checkInventory(second);
+
+        firstPublished.complete(null);
+
+        verify(inventoryCheckService, timeout(5_000)).checkInventory(second);
+        verify(acknowledgment, timeout(5_000).times(2)).acknowledge();
+    }
+
+    @Test
+    void consumeOrderEvent_FirstFailsOnce_ShouldCompleteBeforeNextOrderForSameProducts() {
+        UUID productId = UUID.randomUUID();
+        OrderEventDTO first = orderEvent(UUID.randomUUID(), productId);
+        OrderEventDTO second = orderEvent(UUID.randomUUID(), productId);
+        Acknowledgment firstAcknowledgment = mock(Acknowledgment.class);
+        Acknowledgment secondAcknowledgment = mock(Acknowledgment.class);
+        List<UUID> checked = new CopyOnWriteArrayList<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        when(inventoryCheckService.checkInventory(any())).thenAnswer(invocation -> {
+            OrderEventDTO orderEvent = invocation.getArgument(0);
+            checked.add(orderEvent.getOrderId());
+            if (orderEvent == first && failed.compareAndSet(false, true)) {
+                return CompletableFuture.failedFuture(new RuntimeException("Kafka execution error"));
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+
+        kafkaParallelConsumer.consumeOrderEvent(record(first, 1L), firstAcknowledgment);
+        kafkaParallelConsumer.consumeOrderEvent(record(second, 2L), secondAcknowledgment);
+
+        verify(secondAcknowledgment, timeout(5_000)).acknowledge();
+        InOrder acknowledgements = inOrder(firstAcknowledgment, secondAcknowledgment);
+        acknowledgements.verify(firstAcknowledgment).acknowledge();
+        acknowledgements.verify(secondAcknowledgment).acknowledge();
+        assertEquals(List.of(first.getOrderId(), first.getOrderId(), second.getOrderId()), checked);
+    }
+
+    @Test
+    void laneKey_ShouldIgnoreItemOrderAndRepeatedProducts() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+
+        assertEquals(KafkaParallelConsumer.laneKey(orderEvent(UUID.randomUUID(), a, b)),
+                KafkaParallelConsumer.laneKey(orderEvent(UUID.randomUUID(), b, a, b)));
+        assertNotEquals(KafkaParallelConsumer.laneKey(orderEvent(UUID.randomUUID(), a)),
+                KafkaParallelConsumer.laneKey(orderEvent(UUID.randomUUID(), a, b)));
+    }
+
+    @Test
+    void laneKey_OrderWithoutItems_ShouldFallBackToOrderId() {
+        UUID orderId = UUID.randomUUID();
+
+        assertEquals(orderId, KafkaParallelConsumer.laneKey(orderEvent(orderId)));
+    }
+
+    private static ConsumerRecord<String, OrderEventDTO> record(OrderEventDTO orderEvent, long offset) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, orderEvent.getOrderId().toString(), orderEvent);
+    }
+
+    private static OrderEventDTO orderEvent(UUID orderId, UUID... productIds) {
+        List<OrderItemDTO> items = Arrays.stream(productIds).map(productId -> new OrderItemDTO(productId, 1)).toList();
+        return new OrderEventDTO(orderId, 1L, items, OrderStatus.PENDING, null, null);
+    }
+}
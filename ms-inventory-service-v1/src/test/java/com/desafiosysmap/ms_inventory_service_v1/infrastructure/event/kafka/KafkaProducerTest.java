@@ -1,7 +1,10 @@
 package com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka;
 
-import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.InventoryResponseDTO;
-import com.desafiosysmap.ms_inventory_service_v1.shared.enums.OrderStatus;
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,9 +13,13 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,6 +29,9 @@ class KafkaProducerTest {
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private KafkaProducer kafkaProducer;
 
@@ -40,6 +50,7 @@ class KafkaProducerTest {
                 "Order processed successfully"
         );
         ReflectionTestUtils.setField(kafkaProducer, "topicName", TOPIC_NAME);
+        kafkaProducer.init();
     }
 
     @Test
@@ -47,11 +58,11 @@ class KafkaProducerTest {
         SendResult<String, Object> sendResult = new SendResult<>(null, new RecordMetadata(null, 0, 0, 0, 0L, 0, 0));
         CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(sendResult);
 
-        when(kafkaTemplate.send(eq(TOPIC_NAME), any(InventoryResponseDTO.class))).thenReturn(future);
+        when(kafkaTemplate.send(eq(TOPIC_NAME), anyString(), any(InventoryResponseDTO.class))).thenReturn(future);
 
         kafkaProducer.sendInventoryValidation(validResponse);
 
-        verify(kafkaTemplate, times(1)).send(eq(TOPIC_NAME), responseCaptor.capture());
+        verify(kafkaTemplate, times(1)).send(eq(TOPIC_NAME), anyString(), responseCaptor.capture());
         InventoryResponseDTO capturedResponse = responseCaptor.getValue();
 
         assertEquals(validResponse.getOrderId(), capturedResponse.getOrderId());
@@ -66,12 +77,12 @@ class KafkaProducerTest {
         });
 
         assertEquals("InventoryResponseDTO cannot be null", exception.getMessage());
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        verify(kafkaTemplate, never()).send(anyString(), any(), any());
     }
 
     @Test
     void sendInventoryValidation_SendFails_ShouldThrowRuntimeException() {
-        when(kafkaTemplate.send(eq(TOPIC_NAME), any(InventoryResponseDTO.class)))
+        when(kafkaTemplate.send(eq(TOPIC_NAME), anyString(), any(InventoryResponseDTO.class)))
                 .thenThrow(new RuntimeException("Kafka send failure"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -79,7 +90,7 @@ class KafkaProducerTest {
         });
 
         assertTrue(exception.getMessage().contains("Kafka send failure"));
-        verify(kafkaTemplate, times(1)).send(eq(TOPIC_NAME), eq(validResponse));
+        verify(kafkaTemplate, times(1)).send(eq(TOPIC_NAME), eq(validResponse.getOrderId().toString()), eq(validResponse));
     }
 
     @Test
@@ -87,7 +98,7 @@ class KafkaProducerTest {
         CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
         future.completeExceptionally(new ExecutionException("Kafka execution error", new Throwable()));
 
-        when(kafkaTemplate.send(eq(TOPIC_NAME), any(InventoryResponseDTO.class))).thenReturn(future);
+        when(kafkaTemplate.send(eq(TOPIC_NAME), anyString(), any(InventoryResponseDTO.class))).thenReturn(future);
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
             kafkaProducer.sendInventoryValidation(validResponse);
@@ -107,15 +118,158 @@ class KafkaProducerTest {
         SendResult<String, Object> sendResult = new SendResult<>(null, new RecordMetadata(null, 0, 0, 0, 0L, 0, 0));
         CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(sendResult);
 
-        when(kafkaTemplate.send(eq(TOPIC_NAME), any(InventoryResponseDTO.class))).thenReturn(future);
+        when(kafkaTemplate.send(eq(TOPIC_NAME), anyString(), any(InventoryResponseDTO.class))).thenReturn(future);
 
         kafkaProducer.sendInventoryValidation(cancelledResponse);
 
-        verify(kafkaTemplate, times(1)).send(eq(TOPIC_NAME), responseCaptor.capture());
+        verify(kafkaTemplate, times(1)).send(eq(TOPIC_NAME), anyString(), responseCaptor.capture());
         InventoryResponseDTO capturedResponse = responseCaptor.getValue();
 
         assertEquals(cancelledResponse.getOrderId(), capturedResponse.getOrderId());
         assertEquals(OrderStatus.CANCELLED, capturedResponse.getStatus());
         assertEquals("Order cancelled due to insufficient stock", capturedResponse.getMessage());
     }
+
+    @Test
+    void sendInventoryValidations_ShouldSendEveryResponseBeforeWaiting() {
+        InventoryResponseDTO otherResponse = new InventoryResponseDTO(UUID.randomUUID(), OrderStatus.CANCELLED, "Order cancelled");
+        CompletableFuture<SendResult<String, Object>> firstFuture = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, Object>> secondFuture = new CompletableFuture<>();
+        when(kafkaTemplate.send(TOPIC_NAME, validResponse.getOrderId().toString(), validResponse)).thenReturn(firstFuture);
+        when(kafkaTemplate.send(TOPIC_NAME, otherResponse.getOrderId().toString(), otherResponse)).thenAnswer(invocation -> {
+            assertFalse(firstFuture.isDone());
+            firstFuture.complete(null);
+            secondFuture.complete(null);
+            return secondFuture;
+        });
+
+        kafkaProducer.sendInventoryValidations(List.of(validResponse, otherResponse));
+
+        verify(kafkaTemplate, times(2)).send(eq(TOPIC_NAME), anyString(), any(InventoryResponseDTO.class));
+    }
+
+    @Test
+    void sendInventoryValidations_OneSendFails_ShouldThrowRuntimeException() {
+        InventoryResponseDTO otherResponse = new InventoryResponseDTO(UUID.randomUUID(), OrderStatus.CANCELLED, "Order cancelled");
+        CompletableFuture<SendResult<String, Object>> failedFuture = new CompletableFuture<>();
+        failedFuture.completeExceptionally(new RuntimeException("Kafka execution error"));
+        when(kafkaTemplate.send(TOPIC_NAME, validResponse.getOrderId().toString(), validResponse)).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(TOPIC_NAME, otherResponse.getOrderId().toString(), otherResponse)).thenReturn(failedFuture);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            kafkaProducer.sendInventoryValidations(List.of(validResponse, otherResponse));
+        });
+
+        assertTrue(exception.getMessage().contains("Kafka execution error"));
+    }
+
+    @Test
+    void sendInventoryValidations_NullResponse_ShouldThrowException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            kafkaProducer.sendInventoryValidations(Arrays.asList(validResponse, null));
+        });
+
+        assertEquals("InventoryResponseDTO cannot be null", exception.getMessage());
+        verify(kafkaTemplate, never()).send(anyString(), any(), any());
+    }
+
+    @Test
+    void sendInventoryValidation_ShouldKeyRecordByOrderId() {
+        when(kafkaTemplate.send(eq(TOPIC_NAME), anyString(), any(InventoryResponseDTO.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        kafkaProducer.sendInventoryValidation(validResponse);
+
+        verify(kafkaTemplate).send(TOPIC_NAME, validResponse.getOrderId().toString(), validResponse);
+        assertEquals(1, meterRegistry.get("inventory.kafka.producer.send").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void sendInventoryValidation_Repeated_ShouldRecordOnTheTimersBuiltAtStartup() {
+        Timer succeeded = meterRegistry.get("inventory.kafka.producer.send").tag("outcome", "success").timer();
+        Timer failed = meterRegistry.get("inventory.kafka.producer.send").tag("outcome", "failure").timer();
+        when(kafkaTemplate.send(eq(TOPIC_NAME), anyString(), any(InventoryResponseDTO.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        // a send that built its timer again would register a fresh one in the registry
+        meterRegistry.remove(succeeded);
+        meterRegistry.remove(failed);
+
+        for (int i = 0; i < 3; i++) {
+            kafkaProducer.sendInventoryValidation(validResponse);
+        }
+
+        assertEquals(3, succeeded.count());
+        assertEquals(0, failed.count());
+        assertNull(meterRegistry.find("inventory.kafka.producer.send").timer());
+    }
+
+    @Test
+    void sendInventoryValidation_Async_ShouldReturnBeforeTheBrokerAcknowledges() {
+        enableAsync(10);
+        CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC_NAME), anyString(), any(InventoryResponseDTO.class))).thenReturn(future);
+
+        CompletableFuture<Void> published = kafkaProducer.sendInventoryValidation(validResponse);
+
+        assertFalse(published.isDone());
+        assertEquals(1.0, meterRegistry.get("inventory.kafka.producer.pending").gauge().value());
+
+        future.complete(null);
+
+        assertTrue(published.isDone());
+        assertFalse(published.isCompletedExceptionally());
+        assertEquals(0.0, meterRegistry.get("inventory.kafka.producer.pending").gauge().value());
+    }
+
+    @Test
+    void sendInventoryValidation_AsyncSendFails_ShouldFailTheReturnedFuture() {
+        enableAsync(10);
+        CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC_NAME), anyString(), any(InventoryResponseDTO.class))).thenReturn(future);
+
+        CompletableFuture<Void> published = kafkaProducer.sendInventoryValidation(validResponse);
+        future.completeExceptionally(new RuntimeException("Kafka execution error"));
+
+        assertTrue(published.isCompletedExceptionally());
+        assertEquals(1, meterRegistry.get("inventory.kafka.producer.send").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void sendInventoryValidation_AsyncInFlightLimitReached_ShouldWaitForAPendingSend() throws Exception {
+        enableAsync(1);
+        CompletableFuture<SendResult<String, Object>> firstFuture = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC_NAME), anyString(), any(InventoryResponseDTO.class)))
+                .thenReturn(firstFuture)
+                .thenReturn(CompletableFuture.completedFuture(null));
+        kafkaProducer.sendInventoryValidation(validResponse);
+
+        InventoryResponseDTO otherResponse = new InventoryResponseDTO(UUID.randomUUID(), OrderStatus.CANCELLED, "Order cancelled");
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> kafkaProducer.sendInventoryValidation(otherResponse));
+
+        assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+        verify(kafkaTemplate, times(1)).send(eq(TOPIC_NAME), anyString(), any(InventoryResponseDTO.class));
+
+        firstFuture.complete(null);
+
+        second.get(5, TimeUnit.SECONDS);
+        verify(kafkaTemplate, times(2)).send(eq(TOPIC_NAME), anyString(), any(InventoryResponseDTO.class));
+    }
+
+    @Test
+    void sendInventoryValidation_AsyncSendThrows_ShouldReleaseTheInFlightPermit() {
+        enableAsync(1);
+        when(kafkaTemplate.send(eq(TOPIC_NAME), anyString(), any(InventoryResponseDTO.class)))
+                .thenThrow(new RuntimeException("Kafka send failure"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThrows(RuntimeException.class, () -> kafkaProducer.sendInventoryValidation(validResponse));
+
+        assertTrue(kafkaProducer.sendInventoryValidation(validResponse).isDone());
+    }
+
+    private void enableAsync(int maxInFlight) {
+        ReflectionTestUtils.setField(kafkaProducer, "async", true);
+        ReflectionTestUtils.setField(kafkaProducer, "maxInFlight", maxInFlight);
+        kafkaProducer.init();
+    }
 }
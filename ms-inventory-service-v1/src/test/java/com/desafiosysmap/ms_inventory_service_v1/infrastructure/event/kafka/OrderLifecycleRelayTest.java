@@ -0,0 +1,161 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.LifecycleHeaders;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderLifecycleRelayTest {
+
+    private OrderLifecycleRelay orderLifecycleRelay;
+
+    @BeforeEach
+    void setUp() {
+        orderLifecycleRelay = new OrderLifecycleRelay();
+    }
+
+    @Test
+    void onSend_WhileOrderEventIsHandled_ShouldCopyItsHeadersAndStampInventoryTimes() {
+        UUID orderId = UUID.randomUUID();
+        ConsumerRecord<String, OrderEventDTO> event = orderEvent(orderId, 1_000, 1_100);
+
+        long before = System.currentTimeMillis();
+        orderLifecycleRelay.intercept(event, null);
+        ProducerRecord<String, Object> validation = validation(orderId);
+        orderLifecycleRelay.onSend(validation);
+
+        assertEquals(1_000, LifecycleHeaders.read(validation.headers(), LifecycleHeaders.ORDER_CREATED_AT));
+        assertEquals(1_100, LifecycleHeaders.read(validation.headers(), LifecycleHeaders.ORDER_PUBLISHED_AT));
+        long receivedAt = LifecycleHeaders.read(validation.headers(), LifecycleHeaders.INVENTORY_RECEIVED_AT);
+        assertTrue(receivedAt >= before);
+        assertTrue(LifecycleHeaders.read(validation.headers(), LifecycleHeaders.INVENTORY_PUBLISHED_AT) >= receivedAt);
+    }
+
+    @Test
+    void onSend_OrderEventWithoutHeaders_ShouldOnlyStampInventoryTimes() {
+        UUID orderId = UUID.randomUUID();
+        orderLifecycleRelay.intercept(new ConsumerRecord<>("tpc-order-events", 0, 0, orderId.toString(),
+                new OrderEventDTO(orderId, 1L, List.of(), OrderStatus.PENDING, null, null)), null);
+        ProducerRecord<String, Object> validation = validation(orderId);
+
+        orderLifecycleRelay.onSend(validation);
+
+        assertEquals(-1, LifecycleHeaders.read(validation.headers(), LifecycleHeaders.ORDER_CREATED_AT));
+        assertTrue(LifecycleHeaders.read(validation.headers(), LifecycleHeaders.INVENTORY_RECEIVED_AT) > 0);
+    }
+
+    @Test
+    void onSend_UnknownOrder_ShouldOnlyStampPublicationTime() {
+        ProducerRecord<String, Object> validation = validation(UUID.randomUUID());
+
+        orderLifecycleRelay.onSend(validation);
+
+        assertEquals(-1, LifecycleHeaders.read(validation.headers(), LifecycleHeaders.INVENTORY_RECEIVED_AT));
+        assertTrue(LifecycleHeaders.read(validation.headers(), LifecycleHeaders.INVENTORY_PUBLISHED_AT) > 0);
+    }
+
+    @Test
+    void afterRecord_ShouldForgetOrder() {
+        ConsumerRecord<String, OrderEventDTO> event = orderEvent(UUID.randomUUID(), 1_000, 1_100);
+
+        orderLifecycleRelay.intercept(event, null);
+        assertEquals(1, orderLifecycleRelay.tracked());
+
+        orderLifecycleRelay.afterRecord(event, null);
+
+        assertEquals(0, orderLifecycleRelay.tracked());
+    }
+
+    @Test
+    void intercept_UnreadableRecord_ShouldBeIgnored() {
+        orderLifecycleRelay.intercept(new ConsumerRecord<String, OrderEventDTO>("tpc-order-events", 0, 0, "key", null), null);
+
+        assertEquals(0, orderLifecycleRelay.tracked());
+    }
+
+    @Test
+    void batch_ShouldTrackEveryRecordUntilTheBatchIsDone() {
+        ConsumerRecords<String, OrderEventDTO> records = new ConsumerRecords<>(Map.of(new TopicPartition("tpc-order-events", 0),
+                List.of(orderEvent(UUID.randomUUID(), 1_000, 1_100), orderEvent(UUID.randomUUID(), 1_000, 1_100))));
+
+        orderLifecycleRelay.intercept(records, null);
+        assertEquals(2, orderLifecycleRelay.tracked());
+
+        orderLifecycleRelay.success(records, null);
+
+        assertEquals(0, orderLifecycleRelay.tracked());
+    }
+
+    @Test
+    void forEnvelopes_ShouldRelayEnvelopeHeadersToEveryOrderUntilItIsHandled() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        ConsumerRecord<String, OrderEventEnvelopeDTO> envelope = new ConsumerRecord<>("tpc-order-events", 0, 0, null,
+                new OrderEventEnvelopeDTO(List.of(
+                        new OrderEventDTO(first, 1L, List.of(), OrderStatus.PENDING, null, null),
+                        new OrderEventDTO(second, 2L, List.of(), OrderStatus.PENDING, null, null))));
+        LifecycleHeaders.write(envelope.headers(), LifecycleHeaders.ORDER_CREATED_AT, 1_000);
+        LifecycleHeaders.write(envelope.headers(), LifecycleHeaders.ORDER_PUBLISHED_AT, 1_100);
+        RecordInterceptor<String, OrderEventEnvelopeDTO> interceptor = orderLifecycleRelay.forEnvelopes();
+
+        interceptor.intercept(envelope, null);
+        ProducerRecord<String, Object> validation = validation(second);
+        orderLifecycleRelay.onSend(validation);
+
+        assertEquals(2, orderLifecycleRelay.tracked());
+        assertEquals(1_000, LifecycleHeaders.read(validation.headers(), LifecycleHeaders.ORDER_CREATED_AT));
+        assertEquals(1_100, LifecycleHeaders.read(validation.headers(), LifecycleHeaders.ORDER_PUBLISHED_AT));
+
+        interceptor.afterRecord(envelope, null);
+
+        assertEquals(0, orderLifecycleRelay.tracked());
+    }
+
+    @Test
+    void forEnvelopes_UnreadableRecord_ShouldBeIgnored() {
+        orderLifecycleRelay.forEnvelopes().intercept(new ConsumerRecord<String, OrderEventEnvelopeDTO>("tpc-order-events", 0, 0, null, null), null);
+
+        assertEquals(0, orderLifecycleRelay.tracked());
+    }
+
+    @Test
+    void forLanes_ShouldKeepOrderAfterTheListenerReturnedUntilTheLaneIsDone() {
+        ConsumerRecord<String, OrderEventDTO> event = orderEvent(UUID.randomUUID(), 1_000, 1_100);
+        RecordInterceptor<String, OrderEventDTO> interceptor = orderLifecycleRelay.forLanes();
+
+        interceptor.intercept(event, null);
+        interceptor.afterRecord(event, null);
+        assertEquals(1, orderLifecycleRelay.tracked());
+
+        orderLifecycleRelay.afterRecord(event, null);
+
+        assertEquals(0, orderLifecycleRelay.tracked());
+    }
+
+    private ConsumerRecord<String, OrderEventDTO> orderEvent(UUID orderId, long createdAt, long publishedAt) {
+        ConsumerRecord<String, OrderEventDTO> record = new ConsumerRecord<>("tpc-order-events", 0, 0, orderId.toString(),
+                new OrderEventDTO(orderId, 1L, List.of(), OrderStatus.PENDING, null, null));
+        LifecycleHeaders.write(record.headers(), LifecycleHeaders.ORDER_CREATED_AT, createdAt);
+        LifecycleHeaders.write(record.headers(), LifecycleHeaders.ORDER_PUBLISHED_AT, publishedAt);
+        return record;
+    }
+
+    private ProducerRecord<String, Object> validation(UUID orderId) {
+        return new ProducerRecord<>("tpc-inventory-validated", orderId.toString(),
+                new InventoryResponseDTO(orderId, OrderStatus.CONFIRMED, "ok"));
+    }
+}
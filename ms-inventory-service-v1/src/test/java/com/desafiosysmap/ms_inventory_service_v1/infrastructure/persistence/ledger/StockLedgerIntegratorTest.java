@@ -0,0 +1,416 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.ledger;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.ReservationLineDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockLedgerConsistencyDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockReservationDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.entity.Product;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.entity.StockLedgerCheckpoint;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.service.InventoryCheckService;
+import com.desafiosysmap.ms_inventory_service_v1.core.port.out.ProcessedOrderPortOut;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka.KafkaProducer;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.InventoryRepository;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.StockLedgerCheckpointRepository;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.StockLedgerConfig;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.KafkaConfig;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.StockShardingConfig;
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class StockLedgerIntegratorTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private StockLedgerCheckpointRepository stockLedgerCheckpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private StockLedgerConfig stockLedgerConfig = new StockLedgerConfig();
+
+    @Spy
+    private StockShardingConfig stockShardingConfig = new StockShardingConfig();
+
+    @Spy
+    private KafkaConfig kafkaConfig = new KafkaConfig();
+
+    @InjectMocks
+    private StockLedgerIntegrator stockLedgerIntegrator;
+
+    @TempDir
+    Path walDirectory;
+
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        productId = UUID.randomUUID();
+        stockLedgerConfig.walDirectory = walDirectory.toString();
+        stockLedgerConfig.walSegmentSizeMb = 1;
+        stockLedgerConfig.stripes = 8;
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(stockLedgerCheckpointRepository.findById(1)).thenReturn(Optional.empty());
+        when(inventoryRepository.findAll()).thenReturn(List.of(product(productId, 10)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockLedgerIntegrator.close();
+    }
+
+    @Test
+    void reserve_ShouldDecideInMemoryWithoutTouchingTheDatabase() {
+        stockLedgerIntegrator.rebuild();
+
+        StockReservationDTO reservation = stockLedgerIntegrator.reserve(List.of(line(productId, 4)));
+
+        assertTrue(reservation.isReserved());
+        assertEquals(10, reservation.getLines().get(0).getAvailableQuantity());
+        verify(inventoryRepository, never()).reserveStock(any(), any());
+        verify(inventoryRepository, never()).applyStockDeltas(any(), any());
+    }
+
+    @Test
+    void reserve_InsufficientStock_ShouldNotReserve() {
+        stockLedgerIntegrator.rebuild();
+
+        assertFalse(stockLedgerIntegrator.reserve(List.of(line(productId, 11))).isReserved());
+    }
+
+    @Test
+    void reserve_EmptyLines_ShouldThrowException() {
+        stockLedgerIntegrator.rebuild();
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> stockLedgerIntegrator.reserve(List.of()));
+
+        assertEquals("Error while reserving stock: Reservation lines cannot be null or empty", exception.getMessage());
+    }
+
+    @Test
+    void flush_ShouldWriteAccumulatedDecrementsWithCheckpointInOneCall() {
+        stockLedgerIntegrator.rebuild();
+        stockLedgerIntegrator.reserve(List.of(line(productId, 4)));
+        stockLedgerIntegrator.reserve(List.of(line(productId, 3)));
+
+        stockLedgerIntegrator.flush();
+
+        verify(inventoryRepository, times(1)).applyStockDeltas(new UUID[]{productId}, new Long[]{7L});
+        verify(stockLedgerCheckpointRepository).saveCheckpoint(1, 2L);
+    }
+
+    @Test
+    void flush_DatabaseFailure_ShouldKeepDecrementsForNextFlush() {
+        stockLedgerIntegrator.rebuild();
+        stockLedgerIntegrator.reserve(List.of(line(productId, 4)));
+        when(inventoryRepository.applyStockDeltas(any(), any()))
+                .thenThrow(new RuntimeException("Database error"))
+                .thenReturn(1);
+
+        stockLedgerIntegrator.flush();
+        stockLedgerIntegrator.reserve(List.of(line(productId, 1)));
+        stockLedgerIntegrator.flush();
+
+        verify(inventoryRepository).applyStockDeltas(new UUID[]{productId}, new Long[]{5L});
+    }
+
+    @Test
+    void flush_ShouldKeepAppendingToTheCurrentSegment() throws IOException {
+        stockLedgerIntegrator.rebuild();
+
+        for (int i = 0; i < 3; i++) {
+            stockLedgerIntegrator.reserve(List.of(line(productId, 1)));
+            stockLedgerIntegrator.flush();
+        }
+
+        assertEquals(1, segmentCount());
+    }
+
+    @Test
+    void flush_FullSegmentCoveredByCheckpoint_ShouldDeleteIt() throws IOException {
+        when(inventoryRepository.findAll()).thenReturn(List.of(product(productId, 100_000)));
+        stockLedgerIntegrator.rebuild();
+        // a 1MB segment holds about 26,000 single-line records
+        for (int i = 0; i < 30_000; i++) {
+            stockLedgerIntegrator.reserve(List.of(line(productId, 1)));
+        }
+        assertEquals(2, segmentCount());
+
+        stockLedgerIntegrator.flush();
+
+        assertEquals(1, segmentCount());
+    }
+
+    @Test
+    void rebuild_ShouldReplayWriteAheadLogPastCheckpointIntoDatabase() {
+        stockLedgerIntegrator.rebuild();
+        stockLedgerIntegrator.reserve(List.of(line(productId, 4)));
+        stockLedgerIntegrator.reserve(List.of(line(productId, 2)));
+        clearInvocations(inventoryRepository, stockLedgerCheckpointRepository);
+
+        when(stockLedgerCheckpointRepository.findById(1)).thenReturn(Optional.of(new StockLedgerCheckpoint(1, 1L)));
+        when(inventoryRepository.findAll()).thenReturn(List.of(product(productId, 6)));
+        StockLedgerIntegrator restarted = new StockLedgerIntegrator(inventoryRepository, stockLedgerCheckpointRepository,
+                stockLedgerConfig, stockShardingConfig, kafkaConfig, transactionManager);
+        restarted.rebuild();
+
+        verify(inventoryRepository).applyStockDeltas(new UUID[]{productId}, new Long[]{2L});
+        verify(stockLedgerCheckpointRepository).saveCheckpoint(1, 2L);
+        assertTrue(restarted.reserve(List.of(line(productId, 6))).isReserved());
+        assertFalse(restarted.reserve(List.of(line(productId, 1))).isReserved());
+        restarted.close();
+    }
+
+    @Test
+    void rebuild_ShardingEnabled_ShouldRefuseToStart() {
+        stockShardingConfig.enabled = true;
+
+        assertThrows(IllegalStateException.class, () -> stockLedgerIntegrator.rebuild());
+    }
+
+    @Test
+    void rebuild_KafkaTransactionsEnabled_ShouldRefuseToStart() {
+        kafkaConfig.transactionsEnabled = true;
+
+        assertThrows(IllegalStateException.class, () -> stockLedgerIntegrator.rebuild());
+    }
+
+    @Test
+    void checkConsistency_ShouldCountPendingDecrements() {
+        stockLedgerIntegrator.rebuild();
+        stockLedgerIntegrator.reserve(List.of(line(productId, 4)));
+
+        StockLedgerConsistencyDTO consistency = stockLedgerIntegrator.checkConsistency();
+
+        assertTrue(consistency.isConsistent());
+        assertEquals(1, consistency.getCheckedProducts());
+    }
+
+    @Test
+    void checkConsistency_DatabaseChangedBehindLedger_ShouldReportDrift() {
+        stockLedgerIntegrator.rebuild();
+        stockLedgerIntegrator.reserve(List.of(line(productId, 4)));
+        when(inventoryRepository.findAll()).thenReturn(List.of(product(productId, 50)));
+
+        StockLedgerConsistencyDTO consistency = stockLedgerIntegrator.checkConsistency();
+
+        assertFalse(consistency.isConsistent());
+        assertEquals(1, consistency.getDrifts().size());
+        assertEquals(6L, consistency.getDrifts().get(0).getLedgerQuantity());
+        assertEquals(4L, consistency.getDrifts().get(0).getPendingQuantity());
+        assertEquals(50L, consistency.getDrifts().get(0).getDatabaseQuantity());
+    }
+
+    @Test
+    void setQuantity_Restock_ShouldBeVisibleToReservationsAndKeepPendingDecrementsInTheRow() {
+        stockLedgerIntegrator.rebuild();
+        stockLedgerIntegrator.reserve(List.of(line(productId, 4)));
+
+        stockLedgerIntegrator.setQuantity(productId, 30);
+
+        verify(inventoryRepository).setQuantity(productId, 34);
+        when(inventoryRepository.findAll()).thenReturn(List.of(product(productId, 34)));
+        assertTrue(stockLedgerIntegrator.checkConsistency().isConsistent());
+        assertTrue(stockLedgerIntegrator.reserve(List.of(line(productId, 30))).isReserved());
+        assertFalse(stockLedgerIntegrator.reserve(List.of(line(productId, 1))).isReserved());
+
+        stockLedgerIntegrator.flush();
+
+        verify(inventoryRepository).applyStockDeltas(new UUID[]{productId}, new Long[]{34L});
+    }
+
+    @Test
+    void setQuantity_NewProduct_ShouldBeReservable() {
+        stockLedgerIntegrator.rebuild();
+        UUID newProductId = UUID.randomUUID();
+
+        stockLedgerIntegrator.setQuantity(newProductId, 5);
+
+        verify(inventoryRepository).setQuantity(newProductId, 5);
+        assertTrue(stockLedgerIntegrator.reserve(List.of(line(newProductId, 5))).isReserved());
+        verify(inventoryRepository, never()).findById(newProductId);
+    }
+
+    @Test
+    void setQuantity_DatabaseFailure_ShouldKeepLedgerQuantity() {
+        stockLedgerIntegrator.rebuild();
+        when(inventoryRepository.setQuantity(any(), any())).thenThrow(new RuntimeException("Database error"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> stockLedgerIntegrator.setQuantity(productId, 30));
+
+        assertEquals("Error while setting ledger stock: Database error", exception.getMessage());
+        assertFalse(stockLedgerIntegrator.reserve(List.of(line(productId, 11))).isReserved());
+    }
+
+    @Test
+    void setQuantity_InsideTransaction_ShouldApplyOnlyAfterCommit() {
+        PlatformTransactionManager synchronizingManager = new SynchronizingTransactionManager();
+        StockLedgerIntegrator integrator = new StockLedgerIntegrator(inventoryRepository, stockLedgerCheckpointRepository,
+                stockLedgerConfig, stockShardingConfig, kafkaConfig, synchronizingManager);
+        integrator.rebuild();
+
+        new TransactionTemplate(synchronizingManager).executeWithoutResult(status -> {
+            integrator.setQuantity(productId, 30);
+            verify(inventoryRepository, never()).setQuantity(any(), any());
+        });
+
+        verify(inventoryRepository).setQuantity(productId, 30);
+        assertTrue(integrator.reserve(List.of(line(productId, 30))).isReserved());
+        integrator.close();
+    }
+
+    @Test
+    void setQuantity_TransactionRolledBack_ShouldKeepLedgerQuantity() {
+        PlatformTransactionManager synchronizingManager = new SynchronizingTransactionManager();
+        StockLedgerIntegrator integrator = new StockLedgerIntegrator(inventoryRepository, stockLedgerCheckpointRepository,
+                stockLedgerConfig, stockShardingConfig, kafkaConfig, synchronizingManager);
+        integrator.rebuild();
+
+        new TransactionTemplate(synchronizingManager).executeWithoutResult(status -> {
+            integrator.setQuantity(productId, 30);
+            status.setRollbackOnly();
+        });
+
+        verify(inventoryRepository, never()).setQuantity(any(), any());
+        assertFalse(integrator.reserve(List.of(line(productId, 11))).isReserved());
+        integrator.close();
+    }
+
+    @Test
+    void checkInventory_SendFailsThenRedelivered_ShouldReserveOnce() {
+        PlatformTransactionManager synchronizingManager = new SynchronizingTransactionManager();
+        StockLedgerIntegrator integrator = new StockLedgerIntegrator(inventoryRepository, stockLedgerCheckpointRepository,
+                stockLedgerConfig, stockShardingConfig, kafkaConfig, synchronizingManager);
+        integrator.rebuild();
+        KafkaProducer kafkaProducer = mock(KafkaProducer.class);
+        ProcessedOrderPortOut processedOrderPortOut = mock(ProcessedOrderPortOut.class);
+        when(processedOrderPortOut.findProcessed(any())).thenReturn(Optional.empty());
+        when(kafkaProducer.sendInventoryValidation(any()))
+                .thenThrow(new RuntimeException("Broker unavailable"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        InventoryCheckService inventoryCheckService = new InventoryCheckService(integrator, kafkaProducer, processedOrderPortOut);
+        // stands in for the proxy of the @Transactional listener method
+        TransactionTemplate listenerTransaction = new TransactionTemplate(synchronizingManager);
+        OrderEventDTO orderEvent = new OrderEventDTO(UUID.randomUUID(), 1L,
+                List.of(new OrderItemDTO(productId, 6)), OrderStatus.PENDING, null, null);
+
+        assertThrows(RuntimeException.class, () -> listenerTransaction.execute(status -> inventoryCheckService.checkInventory(orderEvent)));
+        listenerTransaction.execute(status -> inventoryCheckService.checkInventory(orderEvent));
+
+        ArgumentCaptor<InventoryResponseDTO> validations = ArgumentCaptor.forClass(InventoryResponseDTO.class);
+        verify(kafkaProducer, times(2)).sendInventoryValidation(validations.capture());
+        assertEquals(OrderStatus.CONFIRMED, validations.getAllValues().get(1).getStatus());
+        assertFalse(integrator.reserve(List.of(line(productId, 5))).isReserved());
+        assertTrue(integrator.reserve(List.of(line(productId, 4))).isReserved());
+        integrator.flush();
+        verify(inventoryRepository).applyStockDeltas(new UUID[]{productId}, new Long[]{10L});
+        integrator.close();
+    }
+
+    @Test
+    void reserve_OutsideTransaction_ShouldNotRegisterRelease() {
+        stockLedgerIntegrator.rebuild();
+
+        stockLedgerIntegrator.reserve(List.of(line(productId, 4)));
+
+        assertFalse(stockLedgerIntegrator.reserve(List.of(line(productId, 7))).isReserved());
+    }
+
+    @Test
+    void removeProduct_PendingDecrements_ShouldStopReservingAndCancelThemInTheFlush() {
+        stockLedgerIntegrator.rebuild();
+        stockLedgerIntegrator.reserve(List.of(line(productId, 4)));
+        when(inventoryRepository.findById(productId)).thenReturn(Optional.empty());
+
+        stockLedgerIntegrator.removeProduct(productId);
+
+        assertFalse(stockLedgerIntegrator.reserve(List.of(line(productId, 1))).isReserved());
+        when(inventoryRepository.findAll()).thenReturn(List.of());
+        assertTrue(stockLedgerIntegrator.checkConsistency().isConsistent());
+
+        stockLedgerIntegrator.flush();
+
+        verify(inventoryRepository).applyStockDeltas(new UUID[]{productId}, new Long[]{0L});
+        verify(stockLedgerCheckpointRepository).saveCheckpoint(1, 2L);
+    }
+
+    @Test
+    void removeProduct_ThenRestart_ShouldReplayNothingForIt() {
+        stockLedgerIntegrator.rebuild();
+        stockLedgerIntegrator.reserve(List.of(line(productId, 4)));
+        stockLedgerIntegrator.removeProduct(productId);
+        clearInvocations(inventoryRepository, stockLedgerCheckpointRepository);
+
+        when(inventoryRepository.findAll()).thenReturn(List.of());
+        StockLedgerIntegrator restarted = new StockLedgerIntegrator(inventoryRepository, stockLedgerCheckpointRepository,
+                stockLedgerConfig, stockShardingConfig, kafkaConfig, transactionManager);
+        restarted.rebuild();
+
+        verify(inventoryRepository).applyStockDeltas(new UUID[]{productId}, new Long[]{0L});
+        verify(stockLedgerCheckpointRepository).saveCheckpoint(1, 2L);
+        restarted.close();
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> segments = Files.list(walDirectory)) {
+            return segments.count();
+        }
+    }
+
+    private ReservationLineDTO line(UUID productId, int quantity) {
+        return ReservationLineDTO.builder().productId(productId).requestedQuantity(quantity).build();
+    }
+
+    private Product product(UUID id, int quantity) {
+        return Product.builder().id(id).name("Product " + id).quantity(quantity).build();
+    }
+
+    /**
+     * Runs transaction synchronizations like the JPA transaction manager, without a database.
+     */
+    private static class SynchronizingTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
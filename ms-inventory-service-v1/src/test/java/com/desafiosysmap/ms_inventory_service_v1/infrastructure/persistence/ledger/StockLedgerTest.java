@@ -0,0 +1,141 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.ledger;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.ReservationLineDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockReservationDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockLedgerTest {
+
+    private StockLedger stockLedger;
+    private List<List<ReservationLineDTO>> journaled;
+    private UUID firstProductId;
+    private UUID secondProductId;
+
+    @BeforeEach
+    void setUp() {
+        stockLedger = new StockLedger(4, productId -> OptionalLong.empty());
+        journaled = new ArrayList<>();
+        firstProductId = UUID.randomUUID();
+        secondProductId = UUID.randomUUID();
+        stockLedger.put(firstProductId, 10);
+        stockLedger.put(secondProductId, 3);
+    }
+
+    @Test
+    void reserve_EnoughStock_ShouldDecrementAndJournalAllLines() {
+        StockReservationDTO reservation = stockLedger.reserve(List.of(line(firstProductId, 4), line(secondProductId, 3)), journaled::add);
+
+        assertTrue(reservation.isReserved());
+        assertEquals(10, reservation.getLines().get(0).getAvailableQuantity());
+        assertEquals(OptionalLong.of(6), stockLedger.get(firstProductId));
+        assertEquals(OptionalLong.of(0), stockLedger.get(secondProductId));
+        assertEquals(1, journaled.size());
+    }
+
+    @Test
+    void reserve_OneLineShort_ShouldLeaveEveryCounterUntouched() {
+        StockReservationDTO reservation = stockLedger.reserve(List.of(line(firstProductId, 4), line(secondProductId, 5)), journaled::add);
+
+        assertFalse(reservation.isReserved());
+        assertTrue(reservation.getLines().stream().noneMatch(ReservationLineDTO::isReserved));
+        assertEquals(3, reservation.getLines().get(1).getAvailableQuantity());
+        assertEquals(OptionalLong.of(10), stockLedger.get(firstProductId));
+        assertTrue(journaled.isEmpty());
+    }
+
+    @Test
+    void reserve_DuplicateLines_ShouldCheckTheirSum() {
+        StockReservationDTO reservation = stockLedger.reserve(List.of(line(secondProductId, 2), line(secondProductId, 2)), journaled::add);
+
+        assertFalse(reservation.isReserved());
+        assertEquals(OptionalLong.of(3), stockLedger.get(secondProductId));
+    }
+
+    @Test
+    void reserve_UnknownProduct_ShouldAskLoaderAndNotReserveWhenMissing() {
+        UUID newProductId = UUID.randomUUID();
+        UUID missingProductId = UUID.randomUUID();
+        stockLedger = new StockLedger(4, productId -> productId.equals(newProductId) ? OptionalLong.of(7) : OptionalLong.empty());
+
+        assertTrue(stockLedger.reserve(List.of(line(newProductId, 2)), journaled::add).isReserved());
+        assertEquals(OptionalLong.of(5), stockLedger.get(newProductId));
+
+        StockReservationDTO reservation = stockLedger.reserve(List.of(line(missingProductId, 1)), journaled::add);
+        assertFalse(reservation.isReserved());
+        assertNull(reservation.getLines().get(0).getAvailableQuantity());
+    }
+
+    @Test
+    void reserve_JournalFailure_ShouldRestoreCountersAndRethrow() {
+        assertThrows(IllegalStateException.class, () -> stockLedger.reserve(List.of(line(firstProductId, 4)), lines -> {
+            throw new IllegalStateException("disk full");
+        }));
+
+        assertEquals(OptionalLong.of(10), stockLedger.get(firstProductId));
+    }
+
+    @Test
+    void reserve_ConcurrentOrders_ShouldNeverOversell() throws Exception {
+        stockLedger.put(firstProductId, 1_000);
+        stockLedger.put(secondProductId, 1_000);
+        AtomicLong reservedUnits = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (stockLedger.reserve(List.of(line(secondProductId, 1), line(firstProductId, 1)), lines -> { }).isReserved()) {
+                        reservedUnits.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1_000, reservedUnits.get());
+        assertEquals(OptionalLong.of(0), stockLedger.get(firstProductId));
+        assertEquals(OptionalLong.of(0), stockLedger.get(secondProductId));
+    }
+
+    @Test
+    void constructor_NoStripes_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new StockLedger(0, productId -> OptionalLong.empty()));
+    }
+
+    @Test
+    void release_ShouldJournalAndGiveStockBack() {
+        stockLedger.reserve(List.of(line(firstProductId, 4), line(secondProductId, 3)), journaled::add);
+
+        stockLedger.release(List.of(line(firstProductId, 4), line(secondProductId, 3)), journaled::add);
+
+        assertEquals(OptionalLong.of(10), stockLedger.get(firstProductId));
+        assertEquals(OptionalLong.of(3), stockLedger.get(secondProductId));
+        assertEquals(2, journaled.size());
+    }
+
+    @Test
+    void release_JournalFailure_ShouldNotGiveStockBack() {
+        stockLedger.reserve(List.of(line(firstProductId, 4)), journaled::add);
+
+        assertThrows(RuntimeException.class, () -> stockLedger.release(List.of(line(firstProductId, 4)), lines -> {
+            throw new RuntimeException("Disk full");
+        }));
+
+        assertEquals(OptionalLong.of(6), stockLedger.get(firstProductId));
+    }
+
+    private ReservationLineDTO line(UUID productId, int quantity) {
+        return ReservationLineDTO.builder().productId(productId).requestedQuantity(quantity).build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.ledger;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.ReservationLineDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockWriteAheadLogTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    private final UUID productId = UUID.randomUUID();
+
+    @Test
+    void replay_ShouldReturnRecordsAfterCheckpointInOrder() {
+        try (StockWriteAheadLog writeAheadLog = new StockWriteAheadLog(directory, SEGMENT_SIZE)) {
+            for (long sequence = 1; sequence <= 5; sequence++) {
+                writeAheadLog.append(sequence, List.of(line((int) sequence)));
+            }
+        }
+
+        List<Long> sequences = new ArrayList<>();
+        List<Integer> quantities = new ArrayList<>();
+        long lastSequence = new StockWriteAheadLog(directory, SEGMENT_SIZE).replay(2, (sequence, lines) -> {
+            sequences.add(sequence);
+            quantities.add(lines.get(0).getRequestedQuantity());
+            assertEquals(productId, lines.get(0).getProductId());
+        });
+
+        assertEquals(List.of(3L, 4L, 5L), sequences);
+        assertEquals(List.of(3, 4, 5), quantities);
+        assertEquals(5, lastSequence);
+    }
+
+    @Test
+    void append_FullSegment_ShouldRollOverToNewSegment() throws IOException {
+        try (StockWriteAheadLog writeAheadLog = new StockWriteAheadLog(directory, SEGMENT_SIZE)) {
+            for (long sequence = 1; sequence <= 20; sequence++) {
+                writeAheadLog.append(sequence, List.of(line(1)));
+            }
+        }
+
+        assertTrue(segmentCount() > 1);
+        List<Long> sequences = new ArrayList<>();
+        new StockWriteAheadLog(directory, SEGMENT_SIZE).replay(0, (sequence, lines) -> sequences.add(sequence));
+        assertEquals(20, sequences.size());
+    }
+
+    @Test
+    void truncate_ShouldDeleteOnlySealedSegmentsCoveredByCheckpoint() throws IOException {
+        StockWriteAheadLog writeAheadLog = new StockWriteAheadLog(directory, SEGMENT_SIZE);
+        writeAheadLog.append(1, List.of(line(1)));
+        writeAheadLog.seal();
+        writeAheadLog.append(2, List.of(line(1)));
+        writeAheadLog.seal();
+        writeAheadLog.append(3, List.of(line(1)));
+
+        writeAheadLog.truncate(1);
+
+        assertEquals(2, segmentCount());
+        List<Long> sequences = new ArrayList<>();
+        writeAheadLog.replay(0, (sequence, lines) -> sequences.add(sequence));
+        assertEquals(List.of(2L, 3L), sequences);
+        writeAheadLog.close();
+    }
+
+    @Test
+    void replay_CorruptedRecord_ShouldStopAtLastValidRecord() throws IOException {
+        try (StockWriteAheadLog writeAheadLog = new StockWriteAheadLog(directory, SEGMENT_SIZE)) {
+            writeAheadLog.append(1, List.of(line(1)));
+            writeAheadLog.append(2, List.of(line(2)));
+        }
+
+        Path segment = segments().get(0);
+        int recordSize = 2 * Integer.BYTES + Long.BYTES + Integer.BYTES + 2 * Long.BYTES + Integer.BYTES;
+        int secondRecordPayload = recordSize + 2 * Integer.BYTES;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), secondRecordPayload + 4);
+        }
+
+        List<Long> sequences = new ArrayList<>();
+        new StockWriteAheadLog(directory, SEGMENT_SIZE).replay(0, (sequence, lines) -> sequences.add(sequence));
+        assertEquals(List.of(1L), sequences);
+    }
+
+    @Test
+    void clear_ShouldRemoveEverySegment() throws IOException {
+        StockWriteAheadLog writeAheadLog = new StockWriteAheadLog(directory, SEGMENT_SIZE);
+        writeAheadLog.append(1, List.of(line(1)));
+
+        writeAheadLog.clear();
+
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    void append_RecordLargerThanSegment_ShouldThrowException() {
+        StockWriteAheadLog writeAheadLog = new StockWriteAheadLog(directory, SEGMENT_SIZE);
+        List<ReservationLineDTO> lines = Collections.nCopies(20, line(1));
+
+        assertThrows(IllegalArgumentException.class, () -> writeAheadLog.append(1, lines));
+    }
+
+    private ReservationLineDTO line(int quantity) {
+        return ReservationLineDTO.builder().productId(productId).requestedQuantity(quantity).build();
+    }
+
+    private long segmentCount() throws IOException {
+        return segments().size();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessedOrderIndexTest {
+
+    private Instant now;
+    private ProcessedOrderIndex index;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.parse("2024-01-01T00:00:00Z");
+        index = new ProcessedOrderIndex(2, Duration.ofHours(1), clock());
+    }
+
+    @Test
+    void get_RememberedOrder_ShouldReturnItsResponse() {
+        InventoryResponseDTO response = response();
+        index.put(response, now);
+
+        assertEquals(Optional.of(response), index.get(response.getOrderId()));
+        assertTrue(index.get(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void put_OverCapacity_ShouldEvictLeastRecentlyUsedOrder() {
+        InventoryResponseDTO first = response();
+        InventoryResponseDTO second = response();
+        InventoryResponseDTO third = response();
+        index.put(first, now);
+        index.put(second, now);
+        index.get(first.getOrderId());
+
+        index.put(third, now);
+
+        assertEquals(2, index.size());
+        assertTrue(index.get(first.getOrderId()).isPresent());
+        assertTrue(index.get(second.getOrderId()).isEmpty());
+        assertTrue(index.get(third.getOrderId()).isPresent());
+    }
+
+    @Test
+    void get_OlderThanRetention_ShouldForgetOrder() {
+        InventoryResponseDTO response = response();
+        index.put(response, now.minus(Duration.ofHours(2)));
+
+        assertTrue(index.get(response.getOrderId()).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void purgeExpired_ShouldDropOnlyExpiredOrders() {
+        InventoryResponseDTO expired = response();
+        InventoryResponseDTO recent = response();
+        index.put(expired, now.minus(Duration.ofHours(2)));
+        index.put(recent, now.minus(Duration.ofMinutes(5)));
+
+        assertEquals(1, index.purgeExpired());
+        assertTrue(index.get(recent.getOrderId()).isPresent());
+    }
+
+    private InventoryResponseDTO response() {
+        return new InventoryResponseDTO(UUID.randomUUID(), OrderStatus.CONFIRMED, "Order confirmed. Stock updated successfully.");
+    }
+
+    private Clock clock() {
+        return new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(java.time.ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+    }
+}
@@ -0,0 +1,188 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.entity.ProcessedOrder;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.ProcessedOrderRepository;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.KafkaConfig;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.ProcessedOrderConfig;
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProcessedOrderPostgresIntegratorTest {
+
+    @Mock
+    private ProcessedOrderRepository processedOrderRepository;
+
+    @Spy
+    private ProcessedOrderConfig processedOrderConfig = new ProcessedOrderConfig();
+
+    @Spy
+    private KafkaConfig kafkaConfig = new KafkaConfig();
+
+    @InjectMocks
+    private ProcessedOrderPostgresIntegrator processedOrderPostgresIntegrator;
+
+    private InventoryResponseDTO response;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        processedOrderConfig.enabled = true;
+        processedOrderConfig.cacheSize = 10;
+        processedOrderConfig.retentionHours = 1;
+        processedOrderConfig.purgeBatchSize = 2;
+        processedOrderPostgresIntegrator.init();
+        response = new InventoryResponseDTO(UUID.randomUUID(), OrderStatus.CONFIRMED, "Order confirmed. Stock updated successfully.");
+    }
+
+    @Test
+    void findProcessed_RecordedOrder_ShouldReturnRecordedResponse() {
+        when(processedOrderRepository.findById(response.getOrderId())).thenReturn(Optional.of(new ProcessedOrder(
+                response.getOrderId(), OrderStatus.CONFIRMED, response.getMessage(), LocalDateTime.now())));
+
+        assertEquals(Optional.of(response), processedOrderPostgresIntegrator.findProcessed(response.getOrderId()));
+    }
+
+    @Test
+    void findProcessed_Disabled_ShouldReturnEmptyWithoutQuerying() {
+        processedOrderConfig.enabled = false;
+
+        assertEquals(Optional.empty(), processedOrderPostgresIntegrator.findProcessed(response.getOrderId()));
+        verifyNoInteractions(processedOrderRepository);
+    }
+
+    @Test
+    void findProcessed_NullId_ShouldThrowException() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> processedOrderPostgresIntegrator.findProcessed(null));
+
+        assertEquals("Error while finding processed order: Order ID cannot be null", exception.getMessage());
+    }
+
+    @Test
+    void markProcessed_NewOrder_ShouldInsertOutcome() {
+        when(processedOrderRepository.insertProcessedOrder(response.getOrderId(), "CONFIRMED", response.getMessage())).thenReturn(1);
+
+        processedOrderPostgresIntegrator.markProcessed(response);
+
+        verify(processedOrderRepository).insertProcessedOrder(response.getOrderId(), "CONFIRMED", response.getMessage());
+    }
+
+    @Test
+    void markProcessed_AlreadyRecorded_ShouldThrowException() {
+        when(processedOrderRepository.insertProcessedOrder(any(), any(), any())).thenReturn(0);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> processedOrderPostgresIntegrator.markProcessed(response));
+
+        assertEquals("Error while marking order as processed: Order " + response.getOrderId() + " was already processed",
+                exception.getMessage());
+    }
+
+    @Test
+    void markProcessed_Disabled_ShouldNotWrite() {
+        processedOrderConfig.enabled = false;
+
+        processedOrderPostgresIntegrator.markProcessed(response);
+
+        verifyNoInteractions(processedOrderRepository);
+    }
+
+    @Test
+    void markProcessed_MissingStatus_ShouldThrowException() {
+        response = response.toBuilder().status(null).build();
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> processedOrderPostgresIntegrator.markProcessed(response));
+
+        assertEquals("Error while marking order as processed: Processed order must have an order ID and a status",
+                exception.getMessage());
+    }
+
+    @Test
+    void findProcessed_DedupDisabledButTransactionsEnabled_ShouldStillQuery() {
+        processedOrderConfig.enabled = false;
+        kafkaConfig.transactionsEnabled = true;
+
+        processedOrderPostgresIntegrator.findProcessed(response.getOrderId());
+
+        verify(processedOrderRepository).findById(response.getOrderId());
+    }
+
+    @Test
+    void findProcessed_MarkedOutsideTransaction_ShouldAnswerFromMemory() {
+        when(processedOrderRepository.insertProcessedOrder(any(), any(), any())).thenReturn(1);
+        processedOrderPostgresIntegrator.markProcessed(response);
+
+        assertEquals(Optional.of(response), processedOrderPostgresIntegrator.findProcessed(response.getOrderId()));
+        verify(processedOrderRepository, never()).findById(any());
+    }
+
+    @Test
+    void findProcessed_LoadedFromTable_ShouldAnswerNextLookupFromMemory() {
+        when(processedOrderRepository.findById(response.getOrderId())).thenReturn(Optional.of(new ProcessedOrder(
+                response.getOrderId(), OrderStatus.CONFIRMED, response.getMessage(), LocalDateTime.now())));
+
+        processedOrderPostgresIntegrator.findProcessed(response.getOrderId());
+        processedOrderPostgresIntegrator.findProcessed(response.getOrderId());
+
+        verify(processedOrderRepository, times(1)).findById(response.getOrderId());
+    }
+
+    @Test
+    void markProcessed_InTransaction_ShouldOnlyRememberAfterCommit() {
+        when(processedOrderRepository.insertProcessedOrder(any(), any(), any())).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            processedOrderPostgresIntegrator.markProcessed(response);
+
+            assertTrue(processedOrderPostgresIntegrator.findProcessed(response.getOrderId()).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Optional.of(response), processedOrderPostgresIntegrator.findProcessed(response.getOrderId()));
+    }
+
+    @Test
+    void markProcessed_TransactionRolledBack_ShouldNotRemember() {
+        when(processedOrderRepository.insertProcessedOrder(any(), any(), any())).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            processedOrderPostgresIntegrator.markProcessed(response);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(processedOrderPostgresIntegrator.findProcessed(response.getOrderId()).isEmpty());
+        verify(processedOrderRepository).findById(response.getOrderId());
+    }
+
+    @Test
+    void purgeExpired_ShouldDeleteInBatchesUntilTheLastOneIsShort() {
+        when(processedOrderRepository.deleteProcessedBefore(1L, 2)).thenReturn(2, 2, 1);
+
+        assertEquals(5, processedOrderPostgresIntegrator.purgeExpired());
+        verify(processedOrderRepository, times(3)).deleteProcessedBefore(1L, 2);
+    }
+
+    @Test
+    void purgeExpired_Disabled_ShouldNotDelete() {
+        processedOrderConfig.enabled = false;
+
+        assertEquals(0, processedOrderPostgresIntegrator.purgeExpired());
+        verifyNoInteractions(processedOrderRepository);
+    }
+}
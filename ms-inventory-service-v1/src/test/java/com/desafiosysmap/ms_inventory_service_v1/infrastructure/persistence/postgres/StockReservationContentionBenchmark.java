@@ -0,0 +1,219 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.ReservationLineDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockReservationDTO;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.InventoryRepository;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.ProductStockShardRepository;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.StockShardingConfig;
+import com.desafiosysmap.ms_inventory_service_v1.shared.util.UuidOrdering;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a handful of hot SKUs from many concurrent consumers against a real Postgres
+ * (the docker-compose one by default, override with {@code -Dspring.datasource.url=...}).
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.hikari.maximum-pool-size=${benchmark.consumers:64}",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationContentionBenchmark {
+
+    private static final int CONSUMERS = Integer.getInteger("benchmark.consumers", 64);
+    private static final int HOT_SKUS = Integer.getInteger("benchmark.skus", 10);
+    private static final int ORDERS_PER_CONSUMER = Integer.getInteger("benchmark.orders-per-consumer", 200);
+    private static final int BASELINE_ORDERS_PER_CONSUMER = Integer.getInteger("benchmark.baseline-orders-per-consumer", 5);
+    private static final int MAX_LINES = 6;
+    private static final int SHARDS = Integer.getInteger("benchmark.shards", 8);
+    private static final int INITIAL_STOCK = 1_000_000;
+    private static final String DEADLOCK_SQL_STATE = "40P01";
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductStockShardRepository productStockShardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private List<UUID> skus;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        skus = new ArrayList<>();
+        for (int i = 0; i < HOT_SKUS; i++) {
+            UUID id = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO products (id, name, description, price, quantity) VALUES (?, ?, ?, 1.00, ?)",
+                    id, "benchmark-sku-" + id, "contention benchmark SKU", INITIAL_STOCK);
+            skus.add(id);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        skus.forEach(id -> jdbcTemplate.update("DELETE FROM products WHERE id = ?", id));
+    }
+
+    @Test
+    void setBasedReservation_ShouldNeverDeadlockUnderContention() throws Exception {
+        StockReservationPostgresIntegrator integrator = integrator(new StockShardingConfig());
+
+        assertReservationsAccountedFor("set-based reservation", integrator);
+    }
+
+    @Test
+    void shardedHotSkus_ShouldNeverDeadlockUnderContention() throws Exception {
+        StockShardingConfig stockShardingConfig = new StockShardingConfig();
+        stockShardingConfig.enabled = true;
+        stockShardingConfig.shards = SHARDS;
+        stockShardingConfig.hotSkus = Set.copyOf(skus);
+        StockShardPostgresIntegrator stockShardPostgresIntegrator =
+                new StockShardPostgresIntegrator(productStockShardRepository, stockShardingConfig);
+        skus.forEach(sku -> transactionTemplate.executeWithoutResult(status -> stockShardPostgresIntegrator.rebalanceShards(sku)));
+
+        assertReservationsAccountedFor("sharded hot SKUs (" + SHARDS + " shards)", integrator(stockShardingConfig));
+    }
+
+    @Test
+    void perLineUpdatesInItemOrder_Baseline() throws Exception {
+        run("per-line updates in item order", BASELINE_ORDERS_PER_CONSUMER, lines -> {
+            List<ReservationLineDTO> itemOrder = new ArrayList<>(lines);
+            Collections.shuffle(itemOrder);
+            transactionTemplate.executeWithoutResult(status ->
+                    itemOrder.forEach(line -> inventoryRepository.updateInventory(line.getProductId(), line.getRequestedQuantity())));
+        });
+    }
+
+    private StockReservationPostgresIntegrator integrator(StockShardingConfig stockShardingConfig) {
+        return new StockReservationPostgresIntegrator(inventoryRepository, productStockShardRepository,
+                stockShardingConfig);
+    }
+
+    private void assertReservationsAccountedFor(String name, StockReservationPostgresIntegrator integrator) throws Exception {
+        AtomicLongArray reserved = new AtomicLongArray(HOT_SKUS);
+
+        Result result = run(name, ORDERS_PER_CONSUMER, lines -> {
+            StockReservationDTO reservation = transactionTemplate.execute(status -> integrator.reserve(lines));
+            if (reservation != null && reservation.isReserved()) {
+                lines.forEach(line -> reserved.addAndGet(skus.indexOf(line.getProductId()), line.getRequestedQuantity()));
+            }
+        });
+
+        assertEquals(0, result.deadlocks(), name + " must not deadlock");
+        assertEquals(0, result.failures(), name + " must not fail");
+        for (int i = 0; i < HOT_SKUS; i++) {
+            long stock = jdbcTemplate.queryForObject(
+                    "SELECT p.quantity + COALESCE((SELECT SUM(s.quantity) FROM product_stock_shards s WHERE s.product_id = p.id), 0) FROM products p WHERE p.id = ?",
+                    Long.class, skus.get(i));
+            assertEquals(INITIAL_STOCK - reserved.get(i), stock, "stock must match the reserved quantities");
+        }
+    }
+
+    private Result run(String name, int ordersPerConsumer, Consumer<List<ReservationLineDTO>> reservation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONSUMERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong deadlocks = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        long[] latencies = new long[CONSUMERS * ordersPerConsumer];
+
+        List<Future<?>> consumers = new ArrayList<>();
+        for (int c = 0; c < CONSUMERS; c++) {
+            int consumer = c;
+            consumers.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int o = 0; o < ordersPerConsumer; o++) {
+                    List<ReservationLineDTO> lines = randomOrder(random);
+                    long begin = System.nanoTime();
+                    try {
+                        reservation.accept(lines);
+                    } catch (RuntimeException e) {
+                        if (isDeadlock(e)) {
+                            deadlocks.incrementAndGet();
+                        } else {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    latencies[consumer * ordersPerConsumer + o] = System.nanoTime() - begin;
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : consumers) {
+            future.get(10, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        Result result = new Result(deadlocks.get(), failures.get());
+        System.out.printf("%s: %d consumers x %d orders over %d SKUs -> %.0f orders/s, p50 %.2f ms, p99 %.2f ms, deadlocks %d, failures %d%n",
+                name, CONSUMERS, ordersPerConsumer, HOT_SKUS,
+                latencies.length / (elapsed / 1_000_000_000.0),
+                latencies[latencies.length / 2] / 1_000_000.0,
+                latencies[(int) (latencies.length * 0.99)] / 1_000_000.0,
+                result.deadlocks(), result.failures());
+        return result;
+    }
+
+    private List<ReservationLineDTO> randomOrder(ThreadLocalRandom random) {
+        int size = random.nextInt(1, MAX_LINES + 1);
+        Map<UUID, Integer> quantities = new TreeMap<>(UuidOrdering.POSTGRES);
+        for (int i = 0; i < size; i++) {
+            quantities.merge(skus.get(random.nextInt(HOT_SKUS)), random.nextInt(1, 4), Integer::sum);
+        }
+        List<ReservationLineDTO> lines = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> lines.add(ReservationLineDTO.builder()
+                .productId(productId)
+                .requestedQuantity(quantity)
+                .build()));
+        return lines;
+    }
+
+    private boolean isDeadlock(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && DEADLOCK_SQL_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Result(long deadlocks, long failures) {
+    }
+}
@@ -0,0 +1,258 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres;
+
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.ReservationLineDTO;
+import com.desafiosysmap.ms_inventory_service_v1.core.domain.dto.StockReservationDTO;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.InventoryRepository;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.ProductStockShardRepository;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.ShardReservationRow;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.StockReservationRow;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.StockShardingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StockReservationPostgresIntegratorTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private ProductStockShardRepository productStockShardRepository;
+
+    @Spy
+    private StockShardingConfig stockShardingConfig = new StockShardingConfig();
+
+    @InjectMocks
+    private StockReservationPostgresIntegrator stockReservationPostgresIntegrator;
+
+    private UUID firstProductId;
+    private UUID secondProductId;
+    private UUID hotProductId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        firstProductId = UUID.randomUUID();
+        secondProductId = UUID.randomUUID();
+        hotProductId = UUID.randomUUID();
+    }
+
+    @Test
+    void reserve_AllLinesReserved_ShouldReturnReservedWithPerLineOutcomes() {
+        when(inventoryRepository.reserveStock(any(), any())).thenReturn(List.of(
+                row(firstProductId, 5, 10, true),
+                row(secondProductId, 1, 1, true)));
+
+        StockReservationDTO reservation = stockReservationPostgresIntegrator.reserve(List.of(
+                line(firstProductId, 5), line(secondProductId, 1)));
+
+        assertTrue(reservation.isReserved());
+        assertEquals(2, reservation.getLines().size());
+        assertEquals(firstProductId, reservation.getLines().get(0).getProductId());
+        assertEquals(10, reservation.getLines().get(0).getAvailableQuantity());
+        assertEquals(secondProductId, reservation.getLines().get(1).getProductId());
+    }
+
+    @Test
+    void reserve_ShouldSendAllLinesInSingleStatement() {
+        when(inventoryRepository.reserveStock(any(), any())).thenReturn(List.of(
+                row(firstProductId, 5, 10, true),
+                row(secondProductId, 1, 1, true)));
+
+        stockReservationPostgresIntegrator.reserve(List.of(line(firstProductId, 5), line(secondProductId, 1)));
+
+        ArgumentCaptor<UUID[]> productIdsCaptor = ArgumentCaptor.forClass(UUID[].class);
+        ArgumentCaptor<Integer[]> quantitiesCaptor = ArgumentCaptor.forClass(Integer[].class);
+        verify(inventoryRepository, times(1)).reserveStock(productIdsCaptor.capture(), quantitiesCaptor.capture());
+        verify(inventoryRepository, never()).updateInventory(any(), any());
+
+        assertArrayEquals(new UUID[]{firstProductId, secondProductId}, productIdsCaptor.getValue());
+        assertArrayEquals(new Integer[]{5, 1}, quantitiesCaptor.getValue());
+    }
+
+    @Test
+    void reserve_OneLineShort_ShouldReturnNotReserved() {
+        when(inventoryRepository.reserveStock(any(), any())).thenReturn(List.of(
+                row(firstProductId, 5, 10, false),
+                row(secondProductId, 4, 1, false)));
+
+        StockReservationDTO reservation = stockReservationPostgresIntegrator.reserve(List.of(
+                line(firstProductId, 5), line(secondProductId, 4)));
+
+        assertFalse(reservation.isReserved());
+        assertEquals(1, reservation.getLines().get(1).getAvailableQuantity());
+    }
+
+    @Test
+    void reserve_UnknownProduct_ShouldReturnNotReserved() {
+        when(inventoryRepository.reserveStock(any(), any())).thenReturn(List.of(
+                row(firstProductId, 5, null, false)));
+
+        StockReservationDTO reservation = stockReservationPostgresIntegrator.reserve(List.of(line(firstProductId, 5)));
+
+        assertFalse(reservation.isReserved());
+        assertNull(reservation.getLines().get(0).getAvailableQuantity());
+    }
+
+    @Test
+    void reserve_EmptyLines_ShouldThrowException() {
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            stockReservationPostgresIntegrator.reserve(Collections.emptyList());
+        });
+
+        assertEquals("Error while reserving stock: Reservation lines cannot be null or empty", exception.getMessage());
+        verify(inventoryRepository, never()).reserveStock(any(), any());
+    }
+
+    @Test
+    void reserve_RepositoryFailure_ShouldWrapException() {
+        when(inventoryRepository.reserveStock(any(), any())).thenThrow(new RuntimeException("Database error"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            stockReservationPostgresIntegrator.reserve(List.of(line(firstProductId, 5)));
+        });
+
+        assertEquals("Error while reserving stock: Database error", exception.getMessage());
+    }
+
+    @Test
+    void reserve_ShardingDisabled_ShouldNeverTouchShards() {
+        stockShardingConfig.hotSkus = Set.of(firstProductId);
+        when(inventoryRepository.reserveStock(any(), any())).thenReturn(List.of(row(firstProductId, 5, 10, true)));
+
+        stockReservationPostgresIntegrator.reserve(List.of(line(firstProductId, 5)));
+
+        verifyNoInteractions(productStockShardRepository);
+    }
+
+    @Test
+    void reserve_HotSkuWithFreeShard_ShouldTakeFromShardAndReserveOtherLinesInOneStatement() {
+        enableSharding();
+        when(productStockShardRepository.takeFromAnyShard(hotProductId, 3)).thenReturn(shardRow(hotProductId, 3, 40, true, 2));
+        when(inventoryRepository.reserveStock(any(), any())).thenReturn(List.of(row(firstProductId, 5, 10, true)));
+
+        StockReservationDTO reservation = stockReservationPostgresIntegrator.reserve(List.of(
+                line(firstProductId, 5), line(hotProductId, 3)));
+
+        assertTrue(reservation.isReserved());
+        assertEquals(firstProductId, reservation.getLines().get(0).getProductId());
+        assertEquals(hotProductId, reservation.getLines().get(1).getProductId());
+        assertEquals(40, reservation.getLines().get(1).getAvailableQuantity());
+
+        ArgumentCaptor<UUID[]> productIdsCaptor = ArgumentCaptor.forClass(UUID[].class);
+        verify(inventoryRepository).reserveStock(productIdsCaptor.capture(), any());
+        assertArrayEquals(new UUID[]{firstProductId}, productIdsCaptor.getValue());
+        verify(productStockShardRepository, never()).drainShards(any(), any());
+        verify(productStockShardRepository, never()).restoreShard(any(), any(), any());
+    }
+
+    @Test
+    void reserve_HotSkuWithoutSingleShardLargeEnough_ShouldDrainShards() {
+        enableSharding();
+        when(productStockShardRepository.takeFromAnyShard(hotProductId, 9)).thenReturn(shardRow(hotProductId, 9, 12, false, null));
+        when(productStockShardRepository.drainShards(hotProductId, 9)).thenReturn(shardRow(hotProductId, 9, 12, true, 0));
+
+        StockReservationDTO reservation = stockReservationPostgresIntegrator.reserve(List.of(line(hotProductId, 9)));
+
+        assertTrue(reservation.isReserved());
+        verify(inventoryRepository, never()).reserveStock(any(), any());
+    }
+
+    @Test
+    void reserve_HotSkuShort_ShouldSkipOtherLinesAndReturnNotReserved() {
+        enableSharding();
+        when(productStockShardRepository.takeFromAnyShard(hotProductId, 9)).thenReturn(shardRow(hotProductId, 9, 4, false, null));
+        when(productStockShardRepository.drainShards(hotProductId, 9)).thenReturn(shardRow(hotProductId, 9, 4, false, 0));
+
+        StockReservationDTO reservation = stockReservationPostgresIntegrator.reserve(List.of(
+                line(firstProductId, 5), line(hotProductId, 9)));
+
+        assertFalse(reservation.isReserved());
+        assertEquals(2, reservation.getLines().size());
+        assertFalse(reservation.getLines().get(0).isReserved());
+        assertEquals(4, reservation.getLines().get(1).getAvailableQuantity());
+        verify(inventoryRepository, never()).reserveStock(any(), any());
+        verify(productStockShardRepository, never()).restoreShard(any(), any(), any());
+    }
+
+    @Test
+    void reserve_OtherLineShortAfterHotSkuTaken_ShouldGiveShardStockBack() {
+        enableSharding();
+        when(productStockShardRepository.takeFromAnyShard(hotProductId, 3)).thenReturn(shardRow(hotProductId, 3, 40, true, 5));
+        when(inventoryRepository.reserveStock(any(), any())).thenReturn(List.of(row(firstProductId, 50, 10, false)));
+
+        StockReservationDTO reservation = stockReservationPostgresIntegrator.reserve(List.of(
+                line(firstProductId, 50), line(hotProductId, 3)));
+
+        assertFalse(reservation.isReserved());
+        assertTrue(reservation.getLines().stream().noneMatch(ReservationLineDTO::isReserved));
+        verify(productStockShardRepository).restoreShard(hotProductId, 5, 3);
+    }
+
+    private void enableSharding() {
+        stockShardingConfig.enabled = true;
+        stockShardingConfig.hotSkus = Set.of(hotProductId);
+    }
+
+    private ReservationLineDTO line(UUID productId, int quantity) {
+        return ReservationLineDTO.builder().productId(productId).requestedQuantity(quantity).build();
+    }
+
+    private StockReservationRow row(UUID productId, Integer requested, Integer available, boolean reserved) {
+        return new StockReservationRow() {
+            @Override
+            public UUID getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Integer getRequestedQuantity() {
+                return requested;
+            }
+
+            @Override
+            public Integer getAvailableQuantity() {
+                return available;
+            }
+
+            @Override
+            public Boolean getReserved() {
+                return reserved;
+            }
+        };
+    }
+
+    private ShardReservationRow shardRow(UUID productId, Integer requested, Integer available, boolean reserved, Integer shardNo) {
+        return new ShardReservationRow() {
+            @Override
+            public Integer getShardNo() {
+                return shardNo;
+            }
+
+            @Override
+            public UUID getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Integer getRequestedQuantity() {
+                return requested;
+            }
+
+            @Override
+            public Integer getAvailableQuantity() {
+                return available;
+            }
+
+            @Override
+            public Boolean getReserved() {
+                return reserved;
+            }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres;
+
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.ProductStockShardRepository;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.persistence.postgres.repository.ShardedQuantityRow;
+import com.desafiosysmap.ms_inventory_service_v1.shared.config.StockShardingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StockShardPostgresIntegratorTest {
+
+    @Mock
+    private ProductStockShardRepository productStockShardRepository;
+
+    @Spy
+    private StockShardingConfig stockShardingConfig = new StockShardingConfig();
+
+    @InjectMocks
+    private StockShardPostgresIntegrator stockShardPostgresIntegrator;
+
+    private UUID hotProductId;
+    private UUID coldProductId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        hotProductId = UUID.randomUUID();
+        coldProductId = UUID.randomUUID();
+        stockShardingConfig.enabled = true;
+        stockShardingConfig.shards = 4;
+        stockShardingConfig.hotSkus = Set.of(hotProductId);
+    }
+
+    @Test
+    void findShardedQuantity_HotSku_ShouldReturnShardSum() {
+        when(productStockShardRepository.sumQuantityByProductId(hotProductId)).thenReturn(42L);
+
+        assertEquals(Optional.of(42), stockShardPostgresIntegrator.findShardedQuantity(hotProductId));
+    }
+
+    @Test
+    void findShardedQuantity_ColdSku_ShouldReturnEmptyWithoutQuerying() {
+        assertEquals(Optional.empty(), stockShardPostgresIntegrator.findShardedQuantity(coldProductId));
+        verifyNoInteractions(productStockShardRepository);
+    }
+
+    @Test
+    void findShardedQuantity_NullId_ShouldThrowException() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> stockShardPostgresIntegrator.findShardedQuantity(null));
+
+        assertEquals("Error while finding sharded quantity: Product ID cannot be null", exception.getMessage());
+    }
+
+    @Test
+    void findShardedQuantities_ShouldKeepOnlyHotSkus() {
+        when(productStockShardRepository.sumQuantityGroupedByProduct()).thenReturn(List.of(
+                quantityRow(hotProductId, 30L), quantityRow(coldProductId, 7L)));
+
+        Map<UUID, Integer> quantities = stockShardPostgresIntegrator.findShardedQuantities();
+
+        assertEquals(Map.of(hotProductId, 30), quantities);
+    }
+
+    @Test
+    void findShardedQuantities_ShardingDisabled_ShouldReturnEmptyWithoutQuerying() {
+        stockShardingConfig.enabled = false;
+
+        assertTrue(stockShardPostgresIntegrator.findShardedQuantities().isEmpty());
+        verifyNoInteractions(productStockShardRepository);
+    }
+
+    @Test
+    void resetShards_HotSku_ShouldClearAndRespreadProductStock() {
+        stockShardPostgresIntegrator.resetShards(hotProductId);
+
+        InOrder inOrder = inOrder(productStockShardRepository);
+        inOrder.verify(productStockShardRepository).clearShards(hotProductId);
+        inOrder.verify(productStockShardRepository).moveProductStockToShards(hotProductId, 4);
+    }
+
+    @Test
+    void resetShards_ColdSku_ShouldDoNothing() {
+        stockShardPostgresIntegrator.resetShards(coldProductId);
+
+        verifyNoInteractions(productStockShardRepository);
+    }
+
+    @Test
+    void rebalanceShards_HotSku_ShouldMoveProductStockThenRebalance() {
+        stockShardPostgresIntegrator.rebalanceShards(hotProductId);
+
+        InOrder inOrder = inOrder(productStockShardRepository);
+        inOrder.verify(productStockShardRepository).moveProductStockToShards(hotProductId, 4);
+        inOrder.verify(productStockShardRepository).rebalanceShards(hotProductId);
+    }
+
+    @Test
+    void rebalanceShards_RepositoryFailure_ShouldWrapException() {
+        when(productStockShardRepository.rebalanceShards(hotProductId)).thenThrow(new RuntimeException("Database error"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> stockShardPostgresIntegrator.rebalanceShards(hotProductId));
+
+        assertEquals("Error while rebalancing stock shards: Database error", exception.getMessage());
+    }
+
+    private ShardedQuantityRow quantityRow(UUID productId, Long quantity) {
+        return new ShardedQuantityRow() {
+            @Override
+            public UUID getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Long getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
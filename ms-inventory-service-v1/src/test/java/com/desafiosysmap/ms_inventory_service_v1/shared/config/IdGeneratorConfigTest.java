@@ -0,0 +1,33 @@
+package com.desafiosysmap.ms_inventory_service_v1.shared.config;
+
+import com.desafiosysmap.ms_inventory_service_v1.shared.util.RandomUuidGenerator;
+import com.desafiosysmap.ms_inventory_service_v1.shared.util.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorConfigTest {
+
+    private final IdGeneratorConfig idGeneratorConfig = new IdGeneratorConfig();
+
+    @Test
+    void idGenerator_UuidV7_ShouldCreateTimeOrderedGenerator() {
+        idGeneratorConfig.generator = "uuid-v7";
+
+        assertInstanceOf(UuidV7Generator.class, idGeneratorConfig.idGenerator());
+    }
+
+    @Test
+    void idGenerator_Random_ShouldCreateRandomGenerator() {
+        idGeneratorConfig.generator = "random";
+
+        assertInstanceOf(RandomUuidGenerator.class, idGeneratorConfig.idGenerator());
+    }
+
+    @Test
+    void idGenerator_Unknown_ShouldFailStartup() {
+        idGeneratorConfig.generator = "snowflake";
+
+        assertThrows(IllegalStateException.class, () -> idGeneratorConfig.idGenerator());
+    }
+}
@@ -1,22 +1,41 @@
 package com.desafiosysmap.ms_inventory_service_v1.shared.config;
 
-import com.desafiosysmap.ms_inventory_service_v1.kafka.contracts.OrderEventDTO;
+import com.desafiosysmap.ms_inventory_service_v1.infrastructure.event.kafka.OrderLifecycleRelay;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import com.sysmapproject.contracts.ProducerProfile;
+import com.sysmapproject.contracts.codec.BinaryContractSerializer;
+import com.sysmapproject.contracts.codec.ContractDeserializer;
+import com.sysmapproject.contracts.codec.OrderEventEnvelopeDeserializer;
+import com.sysmapproject.contracts.codec.WireFormat;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class KafkaConfigTest {
 
     private KafkaConfig kafkaConfig;
 
+    private final OrderLifecycleRelay orderLifecycleRelay = new OrderLifecycleRelay();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -26,6 +45,10 @@ class KafkaConfigTest {
         kafkaConfig.groupId = "test-group";
         kafkaConfig.topicConsumerName = "test-consumer-topic";
         kafkaConfig.topicProducerName = "test-producer-topic";
+        kafkaConfig.wireFormat = WireFormat.JSON;
+        kafkaConfig.producerProfile = ProducerProfile.DEFAULT;
+        kafkaConfig.partitions = 1;
+        kafkaConfig.concurrency = 1;
     }
 
     @Test
@@ -50,12 +73,34 @@ class KafkaConfigTest {
 
     @Test
     void shouldCreateKafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, OrderEventDTO> factory = kafkaConfig.orderKafkaListenerContainerFactory();
+        ConcurrentKafkaListenerContainerFactory<String, OrderEventDTO> factory = kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay);
 
         assertNotNull(factory);
         assertNotNull(factory.getConsumerFactory());
 
-        assertTrue(factory.getConsumerFactory().getValueDeserializer() instanceof JsonDeserializer);
+        assertTrue(factory.getConsumerFactory().getValueDeserializer() instanceof ContractDeserializer);
+        assertTrue(ReflectionTestUtils.getField(factory.getConsumerFactory().getValueDeserializer(), "jsonDeserializer") instanceof JsonDeserializer);
+    }
+
+    @Test
+    void shouldCreateRecordListenerFactoryByDefault() {
+        assertFalse(kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay).isBatchListener());
+    }
+
+    @Test
+    void shouldCreateBatchListenerFactoryWithPollLimitsWhenBatchEnabled() {
+        kafkaConfig.batchEnabled = true;
+        kafkaConfig.batchMaxSize = 250;
+        kafkaConfig.batchMaxWaitMs = 20;
+        kafkaConfig.batchMinBytes = 4096;
+
+        ConcurrentKafkaListenerContainerFactory<String, OrderEventDTO> factory = kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay);
+        Map<String, Object> configProps = factory.getConsumerFactory().getConfigurationProperties();
+
+        assertTrue(factory.isBatchListener());
+        assertEquals(250, configProps.get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+        assertEquals(20, configProps.get(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG));
+        assertEquals(4096, configProps.get(ConsumerConfig.FETCH_MIN_BYTES_CONFIG));
     }
 
     @Test
@@ -65,6 +110,7 @@ class KafkaConfigTest {
 
         String trustedPackages = (String) configProps.get(JsonDeserializer.TRUSTED_PACKAGES);
         assertNotNull(trustedPackages);
+        assertTrue(trustedPackages.contains("com.sysmapproject.contracts"));
         assertTrue(trustedPackages.contains("com.sysmapproject.ms_order_service_v1.core.domain.entity"));
         assertTrue(trustedPackages.contains("com.sysmapproject.ms_order_service_v1.kafka.contracts"));
         assertTrue(trustedPackages.contains("com.desafiosysmap.ms_inventory_service_v1.kafka.contracts"));
@@ -81,4 +127,210 @@ class KafkaConfigTest {
         String message = exception.getMessage() != null ? exception.getMessage() : "No message";
         assertTrue(message.contains("group.id") || message.contains("No message"));
     }
+
+    @Test
+    void shouldAcknowledgeRecordsManuallyAndOutOfOrderWhenProducerIsAsync() {
+        kafkaConfig.producerAsync = true;
+
+        ContainerProperties containerProperties = kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay).getContainerProperties();
+
+        assertEquals(ContainerProperties.AckMode.MANUAL, containerProperties.getAckMode());
+        assertTrue(containerProperties.isAsyncAcks());
+    }
+
+    @Test
+    void shouldKeepContainerAcknowledgementsWhenProducerIsSynchronous() {
+        ContainerProperties containerProperties = kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay).getContainerProperties();
+
+        assertEquals(ContainerProperties.AckMode.BATCH, containerProperties.getAckMode());
+        assertFalse(containerProperties.isAsyncAcks());
+    }
+
+    @Test
+    void shouldRunListenerInKafkaTransactionsWhenTransactionsEnabled() {
+        kafkaConfig.transactionsEnabled = true;
+        kafkaConfig.transactionIdPrefix = "test-tx-";
+        kafkaConfig.producerAsync = true;
+
+        ConcurrentKafkaListenerContainerFactory<String, OrderEventDTO> factory = kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay);
+        ContainerProperties containerProperties = factory.getContainerProperties();
+
+        assertNotNull(containerProperties.getKafkaAwareTransactionManager());
+        assertTrue(containerProperties.getKafkaAwareTransactionManager().getProducerFactory().transactionCapable());
+        assertEquals(ContainerProperties.AckMode.BATCH, containerProperties.getAckMode());
+        assertEquals("read_committed", factory.getConsumerFactory().getConfigurationProperties().get(ConsumerConfig.ISOLATION_LEVEL_CONFIG));
+    }
+
+    @Test
+    void shouldCreateNonTransactionalProducerFactoryByDefault() {
+        ProducerFactory<String, Object> producerFactory = kafkaConfig.producerFactory();
+
+        assertFalse(producerFactory.transactionCapable());
+        assertEquals("localhost:9092", producerFactory.getConfigurationProperties().get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
+        assertNull(kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay).getContainerProperties().getKafkaAwareTransactionManager());
+    }
+
+    @Test
+    void shouldWriteJsonByDefault() {
+        Map<String, Object> configProps = kafkaConfig.producerFactory().getConfigurationProperties();
+
+        assertEquals(JsonSerializer.class, configProps.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+    }
+
+    @Test
+    void shouldWriteBinaryContractsWhenWireFormatIsBinary() {
+        kafkaConfig.wireFormat = WireFormat.BINARY;
+
+        Map<String, Object> configProps = kafkaConfig.producerFactory().getConfigurationProperties();
+
+        assertEquals(BinaryContractSerializer.class, configProps.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+    }
+
+    @Test
+    void shouldKeepContainerListenerExecutorByDefault() {
+        assertNull(kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay).getContainerProperties().getListenerTaskExecutor());
+    }
+
+    @Test
+    void shouldRunListenersOnVirtualThreadsWhenEnabled() {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+        kafkaConfig.virtualThreads = true;
+
+        ConcurrentKafkaListenerContainerFactory<String, OrderEventDTO> factory = kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay);
+
+        assertInstanceOf(SimpleAsyncTaskExecutor.class, factory.getContainerProperties().getListenerTaskExecutor());
+    }
+
+    @Test
+    void shouldRefuseVirtualThreadsBeforeJava21() {
+        assumeTrue(Runtime.version().feature() < 21, "running on Java 21 or later");
+        kafkaConfig.virtualThreads = true;
+
+        assertThrows(UnsupportedOperationException.class, () -> kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay));
+    }
+
+    @Test
+    void shouldRelayLifecycleHeadersFromOrderEventsToValidations() {
+        KafkaTemplate<String, Object> template = kafkaConfig.kafkaTemplate(orderLifecycleRelay);
+        ConcurrentKafkaListenerContainerFactory<String, OrderEventDTO> factory = kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay);
+
+        assertSame(orderLifecycleRelay, ReflectionTestUtils.getField(template, "producerInterceptor"));
+        assertSame(orderLifecycleRelay, ReflectionTestUtils.getField(factory, "recordInterceptor"));
+        assertSame(orderLifecycleRelay, ReflectionTestUtils.getField(factory, "batchInterceptor"));
+    }
+
+    @Test
+    void shouldReadOrderTopicAsEnvelopesForEnvelopeListener() {
+        ConcurrentKafkaListenerContainerFactory<String, OrderEventEnvelopeDTO> factory =
+                kafkaConfig.orderEnvelopeKafkaListenerContainerFactory(orderLifecycleRelay);
+
+        assertFalse(factory.isBatchListener());
+        assertInstanceOf(OrderEventEnvelopeDeserializer.class,
+                ((DefaultKafkaConsumerFactory<String, OrderEventEnvelopeDTO>) factory.getConsumerFactory())
+                        .getValueDeserializer());
+        assertNotNull(ReflectionTestUtils.getField(factory, "recordInterceptor"));
+        assertEquals("test-group", factory.getConsumerFactory().getConfigurationProperties().get(ConsumerConfig.GROUP_ID_CONFIG));
+    }
+
+    @Test
+    void shouldRunEnvelopeListenerInKafkaTransactionsWhenTransactionsEnabled() {
+        kafkaConfig.transactionsEnabled = true;
+        kafkaConfig.transactionIdPrefix = "test-tx-";
+
+        ConcurrentKafkaListenerContainerFactory<String, OrderEventEnvelopeDTO> factory =
+                kafkaConfig.orderEnvelopeKafkaListenerContainerFactory(orderLifecycleRelay);
+
+        assertNotNull(factory.getContainerProperties().getKafkaAwareTransactionManager());
+        assertEquals("read_committed", factory.getConsumerFactory().getConfigurationProperties().get(ConsumerConfig.ISOLATION_LEVEL_CONFIG));
+    }
+
+    @Test
+    void shouldKeepKafkaProducerDefaultsWithDefaultProfile() {
+        Map<String, Object> configProps = kafkaConfig.producerFactory().getConfigurationProperties();
+
+        assertFalse(configProps.containsKey(ProducerConfig.LINGER_MS_CONFIG));
+        assertFalse(configProps.containsKey(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    }
+
+    @Test
+    void shouldApplySelectedProducerProfile() {
+        kafkaConfig.producerProfile = ProducerProfile.HIGH_THROUGHPUT;
+
+        Map<String, Object> configProps = kafkaConfig.producerFactory().getConfigurationProperties();
+
+        assertEquals("zstd", configProps.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals(20, configProps.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals("1", configProps.get(ProducerConfig.ACKS_CONFIG));
+    }
+
+    @Test
+    void shouldRefuseTransactionsWithNonIdempotentProducerProfile() {
+        kafkaConfig.transactionsEnabled = true;
+        kafkaConfig.transactionIdPrefix = "test-tx-";
+        kafkaConfig.producerProfile = ProducerProfile.LOW_LATENCY;
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> kafkaConfig.producerFactory());
+
+        assertTrue(exception.getMessage().contains("LOW_LATENCY"));
+    }
+
+    @Test
+    void shouldRunTransactionsWithDurableProducerProfile() {
+        kafkaConfig.transactionsEnabled = true;
+        kafkaConfig.transactionIdPrefix = "test-tx-";
+        kafkaConfig.producerProfile = ProducerProfile.DURABLE;
+
+        ProducerFactory<String, Object> producerFactory = kafkaConfig.producerFactory();
+
+        assertTrue(producerFactory.transactionCapable());
+        assertEquals("all", producerFactory.getConfigurationProperties().get(ProducerConfig.ACKS_CONFIG));
+    }
+
+    @Test
+    void shouldCreateTopicsWithConfiguredPartitions() {
+        kafkaConfig.partitions = 12;
+
+        assertEquals(12, kafkaConfig.orderTopic().numPartitions());
+        assertEquals(12, kafkaConfig.inventoryValidatedTopic().numPartitions());
+    }
+
+    @Test
+    void shouldRunConfiguredNumberOfListenerThreads() {
+        kafkaConfig.concurrency = 4;
+
+        assertEquals(4, ReflectionTestUtils.getField(kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay), "concurrency"));
+        assertEquals(4, ReflectionTestUtils.getField(kafkaConfig.orderEnvelopeKafkaListenerContainerFactory(orderLifecycleRelay), "concurrency"));
+    }
+
+    @Test
+    void shouldAcknowledgeRecordsManuallyAndOutOfOrderWhenParallelEnabled() {
+        kafkaConfig.parallelEnabled = true;
+
+        ConcurrentKafkaListenerContainerFactory<String, OrderEventDTO> factory = kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay);
+
+        assertEquals(ContainerProperties.AckMode.MANUAL, factory.getContainerProperties().getAckMode());
+        assertTrue(factory.getContainerProperties().isAsyncAcks());
+        // the lanes tell the relay when an order is done, not the container
+        assertNotSame(orderLifecycleRelay, ReflectionTestUtils.getField(factory, "recordInterceptor"));
+    }
+
+    @Test
+    void shouldKeepBatchListenerWhenParallelAndBatchEnabled() {
+        kafkaConfig.parallelEnabled = true;
+        kafkaConfig.batchEnabled = true;
+
+        ConcurrentKafkaListenerContainerFactory<String, OrderEventDTO> factory = kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay);
+
+        assertTrue(factory.isBatchListener());
+        assertFalse(factory.getContainerProperties().isAsyncAcks());
+    }
+
+    @Test
+    void shouldRefuseParallelLanesWithTransactions() {
+        kafkaConfig.parallelEnabled = true;
+        kafkaConfig.transactionsEnabled = true;
+        kafkaConfig.transactionIdPrefix = "test-tx-";
+
+        assertThrows(IllegalStateException.class, () -> kafkaConfig.orderKafkaListenerContainerFactory(orderLifecycleRelay));
+    }
 }
@@ -0,0 +1,26 @@
+package com.desafiosysmap.ms_inventory_service_v1.shared.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TransactionConfigTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCreateJpaTransactionManager() {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        ObjectProvider<TransactionManagerCustomizers> customizers = mock(ObjectProvider.class);
+
+        PlatformTransactionManager transactionManager = new TransactionConfig().transactionManager(entityManagerFactory, customizers);
+
+        assertInstanceOf(JpaTransactionManager.class, transactionManager);
+        assertSame(entityManagerFactory, ((JpaTransactionManager) transactionManager).getEntityManagerFactory());
+    }
+}
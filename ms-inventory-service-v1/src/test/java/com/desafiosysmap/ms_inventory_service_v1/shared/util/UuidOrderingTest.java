@@ -0,0 +1,45 @@
+package com.desafiosysmap.ms_inventory_service_v1.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidOrderingTest {
+
+    @Test
+    void postgresOrder_ShouldCompareHalvesAsUnsigned() {
+        UUID low = UUID.fromString("10000000-0000-0000-0000-000000000000");
+        UUID high = UUID.fromString("80000000-0000-0000-0000-000000000000");
+
+        assertTrue(UuidOrdering.POSTGRES.compare(low, high) < 0);
+        assertTrue(low.compareTo(high) > 0, "UUID#compareTo is signed and sorts the other way");
+    }
+
+    @Test
+    void postgresOrder_ShouldFallBackToLeastSignificantBits() {
+        UUID low = UUID.fromString("00000000-0000-0000-1000-000000000000");
+        UUID high = UUID.fromString("00000000-0000-0000-f000-000000000000");
+
+        assertTrue(UuidOrdering.POSTGRES.compare(low, high) < 0);
+        assertEquals(0, UuidOrdering.POSTGRES.compare(low, UUID.fromString(low.toString())));
+    }
+
+    @Test
+    void postgresOrder_ShouldSortLikeByteWiseComparison() {
+        List<UUID> ids = new ArrayList<>(List.of(
+                UUID.fromString("ffffffff-0000-0000-0000-000000000000"),
+                UUID.fromString("00000000-0000-0000-0000-000000000001"),
+                UUID.fromString("7fffffff-ffff-ffff-ffff-ffffffffffff")));
+
+        ids.sort(UuidOrdering.POSTGRES);
+
+        assertEquals(List.of(
+                UUID.fromString("00000000-0000-0000-0000-000000000001"),
+                UUID.fromString("7fffffff-ffff-ffff-ffff-ffffffffffff"),
+                UUID.fromString("ffffffff-0000-0000-0000-000000000000")), ids);
+    }
+}
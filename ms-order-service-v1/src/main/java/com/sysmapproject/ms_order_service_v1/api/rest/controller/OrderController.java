@@ -1,17 +1,31 @@
 package com.sysmapproject.ms_order_service_v1.api.rest.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderCreationResultDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderFilterDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderPageDTO;
 import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
 import com.sysmapproject.ms_order_service_v1.core.port.in.OrderPortIn;
+import com.sysmapproject.ms_order_service_v1.shared.config.OrderAwaitConfig;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -21,6 +35,10 @@ public class OrderController {
 
     private final OrderPortIn orderService;
 
+    private final ObjectMapper objectMapper;
+
+    private final OrderAwaitConfig orderAwaitConfig;
+
     @PostMapping
     @Operation(summary = "Create a new order", description = "Create an order and triggers stock validation")
     public ResponseEntity<Order> createOrder(@Valid @RequestBody Order order) {
@@ -38,6 +56,23 @@ public class OrderController {
         }
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create orders in bulk", description = "Create several orders in one call and trigger stock validation for each, reporting the outcome per order")
+    public ResponseEntity<List<OrderCreationResultDTO>> createOrders(@RequestBody List<Order> orders) {
+        try {
+            log.info("Attempting to create a batch of {} orders", orders == null ? 0 : orders.size());
+            List<OrderCreationResultDTO> results = orderService.createOrders(orders);
+            log.info("Batch processed, {} orders created", results.stream().filter(OrderCreationResultDTO::isCreated).count());
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            log.warn("Validation failed while creating order batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        } catch (Exception e) {
+            log.error("Unexpected error while creating order batch: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(null);
+        }
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update an order", description = "Update an orders existing order details")
     public ResponseEntity<Order> updateOrder(@PathVariable UUID id, @Valid @RequestBody Order order) {
@@ -70,20 +105,128 @@ public class OrderController {
         }
     }
 
+    /**
+     * Holds the request without a thread until the order leaves PENDING. On timeout it answers 202
+     * without a body, meaning wait again: the timeout runs on the container's timeout thread, which
+     * must not block on the database, and the next call reads the order first, so a client whose order
+     * was resolved by another instance still gets the verdict.
+     */
+    @GetMapping("/{id}/await")
+    @Operation(summary = "Wait for an order", description = "Long-poll until the order leaves PENDING and return it, or answer 202 once the timeout passes")
+    public DeferredResult<ResponseEntity<Order>> awaitOrder(@PathVariable UUID id,
+                                                            @RequestParam(defaultValue = "30000") long timeoutMs) {
+        DeferredResult<ResponseEntity<Order>> result = new DeferredResult<>(timeoutMs);
+        if (timeoutMs <= 0 || timeoutMs > orderAwaitConfig.maxTimeoutMs) {
+            log.warn("Invalid timeout while waiting for order with ID {}: {}", id, timeoutMs);
+            result.setResult(ResponseEntity.badRequest().body(null));
+            return result;
+        }
+
+        CompletableFuture<Order> completion;
+        try {
+            log.info("Waiting for order with ID: {}", id);
+            completion = orderService.awaitOrderCompletion(id);
+        } catch (Exception e) {
+            log.error("Error waiting for order with ID {}: {}", id, e.getMessage());
+            result.setResult(awaitFailure(e));
+            return result;
+        }
+
+        completion.whenComplete((order, e) -> {
+            if (e == null) {
+                result.setResult(ResponseEntity.ok(order));
+            }
+        });
+        result.onTimeout(() -> {
+            completion.cancel(false);
+            result.setResult(ResponseEntity.status(HttpStatus.ACCEPTED).build());
+        });
+        result.onCompletion(() -> completion.cancel(false));
+        return result;
+    }
+
+    /**
+     * Server-sent events variant of {@link #awaitOrder}: one {@code order} event once the order leaves
+     * PENDING, then the stream ends. A stream that times out ends without an event and an EventSource
+     * reconnects by itself. The event is written off the thread that applied the status, which is
+     * usually a Kafka listener.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream an order's completion", description = "Server-sent event sent once the order leaves PENDING")
+    public ResponseEntity<SseEmitter> orderEvents(@PathVariable UUID id,
+                                                  @RequestParam(defaultValue = "30000") long timeoutMs) {
+        if (timeoutMs <= 0 || timeoutMs > orderAwaitConfig.maxTimeoutMs) {
+            log.warn("Invalid timeout while streaming order with ID {}: {}", id, timeoutMs);
+            return ResponseEntity.badRequest().body(null);
+        }
+
+        CompletableFuture<Order> completion;
+        try {
+            log.info("Streaming completion of order with ID: {}", id);
+            completion = orderService.awaitOrderCompletion(id);
+        } catch (Exception e) {
+            log.error("Error streaming order with ID {}: {}", id, e.getMessage());
+            return ResponseEntity.status(awaitFailure(e).getStatusCode()).body(null);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        completion.whenCompleteAsync((order, e) -> {
+            if (e != null) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name("order").data(order, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (Exception sendException) {
+                log.warn("Error sending order with ID {} to event stream: {}", id, sendException.getMessage());
+                emitter.completeWithError(sendException);
+            }
+        });
+        emitter.onTimeout(() -> {
+            completion.cancel(false);
+            emitter.complete();
+        });
+        emitter.onCompletion(() -> completion.cancel(false));
+        emitter.onError(e -> completion.cancel(false));
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+    }
+
     @GetMapping
-    @Operation(summary = "List all orders", description = "Fetch all orders from the system")
-    public ResponseEntity<List<Order>> getAllOrders() {
+    @Operation(summary = "List orders", description = "Fetch a page of orders ordered by creation, optionally filtered by status and customer")
+    public ResponseEntity<OrderPageDTO> getOrders(@RequestParam(required = false) OrderStatus status,
+                                                  @RequestParam(required = false) Long customerId,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "50") int limit) {
         try {
-            log.info("Fetching all orders");
-            List<Order> orders = orderService.getAllOrders();
-            log.info("Successfully fetched {} orders", orders.size());
-            return ResponseEntity.ok(orders);
+            log.info("Fetching orders page with status: {}, customerId: {}, limit: {}", status, customerId, limit);
+            OrderPageDTO page = orderService.getOrders(new OrderFilterDTO(status, customerId), cursor, limit);
+            log.info("Successfully fetched {} orders", page.getOrders().size());
+            return ResponseEntity.ok(page);
         } catch (Exception e) {
-            log.error("Error fetching all orders: {}", e.getMessage(), e);
+            log.error("Error fetching orders: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().body(null);
         }
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream orders", description = "Stream every matching order as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamOrders(@RequestParam(required = false) OrderStatus status,
+                                                              @RequestParam(required = false) Long customerId) {
+        log.info("Streaming orders with status: {}, customerId: {}", status, customerId);
+        OrderFilterDTO filter = new OrderFilterDTO(status, customerId);
+
+        StreamingResponseBody body = outputStream -> orderService.streamOrders(filter, order -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(order));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete an order", description = "Delete an order from the system")
     public ResponseEntity<Void> deleteOrderById(@PathVariable UUID id) {
@@ -97,4 +240,11 @@ public class OrderController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private ResponseEntity<Order> awaitFailure(Exception e) {
+        if (e.getCause() instanceof IllegalStateException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
+        }
+        return ResponseEntity.badRequest().body(null);
+    }
 }
@@ -0,0 +1,23 @@
+package com.sysmapproject.ms_order_service_v1.core.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCreationResultDTO {
+
+    private int index;
+
+    private UUID orderId;
+
+    private boolean created;
+
+    private String error;
+}
@@ -0,0 +1,43 @@
+package com.sysmapproject.ms_order_service_v1.core.domain.dto;
+
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last order on a page, in the {@code (created_at, id)} order the listing uses.
+ * Clients get it back as an opaque string and pass it in to fetch the next page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderCursorDTO {
+
+    private LocalDateTime createdAt;
+
+    private UUID id;
+
+    public static OrderCursorDTO of(Order order) {
+        return new OrderCursorDTO(order.getCreatedAt(), order.getId());
+    }
+
+    public static OrderCursorDTO decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new OrderCursorDTO(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid order cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
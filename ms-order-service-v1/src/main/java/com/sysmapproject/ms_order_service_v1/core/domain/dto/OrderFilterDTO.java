@@ -0,0 +1,18 @@
+package com.sysmapproject.ms_order_service_v1.core.domain.dto;
+
+import com.sysmapproject.contracts.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderFilterDTO {
+
+    private OrderStatus status;
+
+    private Long customerId;
+}
@@ -0,0 +1,18 @@
+package com.sysmapproject.ms_order_service_v1.core.domain.dto;
+
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderPageDTO {
+
+    private List<Order> orders;
+
+    private String nextCursor;
+}
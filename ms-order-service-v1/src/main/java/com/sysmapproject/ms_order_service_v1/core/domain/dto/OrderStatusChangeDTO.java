@@ -0,0 +1,21 @@
+package com.sysmapproject.ms_order_service_v1.core.domain.dto;
+
+import com.sysmapproject.contracts.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatusChangeDTO {
+
+    private UUID orderId;
+
+    private OrderStatus status;
+
+    private LocalDateTime updatedAt;
+}
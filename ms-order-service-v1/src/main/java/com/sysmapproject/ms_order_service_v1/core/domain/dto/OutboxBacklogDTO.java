@@ -0,0 +1,17 @@
+package com.sysmapproject.ms_order_service_v1.core.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxBacklogDTO {
+
+    private Long pendingEvents;
+
+    private LocalDateTime oldestCreatedAt;
+}
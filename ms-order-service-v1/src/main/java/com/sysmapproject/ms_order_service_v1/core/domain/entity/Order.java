@@ -1,7 +1,7 @@
 package com.sysmapproject.ms_order_service_v1.core.domain.entity;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
-import com.sysmapproject.ms_order_service_v1.shared.enums.OrderStatus;
+import com.sysmapproject.contracts.OrderStatus;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -14,7 +14,11 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "orders", schema = "public")
+@Table(name = "orders", schema = "public", indexes = {
+        @Index(name = "orders_created_at_id_idx", columnList = "created_at, id"),
+        @Index(name = "orders_status_created_at_id_idx", columnList = "status, created_at, id"),
+        @Index(name = "orders_customer_id_created_at_id_idx", columnList = "customer_id, created_at, id")
+})
 @ToString(exclude = "items")
 public class Order {
 
@@ -41,8 +45,9 @@ public class Order {
 
     @PrePersist
     public void onCreate() {
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
     }
 
     @PreUpdate
@@ -1,8 +1,12 @@
 package com.sysmapproject.ms_order_service_v1.core.domain.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.sysmapproject.ms_order_service_v1.shared.util.ConfiguredUuidValueGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
 
 import java.util.UUID;
 
@@ -11,17 +15,21 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "order_items", schema = "public")
+@Table(name = "order_items", schema = "public",
+        indexes = @Index(name = "order_items_order_id_idx", columnList = "order_id"))
 @ToString(exclude = "order")
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue
+    @UuidGenerator(algorithm = ConfiguredUuidValueGenerator.class)
     @Column(name = "id", nullable = false, updatable = false)
     private UUID id;
 
+    // stored as text, the column type existing databases were created with
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(name = "product_id", nullable = false)
-    private String productId;
+    private UUID productId;
 
     @Column(name = "quantity", nullable = false)
     private Integer quantity;
@@ -1,36 +1,70 @@
 package com.sysmapproject.ms_order_service_v1.core.domain.service;
 
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderStatus;
 import com.sysmapproject.ms_order_service_v1.core.application.mapper.OrderMapper;
-import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderEventDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderCreationResultDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderCursorDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderFilterDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderPageDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderStatusChangeDTO;
 import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
 import com.sysmapproject.ms_order_service_v1.core.port.in.OrderPortIn;
+import com.sysmapproject.ms_order_service_v1.core.port.out.OrderCompletionPortOut;
+import com.sysmapproject.ms_order_service_v1.core.port.out.OrderLifecyclePortOut;
+import com.sysmapproject.ms_order_service_v1.core.port.out.OrderOutboxPortOut;
 import com.sysmapproject.ms_order_service_v1.core.port.out.OrderPortOut;
 import com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka.KafkaProducer;
-import com.sysmapproject.ms_order_service_v1.kafka.contracts.InventoryResponseDTO;
+import com.sysmapproject.ms_order_service_v1.shared.config.OrderBatchConfig;
+import com.sysmapproject.ms_order_service_v1.shared.config.OutboxConfig;
+import com.sysmapproject.ms_order_service_v1.shared.util.IdGenerator;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
-import static com.sysmapproject.ms_order_service_v1.shared.enums.OrderStatus.PENDING;
+import static com.sysmapproject.contracts.OrderStatus.PENDING;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderService implements OrderPortIn {
 
+    static final int MAX_PAGE_SIZE = 500;
+
     private final OrderPortOut orderPortOut;
 
     private final KafkaProducer kafkaProducer;
 
+    private final OrderOutboxPortOut orderOutboxPortOut;
+
+    private final OutboxConfig outboxConfig;
+
+    private final OrderBatchConfig orderBatchConfig;
+
+    private final IdGenerator idGenerator;
+
+    private final OrderCompletionPortOut orderCompletionPortOut;
+
+    private final OrderLifecyclePortOut orderLifecyclePortOut;
+
     @Override
+    @Transactional
     public Order createOrder(Order order) {
         try {
             validateOrder(order);
-            order.setId(UUID.randomUUID());
+            order.setId(idGenerator.next());
             order.setStatus(PENDING);
             order.setCreatedAt(LocalDateTime.now());
             order.setUpdatedAt(LocalDateTime.now());
@@ -40,7 +74,11 @@ public class OrderService implements OrderPortIn {
 
             OrderEventDTO orderEventDTO = OrderMapper.toOrderEventDTO(order);
 
-            kafkaProducer.sendOrder(orderEventDTO);
+            if (outboxConfig.enabled) {
+                orderOutboxPortOut.enqueue(orderEventDTO);
+            } else {
+                kafkaProducer.sendOrder(orderEventDTO);
+            }
 
             return order;
         } catch (Exception e) {
@@ -50,6 +88,65 @@ public class OrderService implements OrderPortIn {
 
 
 
+    /**
+     * Validates every order on its own and stores the valid ones together: one batched insert of
+     * orders and items, then one outbox write or one producer flush for their events. Invalid orders
+     * are reported in the result at their position and do not stop the others.
+     */
+    @Override
+    @Transactional
+    public List<OrderCreationResultDTO> createOrders(List<Order> orders) {
+
+        if (orders == null || orders.isEmpty()) {
+            throw new IllegalArgumentException("Orders cannot be null or empty");
+        }
+        if (orders.size() > orderBatchConfig.maxOrders) {
+            throw new IllegalArgumentException("A batch cannot have more than " + orderBatchConfig.maxOrders + " orders");
+        }
+
+        try {
+            List<OrderCreationResultDTO> results = new ArrayList<>(orders.size());
+            List<Order> accepted = new ArrayList<>();
+            List<OrderEventDTO> orderEvents = new ArrayList<>();
+            LocalDateTime now = LocalDateTime.now();
+
+            for (int i = 0; i < orders.size(); i++) {
+                Order order = orders.get(i);
+                try {
+                    validateOrder(order);
+                    order.setId(idGenerator.next());
+                    order.setStatus(PENDING);
+                    order.setCreatedAt(now);
+                    order.setUpdatedAt(now);
+                    order.getItems().forEach(item -> item.setOrder(order));
+
+                    orderEvents.add(OrderMapper.toOrderEventDTO(order));
+                    accepted.add(order);
+                    results.add(OrderCreationResultDTO.builder().index(i).orderId(order.getId()).created(true).build());
+                } catch (Exception e) {
+                    results.add(OrderCreationResultDTO.builder().index(i).created(false).error(e.getMessage()).build());
+                }
+            }
+
+            if (accepted.isEmpty()) {
+                return results;
+            }
+
+            orderPortOut.saveAll(accepted);
+
+            if (outboxConfig.enabled) {
+                orderOutboxPortOut.enqueueAll(orderEvents);
+            } else {
+                kafkaProducer.sendOrders(orderEvents);
+            }
+
+            log.info("Created {} of {} orders in batch", accepted.size(), orders.size());
+            return results;
+        } catch (Exception e) {
+            throw new RuntimeException("Error while creating orders: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public Order updateOrder(Order order) {
         try {
@@ -63,7 +160,11 @@ public class OrderService implements OrderPortIn {
             order.setCreatedAt(existingOrder.getCreatedAt());
             order.setUpdatedAt(LocalDateTime.now());
 
-            return orderPortOut.save(order);
+            Order savedOrder = orderPortOut.save(order);
+            if (existingOrder.getStatus() == PENDING && order.getStatus() != null && order.getStatus() != PENDING) {
+                orderCompletionPortOut.notifyChanged(new OrderStatusChangeDTO(order.getId(), order.getStatus(), order.getUpdatedAt()));
+            }
+            return savedOrder;
 
         } catch (Exception e) {
             throw new RuntimeException("Error while updating order: " + e.getMessage(), e);
@@ -86,14 +187,80 @@ public class OrderService implements OrderPortIn {
         }
     }
 
+    /**
+     * The waiter is parked before the order is read, so a status change committed in between is not
+     * missed. The returned future completes with the order as it left PENDING, straight away if it
+     * already has; cancelling it releases the waiter. Only changes applied by this instance complete it.
+     */
+    @Override
+    public CompletableFuture<Order> awaitOrderCompletion(UUID id) {
+
+        try {
+            if (id == null) {
+                throw new IllegalArgumentException("Order ID must be a positive number");
+            }
+
+            CompletableFuture<OrderStatusChangeDTO> waiter = orderCompletionPortOut.register(id);
+            Order order;
+            try {
+                order = getOrderById(id);
+            } catch (Exception e) {
+                waiter.cancel(false);
+                throw e;
+            }
+
+            if (order.getStatus() != PENDING) {
+                waiter.cancel(false);
+                return CompletableFuture.completedFuture(order);
+            }
+
+            CompletableFuture<Order> completion = waiter.thenApply(change -> {
+                order.setStatus(change.getStatus());
+                order.setUpdatedAt(change.getUpdatedAt());
+                return order;
+            });
+            completion.whenComplete((completed, e) -> waiter.cancel(false));
+            return completion;
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error while awaiting order: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * One row past the page is read to tell whether another page follows; its cursor then points at
+     * the last order returned.
+     */
     @Override
-    public List<Order> getAllOrders() {
+    public OrderPageDTO getOrders(OrderFilterDTO filter, String cursor, int limit) {
 
         try {
-            return orderPortOut.findAll();
+            if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+            }
+            OrderCursorDTO after = cursor == null || cursor.isBlank() ? null : OrderCursorDTO.decode(cursor);
+
+            List<Order> orders = orderPortOut.findPage(filter, after, limit + 1);
+            if (orders.size() <= limit) {
+                return new OrderPageDTO(orders, null);
+            }
+
+            List<Order> page = new ArrayList<>(orders.subList(0, limit));
+            return new OrderPageDTO(page, OrderCursorDTO.of(page.get(limit - 1)).encode());
 
         } catch (Exception e) {
-            throw new RuntimeException("Error retrieving all orders: " + e.getMessage(), e);
+            throw new RuntimeException("Error retrieving orders: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void streamOrders(OrderFilterDTO filter, Consumer<Order> consumer) {
+
+        try {
+            orderPortOut.streamAll(filter, consumer);
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error streaming orders: " + e.getMessage(), e);
         }
     }
 
@@ -109,6 +276,10 @@ public class OrderService implements OrderPortIn {
         }
     }
 
+    /**
+     * Only a pending order takes the inventory outcome. A response for an order that already left
+     * PENDING, such as a redelivery, changes nothing.
+     */
     @Override
     public void processOrderStatus(InventoryResponseDTO response) {
 
@@ -116,14 +287,22 @@ public class OrderService implements OrderPortIn {
         log.info("Processing order update for Order ID: {}", orderId);
 
         try {
-            Order order =orderPortOut.findById(orderId)
-                    .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+            if (response.getStatus() == null) {
+                throw new IllegalArgumentException("Order status cannot be null");
+            }
 
-            order.setStatus(response.getStatus());
-            order.setUpdatedAt(LocalDateTime.now());
+            LocalDateTime updatedAt = LocalDateTime.now();
+            boolean updated = orderPortOut.updateStatus(orderId, PENDING, response.getStatus(), updatedAt);
+            if (!updated) {
+                if (!orderPortOut.existsById(orderId)) {
+                    throw new RuntimeException("Order not found: " + orderId);
+                }
+                log.info("Order ID: {} is no longer pending, ignoring status: {}", orderId, response.getStatus());
+                return;
+            }
 
-            orderPortOut.save(order);
             log.info("Order ID: {} status updated to: {}", orderId, response.getStatus());
+            verdictApplied(new OrderStatusChangeDTO(orderId, response.getStatus(), updatedAt));
         } catch (Exception e) {
             log.error("Failed to update order ID: {} - {}", orderId, e.getMessage());
             throw new RuntimeException("Error updating order status: " + e.getMessage(), e);
@@ -131,7 +310,60 @@ public class OrderService implements OrderPortIn {
     }
 
 
-    private void validateOrder(Order order) {
+    /**
+     * Applies a poll's worth of responses with one UPDATE per target status. The first response for
+     * an order wins, as it would one at a time. Responses without an order ID or status are logged
+     * and skipped. If a bulk UPDATE fails, its responses are retried one by one so a single bad
+     * record only fails itself.
+     */
+    @Override
+    public void processOrderStatuses(List<InventoryResponseDTO> responses) {
+
+        Map<UUID, InventoryResponseDTO> responseByOrder = new LinkedHashMap<>();
+        for (InventoryResponseDTO response : responses) {
+            if (response == null || response.getOrderId() == null || response.getStatus() == null) {
+                log.error("Skipping invalid inventory response: {}", response);
+                continue;
+            }
+            responseByOrder.putIfAbsent(response.getOrderId(), response);
+        }
+
+        Map<OrderStatus, List<InventoryResponseDTO>> responsesByStatus = new EnumMap<>(OrderStatus.class);
+        responseByOrder.values().forEach(response ->
+                responsesByStatus.computeIfAbsent(response.getStatus(), status -> new ArrayList<>()).add(response));
+
+        responsesByStatus.forEach((status, group) -> {
+            List<UUID> orderIds = group.stream().map(InventoryResponseDTO::getOrderId).toList();
+            try {
+                LocalDateTime updatedAt = LocalDateTime.now();
+                List<UUID> updated = orderPortOut.updateStatuses(orderIds, PENDING, status, updatedAt);
+                log.info("{} of {} orders updated to status: {}", updated.size(), orderIds.size(), status);
+                updated.forEach(orderId -> verdictApplied(new OrderStatusChangeDTO(orderId, status, updatedAt)));
+                if (updated.size() < orderIds.size()) {
+                    List<UUID> skipped = new ArrayList<>(orderIds);
+                    skipped.removeAll(updated);
+                    log.info("Orders not pending or not found, ignoring status {}: {}", status, skipped);
+                }
+            } catch (Exception e) {
+                log.error("Bulk status update to {} failed, applying {} orders one by one - {}", status, orderIds.size(), e.getMessage());
+                group.forEach(response -> {
+                    try {
+                        processOrderStatus(response);
+                    } catch (Exception recordException) {
+                        log.error("Skipping order ID: {} - {}", response.getOrderId(), recordException.getMessage());
+                    }
+                });
+            }
+        });
+    }
+
+    // only inventory responses are verdicts; a status changed through the API completes waiters alone
+    private void verdictApplied(OrderStatusChangeDTO change) {
+        orderLifecyclePortOut.verdict(change);
+        orderCompletionPortOut.notifyChanged(change);
+    }
+
+    void validateOrder(Order order) {
 
         if (order == null) {
             throw new IllegalArgumentException("Order cannot be null");
@@ -147,6 +379,9 @@ public class OrderService implements OrderPortIn {
 
         order.getItems().forEach(item -> {
 
+            if (item.getProductId() == null) {
+                throw new IllegalArgumentException("Product ID cannot be null");
+            }
 
             if (item.getQuantity() == null || item.getQuantity() <= 0) {
                 throw new IllegalArgumentException("Quantity must be a positive number");
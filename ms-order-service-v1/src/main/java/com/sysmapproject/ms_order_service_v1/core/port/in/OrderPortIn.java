@@ -1,22 +1,35 @@
 package com.sysmapproject.ms_order_service_v1.core.port.in;
 
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderCreationResultDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderFilterDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderPageDTO;
 import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
-import com.sysmapproject.ms_order_service_v1.kafka.contracts.InventoryResponseDTO;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface OrderPortIn {
 
     Order createOrder(Order order);
 
+    List<OrderCreationResultDTO> createOrders(List<Order> orders);
+
     Order updateOrder(Order order);
 
     Order getOrderById(UUID id);
 
-    List<Order> getAllOrders();
+    CompletableFuture<Order> awaitOrderCompletion(UUID id);
+
+    OrderPageDTO getOrders(OrderFilterDTO filter, String cursor, int limit);
+
+    void streamOrders(OrderFilterDTO filter, Consumer<Order> consumer);
 
     void deleteOrderById(UUID id);
 
     void processOrderStatus(InventoryResponseDTO response);
+
+    void processOrderStatuses(List<InventoryResponseDTO> responses);
 }
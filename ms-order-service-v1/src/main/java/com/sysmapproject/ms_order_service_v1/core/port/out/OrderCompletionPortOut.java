@@ -0,0 +1,21 @@
+package com.sysmapproject.ms_order_service_v1.core.port.out;
+
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderStatusChangeDTO;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface OrderCompletionPortOut {
+
+    /**
+     * Parks a waiter for the order's next committed status change in this instance. The waiter holds
+     * no thread; completing or cancelling the returned future releases it. Throws
+     * {@link IllegalStateException} once the maximum number of waiters is parked.
+     */
+    CompletableFuture<OrderStatusChangeDTO> register(UUID orderId);
+
+    /**
+     * Completes every waiter parked for the order. Call it only after the change committed.
+     */
+    void notifyChanged(OrderStatusChangeDTO change);
+}
@@ -0,0 +1,12 @@
+package com.sysmapproject.ms_order_service_v1.core.port.out;
+
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderStatusChangeDTO;
+
+public interface OrderLifecyclePortOut {
+
+    /**
+     * Records the inventory verdict applied to an order. Call it only for a status change that came
+     * from an inventory response, after it committed.
+     */
+    void verdict(OrderStatusChangeDTO change);
+}
@@ -0,0 +1,29 @@
+package com.sysmapproject.ms_order_service_v1.core.port.out;
+
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OutboxBacklogDTO;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface OrderOutboxPortOut {
+
+    /**
+     * Stores the event in the caller's transaction, so it is published if and only if that transaction commits.
+     */
+    void enqueue(OrderEventDTO orderEvent);
+
+    /**
+     * Same as {@link #enqueue} for several events, written with a single statement.
+     */
+    void enqueueAll(List<OrderEventDTO> orderEvents);
+
+    /**
+     * Claims up to {@code limit} of the oldest pending events, hands them to the publisher and removes
+     * them once it returned. Events claimed by another relay are skipped; if the publisher throws, the
+     * events stay pending. Returns how many events were relayed.
+     */
+    int relayPending(int limit, Consumer<List<OrderEventDTO>> publisher);
+
+    OutboxBacklogDTO findBacklog();
+}
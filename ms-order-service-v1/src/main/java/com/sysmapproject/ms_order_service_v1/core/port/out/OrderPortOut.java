@@ -1,18 +1,40 @@
 package com.sysmapproject.ms_order_service_v1.core.port.out;
 
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderCursorDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderFilterDTO;
 import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface OrderPortOut {
 
     Order save(Order order);
 
+    void saveAll(List<Order> orders);
+
     Optional<Order> findById(UUID id);
 
-    List<Order> findAll();
+    boolean existsById(UUID id);
+
+    /**
+     * Moves the order to {@code status} only if it is still in {@code expectedStatus}, without loading
+     * it. Returns whether a row was changed.
+     */
+    boolean updateStatus(UUID id, OrderStatus expectedStatus, OrderStatus status, LocalDateTime updatedAt);
+
+    /**
+     * Bulk form of {@link #updateStatus}. Returns the IDs of the orders that were changed.
+     */
+    List<UUID> updateStatuses(List<UUID> ids, OrderStatus expectedStatus, OrderStatus status, LocalDateTime updatedAt);
+
+    List<Order> findPage(OrderFilterDTO filter, OrderCursorDTO after, int limit);
+
+    void streamAll(OrderFilterDTO filter, Consumer<Order> consumer);
 
     void deleteById(UUID id);
 }
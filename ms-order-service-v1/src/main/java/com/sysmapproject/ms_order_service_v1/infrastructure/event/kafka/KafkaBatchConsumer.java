@@ -0,0 +1,26 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.kafka.batch.enabled", havingValue = "true")
+public class KafkaBatchConsumer {
+
+    private final OrderService orderService;
+
+    @KafkaListener(topics = "${spring.kafka.topics.consumer-topic}", groupId = "${spring.kafka.consumer.group-id}")
+    public void consumeInventoryValidatedEvents(List<InventoryResponseDTO> responses) {
+        log.info("Received batch of {} inventory validations", responses.size());
+        orderService.processOrderStatuses(responses);
+    }
+}
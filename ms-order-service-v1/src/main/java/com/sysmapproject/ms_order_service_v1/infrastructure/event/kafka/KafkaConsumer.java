@@ -1,15 +1,17 @@
 package com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka;
 
+import com.sysmapproject.contracts.InventoryResponseDTO;
 import com.sysmapproject.ms_order_service_v1.core.domain.service.OrderService;
-import com.sysmapproject.ms_order_service_v1.kafka.contracts.InventoryResponseDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnExpression("!${order.kafka.batch.enabled:false} and !${order.kafka.parallel.enabled:false}")
 public class KafkaConsumer {
 
     private final OrderService orderService;
@@ -0,0 +1,64 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.commons.concurrent.KeyedLanes;
+import com.sysmapproject.ms_order_service_v1.core.domain.service.OrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fans the records of each partition out to {@link KeyedLanes} keyed by order ID, so the validations
+ * of one order are applied in the order they were published while other orders are applied in
+ * parallel. A record is acknowledged once its lane applied it, and the container only commits up to
+ * the lowest record still in a lane.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${order.kafka.parallel.enabled:false} and !${order.kafka.batch.enabled:false}")
+public class KafkaParallelConsumer implements DisposableBean {
+
+    private final OrderService orderService;
+    private final OrderLifecycleMetrics orderLifecycleMetrics;
+    private final KeyedLanes lanes;
+
+    public KafkaParallelConsumer(OrderService orderService,
+                                 OrderLifecycleMetrics orderLifecycleMetrics,
+                                 @Value("${order.kafka.parallel.lanes:8}") int lanes,
+                                 @Value("${order.kafka.parallel.lane-capacity:256}") int laneCapacity) {
+        this.orderService = orderService;
+        this.orderLifecycleMetrics = orderLifecycleMetrics;
+        this.lanes = new KeyedLanes("order-lane-", lanes, laneCapacity);
+    }
+
+    @KafkaListener(topics = "${spring.kafka.topics.consumer-topic}", groupId = "${spring.kafka.consumer.group-id}")
+    public void consumeInventoryValidatedEvent(ConsumerRecord<String, InventoryResponseDTO> record, Acknowledgment acknowledgment) {
+        InventoryResponseDTO response = record.value();
+        log.info("Received inventory validation for Order ID: {}, status: {}", response.getOrderId(), response.getStatus());
+        lanes.submit(response.getOrderId(), () -> apply(record, acknowledgment));
+    }
+
+    @Override
+    public void destroy() {
+        lanes.close();
+    }
+
+    private void apply(ConsumerRecord<String, InventoryResponseDTO> record, Acknowledgment acknowledgment) {
+
+        InventoryResponseDTO response = record.value();
+        try {
+            orderService.processOrderStatus(response);
+            log.info("Order ID: {} updated succesfully with status: {}", response.getOrderId(), response.getStatus());
+        } catch (Exception e) {
+            log.error("Error processing order update for Order ID: {} - {}", response.getOrderId(), e.getMessage());
+        } finally {
+            orderLifecycleMetrics.afterRecord(record, null);
+            acknowledgment.acknowledge();
+        }
+    }
+}
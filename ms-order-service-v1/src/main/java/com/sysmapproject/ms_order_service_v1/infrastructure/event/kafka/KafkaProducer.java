@@ -1,23 +1,42 @@
 package com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka;
 
-import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import com.sysmapproject.contracts.codec.BinaryContractCodec;
+import com.sysmapproject.contracts.codec.OrderEventEnvelopeDeserializer;
+import com.sysmapproject.contracts.codec.WireFormat;
+import com.sysmapproject.ms_order_service_v1.shared.config.OrderEnvelopeConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class KafkaProducer {
 
-    private final KafkaTemplate<String, OrderEventDTO> kafkaTemplate;
+    // JSON spells out field names, UUIDs and timestamps; a typical order event is about four times its binary size
+    private static final int JSON_SIZE_FACTOR = 4;
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OrderEnvelopeConfig envelopeConfig;
 
     @Value("${spring.kafka.topics.producer-topic}")
     private String topicName;
 
+    @Value("${order.kafka.wire-format:json}")
+    private WireFormat wireFormat;
+
     public void sendOrder(OrderEventDTO orderEventDTO) {
+
         kafkaTemplate.send(topicName, orderEventDTO.getOrderId().toString(), orderEventDTO)
                 .whenComplete((result, ex) -> {
                     if (ex != null) {
@@ -27,4 +46,60 @@ public class KafkaProducer {
                     }
                 });
     }
+
+    /**
+     * Sends every event before waiting once for all of them, and fails if any could not be sent. In
+     * envelope mode the events are packed into as few envelopes as the configured bounds allow.
+     */
+    public void sendOrders(List<OrderEventDTO> orderEvents) {
+
+        try {
+            CompletableFuture<?>[] sends = envelopeConfig.enabled
+                    ? pack(orderEvents).stream().map(this::sendEnvelope).toArray(CompletableFuture[]::new)
+                    : orderEvents.stream()
+                    .map(orderEvent -> kafkaTemplate.send(topicName, orderEvent.getOrderId().toString(), orderEvent))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(sends).get();
+
+            log.info("{} orders sent successfully to Kafka topic: {}", orderEvents.size(), topicName);
+        } catch (Exception e) {
+            log.error("Failed to send orders: {}", e.getMessage());
+            throw new RuntimeException("Failed to send orders: " + e.getMessage(), e);
+        }
+    }
+
+    // an order larger than the byte bound still goes out, alone in its envelope
+    private List<List<OrderEventDTO>> pack(List<OrderEventDTO> orderEvents) {
+
+        List<List<OrderEventDTO>> envelopes = new ArrayList<>();
+        List<OrderEventDTO> current = new ArrayList<>();
+        int currentBytes = 0;
+        for (OrderEventDTO orderEvent : orderEvents) {
+            int size = estimatedSize(orderEvent);
+            if (!current.isEmpty() && (current.size() >= envelopeConfig.maxOrders || currentBytes + size > envelopeConfig.maxBytes)) {
+                envelopes.add(current);
+                current = new ArrayList<>();
+                currentBytes = 0;
+            }
+            current.add(orderEvent);
+            currentBytes += size;
+        }
+        if (!current.isEmpty()) {
+            envelopes.add(current);
+        }
+        return envelopes;
+    }
+
+    private int estimatedSize(OrderEventDTO orderEvent) {
+        int binarySize = BinaryContractCodec.encodedSize(orderEvent);
+        return wireFormat == WireFormat.BINARY ? binarySize : binarySize * JSON_SIZE_FACTOR;
+    }
+
+    // orders in one envelope have different keys, so the envelope has none and is spread over the partitions
+    private CompletableFuture<SendResult<String, Object>> sendEnvelope(List<OrderEventDTO> orderEvents) {
+
+        ProducerRecord<String, Object> record = new ProducerRecord<>(topicName, null, new OrderEventEnvelopeDTO(orderEvents));
+        OrderEventEnvelopeDeserializer.mark(record.headers());
+        return kafkaTemplate.send(record);
+    }
 }
@@ -0,0 +1,231 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.LifecycleHeaders;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderStatusChangeDTO;
+import com.sysmapproject.ms_order_service_v1.core.port.out.OrderLifecyclePortOut;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerInterceptor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.kafka.support.ProducerListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times an order from its creation to the inventory verdict, and each stage on the way, from the
+ * {@link LifecycleHeaders} the order event carries to the inventory service and back:
+ * <ul>
+ *     <li>{@code kafka.publish}: creation until the broker acknowledged the order event, outbox wait included</li>
+ *     <li>{@code inventory.consume}: order event published until the inventory service received it</li>
+ *     <li>{@code inventory.check}: inventory service received the event until it published the validation</li>
+ *     <li>{@code response.consume}: validation published until this service applied it</li>
+ * </ul>
+ * The {@code db.save} stage is timed by the persistence adapter. Orders being applied are kept by ID
+ * only while their validation is processed, so the verdict can be matched to the creation time.
+ * <p>
+ * An envelope carries the creation time of its oldest order, so the later stages of the other orders
+ * in it include the time they waited in the outbox behind that one.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderLifecycleMetrics implements ProducerInterceptor<String, Object>, ProducerListener<String, Object>,
+        RecordInterceptor<String, InventoryResponseDTO>, BatchInterceptor<String, InventoryResponseDTO>, OrderLifecyclePortOut {
+
+    static final String LIFECYCLE_METER = "order.lifecycle";
+    static final String STAGE_METER = "order.lifecycle.stage";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<UUID, Long> createdAtByOrder = new ConcurrentHashMap<>();
+
+    private Timer publishTimer;
+    private Timer inventoryConsumeTimer;
+    private Timer inventoryCheckTimer;
+    private Timer responseConsumeTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        publishTimer = stageTimer("kafka.publish", "Order creation until the broker acknowledged the order event");
+        inventoryConsumeTimer = stageTimer("inventory.consume", "Order event published until the inventory service received it");
+        inventoryCheckTimer = stageTimer("inventory.check", "Inventory service received the order event until it published the validation");
+        responseConsumeTimer = stageTimer("response.consume", "Inventory validation published until the order service applied it");
+    }
+
+    @Override
+    public ProducerRecord<String, Object> onSend(ProducerRecord<String, Object> record) {
+
+        // the dead letter recoverer sends failed validations through the same template
+        if (record.value() instanceof OrderEventDTO orderEvent) {
+            if (orderEvent.getCreatedAt() != null) {
+                LifecycleHeaders.write(record.headers(), LifecycleHeaders.ORDER_CREATED_AT, epochMillis(orderEvent.getCreatedAt()));
+            }
+            LifecycleHeaders.write(record.headers(), LifecycleHeaders.ORDER_PUBLISHED_AT, System.currentTimeMillis());
+        } else if (record.value() instanceof OrderEventEnvelopeDTO envelope) {
+            envelope.getOrderEvents().stream()
+                    .map(OrderEventDTO::getCreatedAt)
+                    .filter(Objects::nonNull)
+                    .min(Comparator.naturalOrder())
+                    .ifPresent(createdAt -> LifecycleHeaders.write(record.headers(), LifecycleHeaders.ORDER_CREATED_AT, epochMillis(createdAt)));
+            LifecycleHeaders.write(record.headers(), LifecycleHeaders.ORDER_PUBLISHED_AT, System.currentTimeMillis());
+        }
+        return record;
+    }
+
+    @Override
+    public void onAcknowledgement(RecordMetadata metadata, Exception exception) {
+    }
+
+    @Override
+    public void onSuccess(ProducerRecord<String, Object> record, RecordMetadata recordMetadata) {
+
+        long now = System.currentTimeMillis();
+        if (record.value() instanceof OrderEventEnvelopeDTO envelope) {
+            // every order in the envelope was published by this acknowledgement
+            for (OrderEventDTO orderEvent : envelope.getOrderEvents()) {
+                if (orderEvent.getCreatedAt() != null) {
+                    record(publishTimer, epochMillis(orderEvent.getCreatedAt()), now);
+                }
+            }
+            return;
+        }
+        record(publishTimer, LifecycleHeaders.read(record.headers(), LifecycleHeaders.ORDER_CREATED_AT), now);
+    }
+
+    @Override
+    public ConsumerRecord<String, InventoryResponseDTO> intercept(ConsumerRecord<String, InventoryResponseDTO> record,
+                                                                  Consumer<String, InventoryResponseDTO> consumer) {
+        received(record);
+        return record;
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<String, InventoryResponseDTO> record, Consumer<String, InventoryResponseDTO> consumer) {
+        applied(record);
+    }
+
+    @Override
+    public ConsumerRecords<String, InventoryResponseDTO> intercept(ConsumerRecords<String, InventoryResponseDTO> records,
+                                                                   Consumer<String, InventoryResponseDTO> consumer) {
+        records.forEach(this::received);
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<String, InventoryResponseDTO> records, Consumer<String, InventoryResponseDTO> consumer) {
+        records.forEach(this::applied);
+    }
+
+    @Override
+    public void failure(ConsumerRecords<String, InventoryResponseDTO> records, Exception exception,
+                        Consumer<String, InventoryResponseDTO> consumer) {
+        records.forEach(this::applied);
+    }
+
+    /**
+     * The same metrics for a listener that hands records over to worker lanes. The listener returns
+     * before the validation is applied, so the lane calls {@link #afterRecord} itself once it is done.
+     */
+    public RecordInterceptor<String, InventoryResponseDTO> forLanes() {
+        return new RecordInterceptor<>() {
+
+            @Override
+            public ConsumerRecord<String, InventoryResponseDTO> intercept(ConsumerRecord<String, InventoryResponseDTO> record,
+                                                                          Consumer<String, InventoryResponseDTO> consumer) {
+                received(record);
+                return record;
+            }
+        };
+    }
+
+    /**
+     * Records the whole lifecycle of an order whose validation is being applied. A validation that
+     * carried no creation time is left out.
+     */
+    @Override
+    public void verdict(OrderStatusChangeDTO change) {
+
+        Long createdAt = createdAtByOrder.remove(change.getOrderId());
+        if (createdAt == null) {
+            return;
+        }
+        record(Timer.builder(LIFECYCLE_METER)
+                .tag("status", String.valueOf(change.getStatus()))
+                .description("Order creation until the inventory verdict was applied")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry), createdAt, System.currentTimeMillis());
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+
+    private void received(ConsumerRecord<String, InventoryResponseDTO> record) {
+
+        Headers headers = record.headers();
+        long inventoryReceivedAt = LifecycleHeaders.read(headers, LifecycleHeaders.INVENTORY_RECEIVED_AT);
+        record(inventoryConsumeTimer, LifecycleHeaders.read(headers, LifecycleHeaders.ORDER_PUBLISHED_AT), inventoryReceivedAt);
+        record(inventoryCheckTimer, inventoryReceivedAt, LifecycleHeaders.read(headers, LifecycleHeaders.INVENTORY_PUBLISHED_AT));
+
+        long createdAt = LifecycleHeaders.read(headers, LifecycleHeaders.ORDER_CREATED_AT);
+        if (record.value() != null && record.value().getOrderId() != null && createdAt >= 0) {
+            createdAtByOrder.put(record.value().getOrderId(), createdAt);
+        }
+    }
+
+    private void applied(ConsumerRecord<String, InventoryResponseDTO> record) {
+
+        record(responseConsumeTimer, LifecycleHeaders.read(record.headers(), LifecycleHeaders.INVENTORY_PUBLISHED_AT),
+                System.currentTimeMillis());
+        if (record.value() != null && record.value().getOrderId() != null) {
+            createdAtByOrder.remove(record.value().getOrderId());
+        }
+    }
+
+    private Timer stageTimer(String stage, String description) {
+        return Timer.builder(STAGE_METER)
+                .tag("stage", stage)
+                .description(description)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // a missing header, or clocks drifting between hosts, would give a meaningless or negative interval
+    private static void record(Timer timer, long fromMillis, long toMillis) {
+        if (fromMillis >= 0 && toMillis >= fromMillis) {
+            timer.record(Duration.ofMillis(toMillis - fromMillis));
+        }
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    int tracked() {
+        return createdAtByOrder.size();
+    }
+}
@@ -0,0 +1,81 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.event.local;
+
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderStatusChangeDTO;
+import com.sysmapproject.ms_order_service_v1.core.port.out.OrderCompletionPortOut;
+import com.sysmapproject.ms_order_service_v1.shared.config.OrderAwaitConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Waiters are plain futures keyed by order, so a parked request costs a map entry rather than a
+ * thread. A waiter removes itself from the map however it completes, which keeps timed-out and
+ * abandoned requests from piling up.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderCompletionRegistry implements OrderCompletionPortOut {
+
+    private final OrderAwaitConfig orderAwaitConfig;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<UUID, List<CompletableFuture<OrderStatusChangeDTO>>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger parked = new AtomicInteger();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("order.await.waiters", parked, AtomicInteger::get)
+                .description("Requests parked waiting for an order to leave PENDING")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<OrderStatusChangeDTO> register(UUID orderId) {
+
+        if (orderId == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+        if (parked.incrementAndGet() > orderAwaitConfig.maxWaiters) {
+            parked.decrementAndGet();
+            throw new IllegalStateException("Too many requests waiting for orders");
+        }
+
+        CompletableFuture<OrderStatusChangeDTO> waiter = new CompletableFuture<>();
+        waiters.compute(orderId, (id, list) -> {
+            List<CompletableFuture<OrderStatusChangeDTO>> parkedForOrder = list == null ? new ArrayList<>(1) : list;
+            parkedForOrder.add(waiter);
+            return parkedForOrder;
+        });
+        waiter.whenComplete((change, e) -> {
+            parked.decrementAndGet();
+            waiters.computeIfPresent(orderId, (id, list) -> {
+                list.remove(waiter);
+                return list.isEmpty() ? null : list;
+            });
+        });
+        return waiter;
+    }
+
+    @Override
+    public void notifyChanged(OrderStatusChangeDTO change) {
+
+        List<CompletableFuture<OrderStatusChangeDTO>> parkedForOrder = waiters.remove(change.getOrderId());
+        if (parkedForOrder != null) {
+            parkedForOrder.forEach(waiter -> waiter.complete(change));
+        }
+    }
+
+    public int size() {
+        return parked.get();
+    }
+}
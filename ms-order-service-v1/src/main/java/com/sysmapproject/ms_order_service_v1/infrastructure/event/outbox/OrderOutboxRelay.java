@@ -0,0 +1,82 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.event.outbox;
+
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OutboxBacklogDTO;
+import com.sysmapproject.ms_order_service_v1.core.port.out.OrderOutboxPortOut;
+import com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka.KafkaProducer;
+import com.sysmapproject.ms_order_service_v1.shared.config.OutboxConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderOutboxRelay {
+
+    private final OrderOutboxPortOut orderOutboxPortOut;
+    private final KafkaProducer kafkaProducer;
+    private final OutboxConfig outboxConfig;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private Counter publishedEvents;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("order.outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Order events written to the outbox and not yet published")
+                .register(meterRegistry);
+        TimeGauge.builder("order.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest order event still waiting in the outbox")
+                .register(meterRegistry);
+        publishedEvents = Counter.builder("order.outbox.published")
+                .description("Order events published from the outbox")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Keeps draining full batches so a backlog is worked off within one run instead of one batch per interval.
+     */
+    @Scheduled(fixedDelayString = "${order.outbox.relay-interval-ms:100}")
+    public void relay() {
+
+        try {
+            int relayed;
+            do {
+                relayed = orderOutboxPortOut.relayPending(outboxConfig.batchSize, kafkaProducer::sendOrders);
+                publishedEvents.increment(relayed);
+            } while (relayed == outboxConfig.batchSize);
+        } catch (Exception e) {
+            log.error("Error while relaying order outbox: {}", e.getMessage());
+        }
+
+        updateBacklog();
+    }
+
+    private void updateBacklog() {
+
+        try {
+            OutboxBacklogDTO backlog = orderOutboxPortOut.findBacklog();
+            LocalDateTime oldest = backlog.getOldestCreatedAt();
+
+            pendingEvents.set(backlog.getPendingEvents());
+            lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        } catch (Exception e) {
+            log.error("Error while measuring order outbox backlog: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql;
+
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.OrderItem;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded in-memory copy of recently read orders: the least recently used orders are evicted once
+ * the capacity is reached, and an entry expires after a TTL that depends on its status. A pending
+ * order is about to change and gets the short TTL; a confirmed or cancelled one only changes through
+ * an update or a delete. Orders are copied in and out, so callers never share an instance with the
+ * cache. Thread-safe.
+ */
+public class OrderCache {
+
+    // Rough shallow sizes on a 64-bit JVM with compressed references
+    static final int ENTRY_BYTES = 160;
+    static final int ORDER_BYTES = 240;
+    static final int ITEM_BYTES = 120;
+    static final int UUID_BYTES = 32;
+
+    private final Duration pendingTtl;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<UUID, Entry> entries;
+
+    private long writes;
+    private long hits;
+    private long misses;
+    private long sizeEvictions;
+    private long expirations;
+    private long invalidations;
+    private long estimatedBytes;
+
+    public OrderCache(int capacity, Duration pendingTtl, Duration ttl, Clock clock) {
+        this.pendingTtl = pendingTtl;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(Math.min(capacity, 1 << 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                sizeEvictions++;
+                estimatedBytes -= eldest.getValue().bytes();
+                return true;
+            }
+        };
+    }
+
+    public synchronized Optional<Order> get(UUID orderId) {
+
+        Entry entry = entries.get(orderId);
+        if (entry == null) {
+            misses++;
+            return Optional.empty();
+        }
+        if (!entry.expiresAt().isAfter(clock.instant())) {
+            remove(orderId);
+            expirations++;
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(copyOf(entry.order(), entry.order().getStatus(), entry.order().getUpdatedAt()));
+    }
+
+    /**
+     * Marks the start of a read from the database; pass it to {@link #put} with the order read.
+     */
+    public synchronized long stamp() {
+        return writes;
+    }
+
+    /**
+     * Caches an order read from the database, unless an order was updated or invalidated since the
+     * read started: the row read may predate that write, and caching it would undo it.
+     */
+    public synchronized void put(Order order, long stamp) {
+        if (stamp != writes) {
+            return;
+        }
+        store(copyOf(order, order.getStatus(), order.getUpdatedAt()));
+    }
+
+    /**
+     * Applies a committed status change to a cached order. An order that is not cached is left out.
+     */
+    public synchronized void updateStatus(UUID orderId, OrderStatus status, LocalDateTime updatedAt) {
+        writes++;
+        Entry entry = entries.get(orderId);
+        if (entry != null) {
+            store(copyOf(entry.order(), status, updatedAt));
+        }
+    }
+
+    public synchronized void invalidate(UUID orderId) {
+        writes++;
+        if (remove(orderId)) {
+            invalidations++;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long sizeEvictions() {
+        return sizeEvictions;
+    }
+
+    public synchronized long expirations() {
+        return expirations;
+    }
+
+    public synchronized long invalidations() {
+        return invalidations;
+    }
+
+    public synchronized long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    static long estimateBytes(Order order) {
+        long bytes = ENTRY_BYTES + ORDER_BYTES;
+        if (order.getItems() != null) {
+            for (OrderItem item : order.getItems()) {
+                bytes += ITEM_BYTES + (item.getProductId() == null ? 0 : UUID_BYTES);
+            }
+        }
+        return bytes;
+    }
+
+    private void store(Order order) {
+        Duration timeToLive = order.getStatus() == OrderStatus.PENDING ? pendingTtl : ttl;
+        Entry entry = new Entry(order, clock.instant().plus(timeToLive), estimateBytes(order));
+
+        Entry previous = entries.put(order.getId(), entry);
+        if (previous != null) {
+            estimatedBytes -= previous.bytes();
+        }
+        estimatedBytes += entry.bytes();
+    }
+
+    private boolean remove(UUID orderId) {
+        Entry removed = entries.remove(orderId);
+        if (removed == null) {
+            return false;
+        }
+        estimatedBytes -= removed.bytes();
+        return true;
+    }
+
+    private static Order copyOf(Order order, OrderStatus status, LocalDateTime updatedAt) {
+        Order copy = Order.builder()
+                .id(order.getId())
+                .customerId(order.getCustomerId())
+                .status(status)
+                .createdAt(order.getCreatedAt())
+                .updatedAt(updatedAt)
+                .build();
+
+        List<OrderItem> items = new ArrayList<>();
+        if (order.getItems() != null) {
+            for (OrderItem item : order.getItems()) {
+                items.add(OrderItem.builder()
+                        .id(item.getId())
+                        .productId(item.getProductId())
+                        .quantity(item.getQuantity())
+                        .order(copy)
+                        .build());
+            }
+        }
+        copy.setItems(items);
+        return copy;
+    }
+
+    private record Entry(Order order, Instant expiresAt, long bytes) {
+    }
+}
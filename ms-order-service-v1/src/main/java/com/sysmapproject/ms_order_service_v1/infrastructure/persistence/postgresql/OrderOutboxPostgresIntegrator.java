@@ -0,0 +1,106 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OutboxBacklogDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.OrderOutboxEvent;
+import com.sysmapproject.ms_order_service_v1.core.port.out.OrderOutboxPortOut;
+import com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql.repository.OrderOutboxRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+@Component
+public class OrderOutboxPostgresIntegrator implements OrderOutboxPortOut {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public void enqueue(OrderEventDTO orderEvent) {
+
+        try {
+            if (orderEvent == null || orderEvent.getOrderId() == null) {
+                throw new IllegalArgumentException("Order event must have an order ID");
+            }
+            orderOutboxRepository.insertEvent(UUID.randomUUID(), orderEvent.getOrderId(),
+                    objectMapper.writeValueAsString(orderEvent), LocalDateTime.now());
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error while enqueuing order event: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void enqueueAll(List<OrderEventDTO> orderEvents) {
+
+        try {
+            if (orderEvents == null || orderEvents.isEmpty()) {
+                return;
+            }
+
+            UUID[] ids = new UUID[orderEvents.size()];
+            UUID[] orderIds = new UUID[orderEvents.size()];
+            String[] payloads = new String[orderEvents.size()];
+            for (int i = 0; i < orderEvents.size(); i++) {
+                OrderEventDTO orderEvent = orderEvents.get(i);
+                if (orderEvent == null || orderEvent.getOrderId() == null) {
+                    throw new IllegalArgumentException("Order event must have an order ID");
+                }
+                ids[i] = UUID.randomUUID();
+                orderIds[i] = orderEvent.getOrderId();
+                payloads[i] = objectMapper.writeValueAsString(orderEvent);
+            }
+
+            orderOutboxRepository.insertEvents(ids, orderIds, payloads, LocalDateTime.now());
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error while enqueuing order events: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int relayPending(int limit, Consumer<List<OrderEventDTO>> publisher) {
+
+        try {
+            List<OrderOutboxEvent> events = orderOutboxRepository.lockPendingEvents(limit);
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            List<OrderEventDTO> orderEvents = new ArrayList<>(events.size());
+            for (OrderOutboxEvent event : events) {
+                orderEvents.add(objectMapper.readValue(event.getPayload(), OrderEventDTO.class));
+            }
+
+            publisher.accept(orderEvents);
+
+            orderOutboxRepository.deleteByIdIn(events.stream().map(OrderOutboxEvent::getId).toList());
+            return events.size();
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error while relaying order outbox: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public OutboxBacklogDTO findBacklog() {
+
+        try {
+            return orderOutboxRepository.findBacklog();
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error while finding order outbox backlog: " + e.getMessage(), e);
+        }
+    }
+}
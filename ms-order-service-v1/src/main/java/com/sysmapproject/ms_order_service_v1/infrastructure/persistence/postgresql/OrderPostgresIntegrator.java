@@ -1,14 +1,32 @@
 package com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql;
 
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderCursorDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderFilterDTO;
 import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
 import com.sysmapproject.ms_order_service_v1.core.port.out.OrderPortOut;
+import com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql.repository.OrderBatchInsertRepository;
+import com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql.repository.OrderKeysetRepository;
 import com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql.repository.OrderRepository;
+import com.sysmapproject.ms_order_service_v1.shared.config.OrderCacheConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @RequiredArgsConstructor
 @Component
@@ -16,6 +34,62 @@ public class OrderPostgresIntegrator implements OrderPortOut {
 
     private final OrderRepository orderRepository;
 
+    private final OrderKeysetRepository orderKeysetRepository;
+
+    private final OrderBatchInsertRepository orderBatchInsertRepository;
+
+    private final OrderCacheConfig orderCacheConfig;
+
+    private final MeterRegistry meterRegistry;
+
+    private OrderCache cache;
+
+    private Timer saveTimer;
+
+    @PostConstruct
+    void init() {
+        cache = new OrderCache(orderCacheConfig.maxEntries, Duration.ofMillis(orderCacheConfig.pendingTtlMs),
+                Duration.ofMillis(orderCacheConfig.ttlMs), Clock.systemUTC());
+
+        FunctionCounter.builder("order.cache.gets", cache, OrderCache::hits)
+                .tag("result", "hit")
+                .description("Order lookups answered from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("order.cache.gets", cache, OrderCache::misses)
+                .tag("result", "miss")
+                .description("Order lookups that went to the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("order.cache.evictions", cache, OrderCache::sizeEvictions)
+                .tag("cause", "size")
+                .description("Cached orders dropped to stay within the maximum size")
+                .register(meterRegistry);
+        FunctionCounter.builder("order.cache.evictions", cache, OrderCache::expirations)
+                .tag("cause", "expired")
+                .description("Cached orders dropped once their TTL ran out")
+                .register(meterRegistry);
+        FunctionCounter.builder("order.cache.evictions", cache, OrderCache::invalidations)
+                .tag("cause", "invalidated")
+                .description("Cached orders dropped because the order was saved or deleted")
+                .register(meterRegistry);
+        Gauge.builder("order.cache.size", cache, OrderCache::size)
+                .description("Orders currently cached")
+                .register(meterRegistry);
+        Gauge.builder("order.cache.memory", cache, OrderCache::estimatedBytes)
+                .baseUnit("bytes")
+                .description("Estimated heap held by cached orders")
+                .register(meterRegistry);
+        Gauge.builder("order.cache.entry.memory", cache, c -> c.size() == 0 ? 0 : (double) c.estimatedBytes() / c.size())
+                .baseUnit("bytes")
+                .description("Estimated heap held by one cached order on average")
+                .register(meterRegistry);
+
+        saveTimer = Timer.builder("order.lifecycle.stage")
+                .tag("stage", "db.save")
+                .description("Order saved through JPA; the insert itself may be flushed later, at commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     @Override
     public Order save(Order order) {
 
@@ -23,13 +97,30 @@ public class OrderPostgresIntegrator implements OrderPortOut {
             if (order == null) {
                 throw new IllegalArgumentException("Order cannot be null");
             }
-            return orderRepository.save(order);
+            Order saved = saveTimer.record(() -> orderRepository.save(order));
+            invalidate(order.getId());
+            return saved;
 
         } catch (Exception e) {
           throw new RuntimeException("Error while saving order: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    @Transactional
+    public void saveAll(List<Order> orders) {
+
+        try {
+            if (orders == null || orders.isEmpty()) {
+                throw new IllegalArgumentException("Orders cannot be null or empty");
+            }
+            orderBatchInsertRepository.insertAll(orders);
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error while saving orders: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public Optional<Order> findById(UUID id) {
 
@@ -37,7 +128,19 @@ public class OrderPostgresIntegrator implements OrderPortOut {
             if (id == null) {
                 throw new IllegalArgumentException("Order ID must be a positive number");
             }
-            return orderRepository.findById(id);
+            if (!orderCacheConfig.enabled) {
+                return orderRepository.findById(id);
+            }
+
+            Optional<Order> cached = cache.get(id);
+            if (cached.isPresent()) {
+                return cached;
+            }
+
+            long stamp = cache.stamp();
+            Optional<Order> order = orderRepository.findById(id);
+            order.ifPresent(found -> cache.put(found, stamp));
+            return order;
 
         } catch (Exception e) {
             throw new RuntimeException("Error finding order by ID: " + e.getMessage(), e);
@@ -45,13 +148,88 @@ public class OrderPostgresIntegrator implements OrderPortOut {
     }
 
     @Override
-    public List<Order> findAll() {
+    public boolean existsById(UUID id) {
 
         try {
-            return orderRepository.findAll();
+            if (id == null) {
+                throw new IllegalArgumentException("Order ID must be a positive number");
+            }
+            return orderRepository.existsById(id);
 
         } catch (Exception e) {
-            throw new RuntimeException("Error deleting order by ID: " + e.getMessage(), e);
+            throw new RuntimeException("Error checking order by ID: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean updateStatus(UUID id, OrderStatus expectedStatus, OrderStatus status, LocalDateTime updatedAt) {
+
+        try {
+            if (id == null) {
+                throw new IllegalArgumentException("Order ID must be a positive number");
+            }
+            if (expectedStatus == null || status == null) {
+                throw new IllegalArgumentException("Order status cannot be null");
+            }
+            boolean updated = orderRepository.updateStatus(id, expectedStatus.name(), status.name(), updatedAt) > 0;
+            if (updated) {
+                afterCommit(() -> cache.updateStatus(id, status, updatedAt));
+            }
+            return updated;
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error updating order status: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<UUID> updateStatuses(List<UUID> ids, OrderStatus expectedStatus, OrderStatus status, LocalDateTime updatedAt) {
+
+        try {
+            if (ids == null || ids.isEmpty()) {
+                return List.of();
+            }
+            if (expectedStatus == null || status == null) {
+                throw new IllegalArgumentException("Order status cannot be null");
+            }
+            List<UUID> updated = orderRepository.updateStatuses(ids.toArray(UUID[]::new), expectedStatus.name(), status.name(), updatedAt);
+            afterCommit(() -> updated.forEach(id -> cache.updateStatus(id, status, updatedAt)));
+            return updated;
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error updating order statuses: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Order> findPage(OrderFilterDTO filter, OrderCursorDTO after, int limit) {
+
+        try {
+            if (limit <= 0) {
+                throw new IllegalArgumentException("Page size must be a positive number");
+            }
+            return orderKeysetRepository.findPage(filter, after, limit);
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding orders page: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs in a transaction so the driver reads the result through a server-side cursor instead of
+     * buffering it whole.
+     */
+    @Override
+    @Transactional
+    public void streamAll(OrderFilterDTO filter, Consumer<Order> consumer) {
+
+        try {
+            orderKeysetRepository.streamAll(filter, consumer);
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error streaming orders: " + e.getMessage(), e);
         }
     }
 
@@ -63,9 +241,41 @@ public class OrderPostgresIntegrator implements OrderPortOut {
                 throw new IllegalArgumentException("Order ID must be a positive number");
             }
             orderRepository.deleteById(id);
+            invalidate(id);
 
         } catch (Exception e) {
             throw new RuntimeException("Error deleting order by ID: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Drops the order now and again once the transaction commits, so a read racing the write cannot
+     * leave the old row behind.
+     */
+    private void invalidate(UUID id) {
+        if (id == null) {
+            return;
+        }
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(() -> cache.invalidate(id));
+        }
+    }
+
+    /**
+     * Only committed changes make it into the cache; one applied from a transaction that later rolls
+     * back would answer with a status the order never had.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,63 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql.repository;
+
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.OrderItem;
+import com.sysmapproject.ms_order_service_v1.shared.config.OrderBatchConfig;
+import com.sysmapproject.ms_order_service_v1.shared.util.IdGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Inserts orders and their items as JDBC batches: all orders first, then all items, each in chunks of
+ * {@code order.batch.insert-batch-size}. Together with {@code reWriteBatchedInserts} on the connection
+ * URL the driver sends each chunk as a few multi-row INSERTs.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderBatchInsertRepository {
+
+    private static final String INSERT_ORDER = """
+            INSERT INTO orders (id, customer_id, status, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_ITEM = """
+            INSERT INTO order_items (id, order_id, product_id, quantity)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderBatchConfig orderBatchConfig;
+    private final IdGenerator idGenerator;
+
+    public void insertAll(List<Order> orders) {
+
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orders, orderBatchConfig.insertBatchSize, (ps, order) -> {
+            ps.setObject(1, order.getId());
+            ps.setLong(2, order.getCustomerId());
+            ps.setString(3, order.getStatus().name());
+            ps.setTimestamp(4, Timestamp.valueOf(order.getCreatedAt()));
+            ps.setTimestamp(5, Timestamp.valueOf(order.getUpdatedAt()));
+        });
+
+        List<OrderItem> items = orders.stream()
+                .flatMap(order -> order.getItems().stream())
+                .toList();
+        items.forEach(item -> {
+            if (item.getId() == null) {
+                item.setId(idGenerator.next());
+            }
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_ITEM, items, orderBatchConfig.insertBatchSize, (ps, item) -> {
+            ps.setObject(1, item.getId());
+            ps.setObject(2, item.getOrder().getId());
+            ps.setString(3, item.getProductId().toString());
+            ps.setInt(4, item.getQuantity());
+        });
+    }
+}
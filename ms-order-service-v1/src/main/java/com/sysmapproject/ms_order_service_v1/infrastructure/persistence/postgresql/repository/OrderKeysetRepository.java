@@ -0,0 +1,135 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql.repository;
+
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderCursorDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderFilterDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.OrderItem;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads orders in {@code (created_at, id)} order straight over JDBC. Orders are joined with their
+ * items and the rows of one order are folded into a single {@link Order} as they arrive, so a page
+ * costs one statement and a stream holds no more than the current order and one fetch of rows.
+ */
+@Repository
+public class OrderKeysetRepository {
+
+    static final int FETCH_SIZE = 500;
+
+    private static final String ORDER_COLUMNS = "id, customer_id, status, created_at, updated_at";
+
+    private static final String ITEM_JOIN = """
+            SELECT o.id, o.customer_id, o.status, o.created_at, o.updated_at,
+                   i.id AS item_id, i.product_id, i.quantity
+            FROM (%s) o
+            LEFT JOIN order_items i ON i.order_id = o.id
+            ORDER BY o.created_at, o.id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public OrderKeysetRepository(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        // PostgreSQL only honours the fetch size inside a transaction, where it reads through a portal
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    public List<Order> findPage(OrderFilterDTO filter, OrderCursorDTO after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        String orders = "SELECT " + ORDER_COLUMNS + " FROM orders" + where(filter, after, params)
+                + " ORDER BY created_at, id LIMIT :limit";
+
+        List<Order> page = new ArrayList<>();
+        query(ITEM_JOIN.formatted(orders), params, page::add);
+        return page;
+    }
+
+    public void streamAll(OrderFilterDTO filter, Consumer<Order> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String orders = "SELECT " + ORDER_COLUMNS + " FROM orders" + where(filter, null, params);
+
+        query(ITEM_JOIN.formatted(orders), params, consumer);
+    }
+
+    private void query(String sql, MapSqlParameterSource params, Consumer<Order> consumer) {
+        OrderRowFolder folder = new OrderRowFolder(consumer);
+        jdbcTemplate.query(sql, params, folder);
+        folder.finish();
+    }
+
+    private String where(OrderFilterDTO filter, OrderCursorDTO after, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        if (filter != null && filter.getStatus() != null) {
+            conditions.add("status = :status");
+            params.addValue("status", filter.getStatus().name());
+        }
+        if (filter != null && filter.getCustomerId() != null) {
+            conditions.add("customer_id = :customerId");
+            params.addValue("customerId", filter.getCustomerId());
+        }
+        if (after != null) {
+            conditions.add("(created_at, id) > (:afterCreatedAt, :afterId)");
+            params.addValue("afterCreatedAt", after.getCreatedAt());
+            params.addValue("afterId", after.getId());
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static final class OrderRowFolder implements RowCallbackHandler {
+
+        private final Consumer<Order> consumer;
+        private Order current;
+
+        private OrderRowFolder(Consumer<Order> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            UUID orderId = rs.getObject("id", UUID.class);
+            if (current == null || !current.getId().equals(orderId)) {
+                finish();
+                current = Order.builder()
+                        .id(orderId)
+                        .customerId(rs.getLong("customer_id"))
+                        .status(OrderStatus.valueOf(rs.getString("status")))
+                        .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                        .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                        .items(new ArrayList<>())
+                        .build();
+            }
+
+            UUID itemId = rs.getObject("item_id", UUID.class);
+            if (itemId != null) {
+                current.getItems().add(OrderItem.builder()
+                        .id(itemId)
+                        .productId(UUID.fromString(rs.getString("product_id")))
+                        .quantity(rs.getInt("quantity"))
+                        .order(current)
+                        .build());
+            }
+        }
+
+        private void finish() {
+            if (current != null) {
+                consumer.accept(current);
+                current = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql.repository;
+
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OutboxBacklogDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.OrderOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, UUID> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO order_outbox (id, order_id, payload, created_at)
+            VALUES (:id, :orderId, :payload, :createdAt)
+            """, nativeQuery = true)
+    int insertEvent(@Param("id") UUID id, @Param("orderId") UUID orderId,
+                    @Param("payload") String payload, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO order_outbox (id, order_id, payload, created_at)
+            SELECT e.id, e.order_id, e.payload, :createdAt
+            FROM unnest(CAST(:ids AS uuid[]), CAST(:orderIds AS uuid[]), CAST(:payloads AS text[])) AS e(id, order_id, payload)
+            """, nativeQuery = true)
+    int insertEvents(@Param("ids") UUID[] ids, @Param("orderIds") UUID[] orderIds,
+                     @Param("payloads") String[] payloads, @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Rows locked by another relay are skipped rather than waited on, so several instances drain
+     * disjoint batches.
+     */
+    @Query(value = """
+            SELECT *
+            FROM order_outbox
+            ORDER BY created_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OrderOutboxEvent> lockPendingEvents(@Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM OrderOutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<UUID> ids);
+
+    @Query("SELECT new com.sysmapproject.ms_order_service_v1.core.domain.dto.OutboxBacklogDTO(COUNT(e), MIN(e.createdAt)) FROM OrderOutboxEvent e")
+    OutboxBacklogDTO findBacklog();
+}
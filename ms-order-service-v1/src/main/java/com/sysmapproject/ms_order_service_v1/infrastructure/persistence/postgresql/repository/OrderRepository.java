@@ -2,10 +2,12 @@ package com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgre
 
 import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,8 +18,23 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     @Query("SELECT o FROM Order o JOIN FETCH o.items WHERE o.id = :id")
     Optional<Order> findById(@Param("id") UUID id);
 
-    @Query("SELECT DISTINCT o FROM Order o JOIN FETCH o.items")
-    List<Order> findAll();
+    @Modifying
+    @Query(value = """
+            UPDATE orders
+            SET status = :status, updated_at = :updatedAt
+            WHERE id = :id AND status = :expectedStatus
+            """, nativeQuery = true)
+    int updateStatus(@Param("id") UUID id, @Param("expectedStatus") String expectedStatus,
+                     @Param("status") String status, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query(value = """
+            UPDATE orders
+            SET status = :status, updated_at = :updatedAt
+            WHERE id = ANY(CAST(:ids AS uuid[])) AND status = :expectedStatus
+            RETURNING id
+            """, nativeQuery = true)
+    List<UUID> updateStatuses(@Param("ids") UUID[] ids, @Param("expectedStatus") String expectedStatus,
+                              @Param("status") String status, @Param("updatedAt") LocalDateTime updatedAt);
 
     void deleteById(UUID id);
 }
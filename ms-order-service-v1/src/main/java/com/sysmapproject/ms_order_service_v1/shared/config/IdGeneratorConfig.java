@@ -0,0 +1,28 @@
+package com.sysmapproject.ms_order_service_v1.shared.config;
+
+import com.sysmapproject.ms_order_service_v1.shared.util.ConfiguredUuidValueGenerator;
+import com.sysmapproject.ms_order_service_v1.shared.util.IdGenerator;
+import com.sysmapproject.ms_order_service_v1.shared.util.RandomUuidGenerator;
+import com.sysmapproject.ms_order_service_v1.shared.util.UuidV7Generator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    @Value("${order.id.generator:uuid-v7}")
+    public String generator;
+
+    @Bean
+    public IdGenerator idGenerator() {
+        IdGenerator idGenerator = switch (generator) {
+            case "uuid-v7" -> new UuidV7Generator();
+            case "random" -> new RandomUuidGenerator();
+            default -> throw new IllegalStateException("Unknown order.id.generator: " + generator);
+        };
+        // Hibernate creates its ID generators itself, so entities with generated IDs are pointed at the bean here
+        ConfiguredUuidValueGenerator.use(idGenerator);
+        return idGenerator;
+    }
+}
@@ -1,7 +1,13 @@
 package com.sysmapproject.ms_order_service_v1.shared.config;
 
-import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderEventDTO;
-import com.sysmapproject.ms_order_service_v1.kafka.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.ProducerProfile;
+import com.sysmapproject.contracts.codec.BinaryContractCodec;
+import com.sysmapproject.contracts.codec.BinaryContractSerializer;
+import com.sysmapproject.contracts.codec.ContractDeserializer;
+import com.sysmapproject.contracts.codec.WireFormat;
+import com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka.OrderLifecycleMetrics;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -9,10 +15,15 @@ import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.CompositeProducerListener;
+import org.springframework.kafka.support.LoggingProducerListener;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.util.backoff.FixedBackOff;
@@ -35,46 +46,122 @@ public class KafkaConfig {
     @Value("${spring.kafka.topics.consumer-topic}")
     public String topicConsumerName;
 
+    @Value("${order.kafka.batch.enabled:false}")
+    public boolean batchEnabled;
+
+    @Value("${order.kafka.batch.max-size:500}")
+    public int batchMaxSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    public boolean virtualThreads;
+
+    @Value("${order.kafka.wire-format:json}")
+    public WireFormat wireFormat;
+
+    @Value("${order.kafka.producer.profile:default}")
+    public ProducerProfile producerProfile;
+
+    @Value("${order.kafka.partitions:1}")
+    public int partitions;
+
+    @Value("${order.kafka.concurrency:1}")
+    public int concurrency;
+
+    @Value("${order.kafka.parallel.enabled:false}")
+    public boolean parallelEnabled;
+
+    @Bean
+    public NewTopic orderEventsTopic() {
+        return new NewTopic(topicProducerName, partitions, (short) 1);
+    }
 
     @Bean
-    public ProducerFactory<String, OrderEventDTO> producerFactory() {
+    public NewTopic inventoryValidatedTopic() {
+        return new NewTopic(topicConsumerName, partitions, (short) 1);
+    }
+
+    // failed validations keep their partition number, so the dead letter topic needs as many
+    @Bean
+    public NewTopic deadLetterTopic() {
+        return new NewTopic(deadLetterTopicName(), partitions, (short) 1);
+    }
+
+    @Bean
+    public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        // consumers read both formats, so binary is only switched on once every one of them is upgraded
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                wireFormat == WireFormat.BINARY ? BinaryContractSerializer.class : JsonSerializer.class);
         configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false); // evita problemas com headers
+        producerProfile.applyTo(configProps);
 
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
     @Bean
-    public KafkaTemplate<String, OrderEventDTO> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, Object> kafkaTemplate(OrderLifecycleMetrics orderLifecycleMetrics) {
+        KafkaTemplate<String, Object> template = new KafkaTemplate<>(producerFactory());
+        // stamps the lifecycle headers on every order event or envelope and times its publication
+        template.setProducerInterceptor(orderLifecycleMetrics);
+        template.setProducerListener(new CompositeProducerListener<>(new LoggingProducerListener<>(), orderLifecycleMetrics));
+        return template;
     }
 
     @Bean
     public ConsumerFactory<String, InventoryResponseDTO> consumerFactory() {
-        JsonDeserializer<InventoryResponseDTO> deserializer = new JsonDeserializer<>(InventoryResponseDTO.class);
-        deserializer.addTrustedPackages("*");
-        deserializer.setUseTypeMapperForKey(true);
+        JsonDeserializer<InventoryResponseDTO> jsonDeserializer = new JsonDeserializer<>(InventoryResponseDTO.class);
+        jsonDeserializer.addTrustedPackages("*");
+        jsonDeserializer.setUseTypeMapperForKey(true);
+        ContractDeserializer<InventoryResponseDTO> deserializer =
+                new ContractDeserializer<>(BinaryContractCodec::decodeInventoryResponse, jsonDeserializer);
 
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, deserializer);
+        // skip validations from aborted inventory transactions
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+
+        if (batchEnabled) {
+            props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxSize);
+            // an unreadable record reaches the batch listener as null instead of failing the whole poll
+            return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ErrorHandlingDeserializer<>(deserializer));
+        }
 
         return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), deserializer);
     }
 
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, InventoryResponseDTO> kafkaListenerContainerFactory(KafkaTemplate<String, OrderEventDTO> kafkaTemplate) {
+    public ConcurrentKafkaListenerContainerFactory<String, InventoryResponseDTO> kafkaListenerContainerFactory(KafkaTemplate<String, Object> kafkaTemplate,
+                                                                                                      OrderLifecycleMetrics orderLifecycleMetrics) {
         ConcurrentKafkaListenerContainerFactory<String, InventoryResponseDTO> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        boolean lanes = parallelEnabled && !batchEnabled;
         factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(batchEnabled);
+        factory.setConcurrency(concurrency);
+        factory.setRecordInterceptor(lanes ? orderLifecycleMetrics.forLanes() : orderLifecycleMetrics);
+        factory.setBatchInterceptor(orderLifecycleMetrics);
+
+        if (lanes) {
+            // records are acknowledged once their lane applied them, possibly out of order, and the
+            // container only commits up to the first record still waiting in a lane
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            factory.getContainerProperties().setAsyncAcks(true);
+        }
+
+        if (virtualThreads) {
+            // each consumer blocks in poll() and in the listener, which costs a virtual thread next to nothing
+            SimpleAsyncTaskExecutor listenerExecutor = new SimpleAsyncTaskExecutor("order-kafka-");
+            listenerExecutor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(listenerExecutor);
+        }
 
         DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
-                (r, e) -> new org.apache.kafka.common.TopicPartition(topicProducerName + ".DLQ", r.partition()));
+                (r, e) -> new org.apache.kafka.common.TopicPartition(deadLetterTopicName(), r.partition()));
 
         DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(1000L, 3));
 
@@ -86,4 +173,8 @@ public class KafkaConfig {
 
         return factory;
     }
+
+    private String deadLetterTopicName() {
+        return topicProducerName + ".DLQ";
+    }
 }
@@ -0,0 +1,14 @@
+package com.sysmapproject.ms_order_service_v1.shared.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OrderAwaitConfig {
+
+    @Value("${order.await.max-waiters:50000}")
+    public int maxWaiters;
+
+    @Value("${order.await.max-timeout-ms:60000}")
+    public long maxTimeoutMs;
+}
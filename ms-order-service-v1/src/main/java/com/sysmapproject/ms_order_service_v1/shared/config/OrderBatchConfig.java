@@ -0,0 +1,14 @@
+package com.sysmapproject.ms_order_service_v1.shared.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OrderBatchConfig {
+
+    @Value("${order.batch.max-orders:1000}")
+    public int maxOrders;
+
+    @Value("${order.batch.insert-batch-size:500}")
+    public int insertBatchSize;
+}
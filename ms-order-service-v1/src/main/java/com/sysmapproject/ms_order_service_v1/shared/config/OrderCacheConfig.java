@@ -0,0 +1,20 @@
+package com.sysmapproject.ms_order_service_v1.shared.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OrderCacheConfig {
+
+    @Value("${order.cache.enabled:true}")
+    public boolean enabled;
+
+    @Value("${order.cache.max-entries:10000}")
+    public int maxEntries;
+
+    @Value("${order.cache.pending-ttl-ms:1000}")
+    public long pendingTtlMs;
+
+    @Value("${order.cache.ttl-ms:300000}")
+    public long ttlMs;
+}
@@ -0,0 +1,33 @@
+package com.sysmapproject.ms_order_service_v1.shared.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OrderEnvelopeConfig {
+
+    @Value("${order.kafka.envelope.enabled:false}")
+    public boolean enabled;
+
+    @Value("${order.kafka.envelope.max-orders:100}")
+    public int maxOrders;
+
+    @Value("${order.kafka.envelope.max-bytes:65536}")
+    public int maxBytes;
+
+    @Value("${order.outbox.enabled:true}")
+    boolean outboxEnabled;
+
+    /**
+     * Envelopes are only filled by the outbox relay, which retries a batch until the broker took it.
+     * Without the outbox an order would have to wait in memory for its envelope, and a failed send
+     * would lose it after the order was already committed.
+     */
+    @PostConstruct
+    void requireOutbox() {
+        if (enabled && !outboxEnabled) {
+            throw new IllegalStateException("order.kafka.envelope.enabled requires order.outbox.enabled");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.sysmapproject.ms_order_service_v1.shared.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+
+    @Value("${order.outbox.enabled:true}")
+    public boolean enabled;
+
+    @Value("${order.outbox.batch-size:200}")
+    public int batchSize;
+}
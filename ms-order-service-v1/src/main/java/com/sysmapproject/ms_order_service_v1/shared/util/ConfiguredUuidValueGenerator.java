@@ -0,0 +1,23 @@
+package com.sysmapproject.ms_order_service_v1.shared.util;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+
+/**
+ * Lets {@code @UuidGenerator} fields take their values from the application's {@link IdGenerator}.
+ */
+public class ConfiguredUuidValueGenerator implements UuidValueGenerator {
+
+    private static volatile IdGenerator idGenerator = new UuidV7Generator();
+
+    public static void use(IdGenerator generator) {
+        idGenerator = generator;
+    }
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return idGenerator.next();
+    }
+}
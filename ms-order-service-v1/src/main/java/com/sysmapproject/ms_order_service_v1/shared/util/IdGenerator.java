@@ -0,0 +1,8 @@
+package com.sysmapproject.ms_order_service_v1.shared.util;
+
+import java.util.UUID;
+
+public interface IdGenerator {
+
+    UUID next();
+}
@@ -0,0 +1,11 @@
+package com.sysmapproject.ms_order_service_v1.shared.util;
+
+import java.util.UUID;
+
+public class RandomUuidGenerator implements IdGenerator {
+
+    @Override
+    public UUID next() {
+        return UUID.randomUUID();
+    }
+}
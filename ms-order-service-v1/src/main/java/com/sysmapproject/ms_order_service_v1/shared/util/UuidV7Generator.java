@@ -0,0 +1,46 @@
+package com.sysmapproject.ms_order_service_v1.shared.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Time-ordered UUIDs as specified by RFC 9562, version 7: 48 bits of Unix milliseconds, a 12-bit
+ * counter for IDs issued within the same millisecond, and 62 random bits. IDs from one generator
+ * are strictly increasing, also in the byte order Postgres uses for {@code uuid}, so new rows are
+ * appended to the right edge of the primary key index instead of landing on random pages.
+ */
+public class UuidV7Generator implements IdGenerator {
+
+    private static final int MAX_COUNTER = 0xFFF;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private long lastMillis;
+    private int counter;
+
+    @Override
+    public UUID next() {
+        long millis;
+        int sequence;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                // start low in the range so a busy millisecond rarely runs out of counter values
+                counter = random.nextInt(MAX_COUNTER / 2);
+            } else if (counter < MAX_COUNTER) {
+                // same millisecond, or the clock went back: keep counting on the last timestamp
+                counter++;
+            } else {
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+
+        long mostSignificantBits = (millis << 16) | 0x7000L | sequence;
+        long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
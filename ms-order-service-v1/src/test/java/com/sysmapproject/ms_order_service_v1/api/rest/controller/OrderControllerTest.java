@@ -1,17 +1,33 @@
 package com.sysmapproject.ms_order_service_v1.api.rest.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderCreationResultDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderFilterDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderPageDTO;
 import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
 import com.sysmapproject.ms_order_service_v1.core.port.in.OrderPortIn;
+import com.sysmapproject.ms_order_service_v1.shared.config.OrderAwaitConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
-import static com.sysmapproject.ms_order_service_v1.shared.enums.OrderStatus.PENDING;
+import static com.sysmapproject.contracts.OrderStatus.CONFIRMED;
+import static com.sysmapproject.contracts.OrderStatus.PENDING;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -20,6 +36,12 @@ class OrderControllerTest {
     @Mock
     private OrderPortIn orderService;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private OrderAwaitConfig orderAwaitConfig = new OrderAwaitConfig();
+
     @InjectMocks
     private OrderController orderController;
 
@@ -28,6 +50,7 @@ class OrderControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        orderAwaitConfig.maxTimeoutMs = 60_000;
         sampleOrder = Order.builder()
                 .id(UUID.randomUUID())
                 .customerId(1L)
@@ -108,26 +131,166 @@ class OrderControllerTest {
     }
 
     @Test
-    void getAllOrders_Success() {
-        List<Order> orders = List.of(sampleOrder);
-        when(orderService.getAllOrders()).thenReturn(orders);
+    @SuppressWarnings("unchecked")
+    void awaitOrder_ResolvedOrder_ShouldReturnIt() {
+        sampleOrder.setStatus(CONFIRMED);
+        when(orderService.awaitOrderCompletion(sampleOrder.getId())).thenReturn(CompletableFuture.completedFuture(sampleOrder));
 
-        ResponseEntity<List<Order>> response = orderController.getAllOrders();
+        DeferredResult<ResponseEntity<Order>> result = orderController.awaitOrder(sampleOrder.getId(), 30_000);
 
+        ResponseEntity<Order> response = (ResponseEntity<Order>) result.getResult();
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(1, response.getBody().size());
-        verify(orderService, times(1)).getAllOrders();
+        assertEquals(CONFIRMED, response.getBody().getStatus());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void awaitOrder_PendingOrder_ShouldAnswerOnceItCompletes() {
+        CompletableFuture<Order> completion = new CompletableFuture<>();
+        when(orderService.awaitOrderCompletion(sampleOrder.getId())).thenReturn(completion);
+
+        DeferredResult<ResponseEntity<Order>> result = orderController.awaitOrder(sampleOrder.getId(), 30_000);
+        assertFalse(result.hasResult());
+
+        sampleOrder.setStatus(CONFIRMED);
+        completion.complete(sampleOrder);
+
+        assertEquals(CONFIRMED, ((ResponseEntity<Order>) result.getResult()).getBody().getStatus());
     }
 
     @Test
-    void getAllOrders_EmptyList() {
-        when(orderService.getAllOrders()).thenReturn(Collections.emptyList());
+    @SuppressWarnings("unchecked")
+    void awaitOrder_TimedOut_ShouldAnswerAcceptedWithoutReadingTheOrder() throws Exception {
+        CompletableFuture<Order> completion = new CompletableFuture<>();
+        when(orderService.awaitOrderCompletion(sampleOrder.getId())).thenReturn(completion);
 
-        ResponseEntity<List<Order>> response = orderController.getAllOrders();
+        DeferredResult<ResponseEntity<Order>> result = orderController.awaitOrder(sampleOrder.getId(), 30_000);
+        DeferredResultProcessingInterceptor timeoutHandler = ReflectionTestUtils.invokeMethod(result, "getInterceptor");
+        timeoutHandler.handleTimeout(null, result);
+
+        ResponseEntity<Order> response = (ResponseEntity<Order>) result.getResult();
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertTrue(completion.isCancelled());
+        verify(orderService, never()).getOrderById(sampleOrder.getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void awaitOrder_InvalidTimeout_ShouldReturnBadRequest() {
+        DeferredResult<ResponseEntity<Order>> result = orderController.awaitOrder(sampleOrder.getId(), 120_000);
+
+        assertEquals(HttpStatus.BAD_REQUEST, ((ResponseEntity<Order>) result.getResult()).getStatusCode());
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void awaitOrder_TooManyWaiters_ShouldReturnServiceUnavailable() {
+        when(orderService.awaitOrderCompletion(sampleOrder.getId()))
+                .thenThrow(new RuntimeException("Error while awaiting order: Too many requests waiting for orders",
+                        new IllegalStateException("Too many requests waiting for orders")));
+
+        DeferredResult<ResponseEntity<Order>> result = orderController.awaitOrder(sampleOrder.getId(), 30_000);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ((ResponseEntity<Order>) result.getResult()).getStatusCode());
+    }
+
+    @Test
+    void orderEvents_PendingOrder_ShouldOpenEventStream() {
+        when(orderService.awaitOrderCompletion(sampleOrder.getId())).thenReturn(new CompletableFuture<>());
+
+        ResponseEntity<SseEmitter> response = orderController.orderEvents(sampleOrder.getId(), 30_000);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertTrue(response.getBody().isEmpty());
-        verify(orderService, times(1)).getAllOrders();
+        assertEquals(MediaType.TEXT_EVENT_STREAM, response.getHeaders().getContentType());
+        assertEquals(30_000L, response.getBody().getTimeout());
+    }
+
+    @Test
+    void orderEvents_OrderNotFound_ShouldReturnBadRequest() {
+        when(orderService.awaitOrderCompletion(sampleOrder.getId())).thenThrow(new RuntimeException("Order not found"));
+
+        ResponseEntity<SseEmitter> response = orderController.orderEvents(sampleOrder.getId(), 30_000);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void createOrders_Success() {
+        List<OrderCreationResultDTO> results = List.of(
+                OrderCreationResultDTO.builder().index(0).orderId(sampleOrder.getId()).created(true).build(),
+                OrderCreationResultDTO.builder().index(1).created(false).error("Order must have at least one item").build());
+        when(orderService.createOrders(anyList())).thenReturn(results);
+
+        ResponseEntity<List<OrderCreationResultDTO>> response = orderController.createOrders(List.of(sampleOrder, new Order()));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    @Test
+    void createOrders_InvalidBatch() {
+        when(orderService.createOrders(anyList())).thenThrow(new IllegalArgumentException("A batch cannot have more than 1000 orders"));
+
+        ResponseEntity<List<OrderCreationResultDTO>> response = orderController.createOrders(List.of(sampleOrder));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void createOrders_UnexpectedError() {
+        when(orderService.createOrders(anyList())).thenThrow(new RuntimeException("Error while creating orders: Database error"));
+
+        ResponseEntity<List<OrderCreationResultDTO>> response = orderController.createOrders(List.of(sampleOrder));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
+    @Test
+    void getOrders_Success() {
+        OrderPageDTO page = new OrderPageDTO(List.of(sampleOrder), "next");
+        when(orderService.getOrders(new OrderFilterDTO(PENDING, 1L), "cursor", 10)).thenReturn(page);
+
+        ResponseEntity<OrderPageDTO> response = orderController.getOrders(PENDING, 1L, "cursor", 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getOrders().size());
+        assertEquals("next", response.getBody().getNextCursor());
+        verify(orderService, times(1)).getOrders(new OrderFilterDTO(PENDING, 1L), "cursor", 10);
+    }
+
+    @Test
+    void getOrders_EmptyPage() {
+        when(orderService.getOrders(new OrderFilterDTO(), null, 50)).thenReturn(new OrderPageDTO(Collections.emptyList(), null));
+
+        ResponseEntity<OrderPageDTO> response = orderController.getOrders(null, null, null, 50);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().getOrders().isEmpty());
+        assertNull(response.getBody().getNextCursor());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamOrders_ShouldWriteOneJsonLinePerOrder() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Order> consumer = invocation.getArgument(1);
+            consumer.accept(sampleOrder);
+            consumer.accept(sampleOrder);
+            return null;
+        }).when(orderService).streamOrders(eq(new OrderFilterDTO(PENDING, null)), any(Consumer.class));
+
+        ResponseEntity<StreamingResponseBody> response = orderController.streamOrders(PENDING, null);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = outputStream.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(sampleOrder.getId(), objectMapper.readValue(lines[0], Order.class).getId());
     }
 
     @Test
@@ -190,15 +353,15 @@ class OrderControllerTest {
     }
 
     @Test
-    void getAllOrders_InternalServerError() {
-        when(orderService.getAllOrders())
+    void getOrders_InternalServerError() {
+        when(orderService.getOrders(any(), any(), anyInt()))
                 .thenThrow(new RuntimeException("DB Connection lost"));
 
-        ResponseEntity<List<Order>> response = orderController.getAllOrders();
+        ResponseEntity<OrderPageDTO> response = orderController.getOrders(null, null, null, 50);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNull(response.getBody());
-        verify(orderService, times(1)).getAllOrders();
+        verify(orderService, times(1)).getOrders(any(), any(), anyInt());
     }
 
     @Test
@@ -1,9 +1,9 @@
 package com.sysmapproject.ms_order_service_v1.core.application.mapper;
 
-import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderStatus;
 import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
 import com.sysmapproject.ms_order_service_v1.core.domain.entity.OrderItem;
-import com.sysmapproject.ms_order_service_v1.shared.enums.OrderStatus;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
@@ -22,7 +22,7 @@ class OrderMapperTest {
         LocalDateTime now = LocalDateTime.now();
 
         OrderItem orderItem = OrderItem.builder()
-                .productId(UUID.randomUUID().toString())
+                .productId(UUID.randomUUID())
                 .quantity(5)
                 .build();
 
@@ -40,11 +40,11 @@ class OrderMapperTest {
         assertNotNull(dto);
         assertEquals(orderId, dto.getOrderId());
         assertEquals(customerId, dto.getCustomerId());
-        assertEquals("PENDING", dto.getStatus());
+        assertEquals(OrderStatus.PENDING, dto.getStatus());
         assertEquals(now, dto.getCreatedAt());
         assertEquals(now, dto.getUpdatedAt());
         assertEquals(1, dto.getItems().size());
-        assertEquals(orderItem.getProductId(), dto.getItems().get(0).getProductId().toString());
+        assertSame(orderItem.getProductId(), dto.getItems().get(0).getProductId());
         assertEquals(orderItem.getQuantity(), dto.getItems().get(0).getQuantity());
     }
 
@@ -99,29 +99,22 @@ class OrderMapperTest {
     }
 
     @Test
-    void toOrderEventDTO_InvalidProductId_ThrowsException() {
-        UUID orderId = UUID.randomUUID();
-        Long customerId = 56789L;
-        LocalDateTime now = LocalDateTime.now();
-
-        OrderItem invalidItem = OrderItem.builder()
-                .productId("invalid-uuid")
+    void toOrderEventDTO_ItemWithoutProductId_KeepsItNull() {
+        OrderItem item = OrderItem.builder()
+                .productId(null)
                 .quantity(3)
                 .build();
 
         Order order = Order.builder()
-                .id(orderId)
-                .customerId(customerId)
+                .id(UUID.randomUUID())
+                .customerId(56789L)
                 .status(OrderStatus.CANCELLED)
-                .createdAt(now)
-                .updatedAt(now)
-                .items(List.of(invalidItem))
+                .items(List.of(item))
                 .build();
 
-        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
-            OrderMapper.toOrderEventDTO(order);
-        });
+        OrderEventDTO dto = OrderMapper.toOrderEventDTO(order);
 
-        assertTrue(exception.getMessage().contains("Invalid UUID string"));
+        assertNull(dto.getItems().get(0).getProductId());
+        assertEquals(3, dto.getItems().get(0).getQuantity());
     }
 }
@@ -0,0 +1,37 @@
+package com.sysmapproject.ms_order_service_v1.core.domain.dto;
+
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCursorDTOTest {
+
+    @Test
+    void encode_ShouldRoundTripThroughDecode() {
+        Order order = Order.builder()
+                .id(UUID.randomUUID())
+                .createdAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123456000))
+                .build();
+
+        OrderCursorDTO cursor = OrderCursorDTO.of(order);
+
+        assertEquals(cursor, OrderCursorDTO.decode(cursor.encode()));
+    }
+
+    @Test
+    void encode_ShouldBeUrlSafe() {
+        OrderCursorDTO cursor = new OrderCursorDTO(LocalDateTime.now(), UUID.randomUUID());
+
+        assertTrue(cursor.encode().matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_InvalidCursor_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> OrderCursorDTO.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> OrderCursorDTO.decode("%%%"));
+    }
+}
@@ -27,14 +27,14 @@ class OrderItemTest {
     void shouldCreateOrderItemSuccessfully() {
         OrderItem orderItem = OrderItem.builder()
                 .id(orderItemId)
-                .productId(productId.toString())
+                .productId(productId)
                 .quantity(5)
                 .order(order)
                 .build();
 
         assertNotNull(orderItem);
         assertEquals(orderItemId, orderItem.getId());
-        assertEquals(productId.toString(), orderItem.getProductId());
+        assertEquals(productId, orderItem.getProductId());
         assertEquals(5, orderItem.getQuantity());
         assertEquals(order, orderItem.getOrder());
     }
@@ -60,7 +60,7 @@ class OrderItemTest {
         Order order = Order.builder().id(UUID.randomUUID()).build();
 
         OrderItem orderItem = OrderItem.builder()
-                .productId(productId.toString())
+                .productId(productId)
                 .quantity(null)
                 .order(order)
                 .build();
@@ -75,7 +75,7 @@ class OrderItemTest {
         UUID productId = UUID.randomUUID();
 
         OrderItem orderItem = OrderItem.builder()
-                .productId(productId.toString())
+                .productId(productId)
                 .quantity(5)
                 .order(null)
                 .build();
@@ -89,7 +89,7 @@ class OrderItemTest {
     void shouldAllowQuantityUpdate() {
         OrderItem orderItem = OrderItem.builder()
                 .id(orderItemId)
-                .productId(productId.toString())
+                .productId(productId)
                 .quantity(5)
                 .order(order)
                 .build();
@@ -103,22 +103,22 @@ class OrderItemTest {
     void shouldAllowProductIdUpdate() {
         OrderItem orderItem = OrderItem.builder()
                 .id(orderItemId)
-                .productId(productId.toString())
+                .productId(productId)
                 .quantity(5)
                 .order(order)
                 .build();
 
         UUID newProductId = UUID.randomUUID();
-        orderItem.setProductId(newProductId.toString());
+        orderItem.setProductId(newProductId);
 
-        assertEquals(newProductId.toString(), orderItem.getProductId());
+        assertEquals(newProductId, orderItem.getProductId());
     }
 
     @Test
     void shouldHandleNullIdGracefully() {
         OrderItem orderItem = OrderItem.builder()
                 .id(null)
-                .productId(productId.toString())
+                .productId(productId)
                 .quantity(5)
                 .order(order)
                 .build();
@@ -132,7 +132,7 @@ class OrderItemTest {
         Order order = Order.builder().id(UUID.randomUUID()).build();
 
         OrderItem orderItem = OrderItem.builder()
-                .productId(productId.toString())
+                .productId(productId)
                 .quantity(-10)
                 .order(order)
                 .build();
@@ -146,7 +146,7 @@ class OrderItemTest {
     void shouldConvertToStringWithoutOrderReference() {
         OrderItem orderItem = OrderItem.builder()
                 .id(orderItemId)
-                .productId(productId.toString())
+                .productId(productId)
                 .quantity(5)
                 .order(order)
                 .build();
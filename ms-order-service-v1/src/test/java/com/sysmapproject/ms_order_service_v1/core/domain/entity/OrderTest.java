@@ -1,6 +1,6 @@
 package com.sysmapproject.ms_order_service_v1.core.domain.entity;
 
-import com.sysmapproject.ms_order_service_v1.shared.enums.OrderStatus;
+import com.sysmapproject.contracts.OrderStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -110,7 +110,7 @@ class OrderTest {
     void addOrderItem_ShouldAddItemToList() {
         OrderItem orderItem = OrderItem.builder()
                 .id(UUID.randomUUID())
-                .productId(String.valueOf(UUID.randomUUID()))
+                .productId(UUID.randomUUID())
                 .quantity(5)
                 .build();
 
@@ -133,7 +133,7 @@ class OrderTest {
     void removeOrderItem_ShouldRemoveItemFromList() {
         OrderItem orderItem = OrderItem.builder()
                 .id(UUID.randomUUID())
-                .productId(String.valueOf(UUID.randomUUID()))
+                .productId(UUID.randomUUID())
                 .quantity(5)
                 .build();
 
@@ -153,7 +153,7 @@ class OrderTest {
     void toString_ShouldExcludeItems() {
         OrderItem orderItem = OrderItem.builder()
                 .id(UUID.randomUUID())
-                .productId(String.valueOf(UUID.randomUUID()))
+                .productId(UUID.randomUUID())
                 .quantity(3)
                 .build();
 
@@ -1,17 +1,31 @@
 package com.sysmapproject.ms_order_service_v1.core.domain.service;
 
-import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderEventDTO;
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderCreationResultDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderCursorDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderFilterDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderPageDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderStatusChangeDTO;
 import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
 import com.sysmapproject.ms_order_service_v1.core.domain.entity.OrderItem;
+import com.sysmapproject.ms_order_service_v1.core.port.out.OrderCompletionPortOut;
+import com.sysmapproject.ms_order_service_v1.core.port.out.OrderLifecyclePortOut;
+import com.sysmapproject.ms_order_service_v1.core.port.out.OrderOutboxPortOut;
 import com.sysmapproject.ms_order_service_v1.core.port.out.OrderPortOut;
 import com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka.KafkaProducer;
-import com.sysmapproject.ms_order_service_v1.kafka.contracts.InventoryResponseDTO;
-import com.sysmapproject.ms_order_service_v1.shared.enums.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.shared.config.OrderBatchConfig;
+import com.sysmapproject.ms_order_service_v1.shared.config.OutboxConfig;
+import com.sysmapproject.ms_order_service_v1.shared.util.IdGenerator;
+import com.sysmapproject.ms_order_service_v1.shared.util.UuidV7Generator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -19,6 +33,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,6 +48,24 @@ class OrderServiceTest {
     @Mock
     private KafkaProducer kafkaProducer;
 
+    @Mock
+    private OrderOutboxPortOut orderOutboxPortOut;
+
+    @Mock
+    private OrderCompletionPortOut orderCompletionPortOut;
+
+    @Mock
+    private OrderLifecyclePortOut orderLifecyclePortOut;
+
+    @Spy
+    private OutboxConfig outboxConfig = new OutboxConfig();
+
+    @Spy
+    private OrderBatchConfig orderBatchConfig = new OrderBatchConfig();
+
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
+
     @InjectMocks
     private OrderService orderService;
 
@@ -42,7 +76,7 @@ class OrderServiceTest {
     void setUp() {
         orderItem = OrderItem.builder()
                 .id(UUID.randomUUID())
-                .productId(UUID.randomUUID().toString())
+                .productId(UUID.randomUUID())
                 .quantity(2)
                 .build();
 
@@ -64,10 +98,133 @@ class OrderServiceTest {
 
         assertNotNull(createdOrder);
         assertEquals(order.getCustomerId(), createdOrder.getCustomerId());
+        assertEquals(7, createdOrder.getId().version());
         verify(orderPortOut, times(1)).save(any(Order.class));
         verify(kafkaProducer, times(1)).sendOrder(any(OrderEventDTO.class));
     }
 
+    @Test
+    void createOrder_OutboxEnabled_ShouldEnqueueEventInsteadOfSending() {
+        outboxConfig.enabled = true;
+        when(orderPortOut.save(any(Order.class))).thenReturn(order);
+
+        orderService.createOrder(order);
+
+        ArgumentCaptor<OrderEventDTO> eventCaptor = ArgumentCaptor.forClass(OrderEventDTO.class);
+        verify(orderOutboxPortOut, times(1)).enqueue(eventCaptor.capture());
+        verifyNoInteractions(kafkaProducer);
+        assertEquals(order.getId(), eventCaptor.getValue().getOrderId());
+        assertEquals(OrderStatus.PENDING, eventCaptor.getValue().getStatus());
+    }
+
+    @Test
+    void createOrder_OutboxFails_ShouldThrowException() {
+        outboxConfig.enabled = true;
+        when(orderPortOut.save(any(Order.class))).thenReturn(order);
+        doThrow(new RuntimeException("Database error")).when(orderOutboxPortOut).enqueue(any());
+
+        Exception exception = assertThrows(RuntimeException.class, () -> orderService.createOrder(order));
+
+        assertEquals("Error while creating order: Database error", exception.getMessage());
+    }
+
+    @Test
+    void createOrders_ShouldInsertValidOrdersAndReportInvalidOnes() {
+        outboxConfig.enabled = true;
+        orderBatchConfig.maxOrders = 10;
+        Order invalid = Order.builder().customerId(2L).items(Collections.emptyList()).build();
+
+        List<OrderCreationResultDTO> results = orderService.createOrders(List.of(order, invalid));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isCreated());
+        assertEquals(order.getId(), results.get(0).getOrderId());
+        assertFalse(results.get(1).isCreated());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals("Order must have at least one item", results.get(1).getError());
+
+        verify(orderPortOut, times(1)).saveAll(List.of(order));
+        ArgumentCaptor<List<OrderEventDTO>> eventsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(orderOutboxPortOut, times(1)).enqueueAll(eventsCaptor.capture());
+        assertEquals(order.getId(), eventsCaptor.getValue().get(0).getOrderId());
+        verify(orderPortOut, never()).save(any());
+        verifyNoInteractions(kafkaProducer);
+    }
+
+    @Test
+    void createOrders_OutboxDisabled_ShouldSendEventsInOneFlush() {
+        orderBatchConfig.maxOrders = 10;
+        Order second = Order.builder()
+                .customerId(2L)
+                .items(List.of(OrderItem.builder().productId(UUID.randomUUID()).quantity(1).build()))
+                .build();
+
+        orderService.createOrders(List.of(order, second));
+
+        verify(kafkaProducer, times(1)).sendOrders(argThat(events -> events.size() == 2));
+        verify(kafkaProducer, never()).sendOrder(any());
+        assertSame(second, second.getItems().get(0).getOrder());
+    }
+
+    @Test
+    void createOrders_NullProductId_ShouldReportOrderAndInsertTheOthers() {
+        orderBatchConfig.maxOrders = 10;
+        Order second = Order.builder()
+                .customerId(2L)
+                .items(List.of(OrderItem.builder().productId(UUID.randomUUID()).quantity(1).build()))
+                .build();
+        Order withoutProduct = Order.builder()
+                .customerId(3L)
+                .items(List.of(OrderItem.builder().quantity(1).build()))
+                .build();
+
+        List<OrderCreationResultDTO> results = orderService.createOrders(List.of(order, withoutProduct, second));
+
+        assertTrue(results.get(0).isCreated());
+        assertFalse(results.get(1).isCreated());
+        assertEquals("Product ID cannot be null", results.get(1).getError());
+        assertTrue(results.get(2).isCreated());
+        verify(orderPortOut, times(1)).saveAll(List.of(order, second));
+        verify(kafkaProducer, times(1)).sendOrders(argThat(events -> events.size() == 2));
+    }
+
+    @Test
+    void createOrders_AllInvalid_ShouldNotTouchDatabase() {
+        orderBatchConfig.maxOrders = 10;
+        order.setCustomerId(null);
+
+        List<OrderCreationResultDTO> results = orderService.createOrders(List.of(order));
+
+        assertFalse(results.get(0).isCreated());
+        verifyNoInteractions(orderPortOut, orderOutboxPortOut, kafkaProducer);
+    }
+
+    @Test
+    void createOrders_ShouldThrowException_WhenBatchIsTooLarge() {
+        orderBatchConfig.maxOrders = 1;
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> orderService.createOrders(List.of(order, order)));
+
+        assertEquals("A batch cannot have more than 1 orders", exception.getMessage());
+        verifyNoInteractions(orderPortOut);
+    }
+
+    @Test
+    void createOrders_ShouldThrowException_WhenBatchIsEmpty() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.createOrders(List.of()));
+    }
+
+    @Test
+    void createOrders_SaveFails_ShouldThrowException() {
+        orderBatchConfig.maxOrders = 10;
+        doThrow(new RuntimeException("Database error")).when(orderPortOut).saveAll(anyList());
+
+        Exception exception = assertThrows(RuntimeException.class, () -> orderService.createOrders(List.of(order)));
+
+        assertEquals("Error while creating orders: Database error", exception.getMessage());
+        verifyNoInteractions(kafkaProducer);
+    }
+
     @Test
     void createOrder_ShouldThrowException_WhenOrderIsNull() {
         Exception exception = assertThrows(RuntimeException.class, () -> orderService.createOrder(null));
@@ -102,6 +259,21 @@ class OrderServiceTest {
         verify(orderPortOut, times(1)).save(any(Order.class));
     }
 
+    @Test
+    void updateOrder_LeavingPending_ShouldNotifyWaiters() {
+        Order existingOrder = Order.builder().id(order.getId()).status(OrderStatus.PENDING).createdAt(order.getCreatedAt()).build();
+        order.setStatus(OrderStatus.CANCELLED);
+        when(orderPortOut.findById(order.getId())).thenReturn(Optional.of(existingOrder));
+        when(orderPortOut.save(any(Order.class))).thenReturn(order);
+
+        orderService.updateOrder(order);
+
+        ArgumentCaptor<OrderStatusChangeDTO> changeCaptor = ArgumentCaptor.forClass(OrderStatusChangeDTO.class);
+        verify(orderCompletionPortOut).notifyChanged(changeCaptor.capture());
+        assertEquals(OrderStatus.CANCELLED, changeCaptor.getValue().getStatus());
+        verifyNoInteractions(orderLifecyclePortOut);
+    }
+
     @Test
     void updateOrder_ShouldThrowException_WhenOrderIdIsNull() {
         order.setId(null);
@@ -144,14 +316,64 @@ class OrderServiceTest {
     }
 
     @Test
-    void getAllOrders_ShouldReturnList() {
-        when(orderPortOut.findAll()).thenReturn(Collections.singletonList(order));
+    void getOrders_LastPage_ShouldReturnOrdersWithoutCursor() {
+        OrderFilterDTO filter = new OrderFilterDTO(OrderStatus.PENDING, 1L);
+        when(orderPortOut.findPage(filter, null, 11)).thenReturn(Collections.singletonList(order));
 
-        List<Order> orders = orderService.getAllOrders();
+        OrderPageDTO page = orderService.getOrders(filter, null, 10);
 
-        assertNotNull(orders);
-        assertEquals(1, orders.size());
-        verify(orderPortOut, times(1)).findAll();
+        assertEquals(List.of(order), page.getOrders());
+        assertNull(page.getNextCursor());
+        verify(orderPortOut, times(1)).findPage(filter, null, 11);
+    }
+
+    @Test
+    void getOrders_MoreAvailable_ShouldReturnCursorOfLastOrder() {
+        Order second = Order.builder().id(UUID.randomUUID()).createdAt(LocalDateTime.now()).build();
+        Order third = Order.builder().id(UUID.randomUUID()).createdAt(LocalDateTime.now()).build();
+        when(orderPortOut.findPage(null, null, 3)).thenReturn(List.of(order, second, third));
+
+        OrderPageDTO page = orderService.getOrders(null, null, 2);
+
+        assertEquals(List.of(order, second), page.getOrders());
+        assertEquals(OrderCursorDTO.of(second), OrderCursorDTO.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getOrders_WithCursor_ShouldReadAfterIt() {
+        OrderCursorDTO cursor = OrderCursorDTO.of(order);
+        when(orderPortOut.findPage(null, cursor, 51)).thenReturn(List.of());
+
+        OrderPageDTO page = orderService.getOrders(null, cursor.encode(), 50);
+
+        assertTrue(page.getOrders().isEmpty());
+        verify(orderPortOut, times(1)).findPage(null, cursor, 51);
+    }
+
+    @Test
+    void getOrders_ShouldThrowException_WhenLimitOutOfRange() {
+        Exception exception = assertThrows(RuntimeException.class, () -> orderService.getOrders(null, null, 501));
+
+        assertEquals("Error retrieving orders: Page size must be between 1 and 500", exception.getMessage());
+        verifyNoInteractions(orderPortOut);
+    }
+
+    @Test
+    void getOrders_ShouldThrowException_WhenCursorIsInvalid() {
+        Exception exception = assertThrows(RuntimeException.class, () -> orderService.getOrders(null, "not-a-cursor", 10));
+
+        assertTrue(exception.getMessage().startsWith("Error retrieving orders: Invalid order cursor"));
+        verifyNoInteractions(orderPortOut);
+    }
+
+    @Test
+    void streamOrders_ShouldDelegateToPort() {
+        OrderFilterDTO filter = new OrderFilterDTO(OrderStatus.CONFIRMED, null);
+        Consumer<Order> consumer = o -> { };
+
+        orderService.streamOrders(filter, consumer);
+
+        verify(orderPortOut, times(1)).streamAll(filter, consumer);
     }
 
     @Test
@@ -178,11 +400,47 @@ class OrderServiceTest {
                 .status(OrderStatus.CONFIRMED)
                 .build();
 
-        when(orderPortOut.findById(order.getId())).thenReturn(Optional.of(order));
-        when(orderPortOut.save(any(Order.class))).thenReturn(order);
+        when(orderPortOut.updateStatus(eq(order.getId()), eq(OrderStatus.PENDING), eq(OrderStatus.CONFIRMED), any(LocalDateTime.class)))
+                .thenReturn(true);
 
         assertDoesNotThrow(() -> orderService.processOrderStatus(responseDTO));
-        verify(orderPortOut, times(1)).save(any(Order.class));
+        verify(orderPortOut, times(1)).updateStatus(eq(order.getId()), eq(OrderStatus.PENDING), eq(OrderStatus.CONFIRMED), any(LocalDateTime.class));
+        verify(orderPortOut, never()).findById(any());
+        verify(orderPortOut, never()).save(any(Order.class));
+
+        ArgumentCaptor<OrderStatusChangeDTO> changeCaptor = ArgumentCaptor.forClass(OrderStatusChangeDTO.class);
+        verify(orderCompletionPortOut).notifyChanged(changeCaptor.capture());
+        assertEquals(order.getId(), changeCaptor.getValue().getOrderId());
+        assertEquals(OrderStatus.CONFIRMED, changeCaptor.getValue().getStatus());
+        verify(orderLifecyclePortOut).verdict(changeCaptor.getValue());
+    }
+
+    @Test
+    void processOrderStatus_ShouldIgnoreResponse_WhenOrderIsNoLongerPending() {
+        InventoryResponseDTO responseDTO = InventoryResponseDTO.builder()
+                .orderId(order.getId())
+                .status(OrderStatus.CANCELLED)
+                .build();
+
+        when(orderPortOut.updateStatus(eq(order.getId()), eq(OrderStatus.PENDING), eq(OrderStatus.CANCELLED), any(LocalDateTime.class)))
+                .thenReturn(false);
+        when(orderPortOut.existsById(order.getId())).thenReturn(true);
+
+        assertDoesNotThrow(() -> orderService.processOrderStatus(responseDTO));
+        verify(orderPortOut, never()).save(any(Order.class));
+        verifyNoInteractions(orderCompletionPortOut, orderLifecyclePortOut);
+    }
+
+    @Test
+    void processOrderStatus_ShouldThrowException_WhenStatusIsNull() {
+        InventoryResponseDTO responseDTO = InventoryResponseDTO.builder()
+                .orderId(order.getId())
+                .build();
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> orderService.processOrderStatus(responseDTO));
+
+        assertEquals("Error updating order status: Order status cannot be null", exception.getMessage());
+        verifyNoInteractions(orderPortOut);
     }
 
     @Test
@@ -193,7 +451,9 @@ class OrderServiceTest {
                 .status(OrderStatus.CANCELLED)
                 .build();
 
-        when(orderPortOut.findById(orderId)).thenReturn(Optional.empty());
+        when(orderPortOut.updateStatus(eq(orderId), eq(OrderStatus.PENDING), eq(OrderStatus.CANCELLED), any(LocalDateTime.class)))
+                .thenReturn(false);
+        when(orderPortOut.existsById(orderId)).thenReturn(false);
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> orderService.processOrderStatus(responseDTO));
 
@@ -201,4 +461,114 @@ class OrderServiceTest {
         assertEquals(expectedMessage, exception.getMessage());
     }
 
+    @Test
+    void processOrderStatuses_ShouldIssueOneUpdatePerStatus() {
+        UUID confirmedA = UUID.randomUUID();
+        UUID confirmedB = UUID.randomUUID();
+        UUID cancelled = UUID.randomUUID();
+        List<InventoryResponseDTO> responses = List.of(
+                new InventoryResponseDTO(confirmedA, OrderStatus.CONFIRMED, null),
+                new InventoryResponseDTO(cancelled, OrderStatus.CANCELLED, null),
+                new InventoryResponseDTO(confirmedB, OrderStatus.CONFIRMED, null));
+
+        when(orderPortOut.updateStatuses(eq(List.of(confirmedA, confirmedB)), eq(OrderStatus.PENDING), eq(OrderStatus.CONFIRMED), any(LocalDateTime.class)))
+                .thenReturn(List.of(confirmedA, confirmedB));
+        when(orderPortOut.updateStatuses(eq(List.of(cancelled)), eq(OrderStatus.PENDING), eq(OrderStatus.CANCELLED), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        orderService.processOrderStatuses(responses);
+
+        verify(orderPortOut, times(2)).updateStatuses(anyList(), any(), any(), any());
+        verify(orderPortOut, never()).updateStatus(any(), any(), any(), any());
+        verify(orderCompletionPortOut, times(2)).notifyChanged(any(OrderStatusChangeDTO.class));
+        verify(orderLifecyclePortOut, times(2)).verdict(any(OrderStatusChangeDTO.class));
+    }
+
+    @Test
+    void processOrderStatuses_ShouldKeepFirstResponsePerOrderAndSkipInvalidOnes() {
+        UUID orderId = UUID.randomUUID();
+        List<InventoryResponseDTO> responses = new java.util.ArrayList<>();
+        responses.add(new InventoryResponseDTO(orderId, OrderStatus.CONFIRMED, null));
+        responses.add(new InventoryResponseDTO(orderId, OrderStatus.CANCELLED, null));
+        responses.add(new InventoryResponseDTO(null, OrderStatus.CANCELLED, null));
+        responses.add(new InventoryResponseDTO(UUID.randomUUID(), null, null));
+        responses.add(null);
+
+        when(orderPortOut.updateStatuses(eq(List.of(orderId)), eq(OrderStatus.PENDING), eq(OrderStatus.CONFIRMED), any(LocalDateTime.class)))
+                .thenReturn(List.of(orderId));
+
+        assertDoesNotThrow(() -> orderService.processOrderStatuses(responses));
+        verify(orderPortOut, times(1)).updateStatuses(anyList(), any(), any(), any());
+    }
+
+    @Test
+    void processOrderStatuses_BulkUpdateFails_ShouldApplyRecordsOneByOne() {
+        UUID good = UUID.randomUUID();
+        UUID bad = UUID.randomUUID();
+        List<InventoryResponseDTO> responses = List.of(
+                new InventoryResponseDTO(good, OrderStatus.CONFIRMED, null),
+                new InventoryResponseDTO(bad, OrderStatus.CONFIRMED, null));
+
+        when(orderPortOut.updateStatuses(anyList(), any(), any(), any())).thenThrow(new RuntimeException("Database error"));
+        when(orderPortOut.updateStatus(eq(good), eq(OrderStatus.PENDING), eq(OrderStatus.CONFIRMED), any(LocalDateTime.class)))
+                .thenReturn(true);
+        when(orderPortOut.updateStatus(eq(bad), eq(OrderStatus.PENDING), eq(OrderStatus.CONFIRMED), any(LocalDateTime.class)))
+                .thenThrow(new RuntimeException("Database error"));
+
+        assertDoesNotThrow(() -> orderService.processOrderStatuses(responses));
+        verify(orderPortOut, times(1)).updateStatus(eq(good), any(), any(), any());
+        verify(orderPortOut, times(1)).updateStatus(eq(bad), any(), any(), any());
+    }
+
+    @Test
+    void awaitOrderCompletion_OrderAlreadyResolved_ShouldCompleteAndReleaseWaiter() {
+        CompletableFuture<OrderStatusChangeDTO> waiter = new CompletableFuture<>();
+        order.setStatus(OrderStatus.CONFIRMED);
+        when(orderCompletionPortOut.register(order.getId())).thenReturn(waiter);
+        when(orderPortOut.findById(order.getId())).thenReturn(Optional.of(order));
+
+        CompletableFuture<Order> completion = orderService.awaitOrderCompletion(order.getId());
+
+        assertEquals(OrderStatus.CONFIRMED, completion.join().getStatus());
+        assertTrue(waiter.isCancelled());
+    }
+
+    @Test
+    void awaitOrderCompletion_PendingOrder_ShouldCompleteOnStatusChange() {
+        CompletableFuture<OrderStatusChangeDTO> waiter = new CompletableFuture<>();
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(orderCompletionPortOut.register(order.getId())).thenReturn(waiter);
+        when(orderPortOut.findById(order.getId())).thenReturn(Optional.of(order));
+
+        CompletableFuture<Order> completion = orderService.awaitOrderCompletion(order.getId());
+        assertFalse(completion.isDone());
+
+        waiter.complete(new OrderStatusChangeDTO(order.getId(), OrderStatus.CANCELLED, updatedAt));
+
+        assertEquals(OrderStatus.CANCELLED, completion.join().getStatus());
+        assertEquals(updatedAt, completion.join().getUpdatedAt());
+    }
+
+    @Test
+    void awaitOrderCompletion_Cancelled_ShouldReleaseWaiter() {
+        CompletableFuture<OrderStatusChangeDTO> waiter = new CompletableFuture<>();
+        when(orderCompletionPortOut.register(order.getId())).thenReturn(waiter);
+        when(orderPortOut.findById(order.getId())).thenReturn(Optional.of(order));
+
+        orderService.awaitOrderCompletion(order.getId()).cancel(false);
+
+        assertTrue(waiter.isCancelled());
+    }
+
+    @Test
+    void awaitOrderCompletion_OrderNotFound_ShouldReleaseWaiterAndThrow() {
+        CompletableFuture<OrderStatusChangeDTO> waiter = new CompletableFuture<>();
+        when(orderCompletionPortOut.register(order.getId())).thenReturn(waiter);
+        when(orderPortOut.findById(order.getId())).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> orderService.awaitOrderCompletion(order.getId()));
+
+        assertTrue(exception.getMessage().startsWith("Error while awaiting order:"));
+        assertTrue(waiter.isCancelled());
+    }
 }
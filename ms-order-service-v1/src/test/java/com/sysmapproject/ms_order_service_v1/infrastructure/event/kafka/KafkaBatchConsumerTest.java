@@ -0,0 +1,40 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+class KafkaBatchConsumerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @InjectMocks
+    private KafkaBatchConsumer kafkaBatchConsumer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void consumeInventoryValidatedEvents_ShouldProcessWholeBatch() {
+        List<InventoryResponseDTO> responses = List.of(
+                new InventoryResponseDTO(UUID.randomUUID(), OrderStatus.CONFIRMED, null),
+                new InventoryResponseDTO(UUID.randomUUID(), OrderStatus.CANCELLED, null));
+
+        kafkaBatchConsumer.consumeInventoryValidatedEvents(responses);
+
+        verify(orderService, times(1)).processOrderStatuses(responses);
+    }
+}
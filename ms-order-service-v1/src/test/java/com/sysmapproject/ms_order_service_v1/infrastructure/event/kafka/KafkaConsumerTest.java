@@ -1,7 +1,7 @@
 package com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka;
 
+import com.sysmapproject.contracts.InventoryResponseDTO;
 import com.sysmapproject.ms_order_service_v1.core.domain.service.OrderService;
-import com.sysmapproject.ms_order_service_v1.kafka.contracts.InventoryResponseDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -24,8 +24,8 @@ class KafkaConsumerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        validResponse = new InventoryResponseDTO();
-        nullOrderIdResponse = new InventoryResponseDTO();
+        validResponse = InventoryResponseDTO.builder().build();
+        nullOrderIdResponse = InventoryResponseDTO.builder().build();
     }
 
     @Test
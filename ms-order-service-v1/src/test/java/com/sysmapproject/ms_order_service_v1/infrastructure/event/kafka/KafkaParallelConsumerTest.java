@@ -0,0 +1,90 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.service.OrderService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+class KafkaParallelConsumerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderLifecycleMetrics orderLifecycleMetrics;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private KafkaParallelConsumer kafkaParallelConsumer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        kafkaParallelConsumer = new KafkaParallelConsumer(orderService, orderLifecycleMetrics, 4, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        kafkaParallelConsumer.destroy();
+    }
+
+    @Test
+    void consumeInventoryValidatedEvent_ShouldApplyThenAcknowledge() {
+        ConsumerRecord<String, InventoryResponseDTO> record = record(UUID.randomUUID(), 42L);
+
+        kafkaParallelConsumer.consumeInventoryValidatedEvent(record, acknowledgment);
+
+        verify(acknowledgment, timeout(5_000)).acknowledge();
+        verify(orderService).processOrderStatus(record.value());
+        verify(orderLifecycleMetrics).afterRecord(record, null);
+    }
+
+    @Test
+    void consumeInventoryValidatedEvent_ProcessingFails_ShouldStillAcknowledge() {
+        ConsumerRecord<String, InventoryResponseDTO> record = record(UUID.randomUUID(), 42L);
+        doThrow(new RuntimeException("Order not found")).when(orderService).processOrderStatus(record.value());
+
+        kafkaParallelConsumer.consumeInventoryValidatedEvent(record, acknowledgment);
+
+        verify(acknowledgment, timeout(5_000)).acknowledge();
+        verify(orderLifecycleMetrics).afterRecord(record, null);
+    }
+
+    @Test
+    void consumeInventoryValidatedEvent_SameOrder_ShouldBeAppliedInOrder() throws InterruptedException {
+        UUID orderId = UUID.randomUUID();
+        ConsumerRecord<String, InventoryResponseDTO> first = record(orderId, 1L);
+        ConsumerRecord<String, InventoryResponseDTO> second = record(orderId, 2L);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(orderService).processOrderStatus(first.value());
+
+        kafkaParallelConsumer.consumeInventoryValidatedEvent(first, acknowledgment);
+        kafkaParallelConsumer.consumeInventoryValidatedEvent(second, acknowledgment);
+
+        verify(orderService, timeout(5_000)).processOrderStatus(first.value());
+        verify(orderService, after(200).never()).processOrderStatus(second.value());
+
+        release.countDown();
+
+        verify(orderService, timeout(5_000)).processOrderStatus(second.value());
+        verify(acknowledgment, timeout(5_000).times(2)).acknowledge();
+    }
+
+    private static ConsumerRecord<String, InventoryResponseDTO> record(UUID orderId, long offset) {
+        return new ConsumerRecord<>("tpc-inventory-validated", 0, offset, orderId.toString(),
+                new InventoryResponseDTO(orderId, OrderStatus.CONFIRMED, "validation " + offset));
+    }
+}
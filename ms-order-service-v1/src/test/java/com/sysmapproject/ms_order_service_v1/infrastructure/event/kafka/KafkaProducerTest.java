@@ -1,6 +1,14 @@
 package com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka;
 
-import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.contracts.codec.BinaryContractCodec;
+import com.sysmapproject.contracts.codec.OrderEventEnvelopeDeserializer;
+import com.sysmapproject.contracts.codec.WireFormat;
+import com.sysmapproject.ms_order_service_v1.shared.config.OrderEnvelopeConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +17,8 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -19,7 +29,10 @@ import static org.mockito.Mockito.*;
 class KafkaProducerTest {
 
     @Mock
-    private KafkaTemplate<String, OrderEventDTO> kafkaTemplate;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Spy
+    private OrderEnvelopeConfig envelopeConfig = new OrderEnvelopeConfig();
 
     @InjectMocks
     private KafkaProducer kafkaProducer;
@@ -31,7 +44,10 @@ class KafkaProducerTest {
     private ArgumentCaptor<String> keyCaptor;
 
     @Captor
-    private ArgumentCaptor<OrderEventDTO> messageCaptor;
+    private ArgumentCaptor<Object> messageCaptor;
+
+    @Captor
+    private ArgumentCaptor<ProducerRecord<String, Object>> recordCaptor;
 
 
 
@@ -39,6 +55,9 @@ class KafkaProducerTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         ReflectionTestUtils.setField(kafkaProducer, "topicName", "test-topic");
+        ReflectionTestUtils.setField(kafkaProducer, "wireFormat", WireFormat.JSON);
+        envelopeConfig.maxOrders = 100;
+        envelopeConfig.maxBytes = 65536;
     }
 
     @Test
@@ -46,12 +65,12 @@ class KafkaProducerTest {
         UUID orderId = UUID.randomUUID();
         OrderEventDTO orderEventDTO = OrderEventDTO.builder()
                 .orderId(orderId)
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .build();
 
         RecordMetadata metadata = new RecordMetadata(null, 0, 0, System.currentTimeMillis(), 0L, 0, 0);
-        SendResult<String, OrderEventDTO> sendResult = new SendResult<>(null, metadata);
-        CompletableFuture<SendResult<String, OrderEventDTO>> future = CompletableFuture.completedFuture(sendResult);
+        SendResult<String, Object> sendResult = new SendResult<>(null, metadata);
+        CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(sendResult);
 
         when(kafkaTemplate.send(anyString(), anyString(), any(OrderEventDTO.class))).thenReturn(future);
 
@@ -69,10 +88,10 @@ class KafkaProducerTest {
         UUID orderId = UUID.randomUUID();
         OrderEventDTO orderEventDTO = OrderEventDTO.builder()
                 .orderId(orderId)
-                .status("FAILED")
+                .status(OrderStatus.CANCELLED)
                 .build();
 
-        CompletableFuture<SendResult<String, OrderEventDTO>> future = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
         future.completeExceptionally(new RuntimeException("Kafka send failed"));
 
         when(kafkaTemplate.send(anyString(), anyString(), any(OrderEventDTO.class))).thenReturn(future);
@@ -94,11 +113,105 @@ class KafkaProducerTest {
     void sendOrder_NullOrderId_ShouldHandleGracefully() {
         OrderEventDTO orderEventDTO = OrderEventDTO.builder()
                 .orderId(null)
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .build();
 
         Exception exception = assertThrows(NullPointerException.class, () -> kafkaProducer.sendOrder(orderEventDTO));
 
         assertTrue(exception.getMessage().contains("Cannot invoke \"java.util.UUID.toString()\""));
     }
+
+    @Test
+    void sendOrders_ShouldSendEveryEventKeyedByOrderId() {
+        OrderEventDTO first = OrderEventDTO.builder().orderId(UUID.randomUUID()).status(OrderStatus.PENDING).build();
+        OrderEventDTO second = OrderEventDTO.builder().orderId(UUID.randomUUID()).status(OrderStatus.PENDING).build();
+        when(kafkaTemplate.send(anyString(), anyString(), any(OrderEventDTO.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        kafkaProducer.sendOrders(List.of(first, second));
+
+        verify(kafkaTemplate).send("test-topic", first.getOrderId().toString(), first);
+        verify(kafkaTemplate).send("test-topic", second.getOrderId().toString(), second);
+    }
+
+    @Test
+    void sendOrders_OneSendFails_ShouldThrowRuntimeException() {
+        OrderEventDTO first = OrderEventDTO.builder().orderId(UUID.randomUUID()).status(OrderStatus.PENDING).build();
+        OrderEventDTO second = OrderEventDTO.builder().orderId(UUID.randomUUID()).status(OrderStatus.PENDING).build();
+        CompletableFuture<SendResult<String, Object>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new RuntimeException("Kafka send failed"));
+        when(kafkaTemplate.send("test-topic", first.getOrderId().toString(), first)).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send("test-topic", second.getOrderId().toString(), second)).thenReturn(failed);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> kafkaProducer.sendOrders(List.of(first, second)));
+
+        assertTrue(exception.getMessage().startsWith("Failed to send orders:"));
+        assertTrue(exception.getMessage().contains("Kafka send failed"));
+    }
+
+    @Test
+    void sendOrders_EnvelopeMode_ShouldPackUpToMaxOrdersPerRecord() {
+        envelopeConfig.enabled = true;
+        envelopeConfig.maxOrders = 2;
+        List<OrderEventDTO> orderEvents = List.of(orderEvent(1), orderEvent(1), orderEvent(1), orderEvent(1), orderEvent(1));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        kafkaProducer.sendOrders(orderEvents);
+
+        verify(kafkaTemplate, times(3)).send(recordCaptor.capture());
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+        List<ProducerRecord<String, Object>> records = recordCaptor.getAllValues();
+        assertEquals(orderEvents.subList(0, 2), envelope(records.get(0)).getOrderEvents());
+        assertEquals(orderEvents.subList(2, 4), envelope(records.get(1)).getOrderEvents());
+        assertEquals(orderEvents.subList(4, 5), envelope(records.get(2)).getOrderEvents());
+        for (ProducerRecord<String, Object> record : records) {
+            assertEquals("test-topic", record.topic());
+            assertNull(record.key());
+            assertTrue(OrderEventEnvelopeDeserializer.isMarked(record.headers()));
+        }
+    }
+
+    @Test
+    void sendOrders_EnvelopeMode_ShouldKeepEnvelopesWithinMaxBytes() {
+        envelopeConfig.enabled = true;
+        ReflectionTestUtils.setField(kafkaProducer, "wireFormat", WireFormat.BINARY);
+        OrderEventDTO small = orderEvent(1);
+        OrderEventDTO large = orderEvent(20);
+        envelopeConfig.maxBytes = BinaryContractCodec.encodedSize(small) * 2 + 1;
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        kafkaProducer.sendOrders(List.of(small, small, small, large, small));
+
+        verify(kafkaTemplate, times(4)).send(recordCaptor.capture());
+        List<ProducerRecord<String, Object>> records = recordCaptor.getAllValues();
+        assertEquals(List.of(small, small), envelope(records.get(0)).getOrderEvents());
+        assertEquals(List.of(small), envelope(records.get(1)).getOrderEvents());
+        assertEquals(List.of(large), envelope(records.get(2)).getOrderEvents());
+        assertEquals(List.of(small), envelope(records.get(3)).getOrderEvents());
+    }
+
+    @Test
+    void sendOrders_EnvelopeMode_SendFails_ShouldThrowRuntimeException() {
+        envelopeConfig.enabled = true;
+        CompletableFuture<SendResult<String, Object>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new RuntimeException("Kafka send failed"));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(failed);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> kafkaProducer.sendOrders(List.of(orderEvent(1))));
+
+        assertTrue(exception.getMessage().startsWith("Failed to send orders:"));
+    }
+
+    private static OrderEventDTO orderEvent(int itemCount) {
+        return OrderEventDTO.builder()
+                .orderId(UUID.randomUUID())
+                .customerId(1L)
+                .status(OrderStatus.PENDING)
+                .items(Collections.nCopies(itemCount, new OrderItemDTO(UUID.randomUUID(), 1)))
+                .build();
+    }
+
+    private static OrderEventEnvelopeDTO envelope(ProducerRecord<String, Object> record) {
+        return (OrderEventEnvelopeDTO) record.value();
+    }
 }
@@ -0,0 +1,219 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka;
+
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.LifecycleHeaders;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderEventEnvelopeDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderStatusChangeDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderLifecycleMetricsTest {
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private OrderLifecycleMetrics orderLifecycleMetrics;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        orderLifecycleMetrics.registerMetrics();
+    }
+
+    @Test
+    void onSend_OrderEvent_ShouldStampCreationAndPublicationTimes() {
+        LocalDateTime createdAt = LocalDateTime.now().minusSeconds(1);
+        OrderEventDTO orderEvent = OrderEventDTO.builder().orderId(UUID.randomUUID()).createdAt(createdAt).build();
+        ProducerRecord<String, Object> record = new ProducerRecord<>("tpc-order-events", orderEvent);
+
+        orderLifecycleMetrics.onSend(record);
+
+        assertEquals(createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                LifecycleHeaders.read(record.headers(), LifecycleHeaders.ORDER_CREATED_AT));
+        assertTrue(LifecycleHeaders.read(record.headers(), LifecycleHeaders.ORDER_PUBLISHED_AT) > 0);
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void onSend_DeadLetter_ShouldLeaveHeadersAlone() {
+        ProducerRecord record = new ProducerRecord<>("tpc-inventory-validated.DLQ", InventoryResponseDTO.builder().build());
+
+        orderLifecycleMetrics.onSend(record);
+
+        assertFalse(record.headers().iterator().hasNext());
+    }
+
+    @Test
+    void onSuccess_ShouldTimePublicationSinceCreation() {
+        ProducerRecord<String, Object> record = new ProducerRecord<>("tpc-order-events", OrderEventDTO.builder().build());
+        LifecycleHeaders.write(record.headers(), LifecycleHeaders.ORDER_CREATED_AT, System.currentTimeMillis() - 200);
+
+        orderLifecycleMetrics.onSuccess(record, null);
+
+        Timer timer = stage("kafka.publish");
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 200);
+    }
+
+    @Test
+    void onSend_Envelope_ShouldStampOldestCreationTime() {
+        LocalDateTime oldest = LocalDateTime.now().minusSeconds(2);
+        OrderEventEnvelopeDTO envelope = new OrderEventEnvelopeDTO(List.of(
+                OrderEventDTO.builder().orderId(UUID.randomUUID()).createdAt(oldest.plusSeconds(1)).build(),
+                OrderEventDTO.builder().orderId(UUID.randomUUID()).createdAt(oldest).build(),
+                OrderEventDTO.builder().orderId(UUID.randomUUID()).build()));
+        ProducerRecord<String, Object> record = new ProducerRecord<>("tpc-order-events", envelope);
+
+        orderLifecycleMetrics.onSend(record);
+
+        assertEquals(oldest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                LifecycleHeaders.read(record.headers(), LifecycleHeaders.ORDER_CREATED_AT));
+        assertTrue(LifecycleHeaders.read(record.headers(), LifecycleHeaders.ORDER_PUBLISHED_AT) > 0);
+    }
+
+    @Test
+    void onSuccess_Envelope_ShouldTimePublicationOfEveryOrder() {
+        LocalDateTime createdAt = LocalDateTime.now().minusSeconds(1);
+        OrderEventEnvelopeDTO envelope = new OrderEventEnvelopeDTO(List.of(
+                OrderEventDTO.builder().orderId(UUID.randomUUID()).createdAt(createdAt).build(),
+                OrderEventDTO.builder().orderId(UUID.randomUUID()).createdAt(createdAt).build(),
+                OrderEventDTO.builder().orderId(UUID.randomUUID()).build()));
+
+        orderLifecycleMetrics.onSuccess(new ProducerRecord<>("tpc-order-events", envelope), null);
+
+        Timer timer = stage("kafka.publish");
+        assertEquals(2, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 2_000);
+    }
+
+    @Test
+    void intercept_ShouldTimeInventoryStagesFromHeaders() {
+        ConsumerRecord<String, InventoryResponseDTO> record = validation(UUID.randomUUID(), 1_000, 1_050, 1_250, 1_300);
+
+        orderLifecycleMetrics.intercept(record, null);
+
+        assertEquals(200, stage("inventory.consume").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(50, stage("inventory.check").totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void intercept_HeadersMissingOrOutOfOrder_ShouldRecordNothing() {
+        ConsumerRecord<String, InventoryResponseDTO> record = validation(UUID.randomUUID(), 1_000, -1, 1_300, 1_250);
+
+        orderLifecycleMetrics.intercept(record, null);
+
+        assertEquals(0, stage("inventory.consume").count());
+        assertEquals(0, stage("inventory.check").count());
+    }
+
+    @Test
+    void verdict_AppliedValidation_ShouldTimeLifecycleByStatus() {
+        UUID orderId = UUID.randomUUID();
+        long now = System.currentTimeMillis();
+        ConsumerRecord<String, InventoryResponseDTO> record = validation(orderId, now - 500, now - 400, now - 300, now - 200);
+
+        orderLifecycleMetrics.intercept(record, null);
+        orderLifecycleMetrics.verdict(new OrderStatusChangeDTO(orderId, OrderStatus.CONFIRMED, LocalDateTime.now()));
+        orderLifecycleMetrics.afterRecord(record, null);
+
+        Timer timer = meterRegistry.get("order.lifecycle").tag("status", "CONFIRMED").timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 500);
+        assertEquals(1, stage("response.consume").count());
+        assertEquals(0, orderLifecycleMetrics.tracked());
+    }
+
+    @Test
+    void verdict_ChangeNotFromValidation_ShouldRecordNothing() {
+        orderLifecycleMetrics.verdict(new OrderStatusChangeDTO(UUID.randomUUID(), OrderStatus.CANCELLED, LocalDateTime.now()));
+
+        assertNull(meterRegistry.find("order.lifecycle").timer());
+    }
+
+    @Test
+    void afterRecord_ValidationIgnored_ShouldForgetOrder() {
+        ConsumerRecord<String, InventoryResponseDTO> record = validation(UUID.randomUUID(), 1_000, 1_050, 1_250, 1_300);
+
+        orderLifecycleMetrics.intercept(record, null);
+        assertEquals(1, orderLifecycleMetrics.tracked());
+
+        orderLifecycleMetrics.afterRecord(record, null);
+
+        assertEquals(0, orderLifecycleMetrics.tracked());
+    }
+
+    @Test
+    void batch_ShouldTrackEveryRecordUntilTheBatchIsDone() {
+        TopicPartition partition = new TopicPartition("tpc-inventory-validated", 0);
+        ConsumerRecords<String, InventoryResponseDTO> records = new ConsumerRecords<>(Map.of(partition, List.of(
+                validation(UUID.randomUUID(), 1_000, 1_050, 1_250, 1_300),
+                validation(UUID.randomUUID(), 1_000, 1_050, 1_250, 1_300))));
+
+        orderLifecycleMetrics.intercept(records, null);
+        assertEquals(2, orderLifecycleMetrics.tracked());
+        assertEquals(2, stage("inventory.check").count());
+
+        orderLifecycleMetrics.failure(records, new RuntimeException("boom"), null);
+
+        assertEquals(0, orderLifecycleMetrics.tracked());
+    }
+
+    @Test
+    void forLanes_ShouldKeepOrderAfterTheListenerReturnedUntilTheLaneIsDone() {
+        UUID orderId = UUID.randomUUID();
+        ConsumerRecord<String, InventoryResponseDTO> record = validation(orderId, 1_000, 1_050, 1_250, 1_300);
+        RecordInterceptor<String, InventoryResponseDTO> interceptor = orderLifecycleMetrics.forLanes();
+
+        interceptor.intercept(record, null);
+        interceptor.afterRecord(record, null);
+        assertEquals(1, orderLifecycleMetrics.tracked());
+        assertEquals(1, stage("inventory.check").count());
+
+        orderLifecycleMetrics.afterRecord(record, null);
+
+        assertEquals(0, orderLifecycleMetrics.tracked());
+        assertEquals(1, stage("response.consume").count());
+    }
+
+    private ConsumerRecord<String, InventoryResponseDTO> validation(UUID orderId, long createdAt, long publishedAt,
+                                                                    long receivedAt, long inventoryPublishedAt) {
+        ConsumerRecord<String, InventoryResponseDTO> record = new ConsumerRecord<>("tpc-inventory-validated", 0, 0,
+                orderId.toString(), new InventoryResponseDTO(orderId, OrderStatus.CONFIRMED, "ok"));
+        write(record, LifecycleHeaders.ORDER_CREATED_AT, createdAt);
+        write(record, LifecycleHeaders.ORDER_PUBLISHED_AT, publishedAt);
+        write(record, LifecycleHeaders.INVENTORY_RECEIVED_AT, receivedAt);
+        write(record, LifecycleHeaders.INVENTORY_PUBLISHED_AT, inventoryPublishedAt);
+        return record;
+    }
+
+    private void write(ConsumerRecord<String, InventoryResponseDTO> record, String name, long value) {
+        if (value >= 0) {
+            LifecycleHeaders.write(record.headers(), name, value);
+        }
+    }
+
+    private Timer stage(String stage) {
+        return meterRegistry.get("order.lifecycle.stage").tag("stage", stage).timer();
+    }
+}
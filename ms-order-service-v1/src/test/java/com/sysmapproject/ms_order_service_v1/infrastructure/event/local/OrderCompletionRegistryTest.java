@@ -0,0 +1,88 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.event.local;
+
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderStatusChangeDTO;
+import com.sysmapproject.ms_order_service_v1.shared.config.OrderAwaitConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCompletionRegistryTest {
+
+    @Spy
+    private OrderAwaitConfig orderAwaitConfig = new OrderAwaitConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private OrderCompletionRegistry orderCompletionRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        orderAwaitConfig.maxWaiters = 3;
+        orderCompletionRegistry.registerMetrics();
+    }
+
+    @Test
+    void notifyChanged_ShouldCompleteEveryWaiterOfTheOrder() {
+        UUID orderId = UUID.randomUUID();
+        CompletableFuture<OrderStatusChangeDTO> first = orderCompletionRegistry.register(orderId);
+        CompletableFuture<OrderStatusChangeDTO> second = orderCompletionRegistry.register(orderId);
+        CompletableFuture<OrderStatusChangeDTO> other = orderCompletionRegistry.register(UUID.randomUUID());
+        OrderStatusChangeDTO change = new OrderStatusChangeDTO(orderId, OrderStatus.CONFIRMED, LocalDateTime.now());
+
+        orderCompletionRegistry.notifyChanged(change);
+
+        assertEquals(change, first.join());
+        assertEquals(change, second.join());
+        assertFalse(other.isDone());
+        assertEquals(1, orderCompletionRegistry.size());
+        assertEquals(1.0, meterRegistry.get("order.await.waiters").gauge().value());
+    }
+
+    @Test
+    void notifyChanged_NoWaiters_ShouldDoNothing() {
+        assertDoesNotThrow(() -> orderCompletionRegistry.notifyChanged(
+                new OrderStatusChangeDTO(UUID.randomUUID(), OrderStatus.CANCELLED, LocalDateTime.now())));
+    }
+
+    @Test
+    void register_CancelledWaiter_ShouldBeReleased() {
+        UUID orderId = UUID.randomUUID();
+        CompletableFuture<OrderStatusChangeDTO> waiter = orderCompletionRegistry.register(orderId);
+
+        waiter.cancel(false);
+
+        assertEquals(0, orderCompletionRegistry.size());
+        assertDoesNotThrow(() -> orderCompletionRegistry.notifyChanged(
+                new OrderStatusChangeDTO(orderId, OrderStatus.CONFIRMED, LocalDateTime.now())));
+    }
+
+    @Test
+    void register_OverMaxWaiters_ShouldThrowException() {
+        for (int i = 0; i < 3; i++) {
+            orderCompletionRegistry.register(UUID.randomUUID());
+        }
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> orderCompletionRegistry.register(UUID.randomUUID()));
+
+        assertEquals("Too many requests waiting for orders", exception.getMessage());
+        assertEquals(3, orderCompletionRegistry.size());
+    }
+
+    @Test
+    void register_NullOrderId_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> orderCompletionRegistry.register(null));
+    }
+}
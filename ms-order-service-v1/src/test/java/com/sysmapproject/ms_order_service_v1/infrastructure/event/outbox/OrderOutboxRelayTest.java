@@ -0,0 +1,86 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.event.outbox;
+
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OutboxBacklogDTO;
+import com.sysmapproject.ms_order_service_v1.core.port.out.OrderOutboxPortOut;
+import com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka.KafkaProducer;
+import com.sysmapproject.ms_order_service_v1.shared.config.OutboxConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrderOutboxRelayTest {
+
+    @Mock
+    private OrderOutboxPortOut orderOutboxPortOut;
+
+    @Mock
+    private KafkaProducer kafkaProducer;
+
+    @Spy
+    private OutboxConfig outboxConfig = new OutboxConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private OrderOutboxRelay orderOutboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outboxConfig.batchSize = 2;
+        orderOutboxRelay.registerMetrics();
+        when(orderOutboxPortOut.findBacklog()).thenReturn(new OutboxBacklogDTO(0L, null));
+    }
+
+    @Test
+    void relay_FullBatches_ShouldKeepDrainingUntilABatchComesBackShort() {
+        when(orderOutboxPortOut.relayPending(eq(2), any())).thenReturn(2, 2, 1);
+
+        orderOutboxRelay.relay();
+
+        verify(orderOutboxPortOut, times(3)).relayPending(eq(2), any());
+        assertEquals(5.0, meterRegistry.get("order.outbox.published").counter().count());
+    }
+
+    @Test
+    void relay_ShouldPublishThroughTheKafkaProducer() {
+        when(orderOutboxPortOut.relayPending(eq(2), any())).thenAnswer(invocation -> {
+            invocation.<java.util.function.Consumer<java.util.List<?>>>getArgument(1).accept(java.util.List.of());
+            return 0;
+        });
+
+        orderOutboxRelay.relay();
+
+        verify(kafkaProducer).sendOrders(java.util.List.of());
+    }
+
+    @Test
+    void relay_PublishFails_ShouldStillReportBacklog() {
+        when(orderOutboxPortOut.relayPending(eq(2), any())).thenThrow(new RuntimeException("Kafka send failed"));
+        when(orderOutboxPortOut.findBacklog()).thenReturn(new OutboxBacklogDTO(7L, LocalDateTime.now().minusSeconds(30)));
+
+        assertDoesNotThrow(() -> orderOutboxRelay.relay());
+
+        assertEquals(7.0, meterRegistry.get("order.outbox.pending").gauge().value());
+        assertTrue(meterRegistry.get("order.outbox.lag").timeGauge().value(TimeUnit.SECONDS) >= 30);
+    }
+
+    @Test
+    void relay_EmptyOutbox_ShouldReportNoLag() {
+        when(orderOutboxPortOut.relayPending(eq(2), any())).thenReturn(0);
+
+        orderOutboxRelay.relay();
+
+        assertEquals(0.0, meterRegistry.get("order.outbox.pending").gauge().value());
+        assertEquals(0.0, meterRegistry.get("order.outbox.lag").timeGauge().value(TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,168 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql;
+
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.OrderItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCacheTest {
+
+    private Instant now;
+    private OrderCache cache;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.parse("2024-01-01T00:00:00Z");
+        cache = new OrderCache(2, Duration.ofSeconds(1), Duration.ofMinutes(5), clock());
+    }
+
+    @Test
+    void get_CachedOrder_ShouldReturnCopy() {
+        Order order = order(OrderStatus.CONFIRMED);
+        cache.put(order, cache.stamp());
+
+        Order cached = cache.get(order.getId()).orElseThrow();
+
+        assertNotSame(order, cached);
+        assertEquals(order.getId(), cached.getId());
+        assertEquals(OrderStatus.CONFIRMED, cached.getStatus());
+        assertEquals(order.getItems().get(0).getProductId(), cached.getItems().get(0).getProductId());
+        assertSame(cached, cached.getItems().get(0).getOrder());
+        assertEquals(1, cache.hits());
+    }
+
+    @Test
+    void get_UnknownOrder_ShouldCountMiss() {
+        assertTrue(cache.get(UUID.randomUUID()).isEmpty());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void put_OverCapacity_ShouldEvictLeastRecentlyUsedOrder() {
+        Order first = order(OrderStatus.CONFIRMED);
+        Order second = order(OrderStatus.CONFIRMED);
+        Order third = order(OrderStatus.CONFIRMED);
+        cache.put(first, cache.stamp());
+        cache.put(second, cache.stamp());
+        cache.get(first.getId());
+
+        cache.put(third, cache.stamp());
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.sizeEvictions());
+        assertTrue(cache.get(first.getId()).isPresent());
+        assertTrue(cache.get(second.getId()).isEmpty());
+    }
+
+    @Test
+    void get_PendingOrderPastShortTtl_ShouldExpire() {
+        Order pending = order(OrderStatus.PENDING);
+        Order confirmed = order(OrderStatus.CONFIRMED);
+        cache.put(pending, cache.stamp());
+        cache.put(confirmed, cache.stamp());
+
+        now = now.plusSeconds(2);
+
+        assertTrue(cache.get(pending.getId()).isEmpty());
+        assertTrue(cache.get(confirmed.getId()).isPresent());
+        assertEquals(1, cache.expirations());
+    }
+
+    @Test
+    void put_AfterConcurrentWrite_ShouldNotCacheStaleRead() {
+        Order order = order(OrderStatus.PENDING);
+        long stamp = cache.stamp();
+
+        cache.invalidate(order.getId());
+        cache.put(order, stamp);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void updateStatus_CachedOrder_ShouldApplyStatusAndLongTtl() {
+        Order order = order(OrderStatus.PENDING);
+        LocalDateTime updatedAt = LocalDateTime.now();
+        cache.put(order, cache.stamp());
+
+        cache.updateStatus(order.getId(), OrderStatus.CONFIRMED, updatedAt);
+        now = now.plusSeconds(2);
+
+        Order cached = cache.get(order.getId()).orElseThrow();
+        assertEquals(OrderStatus.CONFIRMED, cached.getStatus());
+        assertEquals(updatedAt, cached.getUpdatedAt());
+        assertEquals(OrderStatus.PENDING, order.getStatus());
+    }
+
+    @Test
+    void updateStatus_UncachedOrder_ShouldNotCacheIt() {
+        cache.updateStatus(UUID.randomUUID(), OrderStatus.CONFIRMED, LocalDateTime.now());
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidate_ShouldDropOrderAndItsMemory() {
+        Order order = order(OrderStatus.CONFIRMED);
+        cache.put(order, cache.stamp());
+        assertEquals(OrderCache.estimateBytes(order), cache.estimatedBytes());
+
+        cache.invalidate(order.getId());
+
+        assertTrue(cache.get(order.getId()).isEmpty());
+        assertEquals(1, cache.invalidations());
+        assertEquals(0, cache.estimatedBytes());
+    }
+
+    @Test
+    void estimateBytes_ShouldGrowWithItems() {
+        Order order = order(OrderStatus.CONFIRMED);
+        long oneItem = OrderCache.estimateBytes(order);
+
+        order.getItems().add(OrderItem.builder().productId(UUID.randomUUID()).quantity(1).build());
+
+        assertEquals(oneItem + OrderCache.ITEM_BYTES + OrderCache.UUID_BYTES, OrderCache.estimateBytes(order));
+    }
+
+    private Order order(OrderStatus status) {
+        Order order = Order.builder()
+                .id(UUID.randomUUID())
+                .customerId(1L)
+                .status(status)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .items(new ArrayList<>())
+                .build();
+        order.getItems().add(OrderItem.builder().id(UUID.randomUUID()).productId(UUID.randomUUID()).quantity(2).order(order).build());
+        return order;
+    }
+
+    private Clock clock() {
+        return new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(java.time.ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sysmapproject.contracts.OrderEventDTO;
+import com.sysmapproject.contracts.OrderItemDTO;
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OutboxBacklogDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.entity.OrderOutboxEvent;
+import com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql.repository.OrderOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrderOutboxPostgresIntegratorTest {
+
+    @Mock
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private OrderOutboxPostgresIntegrator orderOutboxPostgresIntegrator;
+
+    private OrderEventDTO orderEvent;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        orderEvent = OrderEventDTO.builder()
+                .orderId(UUID.randomUUID())
+                .customerId(1L)
+                .status(OrderStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .items(List.of(OrderItemDTO.builder().productId(UUID.randomUUID()).quantity(2).build()))
+                .build();
+    }
+
+    @Test
+    void enqueue_ValidEvent_ShouldInsertSerializedEvent() throws Exception {
+        orderOutboxPostgresIntegrator.enqueue(orderEvent);
+
+        ArgumentCaptor<String> payloadCaptor = ArgumentCaptor.forClass(String.class);
+        verify(orderOutboxRepository).insertEvent(any(UUID.class), eq(orderEvent.getOrderId()), payloadCaptor.capture(), any(LocalDateTime.class));
+        assertEquals(orderEvent, objectMapper.readValue(payloadCaptor.getValue(), OrderEventDTO.class));
+    }
+
+    @Test
+    void enqueue_MissingOrderId_ShouldThrowException() {
+        orderEvent = orderEvent.toBuilder().orderId(null).build();
+
+        Exception exception = assertThrows(RuntimeException.class, () -> orderOutboxPostgresIntegrator.enqueue(orderEvent));
+
+        assertEquals("Error while enqueuing order event: Order event must have an order ID", exception.getMessage());
+        verifyNoInteractions(orderOutboxRepository);
+    }
+
+    @Test
+    void enqueueAll_ShouldInsertEventsInOneStatement() throws Exception {
+        OrderEventDTO other = OrderEventDTO.builder().orderId(UUID.randomUUID()).items(List.of()).build();
+
+        orderOutboxPostgresIntegrator.enqueueAll(List.of(orderEvent, other));
+
+        ArgumentCaptor<UUID[]> orderIdsCaptor = ArgumentCaptor.forClass(UUID[].class);
+        ArgumentCaptor<String[]> payloadsCaptor = ArgumentCaptor.forClass(String[].class);
+        verify(orderOutboxRepository, times(1)).insertEvents(any(UUID[].class), orderIdsCaptor.capture(), payloadsCaptor.capture(), any(LocalDateTime.class));
+        assertArrayEquals(new UUID[]{orderEvent.getOrderId(), other.getOrderId()}, orderIdsCaptor.getValue());
+        assertEquals(orderEvent, objectMapper.readValue(payloadsCaptor.getValue()[0], OrderEventDTO.class));
+    }
+
+    @Test
+    void enqueueAll_MissingOrderId_ShouldThrowException() {
+        orderEvent = orderEvent.toBuilder().orderId(null).build();
+
+        Exception exception = assertThrows(RuntimeException.class, () -> orderOutboxPostgresIntegrator.enqueueAll(List.of(orderEvent)));
+
+        assertEquals("Error while enqueuing order events: Order event must have an order ID", exception.getMessage());
+        verifyNoInteractions(orderOutboxRepository);
+    }
+
+    @Test
+    void relayPending_ShouldPublishClaimedEventsAndDeleteThem() throws Exception {
+        OrderOutboxEvent event = outboxEvent(orderEvent);
+        when(orderOutboxRepository.lockPendingEvents(10)).thenReturn(List.of(event));
+        List<OrderEventDTO> published = new ArrayList<>();
+
+        int relayed = orderOutboxPostgresIntegrator.relayPending(10, published::addAll);
+
+        assertEquals(1, relayed);
+        assertEquals(List.of(orderEvent), published);
+        verify(orderOutboxRepository).deleteByIdIn(List.of(event.getId()));
+    }
+
+    @Test
+    void relayPending_NothingPending_ShouldNotPublish() {
+        when(orderOutboxRepository.lockPendingEvents(10)).thenReturn(List.of());
+
+        int relayed = orderOutboxPostgresIntegrator.relayPending(10, events -> fail("nothing to publish"));
+
+        assertEquals(0, relayed);
+        verify(orderOutboxRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void relayPending_PublishFails_ShouldKeepEventsPending() throws Exception {
+        OrderOutboxEvent event = outboxEvent(orderEvent);
+        when(orderOutboxRepository.lockPendingEvents(10)).thenReturn(List.of(event));
+
+        Exception exception = assertThrows(RuntimeException.class, () -> orderOutboxPostgresIntegrator.relayPending(10, events -> {
+            throw new RuntimeException("Kafka send failed");
+        }));
+
+        assertEquals("Error while relaying order outbox: Kafka send failed", exception.getMessage());
+        verify(orderOutboxRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void findBacklog_ShouldReturnRepositoryBacklog() {
+        OutboxBacklogDTO backlog = new OutboxBacklogDTO(3L, LocalDateTime.now());
+        when(orderOutboxRepository.findBacklog()).thenReturn(backlog);
+
+        assertEquals(backlog, orderOutboxPostgresIntegrator.findBacklog());
+    }
+
+    private OrderOutboxEvent outboxEvent(OrderEventDTO orderEvent) throws Exception {
+        return OrderOutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .orderId(orderEvent.getOrderId())
+                .payload(objectMapper.writeValueAsString(orderEvent))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -1,11 +1,21 @@
 package com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql;
 
+import com.sysmapproject.contracts.OrderStatus;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderCursorDTO;
+import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderFilterDTO;
 import com.sysmapproject.ms_order_service_v1.core.domain.entity.Order;
+import com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql.repository.OrderBatchInsertRepository;
+import com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql.repository.OrderKeysetRepository;
 import com.sysmapproject.ms_order_service_v1.infrastructure.persistence.postgresql.repository.OrderRepository;
+import com.sysmapproject.ms_order_service_v1.shared.config.OrderCacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -15,6 +25,18 @@ class OrderPostgresIntegratorTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderKeysetRepository orderKeysetRepository;
+
+    @Mock
+    private OrderBatchInsertRepository orderBatchInsertRepository;
+
+    @Spy
+    private OrderCacheConfig orderCacheConfig = new OrderCacheConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private OrderPostgresIntegrator orderPostgresIntegrator;
 
@@ -23,6 +45,11 @@ class OrderPostgresIntegratorTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        orderCacheConfig.enabled = true;
+        orderCacheConfig.maxEntries = 10;
+        orderCacheConfig.pendingTtlMs = 60_000;
+        orderCacheConfig.ttlMs = 60_000;
+        orderPostgresIntegrator.init();
         sampleOrder = Order.builder()
                 .id(UUID.randomUUID())
                 .customerId(123L)
@@ -44,6 +71,15 @@ class OrderPostgresIntegratorTest {
         verify(orderRepository, times(1)).save(sampleOrder);
     }
 
+    @Test
+    void save_ShouldTimeDatabaseSaveStage() {
+        when(orderRepository.save(sampleOrder)).thenReturn(sampleOrder);
+
+        orderPostgresIntegrator.save(sampleOrder);
+
+        assertEquals(1, meterRegistry.get("order.lifecycle.stage").tag("stage", "db.save").timer().count());
+    }
+
     @Test
     void save_NullOrder_ShouldThrowIllegalArgumentException() {
         Exception exception = assertThrows(RuntimeException.class, () -> {
@@ -113,27 +149,201 @@ class OrderPostgresIntegratorTest {
     }
 
     @Test
-    void findAll_ShouldReturnListOfOrders() {
-        List<Order> orders = Arrays.asList(sampleOrder);
-        when(orderRepository.findAll()).thenReturn(orders);
+    void findById_CachedOrder_ShouldNotQueryAgain() {
+        UUID orderId = sampleOrder.getId();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(sampleOrder));
+
+        orderPostgresIntegrator.findById(orderId);
+        Optional<Order> foundOrder = orderPostgresIntegrator.findById(orderId);
+
+        assertEquals(orderId, foundOrder.orElseThrow().getId());
+        verify(orderRepository, times(1)).findById(orderId);
+        assertEquals(1.0, meterRegistry.get("order.cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("order.cache.gets").tag("result", "miss").functionCounter().count());
+        assertTrue(meterRegistry.get("order.cache.memory").gauge().value() > 0);
+    }
+
+    @Test
+    void findById_CacheDisabled_ShouldAlwaysQuery() {
+        orderCacheConfig.enabled = false;
+        UUID orderId = sampleOrder.getId();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(sampleOrder));
+
+        orderPostgresIntegrator.findById(orderId);
+        orderPostgresIntegrator.findById(orderId);
+
+        verify(orderRepository, times(2)).findById(orderId);
+    }
+
+    @Test
+    void save_CachedOrder_ShouldInvalidateIt() {
+        UUID orderId = sampleOrder.getId();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(sampleOrder));
+        when(orderRepository.save(sampleOrder)).thenReturn(sampleOrder);
+        orderPostgresIntegrator.findById(orderId);
+
+        orderPostgresIntegrator.save(sampleOrder);
+        orderPostgresIntegrator.findById(orderId);
+
+        verify(orderRepository, times(2)).findById(orderId);
+        assertEquals(1.0, meterRegistry.get("order.cache.evictions").tag("cause", "invalidated").functionCounter().count());
+    }
+
+    @Test
+    void updateStatus_CachedOrder_ShouldServeNewStatusFromCache() {
+        UUID orderId = sampleOrder.getId();
+        sampleOrder.setStatus(OrderStatus.PENDING);
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(sampleOrder));
+        when(orderRepository.updateStatus(orderId, "PENDING", "CONFIRMED", updatedAt)).thenReturn(1);
+        orderPostgresIntegrator.findById(orderId);
+
+        orderPostgresIntegrator.updateStatus(orderId, OrderStatus.PENDING, OrderStatus.CONFIRMED, updatedAt);
+        Order foundOrder = orderPostgresIntegrator.findById(orderId).orElseThrow();
+
+        assertEquals(OrderStatus.CONFIRMED, foundOrder.getStatus());
+        assertEquals(updatedAt, foundOrder.getUpdatedAt());
+        verify(orderRepository, times(1)).findById(orderId);
+    }
+
+    @Test
+    void updateStatuses_CachedOrders_ShouldServeNewStatusFromCache() {
+        UUID orderId = sampleOrder.getId();
+        sampleOrder.setStatus(OrderStatus.PENDING);
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(sampleOrder));
+        when(orderRepository.updateStatuses(new UUID[]{orderId}, "PENDING", "CANCELLED", updatedAt)).thenReturn(List.of(orderId));
+        orderPostgresIntegrator.findById(orderId);
 
-        List<Order> result = orderPostgresIntegrator.findAll();
+        orderPostgresIntegrator.updateStatuses(List.of(orderId), OrderStatus.PENDING, OrderStatus.CANCELLED, updatedAt);
+
+        assertEquals(OrderStatus.CANCELLED, orderPostgresIntegrator.findById(orderId).orElseThrow().getStatus());
+        verify(orderRepository, times(1)).findById(orderId);
+    }
+
+    @Test
+    void deleteById_CachedOrder_ShouldInvalidateIt() {
+        UUID orderId = sampleOrder.getId();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(sampleOrder), Optional.empty());
+        orderPostgresIntegrator.findById(orderId);
+
+        orderPostgresIntegrator.deleteById(orderId);
+
+        assertTrue(orderPostgresIntegrator.findById(orderId).isEmpty());
+        verify(orderRepository, times(2)).findById(orderId);
+    }
+
+    @Test
+    void saveAll_ShouldBatchInsertOrders() {
+        orderPostgresIntegrator.saveAll(List.of(sampleOrder));
+
+        verify(orderBatchInsertRepository, times(1)).insertAll(List.of(sampleOrder));
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void saveAll_EmptyList_ShouldThrowException() {
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> orderPostgresIntegrator.saveAll(List.of()));
+
+        assertEquals("Error while saving orders: Orders cannot be null or empty", exception.getMessage());
+        verifyNoInteractions(orderBatchInsertRepository);
+    }
+
+    @Test
+    void updateStatus_MatchingRow_ShouldReturnTrue() {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(orderRepository.updateStatus(sampleOrder.getId(), "PENDING", "CONFIRMED", updatedAt)).thenReturn(1);
+
+        assertTrue(orderPostgresIntegrator.updateStatus(sampleOrder.getId(), OrderStatus.PENDING, OrderStatus.CONFIRMED, updatedAt));
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void updateStatus_NoMatchingRow_ShouldReturnFalse() {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(orderRepository.updateStatus(sampleOrder.getId(), "PENDING", "CANCELLED", updatedAt)).thenReturn(0);
+
+        assertFalse(orderPostgresIntegrator.updateStatus(sampleOrder.getId(), OrderStatus.PENDING, OrderStatus.CANCELLED, updatedAt));
+    }
+
+    @Test
+    void updateStatus_NullStatus_ShouldThrowException() {
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            orderPostgresIntegrator.updateStatus(sampleOrder.getId(), OrderStatus.PENDING, null, LocalDateTime.now());
+        });
+
+        assertEquals("Error updating order status: Order status cannot be null", exception.getMessage());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void updateStatuses_ShouldReturnUpdatedIds() {
+        UUID other = UUID.randomUUID();
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(orderRepository.updateStatuses(new UUID[]{sampleOrder.getId(), other}, "PENDING", "CONFIRMED", updatedAt))
+                .thenReturn(List.of(sampleOrder.getId()));
+
+        List<UUID> updated = orderPostgresIntegrator.updateStatuses(List.of(sampleOrder.getId(), other),
+                OrderStatus.PENDING, OrderStatus.CONFIRMED, updatedAt);
+
+        assertEquals(List.of(sampleOrder.getId()), updated);
+    }
+
+    @Test
+    void updateStatuses_EmptyIds_ShouldNotQuery() {
+        assertTrue(orderPostgresIntegrator.updateStatuses(List.of(), OrderStatus.PENDING, OrderStatus.CONFIRMED, LocalDateTime.now()).isEmpty());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void existsById_ShouldDelegateToRepository() {
+        when(orderRepository.existsById(sampleOrder.getId())).thenReturn(true);
+
+        assertTrue(orderPostgresIntegrator.existsById(sampleOrder.getId()));
+    }
+
+    @Test
+    void findPage_ShouldReturnOrdersAfterCursor() {
+        OrderFilterDTO filter = new OrderFilterDTO();
+        OrderCursorDTO after = OrderCursorDTO.of(sampleOrder);
+        when(orderKeysetRepository.findPage(filter, after, 10)).thenReturn(List.of(sampleOrder));
+
+        List<Order> result = orderPostgresIntegrator.findPage(filter, after, 10);
 
-        assertFalse(result.isEmpty());
         assertEquals(1, result.size());
-        verify(orderRepository, times(1)).findAll();
+        verify(orderKeysetRepository, times(1)).findPage(filter, after, 10);
+    }
+
+    @Test
+    void findPage_InvalidLimit_ShouldThrowException() {
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            orderPostgresIntegrator.findPage(null, null, 0);
+        });
+
+        assertEquals("Error finding orders page: Page size must be a positive number", exception.getMessage());
+        verifyNoInteractions(orderKeysetRepository);
     }
 
     @Test
-    void findAll_RepositoryThrowsException_ShouldWrapInRuntimeException() {
-        when(orderRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+    void findPage_RepositoryThrowsException_ShouldWrapInRuntimeException() {
+        when(orderKeysetRepository.findPage(any(), any(), anyInt())).thenThrow(new RuntimeException("Database error"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            orderPostgresIntegrator.findAll();
+            orderPostgresIntegrator.findPage(null, null, 10);
         });
 
-        assertTrue(exception.getMessage().contains("Error deleting order by ID:"));
-        verify(orderRepository, times(1)).findAll();
+        assertEquals("Error finding orders page: Database error", exception.getMessage());
+    }
+
+    @Test
+    void streamAll_ShouldDelegateToKeysetRepository() {
+        OrderFilterDTO filter = new OrderFilterDTO();
+        Consumer<Order> consumer = order -> { };
+
+        orderPostgresIntegrator.streamAll(filter, consumer);
+
+        verify(orderKeysetRepository, times(1)).streamAll(filter, consumer);
     }
 
     @Test
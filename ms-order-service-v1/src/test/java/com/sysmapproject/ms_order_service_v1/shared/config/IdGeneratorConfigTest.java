@@ -0,0 +1,42 @@
+package com.sysmapproject.ms_order_service_v1.shared.config;
+
+import com.sysmapproject.ms_order_service_v1.shared.util.ConfiguredUuidValueGenerator;
+import com.sysmapproject.ms_order_service_v1.shared.util.RandomUuidGenerator;
+import com.sysmapproject.ms_order_service_v1.shared.util.UuidV7Generator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorConfigTest {
+
+    private final IdGeneratorConfig idGeneratorConfig = new IdGeneratorConfig();
+
+    @AfterEach
+    void tearDown() {
+        ConfiguredUuidValueGenerator.use(new UuidV7Generator());
+    }
+
+    @Test
+    void idGenerator_UuidV7_ShouldAlsoBackHibernateGeneratedIds() {
+        idGeneratorConfig.generator = "uuid-v7";
+
+        assertInstanceOf(UuidV7Generator.class, idGeneratorConfig.idGenerator());
+        assertEquals(7, new ConfiguredUuidValueGenerator().generateUuid(null).version());
+    }
+
+    @Test
+    void idGenerator_Random_ShouldAlsoBackHibernateGeneratedIds() {
+        idGeneratorConfig.generator = "random";
+
+        assertInstanceOf(RandomUuidGenerator.class, idGeneratorConfig.idGenerator());
+        assertEquals(4, new ConfiguredUuidValueGenerator().generateUuid(null).version());
+    }
+
+    @Test
+    void idGenerator_Unknown_ShouldFailStartup() {
+        idGeneratorConfig.generator = "snowflake";
+
+        assertThrows(IllegalStateException.class, () -> idGeneratorConfig.idGenerator());
+    }
+}
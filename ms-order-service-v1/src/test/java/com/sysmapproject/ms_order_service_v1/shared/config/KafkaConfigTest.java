@@ -1,7 +1,12 @@
 package com.sysmapproject.ms_order_service_v1.shared.config;
 
-import com.sysmapproject.ms_order_service_v1.core.domain.dto.OrderEventDTO;
-import com.sysmapproject.ms_order_service_v1.kafka.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.InventoryResponseDTO;
+import com.sysmapproject.contracts.ProducerProfile;
+import com.sysmapproject.contracts.codec.BinaryContractSerializer;
+import com.sysmapproject.contracts.codec.ContractDeserializer;
+import com.sysmapproject.contracts.codec.WireFormat;
+import com.sysmapproject.ms_order_service_v1.infrastructure.event.kafka.OrderLifecycleMetrics;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.TopicPartition;
@@ -11,20 +16,27 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.CompositeProducerListener;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.Map;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class KafkaConfigTest {
 
@@ -32,7 +44,10 @@ class KafkaConfigTest {
     private KafkaConfig kafkaConfig;
 
     @Mock
-    private KafkaTemplate<String, OrderEventDTO> kafkaTemplate;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private OrderLifecycleMetrics orderLifecycleMetrics;
 
     @BeforeEach
     void setUp() {
@@ -42,11 +57,15 @@ class KafkaConfigTest {
         kafkaConfig.groupId = "test-group";
         kafkaConfig.topicProducerName = "producer-topic";
         kafkaConfig.topicConsumerName = "consumer-topic";
+        kafkaConfig.wireFormat = WireFormat.JSON;
+        kafkaConfig.producerProfile = ProducerProfile.DEFAULT;
+        kafkaConfig.partitions = 1;
+        kafkaConfig.concurrency = 1;
     }
 
     @Test
     void producerFactory_ShouldBeConfiguredCorrectly() {
-        ProducerFactory<String, OrderEventDTO> producerFactory = kafkaConfig.producerFactory();
+        ProducerFactory<String, Object> producerFactory = kafkaConfig.producerFactory();
         assertNotNull(producerFactory, "ProducerFactory não deve ser nulo");
 
         Map<String, Object> config = producerFactory.getConfigurationProperties();
@@ -55,12 +74,38 @@ class KafkaConfigTest {
         assertEquals(JsonSerializer.class, config.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
     }
 
+    @Test
+    void producerFactory_BinaryWireFormat_ShouldUseBinaryContractSerializer() {
+        kafkaConfig.wireFormat = WireFormat.BINARY;
+
+        Map<String, Object> config = kafkaConfig.producerFactory().getConfigurationProperties();
+
+        assertEquals(BinaryContractSerializer.class, config.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+        assertEquals(false, config.get(JsonSerializer.ADD_TYPE_INFO_HEADERS));
+    }
+
+    @Test
+    void consumerFactory_ShouldReadEitherWireFormat() {
+        DefaultKafkaConsumerFactory<String, InventoryResponseDTO> consumerFactory =
+                (DefaultKafkaConsumerFactory<String, InventoryResponseDTO>) kafkaConfig.consumerFactory();
+
+        assertInstanceOf(ContractDeserializer.class, consumerFactory.getValueDeserializer());
+    }
+
     @Test
     void kafkaTemplate_ShouldBeCreated() {
-        KafkaTemplate<String, OrderEventDTO> template = kafkaConfig.kafkaTemplate();
+        KafkaTemplate<String, Object> template = kafkaConfig.kafkaTemplate(orderLifecycleMetrics);
         assertNotNull(template, "KafkaTemplate não deve ser nulo");
     }
 
+    @Test
+    void kafkaTemplate_ShouldReportSendsToLifecycleMetrics() {
+        KafkaTemplate<String, Object> template = kafkaConfig.kafkaTemplate(orderLifecycleMetrics);
+
+        assertSame(orderLifecycleMetrics, ReflectionTestUtils.getField(template, "producerInterceptor"));
+        assertInstanceOf(CompositeProducerListener.class, ReflectionTestUtils.getField(template, "producerListener"));
+    }
+
     @Test
     void consumerFactory_ShouldBeConfiguredCorrectly() {
         ConsumerFactory<String, InventoryResponseDTO> consumerFactory = kafkaConfig.consumerFactory();
@@ -70,18 +115,50 @@ class KafkaConfigTest {
         assertEquals("localhost:9092", config.get(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG));
         assertEquals("test-group", config.get(ConsumerConfig.GROUP_ID_CONFIG));
         assertEquals(StringDeserializer.class, config.get(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG));
+        assertEquals("read_committed", config.get(ConsumerConfig.ISOLATION_LEVEL_CONFIG));
     }
 
 
     @Test
     void kafkaListenerContainerFactory_ShouldBeConfiguredCorrectly() {
         ConcurrentKafkaListenerContainerFactory<String, InventoryResponseDTO> factory =
-                kafkaConfig.kafkaListenerContainerFactory(kafkaTemplate);
+                kafkaConfig.kafkaListenerContainerFactory(kafkaTemplate, orderLifecycleMetrics);
 
         assertNotNull(factory, "KafkaListenerContainerFactory não deve ser nulo");
         assertNotNull(factory.getConsumerFactory(), "ConsumerFactory não deve ser nulo");
     }
 
+    @Test
+    void batchEnabled_ShouldConfigureBatchListenerAndPollSize() {
+        kafkaConfig.batchEnabled = true;
+        kafkaConfig.batchMaxSize = 250;
+
+        ConcurrentKafkaListenerContainerFactory<String, InventoryResponseDTO> factory =
+                kafkaConfig.kafkaListenerContainerFactory(kafkaTemplate, orderLifecycleMetrics);
+
+        assertTrue(factory.isBatchListener());
+        assertEquals(250, factory.getConsumerFactory().getConfigurationProperties().get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+        assertInstanceOf(ErrorHandlingDeserializer.class, factory.getConsumerFactory().getValueDeserializer());
+    }
+
+    @Test
+    void batchDisabled_ShouldKeepRecordListener() {
+        ConcurrentKafkaListenerContainerFactory<String, InventoryResponseDTO> factory =
+                kafkaConfig.kafkaListenerContainerFactory(kafkaTemplate, orderLifecycleMetrics);
+
+        assertFalse(factory.isBatchListener());
+        assertNull(factory.getConsumerFactory().getConfigurationProperties().get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+    }
+
+    @Test
+    void kafkaListenerContainerFactory_ShouldInterceptRecordsForLifecycleMetrics() {
+        ConcurrentKafkaListenerContainerFactory<String, InventoryResponseDTO> factory =
+                kafkaConfig.kafkaListenerContainerFactory(kafkaTemplate, orderLifecycleMetrics);
+
+        assertSame(orderLifecycleMetrics, ReflectionTestUtils.getField(factory, "recordInterceptor"));
+        assertSame(orderLifecycleMetrics, ReflectionTestUtils.getField(factory, "batchInterceptor"));
+    }
+
     @Test
     void defaultErrorHandler_ShouldBeConfiguredCorrectly() {
         DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
@@ -90,4 +167,105 @@ class KafkaConfigTest {
         DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(1000L, 3));
         assertNotNull(errorHandler, "ErrorHandler não deve ser nulo");
     }
+
+    @Test
+    void shouldKeepContainerListenerExecutorByDefault() {
+        assertNull(kafkaConfig.kafkaListenerContainerFactory(kafkaTemplate, orderLifecycleMetrics).getContainerProperties().getListenerTaskExecutor());
+    }
+
+    @Test
+    void shouldRunListenersOnVirtualThreadsWhenEnabled() {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+        kafkaConfig.virtualThreads = true;
+
+        ConcurrentKafkaListenerContainerFactory<String, InventoryResponseDTO> factory = kafkaConfig.kafkaListenerContainerFactory(kafkaTemplate, orderLifecycleMetrics);
+
+        assertInstanceOf(SimpleAsyncTaskExecutor.class, factory.getContainerProperties().getListenerTaskExecutor());
+    }
+
+    @Test
+    void shouldRefuseVirtualThreadsBeforeJava21() {
+        assumeTrue(Runtime.version().feature() < 21, "running on Java 21 or later");
+        kafkaConfig.virtualThreads = true;
+
+        assertThrows(UnsupportedOperationException.class, () -> kafkaConfig.kafkaListenerContainerFactory(kafkaTemplate, orderLifecycleMetrics));
+    }
+
+    @Test
+    void shouldKeepKafkaProducerDefaultsWithDefaultProfile() {
+        Map<String, Object> configProps = kafkaConfig.producerFactory().getConfigurationProperties();
+
+        assertFalse(configProps.containsKey(ProducerConfig.LINGER_MS_CONFIG));
+        assertFalse(configProps.containsKey(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    }
+
+    @Test
+    void shouldApplySelectedProducerProfile() {
+        kafkaConfig.producerProfile = ProducerProfile.HIGH_THROUGHPUT;
+
+        Map<String, Object> configProps = kafkaConfig.producerFactory().getConfigurationProperties();
+
+        assertEquals("zstd", configProps.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals(20, configProps.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals("1", configProps.get(ProducerConfig.ACKS_CONFIG));
+    }
+
+    @Test
+    void topics_ShouldBeCreatedWithConfiguredPartitions() {
+        kafkaConfig.partitions = 6;
+
+        NewTopic orderEvents = kafkaConfig.orderEventsTopic();
+        NewTopic inventoryValidated = kafkaConfig.inventoryValidatedTopic();
+        NewTopic deadLetter = kafkaConfig.deadLetterTopic();
+
+        assertEquals("producer-topic", orderEvents.name());
+        assertEquals("consumer-topic", inventoryValidated.name());
+        assertEquals("producer-topic.DLQ", deadLetter.name());
+        assertEquals(6, orderEvents.numPartitions());
+        assertEquals(6, inventoryValidated.numPartitions());
+        assertEquals(6, deadLetter.numPartitions());
+    }
+
+    @Test
+    void kafkaListenerContainerFactory_ShouldRunConfiguredNumberOfListenerThreads() {
+        kafkaConfig.concurrency = 3;
+
+        ConcurrentKafkaListenerContainerFactory<String, InventoryResponseDTO> factory =
+                kafkaConfig.kafkaListenerContainerFactory(kafkaTemplate, orderLifecycleMetrics);
+
+        assertEquals(3, ReflectionTestUtils.getField(factory, "concurrency"));
+    }
+
+    @Test
+    void parallelEnabled_ShouldAcknowledgeRecordsManuallyAndOutOfOrder() {
+        kafkaConfig.parallelEnabled = true;
+
+        ConcurrentKafkaListenerContainerFactory<String, InventoryResponseDTO> factory =
+                kafkaConfig.kafkaListenerContainerFactory(kafkaTemplate, orderLifecycleMetrics);
+
+        assertEquals(ContainerProperties.AckMode.MANUAL, factory.getContainerProperties().getAckMode());
+        assertTrue(factory.getContainerProperties().isAsyncAcks());
+        Mockito.verify(orderLifecycleMetrics).forLanes();
+    }
+
+    @Test
+    void parallelDisabled_ShouldKeepContainerAcknowledgements() {
+        ContainerProperties containerProperties =
+                kafkaConfig.kafkaListenerContainerFactory(kafkaTemplate, orderLifecycleMetrics).getContainerProperties();
+
+        assertEquals(ContainerProperties.AckMode.BATCH, containerProperties.getAckMode());
+        assertFalse(containerProperties.isAsyncAcks());
+    }
+
+    @Test
+    void parallelAndBatchEnabled_ShouldKeepBatchListener() {
+        kafkaConfig.parallelEnabled = true;
+        kafkaConfig.batchEnabled = true;
+
+        ConcurrentKafkaListenerContainerFactory<String, InventoryResponseDTO> factory =
+                kafkaConfig.kafkaListenerContainerFactory(kafkaTemplate, orderLifecycleMetrics);
+
+        assertTrue(factory.isBatchListener());
+        assertFalse(factory.getContainerProperties().isAsyncAcks());
+    }
 }
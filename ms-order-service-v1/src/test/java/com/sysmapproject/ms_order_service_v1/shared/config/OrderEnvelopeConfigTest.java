@@ -0,0 +1,36 @@
+package com.sysmapproject.ms_order_service_v1.shared.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderEnvelopeConfigTest {
+
+    @Test
+    void requireOutbox_EnvelopesThroughOutbox_ShouldStart() {
+        OrderEnvelopeConfig config = new OrderEnvelopeConfig();
+        config.enabled = true;
+        config.outboxEnabled = true;
+
+        assertDoesNotThrow(config::requireOutbox);
+    }
+
+    @Test
+    void requireOutbox_EnvelopesWithoutOutbox_ShouldRefuseToStart() {
+        OrderEnvelopeConfig config = new OrderEnvelopeConfig();
+        config.enabled = true;
+        config.outboxEnabled = false;
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, config::requireOutbox);
+
+        assertTrue(exception.getMessage().contains("order.outbox.enabled"));
+    }
+
+    @Test
+    void requireOutbox_NoEnvelopes_ShouldStartWithoutOutbox() {
+        OrderEnvelopeConfig config = new OrderEnvelopeConfig();
+        config.outboxEnabled = false;
+
+        assertDoesNotThrow(config::requireOutbox);
+    }
+}
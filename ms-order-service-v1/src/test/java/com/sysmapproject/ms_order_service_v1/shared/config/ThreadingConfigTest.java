@@ -0,0 +1,24 @@
+package com.sysmapproject.ms_order_service_v1.shared.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreadingConfigTest {
+
+    @Test
+    void constructor_PlatformThreads_ShouldStart() {
+        assertDoesNotThrow(() -> new ThreadingConfig(new MockEnvironment()));
+    }
+
+    @Test
+    void constructor_VirtualThreadsWithOversizedPool_ShouldRefuseToStart() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true")
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "100")
+                .withProperty("spring.datasource.hikari.connection-timeout", "5000");
+
+        assertThrows(IllegalStateException.class, () -> new ThreadingConfig(environment));
+    }
+}
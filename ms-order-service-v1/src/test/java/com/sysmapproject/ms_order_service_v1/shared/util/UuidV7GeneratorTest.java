@@ -0,0 +1,73 @@
+package com.sysmapproject.ms_order_service_v1.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    private final UuidV7Generator generator = new UuidV7Generator();
+
+    @Test
+    void next_ShouldSetVersionAndVariant() {
+        UUID id = generator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void next_ShouldEncodeCurrentTimeInLeadingBits() {
+        long before = System.currentTimeMillis();
+        UUID id = generator.next();
+        long after = System.currentTimeMillis();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= after + 1, "timestamp " + millis + " outside [" + before + ", " + after + "]");
+    }
+
+    @Test
+    void next_ShouldBeStrictlyIncreasingInPostgresOrder() {
+        UUID previous = generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = generator.next();
+            assertTrue(compareUnsigned(previous, current) < 0, previous + " is not before " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    void next_ConcurrentCallers_ShouldNotRepeatIds() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>();
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.add(generator.next());
+                    }
+                    return ids;
+                }));
+            }
+
+            Set<UUID> unique = new HashSet<>();
+            for (Future<List<UUID>> future : futures) {
+                unique.addAll(future.get());
+            }
+            assertEquals(8 * 20_000, unique.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int compareUnsigned(UUID left, UUID right) {
+        int comparison = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return comparison != 0
+                ? comparison
+                : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+}